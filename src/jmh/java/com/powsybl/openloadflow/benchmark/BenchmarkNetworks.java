@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.ieeecdf.converter.IeeeCdfNetworkFactory;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.math.matrix.SparseMatrixFactory;
+import com.powsybl.openloadflow.network.DistributedSlackNetworkFactory;
+import com.powsybl.openloadflow.network.FourBusNetworkFactory;
+import com.powsybl.openloadflow.network.SyntheticNetworkFactory;
+import com.powsybl.openloadflow.network.TiledNetworkFactory;
+import com.powsybl.openloadflow.util.matrix.JavaSparseMatrixFactory;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.factors.BranchFlowPerInjectionIncrease;
+import com.powsybl.sensitivity.factors.functions.BranchFlow;
+import com.powsybl.sensitivity.factors.variables.InjectionIncrease;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Networks and matrix factories the benchmarks can be parameterized with.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class BenchmarkNetworks {
+
+    private BenchmarkNetworks() {
+    }
+
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+
+    private static final Pattern IEEE_PATTERN = Pattern.compile("ieee(\\d+)(?:-(tiled|replicated)-(\\d+))?");
+
+    /**
+     * Number of lines linking two consecutive copies of a tiled IEEE case.
+     */
+    private static final int TILE_LINK_COUNT = 5;
+
+    private static final int MONITORED_LINE_COUNT = 100;
+
+    /**
+     * Create a network from its name: one of the test networks, "synthetic-N" for a synthetic network of about N
+     * buses, "ieeeN" for an IEEE case (14, 30, 57, 118 or 300 buses), "ieeeN-tiled-K" for K copies of an IEEE case
+     * chained together or "ieeeN-replicated-K" for K independent copies of an IEEE case.
+     */
+    static Network create(String name) {
+        if (name.startsWith(SYNTHETIC_PREFIX)) {
+            int busCount = Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length()));
+            return SyntheticNetworkFactory.create(new SyntheticNetworkFactory.Parameters().setBusCount(busCount));
+        }
+        Matcher matcher = IEEE_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            Network network = createIeee(Integer.parseInt(matcher.group(1)));
+            if (matcher.group(2) == null) {
+                return network;
+            }
+            int count = Integer.parseInt(matcher.group(3));
+            return matcher.group(2).equals("tiled") ? TiledNetworkFactory.tile(network, count, TILE_LINK_COUNT)
+                                                    : TiledNetworkFactory.replicate(network, count);
+        }
+        switch (name) {
+            case "eurostag":
+                return EurostagTutorialExample1Factory.create();
+            case "fourBus":
+                return FourBusNetworkFactory.create();
+            case "distributedSlack":
+                return DistributedSlackNetworkFactory.create();
+            default:
+                throw new IllegalArgumentException("Unknown benchmark network: " + name);
+        }
+    }
+
+    private static Network createIeee(int busCount) {
+        switch (busCount) {
+            case 14:
+                return IeeeCdfNetworkFactory.create14();
+            case 30:
+                return IeeeCdfNetworkFactory.create30();
+            case 57:
+                return IeeeCdfNetworkFactory.create57();
+            case 118:
+                return IeeeCdfNetworkFactory.create118();
+            case 300:
+                return IeeeCdfNetworkFactory.create300();
+            default:
+                throw new IllegalArgumentException("Unknown IEEE case: " + busCount);
+        }
+    }
+
+    private static boolean isSynthetic(Network network) {
+        return network.getId().startsWith(SYNTHETIC_PREFIX);
+    }
+
+    /**
+     * N-1 contingencies of the transmission lines of synthetic networks or of all the branches of other networks.
+     */
+    static List<Contingency> createContingencies(Network network) {
+        if (isSynthetic(network)) {
+            return SyntheticNetworkFactory.createContingencies(network);
+        }
+        return network.getBranchStream()
+                .map(branch -> new Contingency(branch.getId(), new BranchContingency(branch.getId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sensitivity of the flow of monitored lines to generator injections (and phase shifter angles for synthetic
+     * networks). Monitored lines of other networks are the first branches, up to 100.
+     */
+    static List<SensitivityFactor> createSensitivityFactors(Network network) {
+        if (isSynthetic(network)) {
+            return SyntheticNetworkFactory.createSensitivityFactors(network, MONITORED_LINE_COUNT);
+        }
+        List<Branch> branches = network.getBranchStream().limit(MONITORED_LINE_COUNT).collect(Collectors.toList());
+        return network.getGeneratorStream()
+                .flatMap(generator -> branches.stream().map(branch -> (SensitivityFactor) new BranchFlowPerInjectionIncrease(
+                        new BranchFlow(branch.getId(), branch.getId(), branch.getId()),
+                        new InjectionIncrease(generator.getId(), generator.getId(), generator.getId()))))
+                .collect(Collectors.toList());
+    }
+
+    static MatrixFactory createMatrixFactory(String name) {
+        switch (name) {
+            case "sparse":
+                return new SparseMatrixFactory();
+            case "dense":
+                return new DenseMatrixFactory();
+            case "java":
+                return new JavaSparseMatrixFactory();
+            default:
+                throw new IllegalArgumentException("Unknown matrix factory: " + name);
+        }
+    }
+}
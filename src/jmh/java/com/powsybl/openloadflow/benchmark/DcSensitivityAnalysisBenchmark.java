@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.openloadflow.sensi.OpenSensitivityAnalysisProvider;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.SensitivityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.SensitivityFactorsProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DC sensitivity analysis of the flow of monitored branches to the injection of the generators, in base case and for
+ * N-1 contingencies, see {@link BenchmarkNetworks}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DcSensitivityAnalysisBenchmark {
+
+    @Param({"eurostag", "synthetic-1000"})
+    public String networkName;
+
+    @Param({"sparse", "java"})
+    public String matrixFactoryName;
+
+    private Network network;
+
+    private OpenSensitivityAnalysisProvider provider;
+
+    private SensitivityFactorsProvider factorsProvider;
+
+    private List<Contingency> contingencies;
+
+    private SensitivityAnalysisParameters parameters;
+
+    @Setup
+    public void setUp() {
+        network = BenchmarkNetworks.create(networkName);
+        provider = new OpenSensitivityAnalysisProvider(BenchmarkNetworks.createMatrixFactory(matrixFactoryName));
+        List<SensitivityFactor> factors = BenchmarkNetworks.createSensitivityFactors(network);
+        factorsProvider = n -> factors;
+        contingencies = BenchmarkNetworks.createContingencies(network);
+        parameters = new SensitivityAnalysisParameters();
+        parameters.getLoadFlowParameters().setDc(true);
+    }
+
+    @Benchmark
+    public SensitivityAnalysisResult run() {
+        return provider.run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencies, parameters,
+                LocalComputationManager.getDefault()).join();
+    }
+}
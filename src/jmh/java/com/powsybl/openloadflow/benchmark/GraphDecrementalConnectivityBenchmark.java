@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.openloadflow.graph.*;
+import com.powsybl.openloadflow.network.LfBranch;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Cut of each branch of the network, one at a time, with each graph decremental connectivity implementation: creation
+ * of the connectivity, then for each branch a cut, a query of the small components and a reset.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphDecrementalConnectivityBenchmark {
+
+    @Param({"eurostag", "synthetic-1000"})
+    public String networkName;
+
+    @Param({"Naive", "EvenShiloach", "MinimumSpanningTree", "Array"})
+    public String connectivityName;
+
+    private LfNetwork lfNetwork;
+
+    private List<LfBranch> branches;
+
+    private Supplier<GraphDecrementalConnectivity<LfBus>> connectivitySupplier;
+
+    @Setup
+    public void setUp() {
+        lfNetwork = LfNetwork.load(BenchmarkNetworks.create(networkName), new MostMeshedSlackBusSelector()).get(0);
+        branches = lfNetwork.getBranches().stream()
+                .filter(branch -> branch.getBus1() != null && branch.getBus2() != null)
+                .collect(Collectors.toList());
+        switch (connectivityName) {
+            case "Naive":
+                connectivitySupplier = () -> new NaiveGraphDecrementalConnectivity<>(LfBus::getNum);
+                break;
+            case "EvenShiloach":
+                connectivitySupplier = () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum);
+                break;
+            case "MinimumSpanningTree":
+                connectivitySupplier = () -> new MinimumSpanningTreeGraphDecrementalConnectivity<>(LfBus::getNum);
+                break;
+            case "Array":
+                connectivitySupplier = () -> new ArrayGraphDecrementalConnectivity<>(LfBus::getNum);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown connectivity: " + connectivityName);
+        }
+    }
+
+    @Benchmark
+    public int cutEachBranch() {
+        GraphDecrementalConnectivity<LfBus> connectivity = lfNetwork.createDecrementalConnectivity(connectivitySupplier);
+        int smallComponentCount = 0;
+        for (LfBranch branch : branches) {
+            connectivity.cut(branch.getBus1(), branch.getBus2());
+            smallComponentCount += connectivity.getSmallComponents().size();
+            connectivity.reset();
+        }
+        return smallComponentCount;
+    }
+}
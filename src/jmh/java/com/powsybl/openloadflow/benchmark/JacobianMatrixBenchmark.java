@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.math.matrix.Matrix;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.openloadflow.ac.equations.AcEquationSystem;
+import com.powsybl.openloadflow.equations.EquationSystem;
+import com.powsybl.openloadflow.equations.JacobianMatrix;
+import com.powsybl.openloadflow.equations.UniformValueVoltageInitializer;
+import com.powsybl.openloadflow.equations.VariableSet;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build of the AC Jacobian matrix, update of its values with the same structure and update followed by a solve, which
+ * includes the LU refactorization.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacobianMatrixBenchmark {
+
+    @Param({"eurostag", "synthetic-1000"})
+    public String networkName;
+
+    @Param({"sparse", "java"})
+    public String matrixFactoryName;
+
+    private MatrixFactory matrixFactory;
+
+    private EquationSystem equationSystem;
+
+    private double[] x;
+
+    private double[] fx;
+
+    private double[] b;
+
+    private JacobianMatrix j;
+
+    @Setup
+    public void setUp() {
+        LfNetwork lfNetwork = LfNetwork.load(BenchmarkNetworks.create(networkName), new MostMeshedSlackBusSelector()).get(0);
+        matrixFactory = BenchmarkNetworks.createMatrixFactory(matrixFactoryName);
+        equationSystem = AcEquationSystem.create(lfNetwork, new VariableSet());
+        x = equationSystem.createStateVector(new UniformValueVoltageInitializer());
+        equationSystem.updateEquations(x);
+        fx = equationSystem.createEquationVector();
+        b = new double[fx.length];
+        j = new JacobianMatrix(equationSystem, matrixFactory);
+        j.solveTransposed(fx.clone()); // build the matrix and its LU decomposition
+    }
+
+    @TearDown
+    public void tearDown() {
+        j.close();
+    }
+
+    @Benchmark
+    public Matrix buildMatrix() {
+        try (JacobianMatrix newJ = new JacobianMatrix(equationSystem, matrixFactory)) {
+            return newJ.getMatrix();
+        }
+    }
+
+    @Benchmark
+    public Matrix updateMatrix() {
+        j.onStateUpdate(x);
+        return j.getMatrix();
+    }
+
+    @Benchmark
+    public double[] updateMatrixAndSolve() {
+        j.onStateUpdate(x);
+        System.arraycopy(fx, 0, b, 0, fx.length);
+        j.solveTransposed(b);
+        return b;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.openloadflow.ac.equations.AcEquationSystem;
+import com.powsybl.openloadflow.equations.EquationSystem;
+import com.powsybl.openloadflow.equations.VariableSet;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of the network and creation of the AC equation system.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkLoadingBenchmark {
+
+    @Param({"eurostag", "synthetic-1000"})
+    public String networkName;
+
+    private Network network;
+
+    private LfNetwork lfNetwork;
+
+    @Setup
+    public void setUp() {
+        network = BenchmarkNetworks.create(networkName);
+        lfNetwork = LfNetwork.load(network, new MostMeshedSlackBusSelector()).get(0);
+    }
+
+    @Benchmark
+    public List<LfNetwork> loadNetwork() {
+        return LfNetwork.load(network, new MostMeshedSlackBusSelector());
+    }
+
+    @Benchmark
+    public EquationSystem createAcEquationSystem() {
+        return AcEquationSystem.create(lfNetwork, new VariableSet());
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.openloadflow.ac.equations.AcEquationSystem;
+import com.powsybl.openloadflow.ac.nr.DefaultNewtonRaphsonStoppingCriteria;
+import com.powsybl.openloadflow.ac.nr.NewtonRaphson;
+import com.powsybl.openloadflow.ac.nr.NewtonRaphsonParameters;
+import com.powsybl.openloadflow.ac.nr.NewtonRaphsonResult;
+import com.powsybl.openloadflow.equations.EquationSystem;
+import com.powsybl.openloadflow.equations.JacobianMatrix;
+import com.powsybl.openloadflow.equations.VariableSet;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full Newton-Raphson run from a flat start, without outer loops, the equation system and the Jacobian matrix
+ * structure being reused between runs.
+ *
+ * The rerun benchmark restarts the same Newton-Raphson instance from the previous solution, as after an outer loop,
+ * so that it measures steady state iterations: with the gc profiler, its normalized allocation rate is expected to be
+ * close to zero.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NewtonRaphsonBenchmark {
+
+    @Param({"eurostag", "synthetic-1000"})
+    public String networkName;
+
+    @Param({"sparse", "java"})
+    public String matrixFactoryName;
+
+    private LfNetwork lfNetwork;
+
+    private MatrixFactory matrixFactory;
+
+    private EquationSystem equationSystem;
+
+    private JacobianMatrix j;
+
+    private NewtonRaphson reusedNewtonRaphson;
+
+    private NewtonRaphsonParameters rerunParameters;
+
+    @Setup
+    public void setUp() {
+        lfNetwork = LfNetwork.load(BenchmarkNetworks.create(networkName), new MostMeshedSlackBusSelector()).get(0);
+        matrixFactory = BenchmarkNetworks.createMatrixFactory(matrixFactoryName);
+        equationSystem = AcEquationSystem.create(lfNetwork, new VariableSet());
+        j = new JacobianMatrix(equationSystem, matrixFactory);
+        reusedNewtonRaphson = new NewtonRaphson(lfNetwork, matrixFactory, equationSystem, j, new DefaultNewtonRaphsonStoppingCriteria());
+        // iterations are counted over all the runs of an instance
+        rerunParameters = new NewtonRaphsonParameters().setMaxIteration(Integer.MAX_VALUE);
+        reusedNewtonRaphson.run(rerunParameters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        j.close();
+    }
+
+    @Benchmark
+    public NewtonRaphsonResult run() {
+        // a new instance restarts from the initial voltages as its iteration count is zero
+        NewtonRaphson newtonRaphson = new NewtonRaphson(lfNetwork, matrixFactory, equationSystem, j, new DefaultNewtonRaphsonStoppingCriteria());
+        return newtonRaphson.run(new NewtonRaphsonParameters());
+    }
+
+    @Benchmark
+    public NewtonRaphsonResult rerun() {
+        return reusedNewtonRaphson.run(rerunParameters);
+    }
+}
@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.openloadflow.OpenLoadFlowProvider;
+import com.powsybl.openloadflow.graph.EvenShiloachGraphDecrementalConnectivity;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.sa.OpenSecurityAnalysisFactory;
+import com.powsybl.openloadflow.sensi.OpenSensitivityAnalysisProvider;
+import com.powsybl.security.LimitViolationsResult;
+import com.powsybl.security.PostContingencyResult;
+import com.powsybl.security.SecurityAnalysisParameters;
+import com.powsybl.security.SecurityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.SensitivityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityFactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+/**
+ * Reproducible performance suite running AC and DC load flows, AC security analysis and DC sensitivity analysis on the
+ * standard IEEE cases and on tiled and replicated versions of them, see {@link BenchmarkNetworks} for network names.
+ *
+ * Unlike the JMH benchmarks that measure throughput of a single operation, each computation is run a fixed number of
+ * times after a warmup and its iteration counts, load flow metrics, wall clock times and allocated bytes (summed over
+ * the calling and pool threads) are saved in a JSON report, so that reports of different releases can be compared.
+ *
+ * The matrix factory, see {@link BenchmarkNetworks#createMatrixFactory(String)}, is the KLU based one by default and
+ * can be changed to compare linear solvers.
+ *
+ * Usage: PerformanceSuite [--warmups=N] [--repetitions=N] [--matrix-factory=NAME] report-file [network-name...]
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class PerformanceSuite {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceSuite.class);
+
+    private static final List<String> DEFAULT_NETWORK_NAMES = List.of("ieee14", "ieee30", "ieee57", "ieee118", "ieee300",
+            "ieee118-tiled-10", "ieee300-tiled-10", "ieee300-replicated-10");
+
+    /**
+     * Maximum number of N-1 contingencies simulated by the security analysis.
+     */
+    private static final int MAX_CONTINGENCY_COUNT = 100;
+
+    private static final String WARMUPS_OPTION = "--warmups=";
+
+    private static final String REPETITIONS_OPTION = "--repetitions=";
+
+    private static final String MATRIX_FACTORY_OPTION = "--matrix-factory=";
+
+    private interface Computation {
+
+        /**
+         * Run the computation and add its results to the report entry.
+         */
+        void run(Network network, Map<String, Object> results);
+    }
+
+    /**
+     * Allocated bytes of the common pool worker threads at their termination, indexed by thread id.
+     */
+    private static final Map<Long, Long> TERMINATED_WORKERS_ALLOCATED_BYTES = new ConcurrentHashMap<>();
+
+    /**
+     * Common pool worker factory, so that the allocations of workers terminating during a computation are not lost.
+     */
+    public static final class AllocationTrackingWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            return new ForkJoinWorkerThread(pool) {
+                @Override
+                protected void onTermination(Throwable exception) {
+                    try {
+                        long allocatedBytes = ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(getId());
+                        TERMINATED_WORKERS_ALLOCATED_BYTES.put(getId(), allocatedBytes);
+                    } finally {
+                        super.onTermination(exception);
+                    }
+                }
+            };
+        }
+    }
+
+    private final int warmupCount;
+
+    private final int repetitionCount;
+
+    private final com.sun.management.ThreadMXBean threadMxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private PerformanceSuite(int warmupCount, int repetitionCount) {
+        this.warmupCount = warmupCount;
+        this.repetitionCount = repetitionCount;
+    }
+
+    private static Map<String, Computation> createComputations(MatrixFactory matrixFactory) {
+        Map<String, Computation> computations = new LinkedHashMap<>();
+        LoadFlow.Runner loadFlowRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(matrixFactory));
+        computations.put("ac_load_flow", (network, results) -> putResults(loadFlowRunner.run(network, new LoadFlowParameters()), results));
+        computations.put("dc_load_flow", (network, results) -> putResults(loadFlowRunner.run(network, new LoadFlowParameters().setDc(true)), results));
+        computations.put("ac_security_analysis", (network, results) -> runSecurityAnalysis(network, matrixFactory, results));
+        computations.put("dc_sensitivity_analysis", (network, results) -> runSensitivityAnalysis(network, matrixFactory, results));
+        return computations;
+    }
+
+    private static void putResults(LoadFlowResult result, Map<String, Object> results) {
+        results.put("ok", result.isOk());
+        results.put("iterations", result.getComponentResults().stream()
+                .mapToInt(LoadFlowResult.ComponentResult::getIterationCount)
+                .sum());
+        results.put("metrics", new TreeMap<>(result.getMetrics()));
+    }
+
+    private static void runSecurityAnalysis(Network network, MatrixFactory matrixFactory, Map<String, Object> results) {
+        List<Contingency> contingencies = BenchmarkNetworks.createContingencies(network).stream()
+                .limit(MAX_CONTINGENCY_COUNT)
+                .collect(Collectors.toList());
+        SecurityAnalysisResult result = new OpenSecurityAnalysisFactory(matrixFactory, () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum))
+                .create(network, null, 0)
+                .run(VariantManagerConstants.INITIAL_VARIANT_ID, new SecurityAnalysisParameters(), n -> contingencies)
+                .join();
+        results.put("ok", result.getPreContingencyResult().isComputationOk());
+        results.put("contingencies", result.getPostContingencyResults().size());
+        results.put("converged_contingencies", result.getPostContingencyResults().stream()
+                .map(PostContingencyResult::getLimitViolationsResult)
+                .filter(LimitViolationsResult::isComputationOk)
+                .count());
+    }
+
+    private static void runSensitivityAnalysis(Network network, MatrixFactory matrixFactory, Map<String, Object> results) {
+        List<SensitivityFactor> factors = BenchmarkNetworks.createSensitivityFactors(network);
+        SensitivityAnalysisParameters parameters = new SensitivityAnalysisParameters();
+        parameters.getLoadFlowParameters().setDc(true);
+        SensitivityAnalysisResult result = new OpenSensitivityAnalysisProvider(matrixFactory)
+                .run(network, VariantManagerConstants.INITIAL_VARIANT_ID, n -> factors, Collections.emptyList(), parameters,
+                        LocalComputationManager.getDefault())
+                .join();
+        results.put("ok", result.isOk());
+        results.put("factors", factors.size());
+        results.put("values", result.getSensitivityValues().size());
+    }
+
+    /**
+     * Bytes allocated so far by each live thread and by each terminated common pool worker, indexed by thread id.
+     */
+    private Map<Long, Long> getAllocatedBytesByThread() {
+        long[] threadIds = threadMxBean.getAllThreadIds();
+        long[] allocatedBytes = threadMxBean.getThreadAllocatedBytes(threadIds);
+        Map<Long, Long> allocatedBytesByThread = new HashMap<>(TERMINATED_WORKERS_ALLOCATED_BYTES);
+        for (int i = 0; i < threadIds.length; i++) {
+            if (allocatedBytes[i] >= 0) { // -1 if the thread has terminated in between
+                allocatedBytesByThread.put(threadIds[i], allocatedBytes[i]);
+            }
+        }
+        return allocatedBytesByThread;
+    }
+
+    /**
+     * Bytes allocated by all threads, including pool threads, between two snapshots. Allocations of threads other than
+     * the common pool workers that have terminated in between cannot be measured: they are counted in the returned
+     * untracked thread count so that the report tells when the allocated bytes are underestimated.
+     */
+    private static long getAllocatedBytes(Map<Long, Long> before, Map<Long, Long> after, long startedThreadCount, int[] untrackedThreadCount) {
+        long allocatedBytes = 0;
+        int newThreadCount = 0;
+        for (Map.Entry<Long, Long> e : after.entrySet()) {
+            Long allocatedBytesBefore = before.get(e.getKey());
+            if (allocatedBytesBefore == null) {
+                newThreadCount++;
+                allocatedBytesBefore = 0L;
+            }
+            allocatedBytes += e.getValue() - allocatedBytesBefore;
+        }
+        int terminatedThreadCount = (int) before.keySet().stream().filter(id -> !after.containsKey(id)).count();
+        untrackedThreadCount[0] += terminatedThreadCount + (int) Math.max(startedThreadCount - newThreadCount, 0);
+        return allocatedBytes;
+    }
+
+    private static Map<String, Object> createStatistics(long[] values, double scale) {
+        long[] sortedValues = values.clone();
+        Arrays.sort(sortedValues);
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("min", sortedValues[0] / scale);
+        statistics.put("median", sortedValues[sortedValues.length / 2] / scale);
+        statistics.put("max", sortedValues[sortedValues.length - 1] / scale);
+        return statistics;
+    }
+
+    private Map<String, Object> run(String computationName, Computation computation, Network network) {
+        LOGGER.info("Running {} on {}", computationName, network.getId());
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("name", computationName);
+        for (int i = 0; i < warmupCount; i++) {
+            computation.run(network, new HashMap<>());
+        }
+        long[] times = new long[repetitionCount];
+        long[] allocatedBytes = new long[repetitionCount];
+        int[] untrackedThreadCount = new int[1];
+        for (int i = 0; i < repetitionCount; i++) {
+            long startedThreadCountBefore = threadMxBean.getTotalStartedThreadCount();
+            Map<Long, Long> allocatedBytesBefore = getAllocatedBytesByThread();
+            long start = System.nanoTime();
+            computation.run(network, results);
+            times[i] = System.nanoTime() - start;
+            Map<Long, Long> allocatedBytesAfter = getAllocatedBytesByThread();
+            allocatedBytes[i] = getAllocatedBytes(allocatedBytesBefore, allocatedBytesAfter,
+                    threadMxBean.getTotalStartedThreadCount() - startedThreadCountBefore, untrackedThreadCount);
+        }
+        results.put("time_ms", createStatistics(times, 1e6));
+        results.put("allocated_mb", createStatistics(allocatedBytes, 1024 * 1024));
+        results.put("allocation_untracked_threads", untrackedThreadCount[0]);
+        if (untrackedThreadCount[0] > 0) {
+            LOGGER.warn("{} threads terminated during {} on {}, allocated bytes are underestimated",
+                    untrackedThreadCount[0], computationName, network.getId());
+        }
+        return results;
+    }
+
+    private Map<String, Object> run(String networkName, Map<String, Computation> computations) {
+        long start = System.nanoTime();
+        Network network = BenchmarkNetworks.create(networkName);
+        long creationTime = System.nanoTime() - start;
+
+        Map<String, Object> networkResults = new LinkedHashMap<>();
+        networkResults.put("name", networkName);
+        networkResults.put("buses", network.getBusBreakerView().getBusStream().count());
+        networkResults.put("branches", network.getBranchCount());
+        networkResults.put("generators", network.getGeneratorCount());
+        networkResults.put("creation_time_ms", creationTime / 1e6);
+        List<Map<String, Object>> computationResults = new ArrayList<>();
+        computations.forEach((computationName, computation) -> computationResults.add(run(computationName, computation, network)));
+        networkResults.put("computations", computationResults);
+        return networkResults;
+    }
+
+    private static int parseCount(String arg, String option) {
+        int count = Integer.parseInt(arg.substring(option.length()));
+        if (count < 0 || count == 0 && option.equals(REPETITIONS_OPTION)) {
+            throw new IllegalArgumentException("Invalid count: " + arg);
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        // asynchronous computations run in the common pool (instead of one new thread per task when there are too few
+        // processors), with workers whose allocations are recorded at termination
+        if (System.getProperty("java.util.concurrent.ForkJoinPool.common.parallelism") == null) {
+            System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism",
+                    Integer.toString(Math.max(Runtime.getRuntime().availableProcessors() - 1, 2)));
+        }
+        System.setProperty("java.util.concurrent.ForkJoinPool.common.threadFactory", AllocationTrackingWorkerThreadFactory.class.getName());
+
+        int warmupCount = 2;
+        int repetitionCount = 5;
+        String matrixFactoryName = "sparse";
+        List<String> positionalArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(WARMUPS_OPTION)) {
+                warmupCount = parseCount(arg, WARMUPS_OPTION);
+            } else if (arg.startsWith(REPETITIONS_OPTION)) {
+                repetitionCount = parseCount(arg, REPETITIONS_OPTION);
+            } else if (arg.startsWith(MATRIX_FACTORY_OPTION)) {
+                matrixFactoryName = arg.substring(MATRIX_FACTORY_OPTION.length());
+            } else {
+                positionalArgs.add(arg);
+            }
+        }
+        if (positionalArgs.isEmpty()) {
+            throw new IllegalArgumentException("Usage: PerformanceSuite [--warmups=N] [--repetitions=N] [--matrix-factory=NAME] report-file [network-name...]");
+        }
+        Path reportFile = Paths.get(positionalArgs.get(0));
+        List<String> networkNames = positionalArgs.size() > 1 ? positionalArgs.subList(1, positionalArgs.size()) : DEFAULT_NETWORK_NAMES;
+
+        PerformanceSuite suite = new PerformanceSuite(warmupCount, repetitionCount);
+        Map<String, Computation> computations = createComputations(BenchmarkNetworks.createMatrixFactory(matrixFactoryName));
+        List<Map<String, Object>> networkResults = new ArrayList<>();
+        for (String networkName : networkNames) {
+            networkResults.add(suite.run(networkName, computations));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("date", ZonedDateTime.now().toString());
+        report.put("version", new OpenLoadFlowProvider().getVersion());
+        report.put("java_version", System.getProperty("java.version"));
+        report.put("available_processors", Runtime.getRuntime().availableProcessors());
+        report.put("warmups", warmupCount);
+        report.put("repetitions", repetitionCount);
+        report.put("matrix_factory", matrixFactoryName);
+        report.put("networks", networkResults);
+
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        LOGGER.info("Report written to {}", reportFile);
+    }
+}
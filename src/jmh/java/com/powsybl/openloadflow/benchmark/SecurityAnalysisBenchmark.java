@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.benchmark;
+
+import com.powsybl.contingency.ContingenciesProvider;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.openloadflow.graph.EvenShiloachGraphDecrementalConnectivity;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.sa.OpenSecurityAnalysisFactory;
+import com.powsybl.security.SecurityAnalysisParameters;
+import com.powsybl.security.SecurityAnalysisResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AC security analysis with N-1 contingencies, see {@link BenchmarkNetworks}. Besides the security analysis throughput, the contingencies
+ * secondary metric gives the number of contingencies simulated per second.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SecurityAnalysisBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ContingencyCounter {
+
+        public long contingencies;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            contingencies = 0;
+        }
+    }
+
+    @Param({"eurostag", "synthetic-1000"})
+    public String networkName;
+
+    @Param({"sparse", "java"})
+    public String matrixFactoryName;
+
+    private Network network;
+
+    private OpenSecurityAnalysisFactory factory;
+
+    private ContingenciesProvider contingenciesProvider;
+
+    @Setup
+    public void setUp() {
+        network = BenchmarkNetworks.create(networkName);
+        factory = new OpenSecurityAnalysisFactory(BenchmarkNetworks.createMatrixFactory(matrixFactoryName), () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
+        List<Contingency> contingencies = BenchmarkNetworks.createContingencies(network);
+        contingenciesProvider = n -> contingencies;
+    }
+
+    @Benchmark
+    public SecurityAnalysisResult run(ContingencyCounter counter) {
+        SecurityAnalysisResult result = factory.create(network, null, 0)
+                .run(VariantManagerConstants.INITIAL_VARIANT_ID, new SecurityAnalysisParameters(), contingenciesProvider)
+                .join();
+        counter.contingencies += result.getPostContingencyResults().size();
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.math.matrix;
+
+/**
+ * Base class of the {@link Matrix} implementations of Open Load Flow. {@link Matrix#toSparse()} returns the package
+ * private {@link SparseMatrix}, so it can only be implemented from this package.
+ *
+ * This is a workaround until powsybl-math allows {@link Matrix} to be implemented outside of its package, it has to be
+ * removed then. Declaring a class in a package of another artifact (split package) is not allowed by the Java module
+ * system and may break shading or relocation of the artifacts. {@link #toSparse()} is not supported as a
+ * {@link SparseMatrix} is KLU based and would load the native library.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public abstract class AbstractExternalMatrix extends AbstractMatrix {
+
+    @Override
+    public SparseMatrix toSparse() {
+        throw new UnsupportedOperationException("Conversion of " + getClass().getSimpleName() + " to a KLU sparse matrix is not supported");
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.openloadflow.ac.nr.NewtonRaphsonStatus;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowResult;
+import com.powsybl.openloadflow.ac.outerloop.AcloadFlowEngine;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.LfNetworkParameters;
+import com.powsybl.openloadflow.network.impl.LfNetworkUpdater;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of the AC load flow networks and equation systems of each IIDM network variant, so that successive runs on
+ * the same variant only have to apply the modifications made in between (see {@link LfNetworkUpdater}) instead of
+ * loading the network again. Networks are rebuilt when the parameters change or when a modification cannot be
+ * applied incrementally.
+ *
+ * The cache is owned by its creator (for instance an {@link OpenLoadFlowProvider}): cached networks hold references
+ * to the IIDM network, so they are kept until {@link #evict(Network)} or {@link #close()} is called, or until the
+ * cache itself is no longer referenced. Runs on different networks are not serialized, only runs on the same network
+ * are.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class NetworkCache implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkCache.class);
+
+    private static final class Entry {
+
+        private final List<Object> parametersKey;
+
+        private final LfNetworkUpdater updater;
+
+        private final List<AcloadFlowEngine> engines;
+
+        private Entry(List<Object> parametersKey, LfNetworkUpdater updater, List<AcloadFlowEngine> engines) {
+            this.parametersKey = parametersKey;
+            this.updater = updater;
+            this.engines = engines;
+        }
+
+        private void close() {
+            engines.forEach(AcloadFlowEngine::close);
+            updater.detach();
+        }
+    }
+
+    /**
+     * Entries of the variants of a network, also used as the lock of the runs on this network.
+     */
+    private static final class NetworkEntries {
+
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        private boolean closed = false;
+
+        private void close() {
+            entries.values().forEach(Entry::close);
+            entries.clear();
+            closed = true;
+        }
+    }
+
+    private final Map<Network, NetworkEntries> entriesByNetwork = new IdentityHashMap<>();
+
+    private NetworkEntries getNetworkEntries(Network network) {
+        synchronized (entriesByNetwork) {
+            return entriesByNetwork.computeIfAbsent(network, k -> new NetworkEntries());
+        }
+    }
+
+    /**
+     * Run the AC load flow on the working variant of the network, reusing the networks and equation systems of the
+     * previous run on this variant if it has been done with the same parameters.
+     *
+     * @param parametersKey values of all the parameters the cached networks and engines depend on
+     */
+    public List<AcLoadFlowResult> run(Network network, AcLoadFlowParameters parameters, List<Object> parametersKey) {
+        return run(network, parameters, parametersKey, new PerformanceMetrics());
+    }
+
+    /**
+     * Same as {@link #run(Network, AcLoadFlowParameters, List)}, the time spent to load the networks or to apply the
+     * modifications to the cached ones being added to the given metrics.
+     */
+    public List<AcLoadFlowResult> run(Network network, AcLoadFlowParameters parameters, List<Object> parametersKey,
+                                      PerformanceMetrics metrics) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(parameters);
+        Objects.requireNonNull(parametersKey);
+        Objects.requireNonNull(metrics);
+
+        while (true) {
+            NetworkEntries networkEntries = getNetworkEntries(network);
+            synchronized (networkEntries) {
+                // entries evicted while waiting for the lock are not used anymore
+                if (!networkEntries.closed) {
+                    return run(network, parameters, parametersKey, metrics, networkEntries.entries);
+                }
+            }
+        }
+    }
+
+    private static List<AcLoadFlowResult> run(Network network, AcLoadFlowParameters parameters, List<Object> parametersKey,
+                                              PerformanceMetrics metrics, Map<String, Entry> variantEntries) {
+        long start = System.nanoTime();
+
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        Entry entry = variantEntries.get(variantId);
+        if (entry != null && (!entry.parametersKey.equals(parametersKey) || !entry.updater.restore())) {
+            entry.close();
+            variantEntries.remove(variantId);
+            entry = null;
+        }
+
+        if (entry == null) {
+            LfNetworkParameters networkParameters = AcloadFlowEngine.createNetworkParameters(parameters);
+            List<LfNetwork> lfNetworks = LfNetwork.load(network, networkParameters);
+            LfNetworkUpdater updater = new LfNetworkUpdater(network, variantId, lfNetworks, networkParameters).attach();
+            List<AcloadFlowEngine> engines = lfNetworks.stream()
+                    .map(lfNetwork -> new AcloadFlowEngine(lfNetwork, parameters))
+                    .collect(Collectors.toList());
+            entry = new Entry(parametersKey, updater, engines);
+            variantEntries.put(variantId, entry);
+        } else {
+            LOGGER.info("Reuse cached networks of variant '{}' ({} modifications applied)", variantId, entry.updater.getModificationCount());
+        }
+        metrics.addNetworkLoading(System.nanoTime() - start);
+
+        List<AcLoadFlowResult> results = new ArrayList<>(entry.engines.size());
+        for (AcloadFlowEngine engine : entry.engines) {
+            results.add(engine.getNetwork().isValid() ? engine.run()
+                                                      : new AcLoadFlowResult(engine.getNetwork(), 0, 0, NewtonRaphsonStatus.NO_CALCULATION, Double.NaN));
+        }
+        return results;
+    }
+
+    /**
+     * Get the cached networks of the working variant of a network.
+     */
+    public Optional<List<LfNetwork>> getNetworks(Network network) {
+        Objects.requireNonNull(network);
+        NetworkEntries networkEntries;
+        synchronized (entriesByNetwork) {
+            networkEntries = entriesByNetwork.get(network);
+        }
+        if (networkEntries == null) {
+            return Optional.empty();
+        }
+        synchronized (networkEntries) {
+            Entry entry = networkEntries.entries.get(network.getVariantManager().getWorkingVariantId());
+            return entry != null ? Optional.of(entry.updater.getNetworks()) : Optional.empty();
+        }
+    }
+
+    /**
+     * Release the cached networks of all the variants of a network.
+     */
+    public void evict(Network network) {
+        Objects.requireNonNull(network);
+        NetworkEntries networkEntries;
+        synchronized (entriesByNetwork) {
+            networkEntries = entriesByNetwork.remove(network);
+        }
+        if (networkEntries != null) {
+            synchronized (networkEntries) {
+                networkEntries.close();
+            }
+        }
+    }
+
+    /**
+     * Release the cached networks of all the networks.
+     */
+    public void clear() {
+        List<NetworkEntries> removedEntries;
+        synchronized (entriesByNetwork) {
+            removedEntries = new ArrayList<>(entriesByNetwork.values());
+            entriesByNetwork.clear();
+        }
+        for (NetworkEntries networkEntries : removedEntries) {
+            synchronized (networkEntries) {
+                networkEntries.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+}
@@ -45,6 +45,14 @@ public class OpenLoadFlowParameters extends AbstractExtension<LoadFlowParameters
 
     private boolean addRatioToLinesWithDifferentNominalVoltageAtBothEnds = ADD_RATIO_TO_LINES_WITH_DIFFERENT_NOMINAL_VOLTAGE_AT_BOTH_ENDS_DEFAULT_VALUE;
 
+    private boolean networkCacheEnabled = NETWORK_CACHE_ENABLED_DEFAULT_VALUE;
+
+    private boolean mergeZeroImpedanceBuses = MERGE_ZERO_IMPEDANCE_BUSES_DEFAULT_VALUE;
+
+    private int threadCount = THREAD_COUNT_DEFAULT_VALUE;
+
+    private boolean parallelNetworkCreation = PARALLEL_NETWORK_CREATION_DEFAULT_VALUE;
+
     @Override
     public String getName() {
         return "OpenLoadFlowParameters";
@@ -125,6 +133,51 @@ public class OpenLoadFlowParameters extends AbstractExtension<LoadFlowParameters
         return this;
     }
 
+    public boolean isNetworkCacheEnabled() {
+        return networkCacheEnabled;
+    }
+
+    public OpenLoadFlowParameters setNetworkCacheEnabled(boolean networkCacheEnabled) {
+        this.networkCacheEnabled = networkCacheEnabled;
+        return this;
+    }
+
+    public boolean isMergeZeroImpedanceBuses() {
+        return mergeZeroImpedanceBuses;
+    }
+
+    public OpenLoadFlowParameters setMergeZeroImpedanceBuses(boolean mergeZeroImpedanceBuses) {
+        this.mergeZeroImpedanceBuses = mergeZeroImpedanceBuses;
+        return this;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Maximum number of threads used to run the AC load flow on the synchronous components of the network.
+     */
+    public OpenLoadFlowParameters setThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+        }
+        this.threadCount = threadCount;
+        return this;
+    }
+
+    public boolean isParallelNetworkCreation() {
+        return parallelNetworkCreation;
+    }
+
+    /**
+     * Create the components of the network, and the buses and branches of the large ones, in parallel.
+     */
+    public OpenLoadFlowParameters setParallelNetworkCreation(boolean parallelNetworkCreation) {
+        this.parallelNetworkCreation = parallelNetworkCreation;
+        return this;
+    }
+
     public static OpenLoadFlowParameters load() {
         return new OpenLoadFlowConfigLoader().load(PlatformConfig.defaultConfig());
     }
@@ -148,6 +201,10 @@ public class OpenLoadFlowParameters extends AbstractExtension<LoadFlowParameters
                         .setDcUseTransformerRatio(config.getBooleanProperty(DC_USE_TRANSFORMER_RATIO_PARAM_NAME, DC_USE_TRANSFORMER_RATIO_DEFAULT_VALUE))
                         .setPlausibleActivePowerLimit(config.getDoubleProperty(PLAUSIBLE_ACTIVE_POWER_LIMIT_PARAM_NAME, PLAUSIBLE_ACTIVE_POWER_LIMIT_DEFAULT_VALUE))
                         .setAddRatioToLinesWithDifferentNominalVoltageAtBothEnds(config.getBooleanProperty(ADD_RATIO_TO_LINES_WITH_DIFFERENT_NOMINAL_VOLTAGE_AT_BOTH_ENDS_NAME, ADD_RATIO_TO_LINES_WITH_DIFFERENT_NOMINAL_VOLTAGE_AT_BOTH_ENDS_DEFAULT_VALUE))
+                        .setNetworkCacheEnabled(config.getBooleanProperty(NETWORK_CACHE_ENABLED_PARAM_NAME, NETWORK_CACHE_ENABLED_DEFAULT_VALUE))
+                        .setMergeZeroImpedanceBuses(config.getBooleanProperty(MERGE_ZERO_IMPEDANCE_BUSES_PARAM_NAME, MERGE_ZERO_IMPEDANCE_BUSES_DEFAULT_VALUE))
+                        .setThreadCount(config.getIntProperty(THREAD_COUNT_PARAM_NAME, THREAD_COUNT_DEFAULT_VALUE))
+                        .setParallelNetworkCreation(config.getBooleanProperty(PARALLEL_NETWORK_CREATION_PARAM_NAME, PARALLEL_NETWORK_CREATION_DEFAULT_VALUE))
                 );
             return parameters;
         }
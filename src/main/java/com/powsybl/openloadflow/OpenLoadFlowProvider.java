@@ -36,12 +36,14 @@ import com.powsybl.openloadflow.dc.DcLoadFlowResult;
 import com.powsybl.openloadflow.equations.PreviousValueVoltageInitializer;
 import com.powsybl.openloadflow.equations.UniformValueVoltageInitializer;
 import com.powsybl.openloadflow.equations.VoltageInitializer;
+import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.NetworkSlackBusSelector;
 import com.powsybl.openloadflow.network.PerUnit;
 import com.powsybl.openloadflow.network.SlackBusSelector;
 import com.powsybl.openloadflow.network.impl.Networks;
 import com.powsybl.openloadflow.network.util.ActivePowerDistribution;
 import com.powsybl.openloadflow.util.Markers;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
 import com.powsybl.openloadflow.util.PowsyblOpenLoadFlowVersion;
 import com.powsybl.tools.PowsyblCoreVersion;
 import org.slf4j.Logger;
@@ -66,6 +68,11 @@ public class OpenLoadFlowProvider implements LoadFlowProvider {
 
     private final MatrixFactory matrixFactory;
 
+    /**
+     * Cache of the networks of this provider, used when enabled by the parameters.
+     */
+    private final NetworkCache networkCache;
+
     private boolean forcePhaseControlOffAndAddAngle1Var = false; // just for unit testing
 
     public OpenLoadFlowProvider() {
@@ -73,7 +80,12 @@ public class OpenLoadFlowProvider implements LoadFlowProvider {
     }
 
     public OpenLoadFlowProvider(MatrixFactory matrixFactory) {
+        this(matrixFactory, new NetworkCache());
+    }
+
+    public OpenLoadFlowProvider(MatrixFactory matrixFactory, NetworkCache networkCache) {
         this.matrixFactory = Objects.requireNonNull(matrixFactory);
+        this.networkCache = Objects.requireNonNull(networkCache);
     }
 
     public void setForcePhaseControlOffAndAddAngle1Var(boolean forcePhaseControlOffAndAddAngle1Var) {
@@ -144,6 +156,9 @@ public class OpenLoadFlowProvider implements LoadFlowProvider {
         LOGGER.info("Load power factor constant: {}", parametersExt.isLoadPowerFactorConstant());
         LOGGER.info("Plausible active power limit: {}", parametersExt.getPlausibleActivePowerLimit());
         LOGGER.info("Add ratio to lines with different nominal voltage at both ends: {}", parametersExt.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds());
+        LOGGER.info("Merge zero impedance buses: {}", parametersExt.isMergeZeroImpedanceBuses());
+        LOGGER.info("Thread count: {}", parametersExt.getThreadCount());
+        LOGGER.info("Parallel network creation: {}", parametersExt.isParallelNetworkCreation());
 
         List<OuterLoop> outerLoops = new ArrayList<>();
         if (parameters.isDistributedSlack()) {
@@ -176,12 +191,47 @@ public class OpenLoadFlowProvider implements LoadFlowProvider {
                                         parametersExt.getPlausibleActivePowerLimit(),
                                         forceA1Var,
                                         parametersExt.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds(),
-                                        branchesWithCurrent);
+                                        branchesWithCurrent,
+                                        // sensitivity analysis (forcing A1 variables) needs injection equations on each bus
+                                        parametersExt.isMergeZeroImpedanceBuses() && !forceA1Var)
+                .setParallelNetworkCreation(parametersExt.isParallelNetworkCreation());
+    }
+
+    /**
+     * Values of all the parameters AC load flow networks and engines depend on, to check if cached ones can be reused.
+     */
+    private List<Object> createNetworkCacheKey(LoadFlowParameters parameters, OpenLoadFlowParameters parametersExt) {
+        return Arrays.asList(parameters.getVoltageInitMode(),
+                             parameters.isDistributedSlack(),
+                             parameters.getBalanceType(),
+                             parameters.isNoGeneratorReactiveLimits(),
+                             parameters.isPhaseShifterRegulationOn(),
+                             parameters.isTransformerVoltageControlOn(),
+                             parameters.isTwtSplitShuntAdmittance(),
+                             parameters.isReadSlackBus(),
+                             parametersExt.getSlackBusSelector(),
+                             parametersExt.isThrowsExceptionInCaseOfSlackDistributionFailure(),
+                             parametersExt.hasVoltageRemoteControl(),
+                             parametersExt.getLowImpedanceBranchMode(),
+                             parametersExt.isLoadPowerFactorConstant(),
+                             parametersExt.getPlausibleActivePowerLimit(),
+                             parametersExt.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds(),
+                             parametersExt.isMergeZeroImpedanceBuses(),
+                             matrixFactory.getClass());
     }
 
     private LoadFlowResult runAc(Network network, LoadFlowParameters parameters, OpenLoadFlowParameters parametersExt) {
         AcLoadFlowParameters acParameters = createAcParameters(network, matrixFactory, parameters, parametersExt, false);
-        List<AcLoadFlowResult> results = AcloadFlowEngine.run(network, acParameters);
+        PerformanceMetrics performanceMetrics = new PerformanceMetrics();
+        List<AcLoadFlowResult> results;
+        if (parametersExt.isNetworkCacheEnabled()) {
+            results = networkCache.run(network, acParameters, createNetworkCacheKey(parameters, parametersExt), performanceMetrics);
+        } else {
+            long start = System.nanoTime();
+            List<LfNetwork> lfNetworks = AcloadFlowEngine.createNetworks(network, acParameters);
+            performanceMetrics.addNetworkLoading(System.nanoTime() - start);
+            results = AcloadFlowEngine.run(lfNetworks, acParameters, parametersExt.getThreadCount());
+        }
 
         Networks.resetState(network);
 
@@ -216,6 +266,8 @@ public class OpenLoadFlowProvider implements LoadFlowProvider {
                     status = LoadFlowResult.ComponentResult.Status.FAILED;
                     break;
             }
+            performanceMetrics.add(result.getMetrics());
+
             componentResults.add(new LoadFlowResultImpl.ComponentResultImpl(result.getNetwork().getNum(),
                                                                             status,
                                                                             result.getNewtonRaphsonIterations(),
@@ -234,7 +286,10 @@ public class OpenLoadFlowProvider implements LoadFlowProvider {
             }).complete();
         }
 
-        return new LoadFlowResultImpl(ok, Collections.emptyMap(), null, componentResults);
+        Map<String, String> metrics = new TreeMap<>();
+        performanceMetrics.export(metrics);
+
+        return new LoadFlowResultImpl(ok, metrics, null, componentResults);
     }
 
     private LoadFlowResult runDc(Network network, LoadFlowParameters parameters, OpenLoadFlowParameters parametersExt) {
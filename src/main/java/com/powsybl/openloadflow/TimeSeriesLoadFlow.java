@@ -0,0 +1,345 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.*;
+import com.powsybl.openloadflow.ac.nr.NewtonRaphsonStatus;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowResult;
+import com.powsybl.openloadflow.ac.outerloop.AcloadFlowEngine;
+import com.powsybl.openloadflow.equations.PreviousValueVoltageInitializer;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.LfNetworkParameters;
+import com.powsybl.openloadflow.network.impl.LfNetworkUpdater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * AC load flow of a series of time steps of the same network, only differing by their load and generator injections,
+ * like the hourly steps of a year.
+ *
+ * The horizon is split into chunks of consecutive steps, run concurrently on a pool of threads. Each chunk works on
+ * its own copy of the working variant, and loads its networks and creates its engines, so equation systems and
+ * Jacobian matrices, only once: injections of a step are applied to the variant and incrementally to the networks (see
+ * {@link LfNetworkUpdater}), then the Newton-Raphson starts from the solution of the previous step. Networks are only
+ * reloaded, with a cold start, when a modification cannot be applied incrementally.
+ *
+ * The working variant of the network is left unchanged.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class TimeSeriesLoadFlow {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesLoadFlow.class);
+
+    private static final String VARIANT_ID_PREFIX = "TimeSeriesLoadFlow-";
+
+    /**
+     * Injections of each time step, given for each element as an array of values indexed by step. Injections of the
+     * elements not listed are the ones of the working variant for all the steps.
+     */
+    public static final class Injections {
+
+        private final int stepCount;
+
+        private final Map<String, double[]> loadP0 = new LinkedHashMap<>();
+
+        private final Map<String, double[]> loadQ0 = new LinkedHashMap<>();
+
+        private final Map<String, double[]> generatorTargetP = new LinkedHashMap<>();
+
+        public Injections(int stepCount) {
+            if (stepCount < 1) {
+                throw new IllegalArgumentException("Invalid step count: " + stepCount);
+            }
+            this.stepCount = stepCount;
+        }
+
+        public int getStepCount() {
+            return stepCount;
+        }
+
+        private Injections put(Map<String, double[]> values, String id, double[] series) {
+            Objects.requireNonNull(id);
+            Objects.requireNonNull(series);
+            if (series.length != stepCount) {
+                throw new IllegalArgumentException("Series of '" + id + "' has " + series.length + " values, "
+                        + stepCount + " expected");
+            }
+            values.put(id, series);
+            return this;
+        }
+
+        public Injections setLoadP0(String loadId, double[] series) {
+            return put(loadP0, loadId, series);
+        }
+
+        public Injections setLoadQ0(String loadId, double[] series) {
+            return put(loadQ0, loadId, series);
+        }
+
+        public Injections setGeneratorTargetP(String generatorId, double[] series) {
+            return put(generatorTargetP, generatorId, series);
+        }
+
+        private static Load getLoad(Network network, String id) {
+            Load load = network.getLoad(id);
+            if (load == null) {
+                throw new PowsyblException("Load '" + id + "' not found");
+            }
+            return load;
+        }
+
+        private void check(Network network) {
+            loadP0.keySet().forEach(id -> getLoad(network, id));
+            loadQ0.keySet().forEach(id -> getLoad(network, id));
+            generatorTargetP.keySet().forEach(id -> {
+                if (network.getGenerator(id) == null) {
+                    throw new PowsyblException("Generator '" + id + "' not found");
+                }
+            });
+        }
+
+        /**
+         * Set the injections of a step on the working variant of the network.
+         */
+        private void apply(Network network, int step) {
+            loadP0.forEach((id, series) -> getLoad(network, id).setP0(series[step]));
+            loadQ0.forEach((id, series) -> getLoad(network, id).setQ0(series[step]));
+            generatorTargetP.forEach((id, series) -> network.getGenerator(id).setTargetP(series[step]));
+        }
+    }
+
+    /**
+     * Listener of the steps results, to read the solution of a step from the networks before they are reused for the
+     * next step of the chunk.
+     */
+    @FunctionalInterface
+    public interface StepListener {
+
+        /**
+         * Called once a step is computed, with the results of each network (synchronous component) of the step. As
+         * chunks are run concurrently, this method may be called concurrently for steps of different chunks.
+         */
+        void onStep(int step, List<AcLoadFlowResult> results);
+    }
+
+    /**
+     * Single listener of the network dispatching the modifications to the updater of the chunk of each variant. The
+     * listeners of an IIDM network cannot be added or removed while another thread modifies the network, so chunks
+     * register their updater here instead of attaching it to the network.
+     */
+    private static final class UpdaterDispatcher extends DefaultNetworkListener {
+
+        private final Map<String, LfNetworkUpdater> updaters = new ConcurrentHashMap<>();
+
+        @Override
+        public void onCreation(Identifiable identifiable) {
+            updaters.values().forEach(updater -> updater.onCreation(identifiable));
+        }
+
+        @Override
+        public void onRemoval(Identifiable identifiable) {
+            updaters.values().forEach(updater -> updater.onRemoval(identifiable));
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+            // not variant dependent attribute
+            updaters.values().forEach(updater -> updater.onUpdate(identifiable, attribute, oldValue, newValue));
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            LfNetworkUpdater updater = updaters.get(variantId);
+            if (updater != null) {
+                updater.onUpdate(identifiable, attribute, variantId, oldValue, newValue);
+            }
+        }
+
+        @Override
+        public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+            updaters.values().forEach(updater -> updater.onVariantOverwritten(sourceVariantId, targetVariantId));
+        }
+
+        @Override
+        public void onVariantRemoved(String variantId) {
+            updaters.values().forEach(updater -> updater.onVariantRemoved(variantId));
+        }
+    }
+
+    private static final class Chunk implements AutoCloseable {
+
+        private final Network network;
+
+        private final String variantId;
+
+        private final AcLoadFlowParameters parameters;
+
+        private final UpdaterDispatcher dispatcher;
+
+        private LfNetworkUpdater updater;
+
+        private List<AcloadFlowEngine> engines = Collections.emptyList();
+
+        private boolean warmStart = false;
+
+        private Chunk(Network network, String variantId, AcLoadFlowParameters parameters, UpdaterDispatcher dispatcher) {
+            this.network = network;
+            this.variantId = variantId;
+            this.parameters = parameters;
+            this.dispatcher = dispatcher;
+        }
+
+        private void load() {
+            close();
+            LfNetworkParameters networkParameters = AcloadFlowEngine.createNetworkParameters(parameters);
+            List<LfNetwork> lfNetworks = LfNetwork.load(network, networkParameters);
+            updater = new LfNetworkUpdater(network, variantId, lfNetworks, networkParameters);
+            dispatcher.updaters.put(variantId, updater);
+            engines = lfNetworks.stream()
+                    .map(lfNetwork -> new AcloadFlowEngine(lfNetwork, parameters))
+                    .collect(Collectors.toList());
+            warmStart = false;
+        }
+
+        private List<AcLoadFlowResult> run() {
+            if (updater == null || !updater.restore()) {
+                load();
+            }
+            List<AcLoadFlowResult> results = new ArrayList<>(engines.size());
+            boolean converged = true;
+            for (AcloadFlowEngine engine : engines) {
+                AcLoadFlowResult result;
+                if (engine.getNetwork().isValid()) {
+                    result = warmStart ? engine.run(new PreviousValueVoltageInitializer()) : engine.run();
+                    converged &= result.getNewtonRaphsonStatus() == NewtonRaphsonStatus.CONVERGED;
+                } else {
+                    result = new AcLoadFlowResult(engine.getNetwork(), 0, 0, NewtonRaphsonStatus.NO_CALCULATION, Double.NaN);
+                }
+                results.add(result);
+            }
+            // next step starts from this solution only if it is a valid one
+            warmStart = converged;
+            return results;
+        }
+
+        @Override
+        public void close() {
+            engines.forEach(AcloadFlowEngine::close);
+            engines = Collections.emptyList();
+            if (updater != null) {
+                dispatcher.updaters.remove(variantId);
+                updater = null;
+            }
+        }
+    }
+
+    private TimeSeriesLoadFlow() {
+    }
+
+    private static List<List<AcLoadFlowResult>> runChunk(Network network, String variantId, Injections injections,
+                                                         int fromStep, int toStep, AcLoadFlowParameters parameters,
+                                                         StepListener listener, UpdaterDispatcher dispatcher) {
+        network.getVariantManager().setWorkingVariant(variantId);
+        List<List<AcLoadFlowResult>> results = new ArrayList<>(toStep - fromStep);
+        try (Chunk chunk = new Chunk(network, variantId, parameters, dispatcher)) {
+            for (int step = fromStep; step < toStep; step++) {
+                injections.apply(network, step);
+                List<AcLoadFlowResult> stepResults = chunk.run();
+                listener.onStep(step, stepResults);
+                results.add(stepResults);
+            }
+        }
+        return results;
+    }
+
+    public static List<List<AcLoadFlowResult>> run(Network network, Injections injections, AcLoadFlowParameters parameters,
+                                                   int threadCount) {
+        return run(network, injections, parameters, threadCount, (step, results) -> { });
+    }
+
+    /**
+     * Run the AC load flow of each step, on at most the given number of threads.
+     *
+     * @return the results of each network (synchronous component) of each step, indexed by step
+     */
+    public static List<List<AcLoadFlowResult>> run(Network network, Injections injections, AcLoadFlowParameters parameters,
+                                                   int threadCount, StepListener listener) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(injections);
+        Objects.requireNonNull(parameters);
+        Objects.requireNonNull(listener);
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+        }
+        injections.check(network);
+
+        int stepCount = injections.getStepCount();
+        int chunkCount = Math.min(threadCount, stepCount);
+        VariantManager variantManager = network.getVariantManager();
+        String workingVariantId = variantManager.getWorkingVariantId();
+        boolean multiThreadAccessAllowed = variantManager.isVariantMultiThreadAccessAllowed();
+        List<String> variantIds = new ArrayList<>(chunkCount);
+        for (int k = 0; k < chunkCount; k++) {
+            String variantId = VARIANT_ID_PREFIX + UUID.randomUUID();
+            variantManager.cloneVariant(workingVariantId, variantId);
+            variantIds.add(variantId);
+        }
+
+        LOGGER.info("Running AC loadflow on {} steps in {} chunks", stepCount, chunkCount);
+        UpdaterDispatcher dispatcher = new UpdaterDispatcher();
+        network.addListener(dispatcher);
+        ExecutorService executor = null;
+        try {
+            if (chunkCount == 1) {
+                return runChunk(network, variantIds.get(0), injections, 0, stepCount, parameters, listener, dispatcher);
+            }
+
+            variantManager.allowVariantMultiThreadAccess(true);
+            executor = Executors.newFixedThreadPool(chunkCount);
+            List<Future<List<List<AcLoadFlowResult>>>> futures = new ArrayList<>(chunkCount);
+            for (int k = 0; k < chunkCount; k++) {
+                // contiguous chunks, so that each step starts from the solution of the previous one
+                int fromStep = (int) ((long) stepCount * k / chunkCount);
+                int toStep = (int) ((long) stepCount * (k + 1) / chunkCount);
+                String variantId = variantIds.get(k);
+                futures.add(executor.submit(() -> runChunk(network, variantId, injections, fromStep, toStep, parameters, listener, dispatcher)));
+            }
+            List<List<AcLoadFlowResult>> results = new ArrayList<>(stepCount);
+            for (Future<List<List<AcLoadFlowResult>>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PowsyblException(e.getCause());
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            network.removeListener(dispatcher);
+            variantManager.allowVariantMultiThreadAccess(multiThreadAccessAllowed);
+            variantManager.setWorkingVariant(workingVariantId);
+            variantIds.forEach(variantManager::removeVariant);
+        }
+    }
+}
@@ -34,8 +34,14 @@ public final class AcEquationSystem {
     }
 
     private static void createBusEquations(LfNetwork network, VariableSet variableSet, AcEquationSystemCreationParameters creationParameters,
-                                           EquationSystem equationSystem) {
+                                           EquationSystem equationSystem, ZeroImpedanceBusMerging merging) {
         for (LfBus bus : network.getBuses()) {
+            if (merging.isMerged(bus)) {
+                // a merged bus has no specific equation, only its shunts are connected to its representative bus
+                createShuntEquations(variableSet, equationSystem, bus, merging.getRepresentative(bus));
+                continue;
+            }
+
             if (bus.isSlack()) {
                 equationSystem.createEquation(bus.getNum(), EquationType.BUS_PHI).addTerm(EquationTerm.createVariableTerm(bus, VariableType.BUS_PHI, variableSet));
                 equationSystem.createEquation(bus.getNum(), EquationType.BUS_P).setActive(false);
@@ -43,7 +49,7 @@ public final class AcEquationSystem {
 
             bus.getVoltageControl().ifPresent(vc -> createVoltageControlEquations(vc, bus, variableSet, equationSystem, creationParameters));
 
-            createShuntEquations(variableSet, equationSystem, bus);
+            createShuntEquations(variableSet, equationSystem, bus, bus);
 
             if (creationParameters.isTransformerVoltageControl()) {
                 createDiscreteVoltageControlEquation(bus, variableSet, equationSystem);
@@ -65,10 +71,10 @@ public final class AcEquationSystem {
         }
     }
 
-    private static void createShuntEquations(VariableSet variableSet, EquationSystem equationSystem, LfBus bus) {
+    private static void createShuntEquations(VariableSet variableSet, EquationSystem equationSystem, LfBus bus, LfBus equationBus) {
         for (LfShunt shunt : bus.getShunts()) {
-            ShuntCompensatorReactiveFlowEquationTerm q = new ShuntCompensatorReactiveFlowEquationTerm(shunt, bus, variableSet);
-            equationSystem.createEquation(bus.getNum(), EquationType.BUS_Q).addTerm(q);
+            ShuntCompensatorReactiveFlowEquationTerm q = new ShuntCompensatorReactiveFlowEquationTerm(shunt, equationBus, variableSet);
+            equationSystem.createEquation(equationBus.getNum(), EquationType.BUS_Q).addTerm(q);
             shunt.setQ(q);
         }
     }
@@ -376,12 +382,13 @@ public final class AcEquationSystem {
     }
 
     private static void createBranchEquations(LfNetwork network, VariableSet variableSet, AcEquationSystemCreationParameters creationParameters,
-                                              EquationSystem equationSystem) {
+                                              EquationSystem equationSystem, ZeroImpedanceBusMerging merging) {
 
         // create zero and non zero impedance branch equations
         network.getBranches().stream()
             .filter(b -> !LfNetwork.isZeroImpedanceBranch(b))
-            .forEach(b -> createImpedantBranch(b, b.getBus1(), b.getBus2(), variableSet, creationParameters, equationSystem));
+            .forEach(b -> createImpedantBranch(b, merging.getRepresentative(b.getBus1()), merging.getRepresentative(b.getBus2()),
+                                               variableSet, creationParameters, equationSystem));
 
         // create zero impedance equations only on minimum spanning forest calculated from zero impedance sub graph
         Graph<LfBus, LfBranch> zeroImpedanceSubGraph = network.createZeroImpedanceSubGraph();
@@ -395,6 +402,9 @@ public final class AcEquationSystem {
                 }
             }
 
+            // merged zero impedance branches do not need any equation
+            zeroImpedanceSubGraph.removeAllEdges(merging.getMergedBranches());
+
             SpanningTreeAlgorithm.SpanningTree<LfBranch> spanningTree = new KruskalMinimumSpanningTree<>(zeroImpedanceSubGraph).getSpanningTree();
             for (LfBranch branch : spanningTree.getEdges()) {
                 createNonImpedantBranch(variableSet, equationSystem, branch, branch.getBus1(), branch.getBus2());
@@ -417,8 +427,13 @@ public final class AcEquationSystem {
 
         EquationSystem equationSystem = new EquationSystem(network, true);
 
-        createBusEquations(network, variableSet, creationParameters, equationSystem);
-        createBranchEquations(network, variableSet, creationParameters, equationSystem);
+        ZeroImpedanceBusMerging merging = creationParameters.isMergeZeroImpedanceBuses()
+                ? ZeroImpedanceBusMerging.create(network, creationParameters.getNonMergeableBranchIds())
+                : ZeroImpedanceBusMerging.none();
+
+        createBusEquations(network, variableSet, creationParameters, equationSystem, merging);
+        createBranchEquations(network, variableSet, creationParameters, equationSystem, merging);
+        merging.createEquations(variableSet, equationSystem);
 
         network.addListener(new AcEquationSystemUpdater(equationSystem, variableSet, creationParameters));
 
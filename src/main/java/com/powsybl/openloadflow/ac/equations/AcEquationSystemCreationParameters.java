@@ -6,6 +6,8 @@
  */
 package com.powsybl.openloadflow.ac.equations;
 
+import java.util.Collections;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -21,6 +23,10 @@ public class AcEquationSystemCreationParameters {
 
     private final Set<String> branchesWithCurrent;
 
+    private final boolean mergeZeroImpedanceBuses;
+
+    private final Set<String> nonMergeableBranchIds;
+
     public AcEquationSystemCreationParameters(boolean phaseControl, boolean transformerVoltageControl) {
         this(phaseControl, transformerVoltageControl, false);
     }
@@ -30,10 +36,17 @@ public class AcEquationSystemCreationParameters {
     }
 
     public AcEquationSystemCreationParameters(boolean phaseControl, boolean transformerVoltageControl, boolean forceA1Var, Set<String> branchesWithCurrent) {
+        this(phaseControl, transformerVoltageControl, forceA1Var, branchesWithCurrent, false, Collections.emptySet());
+    }
+
+    public AcEquationSystemCreationParameters(boolean phaseControl, boolean transformerVoltageControl, boolean forceA1Var, Set<String> branchesWithCurrent,
+                                              boolean mergeZeroImpedanceBuses, Set<String> nonMergeableBranchIds) {
         this.phaseControl = phaseControl;
         this.transformerVoltageControl = transformerVoltageControl;
         this.forceA1Var = forceA1Var;
         this.branchesWithCurrent = branchesWithCurrent;
+        this.mergeZeroImpedanceBuses = mergeZeroImpedanceBuses;
+        this.nonMergeableBranchIds = Objects.requireNonNull(nonMergeableBranchIds);
     }
 
     public boolean isPhaseControl() {
@@ -51,4 +64,15 @@ public class AcEquationSystemCreationParameters {
     public Set<String> getBranchesWithCurrent() {
         return branchesWithCurrent;
     }
+
+    public boolean isMergeZeroImpedanceBuses() {
+        return mergeZeroImpedanceBuses;
+    }
+
+    /**
+     * Get ids of zero impedance branches that have to be kept, for instance because they are tripped by a contingency.
+     */
+    public Set<String> getNonMergeableBranchIds() {
+        return nonMergeableBranchIds;
+    }
 }
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.ac.equations;
+
+import com.powsybl.openloadflow.equations.AbstractNamedEquationTerm;
+import com.powsybl.openloadflow.equations.Variable;
+import com.powsybl.openloadflow.network.ElementType;
+import com.powsybl.openloadflow.network.LfBus;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Injection of a bus merged into another one through zero impedance branches. As the merged bus has no equation, its
+ * injection is moved, as a constant term, to the active or reactive power balance equation of the bus it is merged into.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class MergedBusInjectionEquationTerm extends AbstractNamedEquationTerm {
+
+    private final LfBus bus;
+
+    private final boolean reactive;
+
+    public MergedBusInjectionEquationTerm(LfBus bus, boolean reactive) {
+        this.bus = Objects.requireNonNull(bus);
+        this.reactive = reactive;
+    }
+
+    @Override
+    public ElementType getElementType() {
+        return ElementType.BUS;
+    }
+
+    @Override
+    public int getElementNum() {
+        return bus.getNum();
+    }
+
+    @Override
+    public List<Variable> getVariables() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void update(double[] x) {
+        // nothing to update, injection target is read at evaluation as it may change between two Newton-Raphson runs
+    }
+
+    @Override
+    public double eval() {
+        return -(reactive ? bus.getTargetQ() : bus.getTargetP());
+    }
+
+    @Override
+    public double der(Variable variable) {
+        throw new IllegalStateException("Unknown variable: " + variable);
+    }
+
+    @Override
+    public boolean hasRhs() {
+        return false;
+    }
+
+    @Override
+    public double rhs() {
+        return 0;
+    }
+
+    @Override
+    protected String getName() {
+        return reactive ? "ac_q_merged_" + bus.getNum() : "ac_p_merged_" + bus.getNum();
+    }
+}
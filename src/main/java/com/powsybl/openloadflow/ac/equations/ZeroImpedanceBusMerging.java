@@ -0,0 +1,288 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.ac.equations;
+
+import com.powsybl.openloadflow.equations.*;
+import com.powsybl.openloadflow.network.*;
+import com.powsybl.openloadflow.util.Evaluable;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.connectivity.ConnectivityInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Merging of the buses connected by zero impedance branches into a single electrical node. All the buses of a zero
+ * impedance connected set share the voltage variables and the power balance equations of one of them, the
+ * representative bus, so that zero impedance branches do not need any coupling equation or dummy variable.
+ *
+ * Flows of zero impedance branches are reconstructed after solving from the power balance of the buses they connect,
+ * along a spanning tree of the connected set rooted at the representative bus.
+ *
+ * A connected set is only merged if it has at most one bus with an equation the other ones cannot share (slack, local
+ * or discrete voltage control) and if all its zero impedance branches have a unit ratio and no phase shift.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class ZeroImpedanceBusMerging {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZeroImpedanceBusMerging.class);
+
+    private final Map<LfBus, LfBus> representatives = new HashMap<>();
+
+    private final Set<LfBranch> mergedBranches = new HashSet<>();
+
+    /**
+     * Buses of the merged sets, each one with the spanning tree branch that links it to its parent, in breadth first
+     * order from the representative bus.
+     */
+    private final Map<LfBus, LfBranch> parentBranches = new LinkedHashMap<>();
+
+    private ZeroImpedanceBusMerging() {
+    }
+
+    static ZeroImpedanceBusMerging none() {
+        return new ZeroImpedanceBusMerging();
+    }
+
+    static ZeroImpedanceBusMerging create(LfNetwork network, Set<String> nonMergeableBranchIds) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(nonMergeableBranchIds);
+        ZeroImpedanceBusMerging merging = new ZeroImpedanceBusMerging();
+        // slack bus is lazily selected, it has to be known so that it is not merged into another bus
+        network.getSlackBus();
+        Graph<LfBus, LfBranch> zeroImpedanceSubGraph = network.createZeroImpedanceSubGraph();
+        if (zeroImpedanceSubGraph.vertexSet().isEmpty()) {
+            return merging;
+        }
+        int mergedBusCount = 0;
+        for (Set<LfBus> connectedSet : new ConnectivityInspector<>(zeroImpedanceSubGraph).connectedSets()) {
+            LfBus representative = findRepresentative(zeroImpedanceSubGraph, connectedSet, nonMergeableBranchIds);
+            if (representative != null) {
+                merging.merge(zeroImpedanceSubGraph, connectedSet, representative);
+                mergedBusCount += connectedSet.size() - 1;
+            }
+        }
+        LOGGER.info("{} buses merged through {} zero impedance branches on network {}", mergedBusCount,
+                merging.mergedBranches.size(), network.getNum());
+        return merging;
+    }
+
+    private static boolean hasSpecificEquation(LfBus bus) {
+        return bus.isSlack() || bus.getVoltageControl().isPresent() || bus.isDiscreteVoltageControlled();
+    }
+
+    private static boolean isMergeable(LfBranch branch, Set<String> nonMergeableBranchIds) {
+        PiModel piModel = branch.getPiModel();
+        return piModel.getR1() == 1 && piModel.getA1() == 0
+                && !branch.isPhaseController() && !branch.isPhaseControlled() && !branch.isVoltageController()
+                && !nonMergeableBranchIds.contains(branch.getId());
+    }
+
+    /**
+     * Find the bus the other buses of the connected set can be merged into, or null if the connected set cannot be
+     * merged.
+     */
+    private static LfBus findRepresentative(Graph<LfBus, LfBranch> zeroImpedanceSubGraph, Set<LfBus> connectedSet,
+                                            Set<String> nonMergeableBranchIds) {
+        LfBus representative = null;
+        for (LfBus bus : connectedSet) {
+            if (hasSpecificEquation(bus)) {
+                if (representative != null) {
+                    return null;
+                }
+                if (bus.getVoltageControl().map(vc -> !vc.isVoltageControlLocal()).orElse(false)) {
+                    return null;
+                }
+                representative = bus;
+            }
+            for (LfBranch branch : bus.getBranches()) {
+                if (zeroImpedanceSubGraph.containsEdge(branch)) {
+                    if (!isMergeable(branch, nonMergeableBranchIds)) {
+                        return null;
+                    }
+                } else if (connectedSet.contains(branch.getBus1()) && connectedSet.contains(branch.getBus2())) {
+                    // an impedant branch inside the connected set would have both sides on the same voltage variables
+                    return null;
+                }
+            }
+        }
+        // connected sets are hash sets, the lowest bus number is taken for the representative to be deterministic
+        return representative != null ? representative
+                                      : connectedSet.stream().min(Comparator.comparingInt(LfBus::getNum)).orElseThrow();
+    }
+
+    private void merge(Graph<LfBus, LfBranch> zeroImpedanceSubGraph, Set<LfBus> connectedSet, LfBus representative) {
+        Deque<LfBus> queue = new ArrayDeque<>();
+        Set<LfBus> visited = new HashSet<>();
+        queue.add(representative);
+        visited.add(representative);
+        while (!queue.isEmpty()) {
+            LfBus bus = queue.poll();
+            for (LfBranch branch : zeroImpedanceSubGraph.edgesOf(bus)) {
+                mergedBranches.add(branch);
+                LfBus otherBus = branch.getBus1() == bus ? branch.getBus2() : branch.getBus1();
+                if (visited.add(otherBus)) {
+                    parentBranches.put(otherBus, branch);
+                    queue.add(otherBus);
+                }
+            }
+        }
+        for (LfBus bus : connectedSet) {
+            if (bus != representative) {
+                representatives.put(bus, representative);
+            }
+        }
+    }
+
+    /**
+     * Get the bus whose variables and equations are used for a given bus.
+     */
+    LfBus getRepresentative(LfBus bus) {
+        return bus != null ? representatives.getOrDefault(bus, bus) : null;
+    }
+
+    boolean isMerged(LfBus bus) {
+        return representatives.containsKey(bus);
+    }
+
+    Set<LfBranch> getMergedBranches() {
+        return mergedBranches;
+    }
+
+    /**
+     * Move injections of merged buses to their representative bus, copy the state of representative buses to merged
+     * buses after each state update and set the reconstructed flows of zero impedance branches.
+     */
+    void createEquations(VariableSet variableSet, EquationSystem equationSystem) {
+        if (representatives.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<LfBus, LfBus> e : representatives.entrySet()) {
+            LfBus bus = e.getKey();
+            LfBus representative = e.getValue();
+            equationSystem.createEquation(representative.getNum(), EquationType.BUS_P).addTerm(new MergedBusInjectionEquationTerm(bus, false));
+            equationSystem.createEquation(representative.getNum(), EquationType.BUS_Q).addTerm(new MergedBusInjectionEquationTerm(bus, true));
+        }
+
+        // merged buses and voltage variables of their representative bus, looked up once as state is copied at each
+        // Newton-Raphson iteration
+        LfBus[] mergedBuses = new LfBus[representatives.size()];
+        Variable[] vVariables = new Variable[representatives.size()];
+        Variable[] phiVariables = new Variable[representatives.size()];
+        int k = 0;
+        for (Map.Entry<LfBus, LfBus> e : representatives.entrySet()) {
+            mergedBuses[k] = e.getKey();
+            vVariables[k] = variableSet.getVariable(e.getValue().getNum(), VariableType.BUS_V);
+            phiVariables[k] = variableSet.getVariable(e.getValue().getNum(), VariableType.BUS_PHI);
+            k++;
+        }
+
+        equationSystem.addListener(new EquationSystemListener() {
+            @Override
+            public void onEquationChange(Equation equation, EquationEventType eventType) {
+                // nothing to do
+            }
+
+            @Override
+            public void onEquationTermChange(EquationTerm term, EquationTermEventType eventType) {
+                // nothing to do
+            }
+
+            @Override
+            public void onStateUpdate(double[] x) {
+                for (int i = 0; i < mergedBuses.length; i++) {
+                    int vRow = vVariables[i].getRow();
+                    int phiRow = phiVariables[i].getRow();
+                    if (vRow != -1 && phiRow != -1) {
+                        mergedBuses[i].setV(x[vRow]);
+                        mergedBuses[i].setAngle(Math.toDegrees(x[phiRow]));
+                    }
+                }
+            }
+        });
+
+        createFlows();
+    }
+
+    private static double eval(Evaluable evaluable) {
+        if (evaluable instanceof EquationTerm && !((EquationTerm) evaluable).isActive()) {
+            return 0;
+        }
+        return evaluable.eval();
+    }
+
+    /**
+     * Power leaving a bus through its impedant branches and its shunts.
+     */
+    private double getImpedantOutflow(LfBus bus, boolean reactive) {
+        double outflow = 0;
+        for (LfBranch branch : bus.getBranches()) {
+            if (!mergedBranches.contains(branch)) {
+                if (branch.getBus1() == bus) {
+                    outflow += eval(reactive ? branch.getQ1() : branch.getP1());
+                } else {
+                    outflow += eval(reactive ? branch.getQ2() : branch.getP2());
+                }
+            }
+        }
+        if (reactive) {
+            for (LfShunt shunt : bus.getShunts()) {
+                outflow += eval(shunt.getQ());
+            }
+        }
+        return outflow;
+    }
+
+    private void createFlows() {
+        // buses of the sub tree of each merged bus, the tree being rooted at the representative bus
+        Map<LfBus, List<LfBus>> subTrees = new HashMap<>();
+        List<LfBus> buses = new ArrayList<>(parentBranches.keySet());
+        Collections.reverse(buses); // leaves first
+        for (LfBus bus : buses) {
+            List<LfBus> subTree = subTrees.computeIfAbsent(bus, k -> new ArrayList<>());
+            subTree.add(bus);
+            LfBranch parentBranch = parentBranches.get(bus);
+            LfBus parentBus = parentBranch.getBus1() == bus ? parentBranch.getBus2() : parentBranch.getBus1();
+            if (parentBranches.containsKey(parentBus)) {
+                subTrees.computeIfAbsent(parentBus, k -> new ArrayList<>()).addAll(subTree);
+            }
+        }
+
+        for (Map.Entry<LfBus, LfBranch> e : parentBranches.entrySet()) {
+            LfBus bus = e.getKey();
+            LfBranch branch = e.getValue();
+            List<LfBus> subTree = subTrees.get(bus);
+            // power leaving the sub tree to its parent is the sum of injections minus the power leaving through
+            // impedant branches and shunts
+            Evaluable p = () -> sum(subTree, b -> b.getTargetP() - getImpedantOutflow(b, false));
+            Evaluable q = () -> sum(subTree, b -> b.getTargetQ() - getImpedantOutflow(b, true));
+            if (branch.getBus1() == bus) {
+                branch.setP1(p);
+                branch.setQ1(q);
+                branch.setP2(() -> -p.eval());
+                branch.setQ2(() -> -q.eval());
+            } else {
+                branch.setP2(p);
+                branch.setQ2(q);
+                branch.setP1(() -> -p.eval());
+                branch.setQ1(() -> -q.eval());
+            }
+        }
+    }
+
+    private static double sum(List<LfBus> buses, ToDoubleFunction<LfBus> function) {
+        double sum = 0;
+        for (LfBus bus : buses) {
+            sum += function.applyAsDouble(bus);
+        }
+        return sum;
+    }
+}
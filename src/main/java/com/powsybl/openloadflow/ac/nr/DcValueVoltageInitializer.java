@@ -9,8 +9,10 @@ package com.powsybl.openloadflow.ac.nr;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.math.matrix.MatrixFactory;
-import com.powsybl.openloadflow.dc.DcLoadFlowEngine;
+import com.powsybl.openloadflow.dc.DcLoadFlowParameters;
+import com.powsybl.openloadflow.dc.DcLoadFlowSolver;
 import com.powsybl.openloadflow.equations.VoltageInitializer;
+import com.powsybl.openloadflow.network.FirstSlackBusSelector;
 import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfNetwork;
 
@@ -21,8 +23,11 @@ public class DcValueVoltageInitializer implements VoltageInitializer {
 
     @Override
     public void prepare(LfNetwork network, MatrixFactory matrixFactory) {
-        if (new DcLoadFlowEngine(network, matrixFactory).run().getStatus() != LoadFlowResult.ComponentResult.Status.CONVERGED) {
-            throw new PowsyblException("DC loadflow failed, impossible to initialize voltage angle from DC values");
+        // the DC solver directly works on the already loaded network, no need for a full DC load flow engine
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, new DcLoadFlowParameters(new FirstSlackBusSelector(), matrixFactory))) {
+            if (solver.run() != LoadFlowResult.ComponentResult.Status.CONVERGED) {
+                throw new PowsyblException("DC loadflow failed, impossible to initialize voltage angle from DC values");
+            }
         }
     }
 
@@ -10,12 +10,16 @@ import com.powsybl.math.matrix.MatrixFactory;
 import com.powsybl.openloadflow.equations.*;
 import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.util.jfr.NewtonRaphsonIterationEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
 
 /**
+ * Newton-Raphson solver. State, target and mismatch vectors are allocated once and reused by successive runs (after
+ * each outer loop) as long as the equation system size does not change, so that iterations do not allocate.
+ *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class NewtonRaphson {
@@ -34,6 +38,14 @@ public class NewtonRaphson {
 
     private final JacobianMatrix j;
 
+    private final VoltageInitializer previousValueVoltageInitializer = new PreviousValueVoltageInitializer();
+
+    private double[] x;
+
+    private double[] targets;
+
+    private double[] fx;
+
     public NewtonRaphson(LfNetwork network, MatrixFactory matrixFactory, EquationSystem equationSystem, JacobianMatrix j,
                          NewtonRaphsonStoppingCriteria stoppingCriteria) {
         this.network = Objects.requireNonNull(network);
@@ -43,16 +55,21 @@ public class NewtonRaphson {
         this.stoppingCriteria = Objects.requireNonNull(stoppingCriteria);
     }
 
-    private NewtonRaphsonStatus runIteration(double[] fx, double[] targets, double[] x) {
+    private NewtonRaphsonStatus runIteration() {
         LOGGER.debug("Start iteration {}", iteration);
 
+        NewtonRaphsonIterationEvent event = new NewtonRaphsonIterationEvent();
+        event.begin();
+        double norm = Double.NaN;
+        NewtonRaphsonStatus status = null;
         try {
             // solve f(x) = j * dx
             try {
                 j.solveTransposed(fx);
             } catch (Exception e) {
                 LOGGER.error(e.toString(), e);
-                return NewtonRaphsonStatus.SOLVER_FAILED;
+                status = NewtonRaphsonStatus.SOLVER_FAILED;
+                return status;
             }
 
             // update x
@@ -74,14 +91,18 @@ public class NewtonRaphson {
             // test stopping criteria and log norm(fx)
             NewtonRaphsonStoppingCriteria.TestResult testResult = stoppingCriteria.test(fx);
 
-            LOGGER.debug("|f(x)|={}", testResult.getNorm());
+            norm = testResult.getNorm();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("|f(x)|={}", norm);
+            }
 
             if (testResult.isStop()) {
-                return NewtonRaphsonStatus.CONVERGED;
+                status = NewtonRaphsonStatus.CONVERGED;
             }
 
-            return null;
+            return status;
         } finally {
+            event.record(network.getNum(), iteration, norm, status != null ? status.name() : null);
             iteration++;
         }
     }
@@ -100,26 +121,37 @@ public class NewtonRaphson {
 
         // initialize state vector
         VoltageInitializer voltageInitializer = iteration == 0 ? parameters.getVoltageInitializer()
-                                                               : new PreviousValueVoltageInitializer();
+                                                               : previousValueVoltageInitializer;
 
         voltageInitializer.prepare(network, matrixFactory);
 
-        double[] x = equationSystem.createStateVector(voltageInitializer);
+        // equation system size may have changed since previous run (outer loop)
+        int variableCount = equationSystem.getSortedVariablesToFind().size();
+        if (x == null || x.length != variableCount) {
+            x = new double[variableCount];
+        }
+        int equationCount = equationSystem.getSortedEquationsToSolve().size();
+        if (fx == null || fx.length != equationCount) {
+            targets = new double[equationCount];
+            fx = new double[equationCount];
+        }
+
+        equationSystem.updateStateVector(voltageInitializer, x);
 
         equationSystem.updateEquations(x);
 
         // initialize target vector
-        double[] targets = equationSystem.createTargetVector();
+        equationSystem.updateTargetVector(targets);
 
         // initialize mismatch vector (difference between equation values and targets)
-        double[] fx = equationSystem.createEquationVector();
+        equationSystem.updateEquationVector(fx);
 
         Vectors.minus(fx, targets);
 
         // start iterations
         NewtonRaphsonStatus status = NewtonRaphsonStatus.NO_CALCULATION;
         while (iteration <= parameters.getMaxIteration()) {
-            NewtonRaphsonStatus newStatus = runIteration(fx, targets, x);
+            NewtonRaphsonStatus newStatus = runIteration();
             if (newStatus != null) {
                 status = newStatus;
                 break;
@@ -11,6 +11,7 @@ import com.powsybl.openloadflow.ac.nr.NewtonRaphsonStoppingCriteria;
 import com.powsybl.openloadflow.equations.VoltageInitializer;
 import com.powsybl.openloadflow.network.SlackBusSelector;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -50,13 +51,19 @@ public class AcLoadFlowParameters {
 
     private final Set<String> branchesWithCurrent;
 
+    private final boolean mergeZeroImpedanceBuses;
+
+    private Set<String> nonMergeableBranchIds = Collections.emptySet();
+
+    private boolean parallelNetworkCreation = false;
+
     public AcLoadFlowParameters(SlackBusSelector slackBusSelector, VoltageInitializer voltageInitializer,
                                 NewtonRaphsonStoppingCriteria stoppingCriteria, List<OuterLoop> outerLoops,
                                 MatrixFactory matrixFactory, boolean voltageRemoteControl,
                                 boolean phaseControl, boolean transformerVoltageControlOn, boolean minImpedance,
                                 boolean twtSplitShuntAdmittance, boolean breakers, double plausibleActivePowerLimit,
                                 boolean forceA1Var, boolean addRatioToLinesWithDifferentNominalVoltageAtBothEnds,
-                                Set<String> branchesWithCurrent) {
+                                Set<String> branchesWithCurrent, boolean mergeZeroImpedanceBuses) {
         this.slackBusSelector = Objects.requireNonNull(slackBusSelector);
         this.voltageInitializer = Objects.requireNonNull(voltageInitializer);
         this.stoppingCriteria = Objects.requireNonNull(stoppingCriteria);
@@ -72,6 +79,7 @@ public class AcLoadFlowParameters {
         this.forceA1Var = forceA1Var;
         this.addRatioToLinesWithDifferentNominalVoltageAtBothEnds = addRatioToLinesWithDifferentNominalVoltageAtBothEnds;
         this.branchesWithCurrent = branchesWithCurrent;
+        this.mergeZeroImpedanceBuses = mergeZeroImpedanceBuses;
     }
 
     public SlackBusSelector getSlackBusSelector() {
@@ -138,4 +146,25 @@ public class AcLoadFlowParameters {
         return branchesWithCurrent;
     }
 
+    public boolean isMergeZeroImpedanceBuses() {
+        return mergeZeroImpedanceBuses;
+    }
+
+    public Set<String> getNonMergeableBranchIds() {
+        return nonMergeableBranchIds;
+    }
+
+    public void setNonMergeableBranchIds(Set<String> nonMergeableBranchIds) {
+        this.nonMergeableBranchIds = Objects.requireNonNull(nonMergeableBranchIds);
+    }
+
+    public boolean isParallelNetworkCreation() {
+        return parallelNetworkCreation;
+    }
+
+    public AcLoadFlowParameters setParallelNetworkCreation(boolean parallelNetworkCreation) {
+        this.parallelNetworkCreation = parallelNetworkCreation;
+        return this;
+    }
+
 }
@@ -9,6 +9,7 @@ package com.powsybl.openloadflow.ac.outerloop;
 import com.powsybl.openloadflow.ac.nr.NewtonRaphsonStatus;
 import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.PerUnit;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
 
 import java.util.Objects;
 
@@ -27,13 +28,21 @@ public class AcLoadFlowResult {
 
     private final double slackBusActivePowerMismatch;
 
+    private final PerformanceMetrics metrics;
+
     public AcLoadFlowResult(LfNetwork network, int outerLoopIterations, int newtonRaphsonIterations, NewtonRaphsonStatus newtonRaphsonStatus,
                             double slackBusActivePowerMismatch) {
+        this(network, outerLoopIterations, newtonRaphsonIterations, newtonRaphsonStatus, slackBusActivePowerMismatch, new PerformanceMetrics());
+    }
+
+    public AcLoadFlowResult(LfNetwork network, int outerLoopIterations, int newtonRaphsonIterations, NewtonRaphsonStatus newtonRaphsonStatus,
+                            double slackBusActivePowerMismatch, PerformanceMetrics metrics) {
         this.network = Objects.requireNonNull(network);
         this.outerLoopIterations = outerLoopIterations;
         this.newtonRaphsonIterations = newtonRaphsonIterations;
         this.newtonRaphsonStatus = newtonRaphsonStatus;
         this.slackBusActivePowerMismatch = slackBusActivePowerMismatch;
+        this.metrics = Objects.requireNonNull(metrics);
     }
 
     public LfNetwork getNetwork() {
@@ -56,6 +65,10 @@ public class AcLoadFlowResult {
         return slackBusActivePowerMismatch;
     }
 
+    public PerformanceMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public String toString() {
         return "AcLoadFlowResult(outerLoopIterations=" + outerLoopIterations
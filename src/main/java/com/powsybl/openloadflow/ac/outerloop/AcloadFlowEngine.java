@@ -6,6 +6,7 @@
  */
 package com.powsybl.openloadflow.ac.outerloop;
 
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.openloadflow.ac.equations.AcEquationSystem;
 import com.powsybl.openloadflow.ac.equations.AcEquationSystemCreationParameters;
 import com.powsybl.openloadflow.ac.nr.NewtonRaphson;
@@ -16,14 +17,18 @@ import com.powsybl.openloadflow.equations.*;
 import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.LfNetworkParameters;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
+import com.powsybl.openloadflow.util.jfr.OuterLoopIterationEvent;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +38,16 @@ public class AcloadFlowEngine implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AcloadFlowEngine.class);
 
+    /**
+     * Threads shared by all the runs on several networks, the number of threads used by a run being bounded by its
+     * thread count. Idle threads are released after a while and do not prevent the JVM from exiting.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "AcloadFlowEngine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final LfNetwork network;
 
     private final AcLoadFlowParameters parameters;
@@ -43,20 +58,26 @@ public class AcloadFlowEngine implements AutoCloseable {
 
     private JacobianMatrix j;
 
+    private final PerformanceMetrics metrics = new PerformanceMetrics();
+
     public AcloadFlowEngine(LfNetwork network, AcLoadFlowParameters parameters) {
         this.network = Objects.requireNonNull(network);
         this.parameters = Objects.requireNonNull(parameters);
     }
 
+    public static LfNetworkParameters createNetworkParameters(AcLoadFlowParameters parameters) {
+        return new LfNetworkParameters(parameters.getSlackBusSelector(),
+                                       parameters.isVoltageRemoteControl(),
+                                       parameters.isMinImpedance(),
+                                       parameters.isTwtSplitShuntAdmittance(),
+                                       parameters.isBreakers(),
+                                       parameters.getPlausibleActivePowerLimit(),
+                                       parameters.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds(),
+                                       parameters.isParallelNetworkCreation());
+    }
+
     public static List<LfNetwork> createNetworks(Object network, AcLoadFlowParameters parameters) {
-        LfNetworkParameters networkParameters = new LfNetworkParameters(parameters.getSlackBusSelector(),
-                                                                        parameters.isVoltageRemoteControl(),
-                                                                        parameters.isMinImpedance(),
-                                                                        parameters.isTwtSplitShuntAdmittance(),
-                                                                        parameters.isBreakers(),
-                                                                        parameters.getPlausibleActivePowerLimit(),
-                                                                        parameters.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds());
-        return LfNetwork.load(network, networkParameters);
+        return LfNetwork.load(network, createNetworkParameters(parameters));
     }
 
     public LfNetwork getNetwork() {
@@ -102,14 +123,22 @@ public class AcloadFlowEngine implements AutoCloseable {
         do {
             MutableInt outerLoopIteration = runningContext.outerLoopIterationByType.computeIfAbsent(outerLoop.getType(), k -> new MutableInt());
 
+            OuterLoopIterationEvent event = new OuterLoopIterationEvent();
+            event.begin();
+
             // check outer loop status
+            long start = System.nanoTime();
             outerLoopStatus = outerLoop.check(new OuterLoopContext(outerLoopIteration.getValue(), network, runningContext.lastNrResult));
+            metrics.addOuterLoopTime(outerLoop.getType(), System.nanoTime() - start);
 
             if (outerLoopStatus == OuterLoopStatus.UNSTABLE) {
                 LOGGER.debug("Start outer loop iteration {} (name='{}')", outerLoopIteration, outerLoop.getType());
 
                 // if not yet stable, restart Newton-Raphson
+                int oldIterationCount = runningContext.lastNrResult.getIteration();
                 runningContext.lastNrResult = newtonRaphson.run(nrParameters);
+                metrics.addNewtonRaphsonIterations(outerLoop.getType(), runningContext.lastNrResult.getIteration() - oldIterationCount);
+                event.record(network.getNum(), outerLoop.getType(), outerLoopIteration.getValue(), outerLoopStatus.name());
                 if (runningContext.lastNrResult.getStatus() != NewtonRaphsonStatus.CONVERGED) {
                     return;
                 }
@@ -118,19 +147,35 @@ public class AcloadFlowEngine implements AutoCloseable {
                 updatePvBusesReactivePower(runningContext.lastNrResult, network, equationSystem);
 
                 outerLoopIteration.increment();
+            } else {
+                event.record(network.getNum(), outerLoop.getType(), outerLoopIteration.getValue(), outerLoopStatus.name());
             }
         } while (outerLoopStatus == OuterLoopStatus.UNSTABLE);
     }
 
     public AcLoadFlowResult run() {
+        return run(parameters.getVoltageInitializer());
+    }
+
+    /**
+     * Run the AC load flow starting from the given voltage initializer instead of the one of the parameters, for
+     * instance a {@link PreviousValueVoltageInitializer} to start a rerun from the solution of the previous run.
+     */
+    public AcLoadFlowResult run(VoltageInitializer voltageInitializer) {
+        Objects.requireNonNull(voltageInitializer);
+        metrics.reset();
+
         if (equationSystem == null) {
             LOGGER.info("Start AC loadflow on network {}", network.getNum());
 
+            long start = System.nanoTime();
             variableSet = new VariableSet();
             AcEquationSystemCreationParameters creationParameters = new AcEquationSystemCreationParameters(
-                    parameters.isPhaseControl(), parameters.isTransformerVoltageControlOn(), parameters.isForceA1Var(), parameters.getBranchesWithCurrent());
+                    parameters.isPhaseControl(), parameters.isTransformerVoltageControlOn(), parameters.isForceA1Var(), parameters.getBranchesWithCurrent(),
+                    parameters.isMergeZeroImpedanceBuses(), parameters.getNonMergeableBranchIds());
             equationSystem = AcEquationSystem.create(network, variableSet, creationParameters);
-            j = new JacobianMatrix(equationSystem, parameters.getMatrixFactory());
+            metrics.addEquationSystemCreation(System.nanoTime() - start);
+            j = new JacobianMatrix(equationSystem, parameters.getMatrixFactory(), metrics);
         } else {
             LOGGER.info("Restart AC loadflow on network {}", network.getNum());
         }
@@ -138,10 +183,11 @@ public class AcloadFlowEngine implements AutoCloseable {
         RunningContext runningContext = new RunningContext();
         NewtonRaphson newtonRaphson = new NewtonRaphson(network, parameters.getMatrixFactory(), equationSystem, j, parameters.getStoppingCriteria());
 
-        NewtonRaphsonParameters nrParameters = new NewtonRaphsonParameters().setVoltageInitializer(parameters.getVoltageInitializer());
+        NewtonRaphsonParameters nrParameters = new NewtonRaphsonParameters().setVoltageInitializer(voltageInitializer);
 
         // run initial Newton-Raphson
         runningContext.lastNrResult = newtonRaphson.run(nrParameters);
+        metrics.addNewtonRaphsonIterations(PerformanceMetrics.INITIAL_NEWTON_RAPHSON, runningContext.lastNrResult.getIteration());
 
         // continue with outer loops only if initial Newton-Raphson succeed
         if (runningContext.lastNrResult.getStatus() == NewtonRaphsonStatus.CONVERGED) {
@@ -167,9 +213,10 @@ public class AcloadFlowEngine implements AutoCloseable {
 
         int nrIterations = runningContext.lastNrResult.getIteration();
         int outerLoopIterations = runningContext.outerLoopIterationByType.values().stream().mapToInt(MutableInt::getValue).sum() + 1;
+        runningContext.outerLoopIterationByType.forEach((type, iteration) -> metrics.addOuterLoopIterations(type, iteration.getValue()));
 
         AcLoadFlowResult result = new AcLoadFlowResult(network, outerLoopIterations, nrIterations, runningContext.lastNrResult.getStatus(),
-                runningContext.lastNrResult.getSlackBusActivePowerMismatch());
+                runningContext.lastNrResult.getSlackBusActivePowerMismatch(), metrics.copy());
 
         LOGGER.info("Ac loadflow complete on network {} (result={})", network.getNum(), result);
 
@@ -184,16 +231,91 @@ public class AcloadFlowEngine implements AutoCloseable {
     }
 
     public static List<AcLoadFlowResult> run(Object network, AcLoadFlowParameters parameters) {
-        return createNetworks(network, parameters)
-                .stream()
-                .map(n -> {
-                    if (n.isValid()) {
-                        try (AcloadFlowEngine engine = new AcloadFlowEngine(n, parameters)) {
-                            return engine.run();
-                        }
+        return run(createNetworks(network, parameters), parameters, 1);
+    }
+
+    /**
+     * Run the AC load flow on each of the given networks. As networks are independent synchronous components, they are
+     * run concurrently by at most the given number of threads, taken from a pool shared by all the runs. Results are in
+     * the same order as networks.
+     */
+    public static List<AcLoadFlowResult> run(List<LfNetwork> networks, AcLoadFlowParameters parameters, int threadCount) {
+        Objects.requireNonNull(networks);
+        Objects.requireNonNull(parameters);
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+        }
+        int workerCount = (int) Math.min(threadCount, networks.stream().filter(LfNetwork::isValid).count());
+        if (workerCount <= 1) {
+            return networks.stream()
+                    .map(n -> runEngine(n, parameters))
+                    .collect(Collectors.toList());
+        }
+
+        LOGGER.info("Running AC loadflow on {} networks on {} threads", networks.size(), workerCount);
+        AcLoadFlowResult[] results = new AcLoadFlowResult[networks.size()];
+        AtomicInteger nextNetworkIndex = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            futures.add(EXECUTOR.submit(() -> {
+                int index;
+                while ((index = nextNetworkIndex.getAndIncrement()) < networks.size()) {
+                    try {
+                        results[index] = runEngine(networks.get(index), parameters);
+                    } catch (RuntimeException | Error e) {
+                        // other workers stop after their current network
+                        nextNetworkIndex.set(networks.size());
+                        throw e;
                     }
-                    return new AcLoadFlowResult(n, 0, 0, NewtonRaphsonStatus.NO_CALCULATION, Double.NaN);
-                })
-                .collect(Collectors.toList());
+                }
+            }));
+        }
+
+        // wait for all the workers, even after a failure, so that no network is still being computed once returned
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    nextNetworkIndex.set(networks.size());
+                    if (failure == null) {
+                        failure = e;
+                    }
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    } else if (failure != e.getCause()) {
+                        failure.addSuppressed(e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new PowsyblException(failure);
+        }
+        return Arrays.asList(results);
+    }
+
+    private static AcLoadFlowResult runEngine(LfNetwork network, AcLoadFlowParameters parameters) {
+        if (network.isValid()) {
+            try (AcloadFlowEngine engine = new AcloadFlowEngine(network, parameters)) {
+                return engine.run();
+            }
+        }
+        return new AcLoadFlowResult(network, 0, 0, NewtonRaphsonStatus.NO_CALCULATION, Double.NaN);
     }
 }
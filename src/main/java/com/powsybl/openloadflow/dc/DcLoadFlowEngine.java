@@ -6,10 +6,9 @@
  */
 package com.powsybl.openloadflow.dc;
 
+import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.math.matrix.MatrixFactory;
-import com.powsybl.openloadflow.dc.equations.DcEquationSystem;
-import com.powsybl.openloadflow.dc.equations.DcEquationSystemCreationParameters;
 import com.powsybl.openloadflow.equations.*;
 import com.powsybl.openloadflow.network.*;
 import com.powsybl.openloadflow.network.util.ActivePowerDistribution;
@@ -46,13 +45,13 @@ public class DcLoadFlowEngine {
         this.parameters = Objects.requireNonNull(parameters);
     }
 
-    private void distributeSlack(Collection<LfBus> buses) {
+    static void distributeSlack(Collection<LfBus> buses, LoadFlowParameters.BalanceType balanceType) {
         double mismatch = getActivePowerMismatch(buses);
-        ActivePowerDistribution activePowerDistribution = ActivePowerDistribution.create(parameters.getBalanceType(), false);
+        ActivePowerDistribution activePowerDistribution = ActivePowerDistribution.create(balanceType, false);
         activePowerDistribution.run(buses, mismatch);
     }
 
-    private static double getActivePowerMismatch(Collection<LfBus> buses) {
+    static double getActivePowerMismatch(Collection<LfBus> buses) {
         double mismatch = 0;
         for (LfBus b : buses) {
             mismatch += b.getGenerationTargetP() - b.getLoadTargetP();
@@ -64,16 +63,14 @@ public class DcLoadFlowEngine {
         // only process main (largest) connected component
         LfNetwork network = networks.get(0);
 
-        DcEquationSystemCreationParameters creationParameters = new DcEquationSystemCreationParameters(parameters.isUpdateFlows(), false, parameters.isForcePhaseControlOffAndAddAngle1Var(), parameters.isUseTransformerRatio());
-        EquationSystem equationSystem = DcEquationSystem.create(network, new VariableSet(), creationParameters);
-
         LoadFlowResult.ComponentResult.Status status = LoadFlowResult.ComponentResult.Status.FAILED;
-        try (JacobianMatrix j = new JacobianMatrix(equationSystem, parameters.getMatrixFactory())) {
-
-            status = run(equationSystem, j, Collections.emptyList(), Collections.emptyList());
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, parameters)) {
+            status = solver.run();
+            targetVector = solver.getStateVector();
         } catch (Exception e) {
             LOGGER.error("Failed to solve linear system for DC load flow", e);
         }
+        LOGGER.info("Dc loadflow complete (status={})", status);
 
         return new DcLoadFlowResult(network, getActivePowerMismatch(network.getBuses()), status);
     }
@@ -90,7 +87,7 @@ public class DcLoadFlowEngine {
         remainingBuses.removeAll(disabledBuses);
 
         if (parameters.isDistributedSlack()) {
-            distributeSlack(remainingBuses);
+            distributeSlack(remainingBuses, parameters.getBalanceType());
         }
 
         equationSystem.updateEquations(x);
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.dc;
+
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.openloadflow.dc.equations.ClosedBranchSide1DcFlowEquationTerm;
+import com.powsybl.openloadflow.dc.equations.DcEquationSystem;
+import com.powsybl.openloadflow.dc.equations.DcEquationSystemCreationParameters;
+import com.powsybl.openloadflow.equations.*;
+import com.powsybl.openloadflow.network.ElementType;
+import com.powsybl.openloadflow.network.LfBranch;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DC load flow solver to be run many times on the same network topology. The equation system is created and the B
+ * matrix is factorized only once, then each run rebuilds the target vector from the current bus active power
+ * injections and phase shifter angles and solves it.
+ *
+ * Several injection scenarios can also be solved at once, as a multiple columns right hand side, see
+ * {@link #run(DenseMatrix)}.
+ *
+ * Without phase shifter angle and non impedant branch equations, the B matrix is symmetric and is decomposed with a
+ * sparse LDLᵀ decomposition instead of the matrix factory LU decomposition.
+ *
+ * Topology and branch impedances must not change during the life of the solver, a new solver has to be created
+ * otherwise.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class DcLoadFlowSolver implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DcLoadFlowSolver.class);
+
+    private final LfNetwork network;
+
+    private final DcLoadFlowParameters parameters;
+
+    private final EquationSystem equationSystem;
+
+    private final PerformanceMetrics metrics = new PerformanceMetrics();
+
+    private final JacobianMatrix j;
+
+    /**
+     * Initial state, only used to update equation terms constant part (phase shift) before building the targets.
+     */
+    private final double[] initialStateVector;
+
+    private final double[] stateVector;
+
+    public DcLoadFlowSolver(LfNetwork network, DcLoadFlowParameters parameters) {
+        this.network = Objects.requireNonNull(network);
+        this.parameters = Objects.requireNonNull(parameters);
+        DcEquationSystemCreationParameters creationParameters = new DcEquationSystemCreationParameters(parameters.isUpdateFlows(), true,
+                parameters.isForcePhaseControlOffAndAddAngle1Var(), parameters.isUseTransformerRatio());
+        equationSystem = DcEquationSystem.create(network, new VariableSet(), creationParameters);
+        j = new JacobianMatrix(equationSystem, parameters.getMatrixFactory(), metrics, true, DcEquationSystem.isSymmetric(equationSystem));
+        initialStateVector = equationSystem.createStateVector(new UniformValueVoltageInitializer());
+        stateVector = new double[equationSystem.getSortedEquationsToSolve().size()];
+    }
+
+    public LfNetwork getNetwork() {
+        return network;
+    }
+
+    public EquationSystem getEquationSystem() {
+        return equationSystem;
+    }
+
+    /**
+     * Matrix factorization and solve counts and times over all the runs.
+     */
+    public PerformanceMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Solution of the last run, indexed by variable row.
+     */
+    public double[] getStateVector() {
+        return stateVector;
+    }
+
+    private void updateTargets(double[] targets) {
+        // phase shift is read from the network at equation terms update
+        equationSystem.updateEquations(initialStateVector);
+        equationSystem.updateTargetVector(targets);
+    }
+
+    /**
+     * Run a DC load flow with the current injections and phase shifter angles of the network and update the network
+     * state. The B matrix is only factorized on the first run.
+     */
+    public LoadFlowResult.ComponentResult.Status run() {
+        if (parameters.isDistributedSlack()) {
+            DcLoadFlowEngine.distributeSlack(network.getBuses(), parameters.getBalanceType());
+        }
+
+        updateTargets(stateVector);
+
+        LoadFlowResult.ComponentResult.Status status;
+        try {
+            j.solveTransposed(stateVector);
+            status = LoadFlowResult.ComponentResult.Status.CONVERGED;
+        } catch (Exception e) {
+            status = LoadFlowResult.ComponentResult.Status.FAILED;
+            LOGGER.error("Failed to solve linear system for DC load flow", e);
+        }
+
+        equationSystem.updateEquations(stateVector);
+        equationSystem.updateEquations(stateVector, EquationSystem.EquationUpdateType.AFTER_NR);
+        equationSystem.updateNetwork(stateVector);
+
+        // set all calculated voltages to NaN
+        for (LfBus bus : network.getBuses()) {
+            bus.setV(Double.NaN);
+        }
+
+        LOGGER.debug("Dc loadflow complete (status={})", status);
+        return status;
+    }
+
+    /**
+     * Solve a batch of active power injection scenarios with the current phase shifter angles of the network, without
+     * updating the network state.
+     *
+     * Column k of {@code injections} gives, at row {@code bus.getNum()}, the active power injection in per unit of each
+     * bus in scenario k, replacing the bus target active power. Slack is not distributed: the active power mismatch of
+     * a scenario is compensated by the slack bus.
+     *
+     * @return active power flows in per unit at side 1 of the branches, row {@code branch.getNum()} and column k for
+     * scenario k. Flows are zero for branches with an open side and NaN for non impedant branches.
+     */
+    public DenseMatrix run(DenseMatrix injections) {
+        Objects.requireNonNull(injections);
+        List<LfBus> buses = network.getBuses();
+        if (injections.getRowCount() != buses.size()) {
+            throw new IllegalArgumentException("Injection matrix row count (" + injections.getRowCount()
+                    + ") is different from bus count (" + buses.size() + ")");
+        }
+        int scenarioCount = injections.getColumnCount();
+
+        // base targets, then replace bus target active power by injection of each scenario
+        double[] targets = new double[stateVector.length];
+        updateTargets(targets);
+        // equation terms are evaluated from the state given at update, so the network state of the last run is restored
+        equationSystem.updateEquations(stateVector);
+        DenseMatrix states = new DenseMatrix(targets.length, scenarioCount);
+        for (int k = 0; k < scenarioCount; k++) {
+            for (int column = 0; column < targets.length; column++) {
+                states.set(column, k, targets[column]);
+            }
+        }
+        for (LfBus bus : buses) {
+            equationSystem.getEquation(bus.getNum(), EquationType.BUS_P)
+                    .filter(Equation::isActive)
+                    .ifPresent(equation -> {
+                        int column = equation.getColumn();
+                        for (int k = 0; k < scenarioCount; k++) {
+                            states.add(column, k, injections.get(bus.getNum(), k) - bus.getTargetP());
+                        }
+                    });
+        }
+
+        j.solveTransposed(states);
+
+        List<LfBranch> branches = network.getBranches();
+        DenseMatrix flows = new DenseMatrix(branches.size(), scenarioCount);
+        for (LfBranch branch : branches) {
+            ClosedBranchSide1DcFlowEquationTerm p1 = equationSystem.getEquationTerms(ElementType.BRANCH, branch.getNum()).stream()
+                    .filter(ClosedBranchSide1DcFlowEquationTerm.class::isInstance)
+                    .map(ClosedBranchSide1DcFlowEquationTerm.class::cast)
+                    .findFirst()
+                    .orElse(null);
+            for (int k = 0; k < scenarioCount; k++) {
+                double p;
+                if (p1 != null) {
+                    p = p1.calculateSensi(states, k);
+                } else if (branch.getBus1() == null || branch.getBus2() == null) {
+                    p = 0;
+                } else {
+                    p = Double.NaN;
+                }
+                flows.set(branch.getNum(), k, p);
+            }
+        }
+        return flows;
+    }
+
+    @Override
+    public void close() {
+        j.close();
+    }
+}
@@ -151,4 +151,19 @@ public final class DcEquationSystem {
 
         return equationSystem;
     }
+
+    /**
+     * Check if the Jacobian matrix of a DC equation system is symmetric, once removed the slack bus angle equation. This
+     * is the case when there is only bus active power and slack bus angle equations to solve: phase shifter angle
+     * ({@link EquationType#BRANCH_ALPHA1}) and non impedant branch ({@link EquationType#ZERO_PHI}) equations are not
+     * symmetric.
+     */
+    public static boolean isSymmetric(EquationSystem equationSystem) {
+        for (Equation equation : equationSystem.getSortedEquationsToSolve().keySet()) {
+            if (equation.getType() != EquationType.BUS_P && equation.getType() != EquationType.BUS_PHI) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
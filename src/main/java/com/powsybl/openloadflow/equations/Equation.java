@@ -225,7 +225,9 @@ public class Equation implements Evaluable, Comparable<Equation> {
                 throw new IllegalStateException("Unknown state variable type: "  + type);
         }
 
-        for (EquationTerm term : terms) {
+        // index loops, as equations are evaluated at each Newton-Raphson iteration and iterators would be allocated
+        for (int i = 0; i < terms.size(); i++) {
+            EquationTerm term = terms.get(i);
             if (term.isActive() && term.hasRhs()) {
                 targets[column] -= term.rhs();
             }
@@ -233,7 +235,8 @@ public class Equation implements Evaluable, Comparable<Equation> {
     }
 
     public void update(double[] x) {
-        for (EquationTerm term : terms) {
+        for (int i = 0; i < terms.size(); i++) {
+            EquationTerm term = terms.get(i);
             if (term.isActive()) {
                 term.update(x);
             }
@@ -243,7 +246,8 @@ public class Equation implements Evaluable, Comparable<Equation> {
     @Override
     public double eval() {
         double value = 0;
-        for (EquationTerm term : terms) {
+        for (int i = 0; i < terms.size(); i++) {
+            EquationTerm term = terms.get(i);
             if (term.isActive()) {
                 value += term.eval();
                 if (term.hasRhs()) {
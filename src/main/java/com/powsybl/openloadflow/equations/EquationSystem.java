@@ -32,6 +32,14 @@ public class EquationSystem {
 
     private final Map<Pair<ElementType, Integer>, List<EquationTerm>> equationTermsBySubject = new HashMap<>();
 
+    /**
+     * All the equations, cached in an array so that updating equations at each Newton-Raphson iteration does not
+     * allocate any iterator. Null when equations have been created or removed since last update.
+     */
+    private Equation[] equationArray;
+
+    private static final double MISMATCH_THRESHOLD = Math.pow(10, -7);
+
     private class EquationCache implements EquationSystemListener {
 
         private boolean invalide = false;
@@ -40,6 +48,13 @@ public class EquationSystem {
 
         private final NavigableSet<Variable> sortedVariablesToFind = new TreeSet<>();
 
+        /**
+         * Equations to solve indexed by column and variables to find indexed by row, for allocation free loops.
+         */
+        private Equation[] equationsToSolve = new Equation[0];
+
+        private Variable[] variablesToFind = new Variable[0];
+
         private void update() {
             if (!invalide) {
                 return;
@@ -48,14 +63,14 @@ public class EquationSystem {
             // index derivatives per variable then per equation
             reIndex();
 
-            int columnCount = 0;
-            for (Equation equation : sortedEquationsToSolve.keySet()) {
-                equation.setColumn(columnCount++);
+            equationsToSolve = sortedEquationsToSolve.keySet().toArray(new Equation[0]);
+            for (int column = 0; column < equationsToSolve.length; column++) {
+                equationsToSolve[column].setColumn(column);
             }
 
-            int rowCount = 0;
-            for (Variable variable : sortedVariablesToFind) {
-                variable.setRow(rowCount++);
+            variablesToFind = sortedVariablesToFind.toArray(new Variable[0]);
+            for (int row = 0; row < variablesToFind.length; row++) {
+                variablesToFind[row].setRow(row);
             }
 
             invalide = false;
@@ -140,6 +155,16 @@ public class EquationSystem {
             update();
             return sortedVariablesToFind;
         }
+
+        private Equation[] getEquationsToSolve() {
+            update();
+            return equationsToSolve;
+        }
+
+        private Variable[] getVariablesToFind() {
+            update();
+            return variablesToFind;
+        }
     }
 
     private final EquationCache equationCache = new EquationCache();
@@ -215,6 +240,7 @@ public class EquationSystem {
         Pair<Integer, EquationType> p = Pair.of(num, type);
         Equation equation = equations.remove(p);
         if (equation != null) {
+            equationArray = null;
             Pair<ElementType, Integer> subject = Pair.of(type.getElementType(), num);
             equationsBySubject.remove(subject);
             notifyEquationChange(equation, EquationEventType.EQUATION_REMOVED);
@@ -225,6 +251,7 @@ public class EquationSystem {
     private Equation addEquation(Pair<Integer, EquationType> p) {
         Equation equation = new Equation(p.getLeft(), p.getRight(), EquationSystem.this);
         equations.put(p, equation);
+        equationArray = null;
         Pair<ElementType, Integer> subject = Pair.of(p.getRight().getElementType(), p.getLeft());
         equationsBySubject.computeIfAbsent(subject, k -> new ArrayList<>())
                 .add(equation);
@@ -259,34 +286,56 @@ public class EquationSystem {
     }
 
     public double[] createStateVector(VoltageInitializer initializer) {
-        double[] x = new double[getSortedVariablesToFind().size()];
-        for (Variable v : getSortedVariablesToFind()) {
+        double[] x = new double[equationCache.getVariablesToFind().length];
+        updateStateVector(initializer, x);
+        return x;
+    }
+
+    /**
+     * Initialize an existing state vector, so that it can be reused between runs on the same equation system.
+     */
+    public void updateStateVector(VoltageInitializer initializer, double[] x) {
+        Variable[] variablesToFind = equationCache.getVariablesToFind();
+        if (x.length != variablesToFind.length) {
+            throw new IllegalArgumentException("Bad state vector length: " + x.length);
+        }
+        for (Variable v : variablesToFind) {
             v.initState(initializer, network, x);
         }
-        return x;
     }
 
     public double[] createTargetVector() {
-        double[] targets = new double[equationCache.getSortedEquationsToSolve().size()];
-        for (Equation equation : equationCache.getSortedEquationsToSolve().keySet()) {
+        double[] targets = new double[equationCache.getEquationsToSolve().length];
+        updateTargetVector(targets);
+        return targets;
+    }
+
+    /**
+     * Initialize an existing target vector, so that it can be reused between runs on the same equation system.
+     */
+    public void updateTargetVector(double[] targets) {
+        Equation[] equationsToSolve = equationCache.getEquationsToSolve();
+        if (targets.length != equationsToSolve.length) {
+            throw new IllegalArgumentException("Bad target vector length: " + targets.length);
+        }
+        for (Equation equation : equationsToSolve) {
             equation.initTarget(network, targets);
         }
-        return targets;
     }
 
     public double[] createEquationVector() {
-        double[] fx = new double[equationCache.getSortedEquationsToSolve().size()];
+        double[] fx = new double[equationCache.getEquationsToSolve().length];
         updateEquationVector(fx);
         return fx;
     }
 
     public void updateEquationVector(double[] fx) {
-        if (fx.length != equationCache.getSortedEquationsToSolve().size()) {
+        Equation[] equationsToSolve = equationCache.getEquationsToSolve();
+        if (fx.length != equationsToSolve.length) {
             throw new IllegalArgumentException("Bad equation vector length: " + fx.length);
         }
-        Arrays.fill(fx, 0);
-        for (Equation equation : equationCache.getSortedEquationsToSolve().keySet()) {
-            fx[equation.getColumn()] = equation.eval();
+        for (int column = 0; column < equationsToSolve.length; column++) {
+            fx[column] = equationsToSolve[column].eval();
         }
     }
 
@@ -297,17 +346,22 @@ public class EquationSystem {
     public void updateEquations(double[] x, EquationUpdateType updateType) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(updateType);
-        for (Equation equation : equations.values()) {
+        if (equationArray == null) {
+            equationArray = equations.values().toArray(new Equation[0]);
+        }
+        for (Equation equation : equationArray) {
             if (updateType == equation.getUpdateType()) {
                 equation.update(x);
             }
         }
-        listeners.forEach(listener -> listener.onStateUpdate(x));
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onStateUpdate(x);
+        }
     }
 
     public void updateNetwork(double[] x) {
         // update state variable
-        for (Variable v : getSortedVariablesToFind()) {
+        for (Variable v : equationCache.getVariablesToFind()) {
             v.updateState(network, x);
         }
     }
@@ -348,11 +402,24 @@ public class EquationSystem {
     }
 
     public List<Pair<Equation, Double>> findLargestMismatches(double[] mismatch, int count) {
-        return getSortedEquationsToSolve().keySet().stream()
-                .map(equation -> Pair.of(equation, mismatch[equation.getColumn()]))
-                .filter(e -> Math.abs(e.getValue()) > Math.pow(10, -7))
-                .sorted(Comparator.comparingDouble((Map.Entry<Equation, Double> e) -> Math.abs(e.getValue())).reversed())
-                .limit(count)
-                .collect(Collectors.toList());
+        // insertion into a list sorted by decreasing absolute mismatch and limited to count elements
+        List<Pair<Equation, Double>> largestMismatches = new ArrayList<>(count + 1);
+        for (Equation equation : equationCache.getEquationsToSolve()) {
+            double value = mismatch[equation.getColumn()];
+            double absValue = Math.abs(value);
+            if (absValue > MISMATCH_THRESHOLD) {
+                int i = largestMismatches.size();
+                while (i > 0 && Math.abs(largestMismatches.get(i - 1).getValue()) < absValue) {
+                    i--;
+                }
+                if (i < count) {
+                    largestMismatches.add(i, Pair.of(equation, value));
+                    if (largestMismatches.size() > count) {
+                        largestMismatches.remove(count);
+                    }
+                }
+            }
+        }
+        return largestMismatches;
     }
 }
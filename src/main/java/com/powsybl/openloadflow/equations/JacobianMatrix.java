@@ -11,6 +11,11 @@ import com.powsybl.math.matrix.DenseMatrix;
 import com.powsybl.math.matrix.LUDecomposition;
 import com.powsybl.math.matrix.Matrix;
 import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
+import com.powsybl.openloadflow.util.jfr.JacobianMatrixEvent;
+import com.powsybl.openloadflow.util.matrix.SparseLdltDecomposition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
 
@@ -19,6 +24,8 @@ import java.util.*;
  */
 public class JacobianMatrix implements EquationSystemListener, AutoCloseable {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JacobianMatrix.class);
+
     static final class PartialDerivative {
 
         private final EquationTerm equationTerm;
@@ -64,9 +71,41 @@ public class JacobianMatrix implements EquationSystemListener, AutoCloseable {
 
     private Status status = Status.MATRIX_INVALID;
 
+    private final PerformanceMetrics metrics;
+
+    private final boolean linear;
+
+    private final boolean symmetric;
+
     public JacobianMatrix(EquationSystem equationSystem, MatrixFactory matrixFactory) {
+        this(equationSystem, matrixFactory, new PerformanceMetrics());
+    }
+
+    public JacobianMatrix(EquationSystem equationSystem, MatrixFactory matrixFactory, PerformanceMetrics metrics) {
+        this(equationSystem, matrixFactory, metrics, false);
+    }
+
+    /**
+     * @param linear true if partial derivatives do not depend on the state, like in the DC equation system: matrix
+     *               values and LU decomposition are then kept on state updates and only rebuilt on structure changes.
+     */
+    public JacobianMatrix(EquationSystem equationSystem, MatrixFactory matrixFactory, PerformanceMetrics metrics, boolean linear) {
+        this(equationSystem, matrixFactory, metrics, linear, false);
+    }
+
+    /**
+     * @param symmetric true if the matrix is expected to be symmetric once removed the columns with only a diagonal
+     *                  term, like the DC equation system without phase shifter angle and non impedant branch
+     *                  equations: it is then decomposed with a {@link SparseLdltDecomposition} instead of the matrix
+     *                  factory LU decomposition, falling back to the latter if the matrix is finally not symmetric.
+     */
+    public JacobianMatrix(EquationSystem equationSystem, MatrixFactory matrixFactory, PerformanceMetrics metrics, boolean linear,
+                          boolean symmetric) {
         this.equationSystem = Objects.requireNonNull(equationSystem);
         this.matrixFactory = Objects.requireNonNull(matrixFactory);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.linear = linear;
+        this.symmetric = symmetric;
         equationSystem.addListener(this);
     }
 
@@ -109,7 +148,7 @@ public class JacobianMatrix implements EquationSystemListener, AutoCloseable {
 
     @Override
     public void onStateUpdate(double[] x) {
-        if (status == Status.VALID) {
+        if (status == Status.VALID && !linear) {
             status = Status.VALUES_INVALID;
         }
     }
@@ -124,6 +163,9 @@ public class JacobianMatrix implements EquationSystemListener, AutoCloseable {
     }
 
     private void initMatrix() {
+        JacobianMatrixEvent event = new JacobianMatrixEvent();
+        event.begin();
+        long start = System.nanoTime();
         int rowCount = equationSystem.getSortedEquationsToSolve().size();
         int columnCount = equationSystem.getSortedVariablesToFind().size();
         if (rowCount != columnCount) {
@@ -148,20 +190,43 @@ public class JacobianMatrix implements EquationSystemListener, AutoCloseable {
                 }
             }
         }
+        metrics.addJacobianBuild(System.nanoTime() - start);
+        event.record(JacobianMatrixEvent.BUILD, partialDerivatives.size());
     }
 
     private void updateValues() {
+        JacobianMatrixEvent event = new JacobianMatrixEvent();
+        event.begin();
+        long start = System.nanoTime();
         matrix.reset();
-        for (PartialDerivative partialDerivative : partialDerivatives) {
+        for (int i = 0; i < partialDerivatives.size(); i++) {
+            PartialDerivative partialDerivative = partialDerivatives.get(i);
             EquationTerm equationTerm = partialDerivative.getEquationTerm();
             Matrix.Element element = partialDerivative.getMatrixElement();
             Variable var = partialDerivative.getVariable();
             double value = equationTerm.der(var);
             element.add(value);
         }
+        metrics.addJacobianUpdate(System.nanoTime() - start);
+        event.record(JacobianMatrixEvent.UPDATE, partialDerivatives.size());
 
         if (lu != null) {
-            lu.update();
+            JacobianMatrixEvent luEvent = new JacobianMatrixEvent();
+            luEvent.begin();
+            start = System.nanoTime();
+            try {
+                lu.update();
+            } catch (IllegalStateException e) {
+                if (!(lu instanceof SparseLdltDecomposition)) {
+                    throw e;
+                }
+                // new values are not symmetric anymore
+                LOGGER.debug("Jacobian matrix is not symmetric anymore, fallback to LU decomposition");
+                lu.close();
+                lu = matrix.decomposeLU();
+            }
+            metrics.addLuUpdate(System.nanoTime() - start);
+            luEvent.record(JacobianMatrixEvent.LU_UPDATE, partialDerivatives.size());
         }
     }
 
@@ -188,25 +253,50 @@ public class JacobianMatrix implements EquationSystemListener, AutoCloseable {
     private LUDecomposition getLUDecomposition() {
         Matrix matrix = getMatrix();
         if (lu == null) {
-            lu = matrix.decomposeLU();
+            JacobianMatrixEvent event = new JacobianMatrixEvent();
+            event.begin();
+            long start = System.nanoTime();
+            if (symmetric) {
+                lu = SparseLdltDecomposition.create(matrix).orElse(null);
+                if (lu == null) {
+                    LOGGER.debug("Jacobian matrix is not symmetric, fallback to LU decomposition");
+                }
+            }
+            if (lu == null) {
+                lu = matrix.decomposeLU();
+            }
+            metrics.addLuDecomposition(System.nanoTime() - start);
+            event.record(JacobianMatrixEvent.LU_DECOMPOSITION, partialDerivatives.size());
         }
         return lu;
     }
 
     public void solve(double[] b) {
-        getLUDecomposition().solve(b);
+        LUDecomposition luDecomposition = getLUDecomposition();
+        long start = System.nanoTime();
+        luDecomposition.solve(b);
+        metrics.addLuSolve(System.nanoTime() - start);
     }
 
     public void solveTransposed(double[] b) {
-        getLUDecomposition().solveTransposed(b);
+        LUDecomposition luDecomposition = getLUDecomposition();
+        long start = System.nanoTime();
+        luDecomposition.solveTransposed(b);
+        metrics.addLuSolve(System.nanoTime() - start);
     }
 
     public void solve(DenseMatrix b) {
-        getLUDecomposition().solve(b);
+        LUDecomposition luDecomposition = getLUDecomposition();
+        long start = System.nanoTime();
+        luDecomposition.solve(b);
+        metrics.addLuSolve(System.nanoTime() - start);
     }
 
     public void solveTransposed(DenseMatrix b) {
-        getLUDecomposition().solveTransposed(b);
+        LUDecomposition luDecomposition = getLUDecomposition();
+        long start = System.nanoTime();
+        luDecomposition.solveTransposed(b);
+        metrics.addLuSolve(System.nanoTime() - start);
     }
 
     @Override
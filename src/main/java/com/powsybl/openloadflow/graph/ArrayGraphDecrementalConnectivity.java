@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.graph;
+
+import com.powsybl.commons.PowsyblException;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decremental connectivity based on primitive arrays indexed by vertex numbers, which have to be in [0, vertex count[
+ * as for {@link com.powsybl.openloadflow.network.LfBus#getNum()}.
+ *
+ * <ul>
+ *     <li>the graph is stored in an {@link ImmutableArrayGraph}, as a compressed sparse row adjacency built once after
+ *     the vertices and edges additions,</li>
+ *     <li>a spanning forest of the graph without cuts is computed along with the initial connected components: as long
+ *     as only edges outside of this forest are cut, connected components are unchanged,</li>
+ *     <li>otherwise cuts are replayed in order, each one being checked by two interleaved searches from the ends of
+ *     the cut edge, so that the cost is proportional to the smallest split part,</li>
+ *     <li>cut edges are recorded in an undo log so that {@link #reset()} is proportional to the number of cuts.</li>
+ * </ul>
+ *
+ * A connectivity created from an {@link ImmutableArrayGraph} is a view of this shared graph which only records its
+ * own cuts: vertices and edges cannot be added to it, but views of the same graph can be used by different threads.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class ArrayGraphDecrementalConnectivity<V> implements GraphDecrementalConnectivity<V> {
+
+    private static final int NOT_CUT = -1;
+
+    private final ToIntFunction<V> numGetter;
+
+    private final boolean view;
+
+    // graph being built, unused by views
+
+    private final List<V> vertices = new ArrayList<>(); // indexed by vertex number
+
+    private int edgeCount = 0;
+
+    private int[] edgeVertex1 = new int[16];
+
+    private int[] edgeVertex2 = new int[16];
+
+    // cuts
+
+    private int[] edgeCutOrder; // index in the undo log or NOT_CUT
+
+    private int[] cutLog = new int[16];
+
+    private int cutCount = 0;
+
+    // computed after vertices or edges additions
+
+    private ImmutableArrayGraph<V> graph;
+
+    private int forestCutCount;
+
+    private int[] searchMarks;
+
+    private int searchMark;
+
+    private int[] searchQueue1;
+
+    private int[] searchQueue2;
+
+    // computed after cuts
+
+    private int[] components;
+
+    private int componentCount;
+
+    private List<Set<V>> smallComponentSets;
+
+    private Set<V> mainComponentSet;
+
+    public ArrayGraphDecrementalConnectivity(ToIntFunction<V> numGetter) {
+        this.numGetter = Objects.requireNonNull(numGetter);
+        view = false;
+        edgeCutOrder = new int[16];
+    }
+
+    /**
+     * Create a view of the given shared graph, without any cut.
+     */
+    public ArrayGraphDecrementalConnectivity(ImmutableArrayGraph<V> graph) {
+        this.graph = Objects.requireNonNull(graph);
+        numGetter = graph.numGetter;
+        view = true;
+        edgeCutOrder = new int[graph.edgeCount];
+        Arrays.fill(edgeCutOrder, NOT_CUT);
+        initSearch();
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        Objects.requireNonNull(vertex);
+        checkNotView();
+        int num = numGetter.applyAsInt(vertex);
+        while (vertices.size() <= num) {
+            vertices.add(null);
+        }
+        vertices.set(num, vertex);
+        invalidateGraph();
+    }
+
+    @Override
+    public void addEdge(V vertex1, V vertex2) {
+        checkNotView();
+        if (vertex1 == null || vertex2 == null) {
+            return;
+        }
+        checkBuiltVertex(vertex1);
+        checkBuiltVertex(vertex2);
+        if (edgeCount == edgeVertex1.length) {
+            int capacity = edgeCount * 2;
+            edgeVertex1 = Arrays.copyOf(edgeVertex1, capacity);
+            edgeVertex2 = Arrays.copyOf(edgeVertex2, capacity);
+            edgeCutOrder = Arrays.copyOf(edgeCutOrder, capacity);
+        }
+        edgeVertex1[edgeCount] = numGetter.applyAsInt(vertex1);
+        edgeVertex2[edgeCount] = numGetter.applyAsInt(vertex2);
+        edgeCutOrder[edgeCount] = NOT_CUT;
+        edgeCount++;
+        invalidateGraph();
+    }
+
+    /**
+     * Get the immutable graph of this connectivity, which can be shared by connectivity views used by other threads.
+     * Adding vertices or edges to this connectivity afterwards leads to a new graph, the returned one being unchanged.
+     */
+    public ImmutableArrayGraph<V> getGraph() {
+        lazyComputeGraph();
+        return graph;
+    }
+
+    @Override
+    public void cut(V vertex1, V vertex2) {
+        if (vertex1 == null || vertex2 == null) {
+            return;
+        }
+        lazyComputeGraph();
+        graph.checkVertex(vertex1);
+        graph.checkVertex(vertex2);
+        int num1 = numGetter.applyAsInt(vertex1);
+        int num2 = numGetter.applyAsInt(vertex2);
+        int edge = findNotCutEdge(num1, num2);
+        if (edge == -1) {
+            throw new PowsyblException("No edge to cut between vertices " + vertex1 + " and " + vertex2);
+        }
+        if (cutCount == cutLog.length) {
+            cutLog = Arrays.copyOf(cutLog, cutCount * 2);
+        }
+        edgeCutOrder[edge] = cutCount;
+        cutLog[cutCount++] = edge;
+        if (graph.forestEdges[edge]) {
+            forestCutCount++;
+        }
+        invalidateComponents();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < cutCount; i++) {
+            edgeCutOrder[cutLog[i]] = NOT_CUT;
+        }
+        cutCount = 0;
+        forestCutCount = 0;
+        invalidateComponents();
+    }
+
+    @Override
+    public int getComponentNumber(V vertex) {
+        lazyComputeComponents();
+        graph.checkVertex(vertex);
+        return components[numGetter.applyAsInt(vertex)];
+    }
+
+    @Override
+    public Collection<Set<V>> getSmallComponents() {
+        return getSmallComponentSets();
+    }
+
+    private List<Set<V>> getSmallComponentSets() {
+        lazyComputeComponents();
+        if (smallComponentSets == null) {
+            smallComponentSets = components == graph.initialComponents
+                    ? graph.getInitialSmallComponentSets()
+                    : graph.createComponentSets(components, componentCount);
+        }
+        return smallComponentSets;
+    }
+
+    @Override
+    public Set<V> getConnectedComponent(V vertex) {
+        lazyComputeComponents();
+        graph.checkVertex(vertex);
+        int component = components[numGetter.applyAsInt(vertex)];
+        if (component > 0) {
+            return getSmallComponentSets().get(component - 1);
+        }
+        if (mainComponentSet == null) {
+            if (components == graph.initialComponents) {
+                mainComponentSet = graph.getInitialMainComponentSet();
+            } else {
+                mainComponentSet = new HashSet<>();
+                for (int num = 0; num < components.length; num++) {
+                    if (components[num] == 0) {
+                        mainComponentSet.add(graph.vertices.get(num));
+                    }
+                }
+            }
+        }
+        return mainComponentSet;
+    }
+
+    @Override
+    public Set<V> getNonConnectedVertices(V vertex) {
+        lazyComputeComponents();
+        graph.checkVertex(vertex);
+        int component = components[numGetter.applyAsInt(vertex)];
+        Set<V> nonConnectedVertices = new HashSet<>();
+        for (int num = 0; num < components.length; num++) {
+            if (components[num] != component && components[num] != -1) {
+                nonConnectedVertices.add(graph.vertices.get(num));
+            }
+        }
+        return nonConnectedVertices;
+    }
+
+    @Override
+    public int getVertexNum(V vertex) {
+        return numGetter.applyAsInt(vertex);
+    }
+
+    @Override
+    public void fillSmallComponentsVertexNums(BitSet vertexNums) {
+        lazyComputeComponents();
+        vertexNums.clear();
+        for (int num = 0; num < components.length; num++) {
+            if (components[num] > 0) {
+                vertexNums.set(num);
+            }
+        }
+    }
+
+    @Override
+    public void fillNonConnectedVertexNums(V vertex, BitSet vertexNums) {
+        lazyComputeComponents();
+        graph.checkVertex(vertex);
+        int component = components[numGetter.applyAsInt(vertex)];
+        vertexNums.clear();
+        for (int num = 0; num < components.length; num++) {
+            if (components[num] != component && components[num] != -1) {
+                vertexNums.set(num);
+            }
+        }
+    }
+
+    private void checkNotView() {
+        if (view) {
+            throw new UnsupportedOperationException("Cannot modify the shared graph of a connectivity view");
+        }
+    }
+
+    private void checkBuiltVertex(V vertex) {
+        int num = numGetter.applyAsInt(vertex);
+        if (num < 0 || num >= vertices.size() || vertices.get(num) != vertex) {
+            throw new AssertionError("given vertex " + vertex + " is not in the graph");
+        }
+    }
+
+    private void invalidateGraph() {
+        graph = null;
+        invalidateComponents();
+    }
+
+    private void invalidateComponents() {
+        components = null;
+        smallComponentSets = null;
+        mainComponentSet = null;
+    }
+
+    private int findNotCutEdge(int num1, int num2) {
+        int[] adjacencyStart = graph.adjacencyStart;
+        int[] adjacencyEdges = graph.adjacencyEdges;
+        for (int i = adjacencyStart[num1]; i < adjacencyStart[num1 + 1]; i++) {
+            int edge = adjacencyEdges[i];
+            if (edgeCutOrder[edge] == NOT_CUT && graph.getOtherVertex(edge, num1) == num2) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+
+    private void lazyComputeGraph() {
+        if (graph != null) {
+            return;
+        }
+        graph = new ImmutableArrayGraph<>(numGetter, vertices, edgeCount, edgeVertex1, edgeVertex2);
+
+        forestCutCount = 0;
+        for (int i = 0; i < cutCount; i++) {
+            if (graph.forestEdges[cutLog[i]]) {
+                forestCutCount++;
+            }
+        }
+
+        initSearch();
+    }
+
+    private void initSearch() {
+        int vertexCount = graph.getVertexCount();
+        searchMarks = new int[vertexCount];
+        searchMark = 0;
+        searchQueue1 = new int[vertexCount];
+        searchQueue2 = new int[vertexCount];
+    }
+
+    private boolean isPresent(int edge, int cutIndex) {
+        int cutOrder = edgeCutOrder[edge];
+        return cutOrder == NOT_CUT || cutOrder > cutIndex;
+    }
+
+    /**
+     * Interleaved searches from both ends of the edge cut at given index, ignoring this cut and previous ones.
+     * @return the number of vertices of the part that has been split, found at the beginning of the queue of the
+     * search which is complete, or 0 if the ends are still connected
+     */
+    private int searchSplitPart(int cutIndex, int num1, int num2, int[][] splitQueue) {
+        searchMark += 2;
+        if (searchMark < 0) { // overflow
+            Arrays.fill(searchMarks, 0);
+            searchMark = 2;
+        }
+        int mark1 = searchMark;
+        int mark2 = searchMark + 1;
+        int[] adjacencyStart = graph.adjacencyStart;
+        int[] adjacencyEdges = graph.adjacencyEdges;
+        int[] queue1 = searchQueue1;
+        int[] queue2 = searchQueue2;
+        int head1 = 0;
+        int tail1 = 0;
+        int head2 = 0;
+        int tail2 = 0;
+        queue1[tail1++] = num1;
+        searchMarks[num1] = mark1;
+        queue2[tail2++] = num2;
+        searchMarks[num2] = mark2;
+        while (true) {
+            // one step of first search
+            int num = queue1[head1++];
+            for (int i = adjacencyStart[num]; i < adjacencyStart[num + 1]; i++) {
+                int edge = adjacencyEdges[i];
+                if (isPresent(edge, cutIndex)) {
+                    int other = graph.getOtherVertex(edge, num);
+                    if (searchMarks[other] == mark2) {
+                        return 0;
+                    } else if (searchMarks[other] != mark1) {
+                        searchMarks[other] = mark1;
+                        queue1[tail1++] = other;
+                    }
+                }
+            }
+            if (head1 == tail1) {
+                splitQueue[0] = queue1;
+                return tail1;
+            }
+
+            // one step of second search
+            num = queue2[head2++];
+            for (int i = adjacencyStart[num]; i < adjacencyStart[num + 1]; i++) {
+                int edge = adjacencyEdges[i];
+                if (isPresent(edge, cutIndex)) {
+                    int other = graph.getOtherVertex(edge, num);
+                    if (searchMarks[other] == mark1) {
+                        return 0;
+                    } else if (searchMarks[other] != mark2) {
+                        searchMarks[other] = mark2;
+                        queue2[tail2++] = other;
+                    }
+                }
+            }
+            if (head2 == tail2) {
+                splitQueue[0] = queue2;
+                return tail2;
+            }
+        }
+    }
+
+    private void lazyComputeComponents() {
+        if (components != null) {
+            return;
+        }
+        lazyComputeGraph();
+
+        if (forestCutCount == 0) {
+            // the spanning forest is intact, so are the initial connected components
+            components = graph.initialComponents;
+            componentCount = graph.initialLabelCount;
+            return;
+        }
+
+        // replay the cuts in order, each one splitting at most one component in two
+        int[] labels = graph.initialLabels.clone();
+        int labelCount = graph.initialLabelCount;
+        int[][] splitQueue = new int[1][];
+        for (int cutIndex = 0; cutIndex < cutCount; cutIndex++) {
+            int edge = cutLog[cutIndex];
+            int num1 = graph.edgeVertex1[edge];
+            int num2 = graph.edgeVertex2[edge];
+            if (num1 == num2) {
+                continue;
+            }
+            int splitSize = searchSplitPart(cutIndex, num1, num2, splitQueue);
+            for (int i = 0; i < splitSize; i++) {
+                labels[splitQueue[0][i]] = labelCount;
+            }
+            if (splitSize > 0) {
+                labelCount++;
+            }
+        }
+        components = ImmutableArrayGraph.rankComponents(labels, labelCount);
+        componentCount = labelCount;
+    }
+}
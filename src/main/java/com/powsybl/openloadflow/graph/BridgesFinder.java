@@ -41,11 +41,35 @@ class BridgesFinder<V> {
      */
     private int dfsnCount;
 
+    /**
+     * Lowest depth-first search number reachable from each vertex
+     */
+    private final int[] lowestReachable;
+
+    /**
+     * Depth-first search parent of each vertex
+     */
+    private final int[] parent;
+
+    /**
+     * Index in its neighbour list of the next neighbour to explore from each vertex
+     */
+    private final int[] nextNeighbourIndex;
+
+    /**
+     * Explicit depth-first search stack
+     */
+    private final int[] stack;
+
     BridgesFinder(int nbVertices, ToIntFunction<V> numGetter) {
         this.numGetter = Objects.requireNonNull(numGetter);
         this.nbVertices = nbVertices;
         this.visited = new boolean[nbVertices];
         this.dfsn = new int[nbVertices];
+        this.lowestReachable = new int[nbVertices];
+        this.parent = new int[nbVertices];
+        this.nextNeighbourIndex = new int[nbVertices];
+        this.stack = new int[nbVertices];
         this.neighbours = new NeighbourList[nbVertices];
         for (int i = 0; i < nbVertices; ++i) {
             neighbours[i] = new NeighbourList();
@@ -54,43 +78,57 @@ class BridgesFinder<V> {
     }
 
     /**
-     * Finds bridges in a connected component, recursively
+     * Finds bridges in a connected component, with an explicit stack instead of recursion so that long chains of
+     * vertices cannot overflow the call stack
      *
-     * @param start  vertex to be visited
-     * @param parent parent vertex of the vertex to be visited
-     * @return the lowest reachable vertex from given vertex
+     * @param start  root vertex of the depth-first search
      */
-    private int findBridgesFromVertex(int start, int parent) {
-
-        visited[start] = true;
-        dfsnCount++;
-        dfsn[start] = dfsnCount;
-        int lowestReachableVertex = dfsnCount;
-
-        for (int neighbour : neighbours[start]) {
-            if (!visited[neighbour]) {
-                // Neighbour not visited yet: consider it as child of start and visit it
-                int lowestN = findBridgesFromVertex(neighbour, start);
-
-                // Check if neighbour has a connection to one of the ancestors of start
-                if (lowestReachableVertex > lowestN) {
-                    lowestReachableVertex = lowestN;
-                }
-
-                // If the lowest vertex reachable from neighbour is after start,
-                // and if edge is not doubled, then start-neighbour is a bridge
-                if (lowestN > dfsn[start] && !doubledEdge(start, neighbour)) {
-                    bridges.add(new int[] {start, neighbour});
+    private void findBridgesFromVertex(int start) {
+        int stackSize = 0;
+        parent[start] = start;
+        visit(start);
+        stack[stackSize++] = start;
+
+        while (stackSize > 0) {
+            int vertex = stack[stackSize - 1];
+            if (nextNeighbourIndex[vertex] < neighbours[vertex].size()) {
+                int neighbour = neighbours[vertex].get(nextNeighbourIndex[vertex]++);
+                if (!visited[neighbour]) {
+                    // Neighbour not visited yet: consider it as child of vertex and visit it
+                    parent[neighbour] = vertex;
+                    visit(neighbour);
+                    stack[stackSize++] = neighbour;
+                } else if (neighbour != parent[vertex] && lowestReachable[vertex] > dfsn[neighbour]) {
+                    // Already visited neighbour
+                    lowestReachable[vertex] = dfsn[neighbour];
                 }
             } else {
-                // Already visited neighbour
-                if (neighbour != parent && lowestReachableVertex > dfsn[neighbour]) {
-                    lowestReachableVertex = dfsn[neighbour];
+                // All neighbours visited: back to the parent
+                stackSize--;
+                if (vertex != start) {
+                    int parentVertex = parent[vertex];
+
+                    // Check if vertex has a connection to one of the ancestors of its parent
+                    if (lowestReachable[parentVertex] > lowestReachable[vertex]) {
+                        lowestReachable[parentVertex] = lowestReachable[vertex];
+                    }
+
+                    // If the lowest vertex reachable from vertex is after its parent,
+                    // and if edge is not doubled, then parent-vertex is a bridge
+                    if (lowestReachable[vertex] > dfsn[parentVertex] && !doubledEdge(parentVertex, vertex)) {
+                        bridges.add(new int[] {parentVertex, vertex});
+                    }
                 }
             }
         }
+    }
 
-        return lowestReachableVertex;
+    private void visit(int vertex) {
+        visited[vertex] = true;
+        dfsnCount++;
+        dfsn[vertex] = dfsnCount;
+        lowestReachable[vertex] = dfsnCount;
+        nextNeighbourIndex[vertex] = 0;
     }
 
     private boolean doubledEdge(int u, int v) {
@@ -115,7 +153,7 @@ class BridgesFinder<V> {
             Arrays.fill(visited, false);
             for (int i = 0; i < nbVertices; i++) {
                 if (!visited[i]) {
-                    findBridgesFromVertex(i, i);
+                    findBridgesFromVertex(i);
                 }
             }
         }
@@ -16,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -32,29 +33,34 @@ public class EvenShiloachGraphDecrementalConnectivity<V> implements GraphDecreme
 
     private final Graph<V, Object> graph = new Pseudograph<>(Object.class);
 
-    private final Map<V, Integer> vertexToConnectedComponent;
+    private final Map<V, Integer> vertexToConnectedComponent = new HashMap<>();
 
-    private final List<Set<V>> newConnectedComponents;
-    private final Map<V, LevelNeighbours> levelNeighboursMap;
+    private final List<Set<V>> newConnectedComponents = new ArrayList<>();
+    private final Map<V, LevelNeighbours> levelNeighboursMap = new HashMap<>();
 
-    private final List<Pair<V, V>> cutEdges;
-    private final List<Pair<V, V>> unprocessedCutEdges;
-    private final Set<V> vertices;
+    private final List<Pair<V, V>> cutEdges = new ArrayList<>();
+    private final List<Pair<V, V>> unprocessedCutEdges = new ArrayList<>();
+    private final Set<V> vertices = new HashSet<>();
 
-    private final LinkedList<Map<V, LevelNeighbours>> allSavedChangedLevels;
+    private final LinkedList<Map<V, LevelNeighbours>> allSavedChangedLevels = new LinkedList<>();
 
-    private boolean vertexMapCacheInvalidated;
+    private final ToIntFunction<V> numGetter; // null if vertices are not numbered
+
+    private boolean vertexMapCacheInvalidated = false;
     private boolean init;
 
+    /**
+     * Create a connectivity without vertex numbering, so not supporting the bit set based queries.
+     */
     public EvenShiloachGraphDecrementalConnectivity() {
-        this.cutEdges = new ArrayList<>();
-        this.unprocessedCutEdges = new ArrayList<>();
-        this.newConnectedComponents = new ArrayList<>();
-        this.vertexToConnectedComponent = new HashMap<>();
-        this.levelNeighboursMap = new HashMap<>();
-        this.allSavedChangedLevels = new LinkedList<>();
-        this.vertexMapCacheInvalidated = false;
-        this.vertices = new HashSet<>();
+        this.numGetter = null;
+    }
+
+    /**
+     * Create a connectivity whose vertices are numbered by the given getter, as {@link com.powsybl.openloadflow.network.LfBus#getNum()}.
+     */
+    public EvenShiloachGraphDecrementalConnectivity(ToIntFunction<V> numGetter) {
+        this.numGetter = Objects.requireNonNull(numGetter);
     }
 
     @Override
@@ -65,6 +71,14 @@ public class EvenShiloachGraphDecrementalConnectivity<V> implements GraphDecreme
         invalidateInit();
     }
 
+    @Override
+    public int getVertexNum(V vertex) {
+        if (numGetter == null) {
+            return GraphDecrementalConnectivity.super.getVertexNum(vertex);
+        }
+        return numGetter.applyAsInt(vertex);
+    }
+
     @Override
     public void addEdge(V vertex1, V vertex2) {
         if (vertex1 == null || vertex2 == null) {
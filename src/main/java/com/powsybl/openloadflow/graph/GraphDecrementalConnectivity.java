@@ -6,6 +6,7 @@
  */
 package com.powsybl.openloadflow.graph;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 
@@ -48,4 +49,43 @@ public interface GraphDecrementalConnectivity<V> {
     Set<V> getConnectedComponent(V vertex);
 
     Set<V> getNonConnectedVertices(V vertex);
+
+    /**
+     * Return the number of the given vertex, which is its bit index in the bit sets filled by
+     * {@link #fillSmallComponentsVertexNums(BitSet)} and {@link #fillNonConnectedVertexNums(Object, BitSet)}.
+     * Only supported by implementations given a vertex number getter.
+     * @param vertex the vertex whose number is looked for
+     * @return the number of the vertex
+     */
+    default int getVertexNum(V vertex) {
+        throw new UnsupportedOperationException("Vertex numbering not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Fill the given bit set with the numbers of the vertices of the "small" connected components, to avoid building
+     * sets of vertices. The bit set is cleared first so that it can be reused. Requires {@link #getVertexNum(Object)}.
+     * @param vertexNums the bit set to fill
+     */
+    default void fillSmallComponentsVertexNums(BitSet vertexNums) {
+        vertexNums.clear();
+        for (Set<V> component : getSmallComponents()) {
+            for (V v : component) {
+                vertexNums.set(getVertexNum(v));
+            }
+        }
+    }
+
+    /**
+     * Fill the given bit set with the numbers of the vertices which are not in the connected component of the given
+     * vertex, to avoid building sets of vertices. The bit set is cleared first so that it can be reused. Requires
+     * {@link #getVertexNum(Object)}.
+     * @param vertex the vertex whose connected component is excluded
+     * @param vertexNums the bit set to fill
+     */
+    default void fillNonConnectedVertexNums(V vertex, BitSet vertexNums) {
+        vertexNums.clear();
+        for (V v : getNonConnectedVertices(vertex)) {
+            vertexNums.set(getVertexNum(v));
+        }
+    }
 }
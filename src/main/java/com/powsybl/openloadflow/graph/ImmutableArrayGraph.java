@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.graph;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable graph shared by {@link ArrayGraphDecrementalConnectivity} views: compressed sparse row adjacency, spanning
+ * forest and connected components of the graph without any cut.
+ *
+ * As it is never modified once built, it can be shared by several threads, each one cutting edges on its own
+ * connectivity view created with {@link #createConnectivity()}, without copying the graph.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class ImmutableArrayGraph<V> {
+
+    private static final class ComponentSets<V> {
+
+        private final List<Set<V>> smallComponents;
+
+        private final Set<V> mainComponent;
+
+        private ComponentSets(List<Set<V>> smallComponents, Set<V> mainComponent) {
+            this.smallComponents = smallComponents;
+            this.mainComponent = mainComponent;
+        }
+    }
+
+    final ToIntFunction<V> numGetter;
+
+    final List<V> vertices; // indexed by vertex number, null if no vertex with this number
+
+    final int edgeCount;
+
+    final int[] edgeVertex1;
+
+    final int[] edgeVertex2;
+
+    final int[] adjacencyStart;
+
+    final int[] adjacencyEdges;
+
+    final boolean[] forestEdges;
+
+    final int[] initialLabels;
+
+    final int initialLabelCount;
+
+    final int[] initialComponents;
+
+    private volatile ComponentSets<V> initialComponentSets;
+
+    ImmutableArrayGraph(ToIntFunction<V> numGetter, List<V> vertices, int edgeCount, int[] edgeVertex1, int[] edgeVertex2) {
+        this.numGetter = Objects.requireNonNull(numGetter);
+        this.vertices = Collections.unmodifiableList(new ArrayList<>(vertices));
+        this.edgeCount = edgeCount;
+        this.edgeVertex1 = Arrays.copyOf(edgeVertex1, edgeCount);
+        this.edgeVertex2 = Arrays.copyOf(edgeVertex2, edgeCount);
+        int vertexCount = vertices.size();
+
+        // compressed sparse row adjacency
+        adjacencyStart = new int[vertexCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            adjacencyStart[edgeVertex1[edge] + 1]++;
+            if (edgeVertex2[edge] != edgeVertex1[edge]) {
+                adjacencyStart[edgeVertex2[edge] + 1]++;
+            }
+        }
+        for (int num = 0; num < vertexCount; num++) {
+            adjacencyStart[num + 1] += adjacencyStart[num];
+        }
+        adjacencyEdges = new int[adjacencyStart[vertexCount]];
+        int[] fill = Arrays.copyOf(adjacencyStart, vertexCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            adjacencyEdges[fill[edgeVertex1[edge]]++] = edge;
+            if (edgeVertex2[edge] != edgeVertex1[edge]) {
+                adjacencyEdges[fill[edgeVertex2[edge]]++] = edge;
+            }
+        }
+
+        // initial connected components and spanning forest
+        forestEdges = new boolean[edgeCount];
+        initialLabels = new int[vertexCount];
+        Arrays.fill(initialLabels, -1);
+        int labelCount = 0;
+        int[] queue = new int[vertexCount];
+        for (int start = 0; start < vertexCount; start++) {
+            if (vertices.get(start) == null || initialLabels[start] != -1) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            initialLabels[start] = labelCount;
+            while (head < tail) {
+                int num = queue[head++];
+                for (int i = adjacencyStart[num]; i < adjacencyStart[num + 1]; i++) {
+                    int edge = adjacencyEdges[i];
+                    int other = getOtherVertex(edge, num);
+                    if (initialLabels[other] == -1) {
+                        initialLabels[other] = labelCount;
+                        forestEdges[edge] = true;
+                        queue[tail++] = other;
+                    }
+                }
+            }
+            labelCount++;
+        }
+        initialLabelCount = labelCount;
+        initialComponents = rankComponents(initialLabels, initialLabelCount);
+    }
+
+    /**
+     * Create a new decremental connectivity on this graph, without any cut. The connectivity is not thread safe but
+     * several ones on the same graph can be used concurrently.
+     */
+    public ArrayGraphDecrementalConnectivity<V> createConnectivity() {
+        return new ArrayGraphDecrementalConnectivity<>(this);
+    }
+
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    int getOtherVertex(int edge, int num) {
+        return edgeVertex1[edge] == num ? edgeVertex2[edge] : edgeVertex1[edge];
+    }
+
+    void checkVertex(V vertex) {
+        if (vertex == null) {
+            throw new AssertionError("given vertex null is not in the graph");
+        }
+        int num = numGetter.applyAsInt(vertex);
+        if (num < 0 || num >= vertices.size() || vertices.get(num) != vertex) {
+            throw new AssertionError("given vertex " + vertex + " is not in the graph");
+        }
+    }
+
+    /**
+     * Small components of the graph without any cut, computed on first call. As the sets are shared, they are
+     * unmodifiable.
+     */
+    List<Set<V>> getInitialSmallComponentSets() {
+        return getInitialComponentSets().smallComponents;
+    }
+
+    /**
+     * Main component of the graph without any cut, computed on first call. As the set is shared, it is unmodifiable.
+     */
+    Set<V> getInitialMainComponentSet() {
+        return getInitialComponentSets().mainComponent;
+    }
+
+    private ComponentSets<V> getInitialComponentSets() {
+        // concurrent first calls may compute the sets several times, which is harmless as they are equal
+        ComponentSets<V> componentSets = initialComponentSets;
+        if (componentSets == null) {
+            List<Set<V>> smallComponents = createComponentSets(initialComponents, initialLabelCount);
+            Set<V> mainComponent = new HashSet<>();
+            for (int num = 0; num < initialComponents.length; num++) {
+                if (initialComponents[num] == 0) {
+                    mainComponent.add(vertices.get(num));
+                }
+            }
+            List<Set<V>> unmodifiableSmallComponents = new ArrayList<>(smallComponents.size());
+            for (Set<V> smallComponent : smallComponents) {
+                unmodifiableSmallComponents.add(Collections.unmodifiableSet(smallComponent));
+            }
+            componentSets = new ComponentSets<>(Collections.unmodifiableList(unmodifiableSmallComponents),
+                                                Collections.unmodifiableSet(mainComponent));
+            initialComponentSets = componentSets;
+        }
+        return componentSets;
+    }
+
+    List<Set<V>> createComponentSets(int[] components, int componentCount) {
+        List<Set<V>> smallComponentSets = new ArrayList<>(Math.max(componentCount - 1, 0));
+        for (int i = 1; i < componentCount; i++) {
+            smallComponentSets.add(new HashSet<>());
+        }
+        for (int num = 0; num < components.length; num++) {
+            int component = components[num];
+            if (component > 0) {
+                smallComponentSets.get(component - 1).add(vertices.get(num));
+            }
+        }
+        return smallComponentSets;
+    }
+
+    /**
+     * Component numbers are ranked by decreasing size then by increasing lowest vertex number.
+     */
+    static int[] rankComponents(int[] labels, int labelCount) {
+        int[] sizes = new int[labelCount];
+        int[] lowestNums = new int[labelCount];
+        Arrays.fill(lowestNums, Integer.MAX_VALUE);
+        for (int num = 0; num < labels.length; num++) {
+            int label = labels[num];
+            if (label != -1) {
+                sizes[label]++;
+                lowestNums[label] = Math.min(lowestNums[label], num);
+            }
+        }
+        Integer[] sortedLabels = new Integer[labelCount];
+        for (int label = 0; label < labelCount; label++) {
+            sortedLabels[label] = label;
+        }
+        Arrays.sort(sortedLabels, Comparator.<Integer>comparingInt(label -> -sizes[label]).thenComparingInt(label -> lowestNums[label]));
+        int[] rankByLabel = new int[labelCount];
+        for (int rank = 0; rank < labelCount; rank++) {
+            rankByLabel[sortedLabels[rank]] = rank;
+        }
+        int[] ranks = new int[labels.length];
+        for (int num = 0; num < labels.length; num++) {
+            ranks[num] = labels[num] != -1 ? rankByLabel[labels[num]] : -1;
+        }
+        return ranks;
+    }
+}
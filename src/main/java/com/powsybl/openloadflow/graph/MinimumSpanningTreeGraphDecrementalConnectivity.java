@@ -13,6 +13,7 @@ import org.jgrapht.alg.util.UnionFind;
 import org.jgrapht.graph.Pseudograph;
 
 import java.util.*;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -28,9 +29,24 @@ public class MinimumSpanningTreeGraphDecrementalConnectivity<V> implements Graph
     private List<V> sortedRoots;
     private Map<V, V> parentMap;
 
+    private final ToIntFunction<V> numGetter; // null if vertices are not numbered
+
+    /**
+     * Create a connectivity without vertex numbering, so not supporting the bit set based queries.
+     */
     public MinimumSpanningTreeGraphDecrementalConnectivity() {
         this.graph = new Pseudograph<>(Object.class);
         this.cutEdges = new ArrayList<>();
+        this.numGetter = null;
+    }
+
+    /**
+     * Create a connectivity whose vertices are numbered by the given getter, as {@link com.powsybl.openloadflow.network.LfBus#getNum()}.
+     */
+    public MinimumSpanningTreeGraphDecrementalConnectivity(ToIntFunction<V> numGetter) {
+        this.graph = new Pseudograph<>(Object.class);
+        this.cutEdges = new ArrayList<>();
+        this.numGetter = Objects.requireNonNull(numGetter);
     }
 
     @Override
@@ -39,6 +55,14 @@ public class MinimumSpanningTreeGraphDecrementalConnectivity<V> implements Graph
         graph.addVertex(vertex);
     }
 
+    @Override
+    public int getVertexNum(V vertex) {
+        if (numGetter == null) {
+            return GraphDecrementalConnectivity.super.getVertexNum(vertex);
+        }
+        return numGetter.applyAsInt(vertex);
+    }
+
     @Override
     public void addEdge(V vertex1, V vertex2) {
         if (vertex1 == null || vertex2 == null) {
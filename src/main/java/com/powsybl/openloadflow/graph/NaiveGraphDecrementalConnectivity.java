@@ -55,6 +55,11 @@ public class NaiveGraphDecrementalConnectivity<V> implements GraphDecrementalCon
         components = null;
     }
 
+    @Override
+    public int getVertexNum(V vertex) {
+        return numGetter.applyAsInt(vertex);
+    }
+
     @Override
     public void addVertex(V vertex) {
         Objects.requireNonNull(vertex);
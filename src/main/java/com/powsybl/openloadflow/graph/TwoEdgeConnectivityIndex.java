@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.graph;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index of the bridges and of the 2-edge-connected components of a graph, lazily computed using {@link BridgesFinder}.
+ *
+ * Removing a set of edges cannot break the connectivity of the graph if none of them is a bridge and if they all
+ * belong to different 2-edge-connected components, as a 2-edge-connected component stays connected after the loss of
+ * any of its edges.
+ *
+ * The 2-edge-connected components linked by the bridges form a forest, the bridge tree. Rooting each tree of this
+ * forest (at the component of the root vertex if any) and ordering the vertices by depth-first pre-order of their
+ * component, the vertices disconnected by the loss of a bridge are the ones of the subtree below the bridge, which is
+ * a contiguous range of this order. Vertices islanded by any N-1 edge outage are thus given in constant time.
+ *
+ * @author Florian Dupuy <florian.dupuy at rte-france.com>
+ */
+public class TwoEdgeConnectivityIndex<V, E> {
+
+    private final int nbVertices;
+
+    private final ToIntFunction<V> numGetter;
+
+    private final BridgesFinder<V> bridgesFinder;
+
+    private final Map<E, int[]> edgeVertices = new HashMap<>();
+
+    private final List<List<Integer>> neighbours = new ArrayList<>();
+
+    private final List<V> vertices;
+
+    private V rootVertex;
+
+    private Set<Long> bridges;
+
+    private int[] componentNums;
+
+    /**
+     * Parent component of each component in the bridge tree, -1 for the roots
+     */
+    private int[] parentComponentNums;
+
+    /**
+     * Depth-first pre-order number of each component in the bridge tree
+     */
+    private int[] componentPreOrders;
+
+    /**
+     * Pre-order number following the subtree of each component in the bridge tree
+     */
+    private int[] subtreeEnds;
+
+    /**
+     * Position in {@link #orderedVertices} of the first vertex of each component, indexed by component pre-order
+     */
+    private int[] componentStarts;
+
+    private List<V> orderedVertices;
+
+    private int treeCount;
+
+    public TwoEdgeConnectivityIndex(int nbVertices, ToIntFunction<V> numGetter) {
+        this.nbVertices = nbVertices;
+        this.numGetter = Objects.requireNonNull(numGetter);
+        bridgesFinder = new BridgesFinder<>(nbVertices, numGetter);
+        vertices = new ArrayList<>(Collections.nCopies(nbVertices, null));
+        for (int i = 0; i < nbVertices; i++) {
+            neighbours.add(new ArrayList<>());
+        }
+    }
+
+    public void addVertex(V vertex) {
+        bridgesFinder.addVertex(vertex);
+        vertices.set(numGetter.applyAsInt(vertex), vertex);
+    }
+
+    /**
+     * Set the vertex the bridge tree is rooted at: vertices disconnected by the loss of a bridge are then the ones on
+     * the other side of the bridge than this vertex.
+     */
+    public TwoEdgeConnectivityIndex<V, E> setRootVertex(V rootVertex) {
+        Objects.requireNonNull(rootVertex);
+        if (bridges != null) {
+            throw new IllegalStateException("Index already computed");
+        }
+        this.rootVertex = rootVertex;
+        return this;
+    }
+
+    public void addEdge(V vertex1, V vertex2, E edge) {
+        Objects.requireNonNull(edge);
+        if (bridges != null) {
+            throw new IllegalStateException("Index already computed");
+        }
+        bridgesFinder.addEdge(vertex1, vertex2);
+        int num1 = numGetter.applyAsInt(vertex1);
+        int num2 = numGetter.applyAsInt(vertex2);
+        edgeVertices.put(edge, new int[] {num1, num2});
+        neighbours.get(num1).add(num2);
+        neighbours.get(num2).add(num1);
+    }
+
+    private long getKey(int num1, int num2) {
+        return (long) Math.min(num1, num2) * nbVertices + Math.max(num1, num2);
+    }
+
+    private void lazyCompute() {
+        if (bridges != null) {
+            return;
+        }
+        bridges = new HashSet<>();
+        for (int[] bridge : bridgesFinder.getBridges()) {
+            bridges.add(getKey(bridge[0], bridge[1]));
+        }
+
+        // number the 2-edge-connected components: connected components once bridges are removed
+        componentNums = new int[nbVertices];
+        Arrays.fill(componentNums, -1);
+        int componentNum = 0;
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int start = 0; start < nbVertices; start++) {
+            if (componentNums[start] != -1) {
+                continue;
+            }
+            componentNums[start] = componentNum;
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                int num = stack.pop();
+                for (int neighbour : neighbours.get(num)) {
+                    if (componentNums[neighbour] == -1 && !bridges.contains(getKey(num, neighbour))) {
+                        componentNums[neighbour] = componentNum;
+                        stack.push(neighbour);
+                    }
+                }
+            }
+            componentNum++;
+        }
+
+        computeBridgeTree(componentNum);
+    }
+
+    private void computeBridgeTree(int componentCount) {
+        List<List<Integer>> componentNeighbours = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            componentNeighbours.add(new ArrayList<>());
+        }
+        for (int[] bridge : bridgesFinder.getBridges()) {
+            int c1 = componentNums[bridge[0]];
+            int c2 = componentNums[bridge[1]];
+            componentNeighbours.get(c1).add(c2);
+            componentNeighbours.get(c2).add(c1);
+        }
+
+        // depth-first pre-order of the bridge forest, starting from the root vertex component: as the forest has no
+        // cycle, a stack based traversal visits each subtree contiguously
+        parentComponentNums = new int[componentCount];
+        componentPreOrders = new int[componentCount];
+        Arrays.fill(componentPreOrders, -1);
+        int[] componentsByPreOrder = new int[componentCount];
+        int preOrder = 0;
+        treeCount = 0;
+        if (rootVertex != null) {
+            preOrder = visitBridgeTree(componentNums[numGetter.applyAsInt(rootVertex)], componentNeighbours, componentsByPreOrder, preOrder);
+        }
+        for (int c = 0; c < componentCount; c++) {
+            if (componentPreOrders[c] == -1) {
+                preOrder = visitBridgeTree(c, componentNeighbours, componentsByPreOrder, preOrder);
+            }
+        }
+
+        // subtree sizes, children having a greater pre-order than their parent
+        int[] subtreeSizes = new int[componentCount];
+        Arrays.fill(subtreeSizes, 1);
+        for (int i = componentCount - 1; i >= 0; i--) {
+            int c = componentsByPreOrder[i];
+            if (parentComponentNums[c] != -1) {
+                subtreeSizes[parentComponentNums[c]] += subtreeSizes[c];
+            }
+        }
+        subtreeEnds = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            subtreeEnds[c] = componentPreOrders[c] + subtreeSizes[c];
+        }
+
+        // vertices sorted by pre-order of their component
+        componentStarts = new int[componentCount + 1];
+        for (int num = 0; num < nbVertices; num++) {
+            componentStarts[componentPreOrders[componentNums[num]] + 1]++;
+        }
+        for (int i = 0; i < componentCount; i++) {
+            componentStarts[i + 1] += componentStarts[i];
+        }
+        int[] positions = Arrays.copyOf(componentStarts, componentCount);
+        List<V> sortedVertices = new ArrayList<>(Collections.nCopies(nbVertices, null));
+        for (int num = 0; num < nbVertices; num++) {
+            sortedVertices.set(positions[componentPreOrders[componentNums[num]]]++, vertices.get(num));
+        }
+        orderedVertices = Collections.unmodifiableList(sortedVertices);
+    }
+
+    private int[] getVertices(E edge) {
+        int[] vertices = edgeVertices.get(Objects.requireNonNull(edge));
+        if (vertices == null) {
+            throw new IllegalArgumentException("Unknown edge: " + edge);
+        }
+        return vertices;
+    }
+
+    public boolean isBridge(E edge) {
+        int[] vertices = getVertices(edge);
+        lazyCompute();
+        return bridges.contains(getKey(vertices[0], vertices[1]));
+    }
+
+    /**
+     * Get the number of the 2-edge-connected component the vertex belongs to.
+     */
+    public int getComponentNum(V vertex) {
+        lazyCompute();
+        return componentNums[numGetter.applyAsInt(vertex)];
+    }
+
+    /**
+     * Check if the graph is connected, in which case the bridge tree is a single tree.
+     */
+    public boolean isConnected() {
+        lazyCompute();
+        return treeCount <= 1;
+    }
+
+    private int visitBridgeTree(int root, List<List<Integer>> componentNeighbours, int[] componentsByPreOrder, int firstPreOrder) {
+        int preOrder = firstPreOrder;
+        treeCount++;
+        parentComponentNums[root] = -1;
+        componentPreOrders[root] = -2; // reached
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            componentPreOrders[c] = preOrder;
+            componentsByPreOrder[preOrder++] = c;
+            for (int neighbour : componentNeighbours.get(c)) {
+                if (componentPreOrders[neighbour] == -1) {
+                    parentComponentNums[neighbour] = c;
+                    componentPreOrders[neighbour] = -2; // reached
+                    stack.push(neighbour);
+                }
+            }
+        }
+        return preOrder;
+    }
+
+    private int getChildComponentNum(int[] vertices) {
+        int c1 = componentNums[vertices[0]];
+        int c2 = componentNums[vertices[1]];
+        return parentComponentNums[c1] == c2 ? c1 : c2;
+    }
+
+    /**
+     * Get the vertices disconnected from the root of the bridge tree by the loss of the given edge, in constant time.
+     * @return an empty list if the edge is not a bridge
+     */
+    public List<V> getDisconnectedVertices(E edge) {
+        int[] edgeVertices = getVertices(edge);
+        lazyCompute();
+        if (!bridges.contains(getKey(edgeVertices[0], edgeVertices[1]))) {
+            return Collections.emptyList();
+        }
+        int child = getChildComponentNum(edgeVertices);
+        return orderedVertices.subList(componentStarts[componentPreOrders[child]], componentStarts[subtreeEnds[child]]);
+    }
+
+    /**
+     * Get the number of vertices disconnected from the root of the bridge tree by the loss of the given edge.
+     */
+    public int getDisconnectedVertexCount(E edge) {
+        return getDisconnectedVertices(edge).size();
+    }
+
+    /**
+     * Check if removing the given edges may break the connectivity of the graph: true if one of them is a bridge or if
+     * two of them belong to the same 2-edge-connected component. False means the connectivity is for sure kept.
+     */
+    public boolean mayBreakConnectivity(Collection<E> edges) {
+        Objects.requireNonNull(edges);
+        lazyCompute();
+        Set<Integer> impactedComponentNums = new HashSet<>(edges.size());
+        for (E edge : edges) {
+            int[] vertices = getVertices(edge);
+            if (bridges.contains(getKey(vertices[0], vertices[1]))
+                    || !impactedComponentNums.add(componentNums[vertices[0]])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
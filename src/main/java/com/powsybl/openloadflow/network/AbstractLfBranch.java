@@ -75,6 +75,10 @@ public abstract class AbstractLfBranch extends AbstractElement implements LfBran
         this.piModel = Objects.requireNonNull(piModel);
     }
 
+    protected static LfLimit createLimit(int acceptableDuration, double valuePerUnit) {
+        return new LfLimit(acceptableDuration, valuePerUnit);
+    }
+
     protected static List<LfLimit> createSortedLimitsList(CurrentLimits currentLimits, LfBus bus) {
         LinkedList<LfLimit> sortedLimits = new LinkedList<>();
         if (currentLimits != null) {
@@ -73,6 +73,12 @@ public interface LfBus extends LfElement {
 
     double getMaxQ();
 
+    /**
+     * Get a counter incremented each time an injection target or the voltage control status of the bus is modified,
+     * so that values computed from them can be refreshed only when needed.
+     */
+    int getModificationCount();
+
     double getV();
 
     void setV(double v);
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.base.Stopwatch;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.openloadflow.graph.GraphDecrementalConnectivity;
+import com.powsybl.openloadflow.graph.TwoEdgeConnectivityIndex;
 import net.jafama.FastMath;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.Pseudograph;
@@ -60,6 +61,8 @@ public class LfNetwork {
 
     private boolean valid = true;
 
+    private TwoEdgeConnectivityIndex<LfBus, LfBranch> twoEdgeConnectivityIndex;
+
     public LfNetwork(int num, SlackBusSelector slackBusSelector) {
         this.num = num;
         this.slackBusSelector = Objects.requireNonNull(slackBusSelector);
@@ -84,6 +87,7 @@ public class LfNetwork {
     private void invalidateCache() {
         busesByIndex = null;
         slackBus = null;
+        twoEdgeConnectivityIndex = null;
     }
 
     public void addBranch(LfBranch branch) {
@@ -91,6 +95,7 @@ public class LfNetwork {
         branch.setNum(branches.size());
         branches.add(branch);
         branchesById.put(branch.getId(), branch);
+        twoEdgeConnectivityIndex = null;
 
         // create bus -> branches link
         if (branch.getBus1() != null) {
@@ -461,6 +466,25 @@ public class LfNetwork {
         return connectivity;
     }
 
+    /**
+     * Get the index of the bridges and 2-edge-connected components of the network, rooted at the slack bus and lazily
+     * computed. It gives in constant time the buses disconnected from the slack bus by any single branch outage.
+     */
+    public TwoEdgeConnectivityIndex<LfBus, LfBranch> getTwoEdgeConnectivityIndex() {
+        if (twoEdgeConnectivityIndex == null) {
+            List<LfBus> buses = getBuses();
+            twoEdgeConnectivityIndex = new TwoEdgeConnectivityIndex<LfBus, LfBranch>(buses.size(), LfBus::getNum)
+                    .setRootVertex(slackBus);
+            buses.forEach(twoEdgeConnectivityIndex::addVertex);
+            for (LfBranch branch : branches) {
+                if (branch.getBus1() != null && branch.getBus2() != null) {
+                    twoEdgeConnectivityIndex.addEdge(branch.getBus1(), branch.getBus2(), branch);
+                }
+            }
+        }
+        return twoEdgeConnectivityIndex;
+    }
+
     public void addListener(LfNetworkListener listener) {
         listeners.add(listener);
     }
@@ -27,6 +27,8 @@ public class LfNetworkParameters {
 
     private final boolean addRatioToLinesWithDifferentNominalVoltageAtBothEnds;
 
+    private final boolean parallelCreation;
+
     public LfNetworkParameters(SlackBusSelector slackBusSelector) {
         this(slackBusSelector, false, false, false, false, ParameterConstants.PLAUSIBLE_ACTIVE_POWER_LIMIT_DEFAULT_VALUE, false);
     }
@@ -34,6 +36,14 @@ public class LfNetworkParameters {
     public LfNetworkParameters(SlackBusSelector slackBusSelector, boolean generatorVoltageRemoteControl,
                                boolean minImpedance, boolean twtSplitShuntAdmittance, boolean breakers,
                                double plausibleActivePowerLimit, boolean addRatioToLinesWithDifferentNominalVoltageAtBothEnds) {
+        this(slackBusSelector, generatorVoltageRemoteControl, minImpedance, twtSplitShuntAdmittance, breakers, plausibleActivePowerLimit,
+                addRatioToLinesWithDifferentNominalVoltageAtBothEnds, false);
+    }
+
+    public LfNetworkParameters(SlackBusSelector slackBusSelector, boolean generatorVoltageRemoteControl,
+                               boolean minImpedance, boolean twtSplitShuntAdmittance, boolean breakers,
+                               double plausibleActivePowerLimit, boolean addRatioToLinesWithDifferentNominalVoltageAtBothEnds,
+                               boolean parallelCreation) {
         this.slackBusSelector = slackBusSelector;
         this.generatorVoltageRemoteControl = generatorVoltageRemoteControl;
         this.minImpedance = minImpedance;
@@ -41,6 +51,7 @@ public class LfNetworkParameters {
         this.breakers = breakers;
         this.plausibleActivePowerLimit = plausibleActivePowerLimit;
         this.addRatioToLinesWithDifferentNominalVoltageAtBothEnds = addRatioToLinesWithDifferentNominalVoltageAtBothEnds;
+        this.parallelCreation = parallelCreation;
     }
 
     public SlackBusSelector getSlackBusSelector() {
@@ -70,4 +81,12 @@ public class LfNetworkParameters {
     public boolean isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds() {
         return addRatioToLinesWithDifferentNominalVoltageAtBothEnds;
     }
+
+    /**
+     * If true, components and the buses and branches of large components are created in parallel, the network being
+     * the same as the one created sequentially.
+     */
+    public boolean isParallelCreation() {
+        return parallelCreation;
+    }
 }
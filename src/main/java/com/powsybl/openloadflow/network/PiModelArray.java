@@ -35,6 +35,32 @@ public class PiModelArray implements PiModel {
         this.tapPosition = tapPosition;
     }
 
+    public List<PiModel> getModels() {
+        return models;
+    }
+
+    public int getLowTapPosition() {
+        return lowTapPosition;
+    }
+
+    public int getTapPosition() {
+        return tapPosition;
+    }
+
+    /**
+     * Move to the given tap, discarding any a1 or r1 value set out of the taps.
+     */
+    public PiModelArray setTapPosition(int tapPosition) {
+        if (tapPosition < lowTapPosition || tapPosition >= lowTapPosition + models.size()) {
+            throw new IllegalArgumentException("Tap position " + tapPosition + " is out of range ["
+                    + lowTapPosition + ", " + (lowTapPosition + models.size() - 1) + "]");
+        }
+        this.tapPosition = tapPosition;
+        a1 = Double.NaN;
+        r1 = Double.NaN;
+        return this;
+    }
+
     private PiModel getModel() {
         return models.get(tapPosition - lowTapPosition);
     }
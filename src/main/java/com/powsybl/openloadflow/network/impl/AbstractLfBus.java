@@ -78,6 +78,22 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
 
     protected Evaluable q = NAN;
 
+    /**
+     * Generation aggregates, computed lazily and reset to NaN each time a generator is modified.
+     */
+    private double generationTargetP = Double.NaN;
+
+    private double minQ = Double.NaN;
+
+    private double maxQ = Double.NaN;
+
+    /**
+     * True if reactive limits of at least one generator depend on the bus voltage.
+     */
+    private boolean voltageDependentReactiveLimits = false;
+
+    private int modificationCount = 0;
+
     protected AbstractLfBus(LfNetwork network, double v, double angle) {
         super(network);
         this.v = v;
@@ -147,6 +163,7 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
                 voltageControlSwitchOffCount++;
             }
             this.voltageControllerEnabled = voltageControlEnabled;
+            modificationCount++;
             for (LfNetworkListener listener : network.getListeners()) {
                 listener.onVoltageControlChange(this, voltageControlEnabled);
             }
@@ -209,6 +226,20 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
         if (!generator.hasVoltageControl() && !Double.isNaN(generator.getTargetQ())) {
             generationTargetQ += generator.getTargetQ() * PerUnit.SB;
         }
+        if (generator instanceof LfStaticVarCompensatorImpl) {
+            voltageDependentReactiveLimits = true;
+        }
+        invalidateGeneration();
+    }
+
+    /**
+     * Reset cached generation aggregates, to be called each time a generator of this bus is modified.
+     */
+    void invalidateGeneration() {
+        generationTargetP = Double.NaN;
+        minQ = Double.NaN;
+        maxQ = Double.NaN;
+        modificationCount++;
     }
 
     void addGenerator(Generator generator, boolean breakers, LfNetworkLoadingReport report, double plausibleActivePowerLimit) {
@@ -231,7 +262,14 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
 
     @Override
     public double getGenerationTargetP() {
-        return generators.stream().mapToDouble(LfGenerator::getTargetP).sum();
+        if (Double.isNaN(generationTargetP)) {
+            double sum = 0;
+            for (LfGenerator generator : generators) {
+                sum += generator.getTargetP();
+            }
+            generationTargetP = sum;
+        }
+        return generationTargetP;
     }
 
     @Override
@@ -242,6 +280,7 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
     @Override
     public void setGenerationTargetQ(double generationTargetQ) {
         this.generationTargetQ = generationTargetQ * PerUnit.SB;
+        modificationCount++;
     }
 
     @Override
@@ -252,6 +291,7 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
     @Override
     public void setLoadTargetP(double loadTargetP) {
         this.loadTargetP = loadTargetP * PerUnit.SB;
+        modificationCount++;
     }
 
     @Override
@@ -272,6 +312,7 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
     @Override
     public void setLoadTargetQ(double loadTargetQ) {
         this.loadTargetQ = loadTargetQ * PerUnit.SB;
+        modificationCount++;
     }
 
     @Override
@@ -280,20 +321,32 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
     }
 
     private double getLimitQ(ToDoubleFunction<LfGenerator> limitQ) {
-        return generators.stream()
-                .mapToDouble(generator -> generator.hasVoltageControl() ? limitQ.applyAsDouble(generator)
-                                                                        : generator.getTargetQ())
-                .sum();
+        double sum = 0;
+        for (LfGenerator generator : generators) {
+            sum += generator.hasVoltageControl() ? limitQ.applyAsDouble(generator) : generator.getTargetQ();
+        }
+        return sum;
     }
 
     @Override
     public double getMinQ() {
-        return getLimitQ(LfGenerator::getMinQ);
+        if (Double.isNaN(minQ)) {
+            minQ = getLimitQ(LfGenerator::getMinQ);
+        }
+        return minQ;
     }
 
     @Override
     public double getMaxQ() {
-        return getLimitQ(LfGenerator::getMaxQ);
+        if (Double.isNaN(maxQ)) {
+            maxQ = getLimitQ(LfGenerator::getMaxQ);
+        }
+        return maxQ;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     @Override
@@ -304,6 +357,10 @@ public abstract class AbstractLfBus extends AbstractElement implements LfBus {
     @Override
     public void setV(double v) {
         this.v = v * getNominalV();
+        if (voltageDependentReactiveLimits) {
+            minQ = Double.NaN;
+            maxQ = Double.NaN;
+        }
     }
 
     @Override
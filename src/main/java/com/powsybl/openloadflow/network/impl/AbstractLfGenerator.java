@@ -55,6 +55,9 @@ public abstract class AbstractLfGenerator implements LfGenerator {
     @Override
     public void setTargetP(double targetP) {
         this.targetP = targetP * PerUnit.SB;
+        if (bus instanceof AbstractLfBus) {
+            ((AbstractLfBus) bus).invalidateGeneration();
+        }
     }
 
     @Override
@@ -149,6 +152,14 @@ public abstract class AbstractLfGenerator implements LfGenerator {
     }
 
     protected boolean checkVoltageControlConsistency(LfNetworkLoadingReport report) {
+        return checkVoltageControlConsistency(targetP, report);
+    }
+
+    /**
+     * Check if the generator could control voltage with the given active power target (in MW), also used to know if a
+     * modification of the target of a loaded generator changes its voltage control.
+     */
+    boolean checkVoltageControlConsistency(double targetP, LfNetworkLoadingReport report) {
         boolean consistency = true;
         double maxRangeQ = getMaxRangeQ();
         if (maxRangeQ < PlausibleValues.MIN_REACTIVE_RANGE / PerUnit.SB) {
@@ -156,8 +167,8 @@ public abstract class AbstractLfGenerator implements LfGenerator {
             report.generatorsDiscardedFromVoltageControlBecauseMaxReactiveRangeIsTooSmall++;
             consistency = false;
         }
-        if (Math.abs(getTargetP()) < POWER_EPSILON_SI && getMinP() > POWER_EPSILON_SI) {
-            LOGGER.trace("Discard generator '{}' from voltage control because not started (targetP={} MW, minP={} MW)", getId(), getTargetP(), getMinP());
+        if (Math.abs(targetP / PerUnit.SB) < POWER_EPSILON_SI && getMinP() > POWER_EPSILON_SI) {
+            LOGGER.trace("Discard generator '{}' from voltage control because not started (targetP={} MW, minP={} MW)", getId(), targetP, getMinP());
             report.generatorsDiscardedFromVoltageControlBecauseNotStarted++;
             consistency = false;
         }
@@ -38,26 +38,40 @@ public final class LfGeneratorImpl extends AbstractLfGenerator {
     private LfGeneratorImpl(Generator generator, boolean breakers, LfNetworkLoadingReport report, double plausibleActivePowerLimit) {
         super(generator.getTargetP());
         this.generator = generator;
-        participating = true;
+        participating = isParticipating(generator, generator.getTargetP(), plausibleActivePowerLimit, report);
         double droop = DEFAULT_DROOP;
-        // get participation factor from extension
+        // get droop from extension
+        ActivePowerControl<Generator> activePowerControl = generator.getExtension(ActivePowerControl.class);
+        if (activePowerControl != null && activePowerControl.getDroop() != 0) {
+            droop = activePowerControl.getDroop();
+        }
+        participationFactor = generator.getMaxP() / droop;
+
+        if (generator.isVoltageRegulatorOn()) {
+            setVoltageControl(generator.getTargetV(), generator.getRegulatingTerminal(), breakers, report);
+        }
+    }
+
+    /**
+     * Check if a generator with the given active power target participates to active power control, also used to know
+     * if a modification of the target of a loaded generator changes its participation.
+     */
+    static boolean isParticipating(Generator generator, double targetP, double plausibleActivePowerLimit, LfNetworkLoadingReport report) {
+        boolean participating = true;
+        // get participation from extension
         ActivePowerControl<Generator> activePowerControl = generator.getExtension(ActivePowerControl.class);
         if (activePowerControl != null) {
             participating = activePowerControl.isParticipate();
-            if (activePowerControl.getDroop() != 0) {
-                droop = activePowerControl.getDroop();
-            }
         }
-        participationFactor = generator.getMaxP() / droop;
-        if (Math.abs(generator.getTargetP()) < TARGET_P_EPSILON) {
+        if (Math.abs(targetP) < TARGET_P_EPSILON) {
             LOGGER.trace("Discard generator '{}' from active power control because targetP ({}) equals 0",
-                    generator.getId(), generator.getTargetP());
+                    generator.getId(), targetP);
             report.generatorsDiscardedFromActivePowerControlBecauseTargetEqualsToZero++;
             participating = false;
         }
-        if (generator.getTargetP() > generator.getMaxP()) {
+        if (targetP > generator.getMaxP()) {
             LOGGER.trace("Discard generator '{}' from active power control because targetP ({}) > maxP ({})",
-                    generator.getId(), generator.getTargetP(), generator.getMaxP());
+                    generator.getId(), targetP, generator.getMaxP());
             report.generatorsDiscardedFromActivePowerControlBecauseTargetPGreaterThenMaxP++;
             participating = false;
         }
@@ -73,10 +87,7 @@ public final class LfGeneratorImpl extends AbstractLfGenerator {
             report.generatorsDiscardedFromActivePowerControlBecauseMaxPEqualsMinP++;
             participating = false;
         }
-
-        if (generator.isVoltageRegulatorOn()) {
-            setVoltageControl(generator.getTargetV(), generator.getRegulatingTerminal(), breakers, report);
-        }
+        return participating;
     }
 
     public static LfGeneratorImpl create(Generator generator, boolean breakers, LfNetworkLoadingReport report, double plausibleActivePowerLimit) {
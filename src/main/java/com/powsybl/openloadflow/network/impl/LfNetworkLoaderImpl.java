@@ -8,11 +8,11 @@ package com.powsybl.openloadflow.network.impl;
 
 import com.google.auto.service.AutoService;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
 import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.*;
 import com.powsybl.openloadflow.network.*;
 import net.jafama.FastMath;
-import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jgrapht.alg.connectivity.ConnectivityInspector;
 import org.slf4j.Logger;
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.powsybl.openloadflow.util.Markers.PERFORMANCE_MARKER;
 
@@ -34,6 +35,13 @@ public class LfNetworkLoaderImpl implements LfNetworkLoader {
 
     private static final double TARGET_V_EPSILON = 1e-2;
 
+    /**
+     * Minimum number of buses of a component for its buses and branches to be created in parallel.
+     */
+    private static final int PARALLEL_CREATION_MIN_BUS_COUNT = 1000;
+
+    private static final int PARALLEL_CREATION_CHUNK_SIZE = 256;
+
     private static class LoadingContext {
 
         private final Set<Branch> branchSet = new LinkedHashSet<>();
@@ -41,14 +49,54 @@ public class LfNetworkLoaderImpl implements LfNetworkLoader {
         private final List<DanglingLine> danglingLines = new ArrayList<>();
 
         private final Set<ThreeWindingsTransformer> t3wtSet = new LinkedHashSet<>();
+
+        private void add(LoadingContext other) {
+            branchSet.addAll(other.branchSet);
+            danglingLines.addAll(other.danglingLines);
+            t3wtSet.addAll(other.t3wtSet);
+        }
+    }
+
+    /**
+     * Buses or branches created from a chunk of IIDM elements by a parallel task, before being added to the network.
+     */
+    private static class CreationChunk<T> {
+
+        private final List<T> elements = new ArrayList<>();
+
+        private final LoadingContext loadingContext = new LoadingContext();
+
+        private final LfNetworkLoadingReport report = new LfNetworkLoadingReport();
     }
 
     private static void createBuses(List<Bus> buses, LfNetworkParameters parameters, LfNetwork lfNetwork, List<LfBus> lfBuses,
-                                    LoadingContext loadingContext, LfNetworkLoadingReport report) {
-        for (Bus bus : buses) {
-            LfBusImpl lfBus = createBus(bus, parameters, lfNetwork, loadingContext, report);
-            lfNetwork.addBus(lfBus);
-            lfBuses.add(lfBus);
+                                    LoadingContext loadingContext, LfNetworkLoadingReport report, boolean parallel) {
+        if (parallel && buses.size() >= PARALLEL_CREATION_MIN_BUS_COUNT) {
+            // visit connected equipments by chunks of buses in parallel, then add buses in the initial order so that bus
+            // numbering and branch ordering are the same as a sequential creation
+            List<CreationChunk<LfBusImpl>> chunks = Lists.partition(buses, PARALLEL_CREATION_CHUNK_SIZE).parallelStream()
+                    .map(chunkBuses -> {
+                        CreationChunk<LfBusImpl> chunk = new CreationChunk<>();
+                        for (Bus bus : chunkBuses) {
+                            chunk.elements.add(createBus(bus, parameters, lfNetwork, chunk.loadingContext, chunk.report));
+                        }
+                        return chunk;
+                    })
+                    .collect(Collectors.toList());
+            for (CreationChunk<LfBusImpl> chunk : chunks) {
+                for (LfBusImpl lfBus : chunk.elements) {
+                    lfNetwork.addBus(lfBus);
+                    lfBuses.add(lfBus);
+                }
+                loadingContext.add(chunk.loadingContext);
+                report.add(chunk.report);
+            }
+        } else {
+            for (Bus bus : buses) {
+                LfBusImpl lfBus = createBus(bus, parameters, lfNetwork, loadingContext, report);
+                lfNetwork.addBus(lfBus);
+                lfBuses.add(lfBus);
+            }
         }
     }
 
@@ -227,11 +275,36 @@ public class LfNetworkLoaderImpl implements LfNetworkLoader {
         }
     }
 
-    private static void createBranches(List<LfBus> lfBuses, LfNetwork lfNetwork, LoadingContext loadingContext, LfNetworkLoadingReport report, LfNetworkParameters parameters) {
-        for (Branch<?> branch : loadingContext.branchSet) {
-            LfBus lfBus1 = getLfBus(branch.getTerminal1(), lfNetwork, parameters.isBreakers());
-            LfBus lfBus2 = getLfBus(branch.getTerminal2(), lfNetwork, parameters.isBreakers());
-            addBranch(lfNetwork, LfBranchImpl.create(branch, lfNetwork, lfBus1, lfBus2, parameters.isTwtSplitShuntAdmittance(), parameters.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds(), report), report);
+    private static LfBranchImpl createBranch(Branch<?> branch, LfNetwork lfNetwork, LfNetworkLoadingReport report, LfNetworkParameters parameters) {
+        LfBus lfBus1 = getLfBus(branch.getTerminal1(), lfNetwork, parameters.isBreakers());
+        LfBus lfBus2 = getLfBus(branch.getTerminal2(), lfNetwork, parameters.isBreakers());
+        return LfBranchImpl.create(branch, lfNetwork, lfBus1, lfBus2, parameters.isTwtSplitShuntAdmittance(), parameters.isAddRatioToLinesWithDifferentNominalVoltageAtBothEnds(), report);
+    }
+
+    private static void createBranches(List<LfBus> lfBuses, LfNetwork lfNetwork, LoadingContext loadingContext, LfNetworkLoadingReport report,
+                                       LfNetworkParameters parameters, boolean parallel) {
+        if (parallel && lfBuses.size() >= PARALLEL_CREATION_MIN_BUS_COUNT) {
+            // buses are only read from the network while branches are created in parallel, branches are then added in
+            // the initial order
+            List<CreationChunk<LfBranchImpl>> chunks = Lists.partition(new ArrayList<>(loadingContext.branchSet), PARALLEL_CREATION_CHUNK_SIZE).parallelStream()
+                    .map(chunkBranches -> {
+                        CreationChunk<LfBranchImpl> chunk = new CreationChunk<>();
+                        for (Branch<?> branch : chunkBranches) {
+                            chunk.elements.add(createBranch(branch, lfNetwork, chunk.report, parameters));
+                        }
+                        return chunk;
+                    })
+                    .collect(Collectors.toList());
+            for (CreationChunk<LfBranchImpl> chunk : chunks) {
+                for (LfBranchImpl lfBranch : chunk.elements) {
+                    addBranch(lfNetwork, lfBranch, report);
+                }
+                report.add(chunk.report);
+            }
+        } else {
+            for (Branch<?> branch : loadingContext.branchSet) {
+                addBranch(lfNetwork, createBranch(branch, lfNetwork, report, parameters), report);
+            }
         }
 
         for (Branch<?> branch : loadingContext.branchSet) {
@@ -434,16 +507,15 @@ public class LfNetworkLoaderImpl implements LfNetworkLoader {
         return bus != null ? lfNetwork.getBusById(bus.getId()) : null;
     }
 
-    private static LfNetwork create(MutableInt num, List<Bus> buses, List<Switch> switches, LfNetworkParameters parameters) {
-        LfNetwork lfNetwork = new LfNetwork(num.getValue(), parameters.getSlackBusSelector());
-        num.increment();
+    private static LfNetwork create(int num, List<Bus> buses, List<Switch> switches, LfNetworkParameters parameters, boolean parallel) {
+        LfNetwork lfNetwork = new LfNetwork(num, parameters.getSlackBusSelector());
 
         LoadingContext loadingContext = new LoadingContext();
         LfNetworkLoadingReport report = new LfNetworkLoadingReport();
 
         List<LfBus> lfBuses = new ArrayList<>();
-        createBuses(buses, parameters, lfNetwork, lfBuses, loadingContext, report);
-        createBranches(lfBuses, lfNetwork, loadingContext, report, parameters);
+        createBuses(buses, parameters, lfNetwork, lfBuses, loadingContext, report, parallel);
+        createBranches(lfBuses, lfNetwork, loadingContext, report, parameters, parallel);
         createVoltageControls(lfNetwork, lfBuses, parameters.isGeneratorVoltageRemoteControl());
 
         // Discrete voltage controls need to be created after voltage controls (to test if both generator and transformer voltage control are on)
@@ -533,10 +605,29 @@ public class LfNetworkLoaderImpl implements LfNetworkLoader {
                 }
             }
 
-            MutableInt num = new MutableInt(0);
-            List<LfNetwork> lfNetworks = busesByCc.entrySet().stream()
+            // IIDM network is only read once topology has been computed above, so components can be created in
+            // parallel, unless the working variant is thread local and thus not set in worker threads
+            boolean parallel = parameters.isParallelCreation()
+                    && !((Network) network).getVariantManager().isVariantMultiThreadAccessAllowed();
+            if (parallel && parameters.isBreakers()) {
+                // IIDM bus view topology is lazily computed and cached by voltage levels without synchronization, and
+                // in breakers mode it has not been computed above while voltage and phase controls read regulation
+                // terminals bus view buses: it is computed here so that worker threads only read it
+                ((Network) network).getBusView().getBuses().forEach(bus -> { });
+            }
+
+            List<Map.Entry<Pair<Integer, Integer>, List<Bus>>> mainCcEntries = busesByCc.entrySet().stream()
                     .filter(e -> e.getKey().getLeft() == ComponentConstants.MAIN_NUM)
-                    .map(e -> create(num, e.getValue(), switchesByCc.get(e.getKey()), parameters))
+                    .collect(Collectors.toList());
+            IntStream nums = IntStream.range(0, mainCcEntries.size());
+            if (parallel) {
+                nums = nums.parallel();
+            }
+            List<LfNetwork> lfNetworks = nums
+                    .mapToObj(num -> {
+                        Map.Entry<Pair<Integer, Integer>, List<Bus>> e = mainCcEntries.get(num);
+                        return create(num, e.getValue(), switchesByCc.get(e.getKey()), parameters, parallel);
+                    })
                     .collect(Collectors.toList());
 
             stopwatch.stop();
@@ -30,4 +30,17 @@ class LfNetworkLoadingReport {
     int nonImpedantBranches = 0;
 
     int voltageControllerCount = 0;
+
+    void add(LfNetworkLoadingReport other) {
+        generatorsDiscardedFromVoltageControlBecauseNotStarted += other.generatorsDiscardedFromVoltageControlBecauseNotStarted;
+        generatorsDiscardedFromVoltageControlBecauseMaxReactiveRangeIsTooSmall += other.generatorsDiscardedFromVoltageControlBecauseMaxReactiveRangeIsTooSmall;
+        generatorsDiscardedFromActivePowerControlBecauseTargetEqualsToZero += other.generatorsDiscardedFromActivePowerControlBecauseTargetEqualsToZero;
+        generatorsDiscardedFromActivePowerControlBecauseTargetPGreaterThenMaxP += other.generatorsDiscardedFromActivePowerControlBecauseTargetPGreaterThenMaxP;
+        generatorsDiscardedFromActivePowerControlBecauseMaxPNotPlausible += other.generatorsDiscardedFromActivePowerControlBecauseMaxPNotPlausible;
+        generatorsDiscardedFromActivePowerControlBecauseMaxPEqualsMinP += other.generatorsDiscardedFromActivePowerControlBecauseMaxPEqualsMinP;
+        branchesDiscardedBecauseConnectedToSameBusAtBothEnds += other.branchesDiscardedBecauseConnectedToSameBusAtBothEnds;
+        linesWithDifferentNominalVoltageAtBothEnds += other.linesWithDifferentNominalVoltageAtBothEnds;
+        nonImpedantBranches += other.nonImpedantBranches;
+        voltageControllerCount += other.voltageControllerCount;
+    }
 }
@@ -0,0 +1,564 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network.impl;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.MinMaxReactiveLimits;
+import com.powsybl.iidm.network.ReactiveCapabilityCurve;
+import com.powsybl.iidm.network.ReactiveLimits;
+import com.powsybl.openloadflow.network.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact binary snapshot of fully built {@link LfNetwork}s: buses, generators, shunts, branches with their pi models,
+ * tap tables and current limits, voltage, discrete voltage and phase controls. Reloading a snapshot skips the IIDM
+ * network traversal of {@link LfNetworkLoaderImpl}, the file being memory mapped when the file system allows it.
+ *
+ * A snapshot is only valid for the model and the {@link LfNetworkParameters} it has been built from: the caller gives
+ * a fingerprint of both when writing and reading, and a snapshot with another fingerprint or format version is
+ * ignored. Reloaded networks are detached from IIDM, so updating their state is a no-op. {@link LfNetwork#writeJson}
+ * stays the human readable format for debugging.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class LfNetworkSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LfNetworkSnapshot.class);
+
+    private static final int MAGIC = 0x4C464E53; // "LFNS"
+
+    private static final int VERSION = 1;
+
+    private static final byte NO_REACTIVE_LIMITS = 0;
+    private static final byte MIN_MAX_REACTIVE_LIMITS = 1;
+    private static final byte CURVE_REACTIVE_LIMITS = 2;
+
+    private static final byte SIMPLE_PI_MODEL = 0;
+    private static final byte PI_MODEL_ARRAY = 1;
+
+    private LfNetworkSnapshot() {
+    }
+
+    public static void write(List<LfNetwork> lfNetworks, String fingerprint, Path file) {
+        Objects.requireNonNull(lfNetworks);
+        Objects.requireNonNull(fingerprint);
+        Objects.requireNonNull(file);
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            os.writeInt(MAGIC);
+            os.writeInt(VERSION);
+            writeString(os, fingerprint);
+            os.writeInt(lfNetworks.size());
+            for (LfNetwork lfNetwork : lfNetworks) {
+                write(lfNetwork, os);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the networks of a snapshot.
+     * @return an empty optional if the snapshot has been written with another fingerprint or format version, in which
+     * case networks have to be loaded again from the IIDM model
+     */
+    public static Optional<List<LfNetwork>> read(Path file, String fingerprint) {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(fingerprint);
+        try {
+            ByteBuffer buffer = map(file);
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC) {
+                throw new PowsyblException("'" + file + "' is not a network snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                LOGGER.info("Network snapshot '{}' ignored because of a format version mismatch ({} instead of {})", file, version, VERSION);
+                return Optional.empty();
+            }
+            String snapshotFingerprint = readString(buffer);
+            if (!fingerprint.equals(snapshotFingerprint)) {
+                LOGGER.info("Network snapshot '{}' ignored because of a fingerprint mismatch", file);
+                return Optional.empty();
+            }
+            int networkCount = buffer.getInt();
+            List<LfNetwork> lfNetworks = new ArrayList<>(networkCount);
+            for (int i = 0; i < networkCount; i++) {
+                lfNetworks.add(read(buffer));
+            }
+            return Optional.of(lfNetworks);
+        } catch (BufferUnderflowException e) {
+            throw new PowsyblException("Network snapshot '" + file + "' is truncated", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new PowsyblException("Network snapshot '" + file + "' is too large");
+            }
+            try {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (UnsupportedOperationException e) {
+                // file system without memory mapping support, read in heap
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read until end of file
+                }
+                buffer.flip();
+                return buffer;
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream os, String s) throws IOException {
+        if (s == null) {
+            os.writeInt(-1);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            os.writeInt(bytes.length);
+            os.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean readBoolean(ByteBuffer buffer) {
+        return buffer.get() != 0;
+    }
+
+    private static void write(LfNetwork lfNetwork, DataOutputStream os) throws IOException {
+        List<LfBus> buses = lfNetwork.getBuses();
+        os.writeInt(lfNetwork.getNum());
+        os.writeBoolean(lfNetwork.isValid());
+        os.writeInt(lfNetwork.getSlackBus().getNum());
+
+        os.writeInt(buses.size());
+        for (LfBus bus : buses) {
+            write(bus, os);
+        }
+
+        os.writeInt(lfNetwork.getBranches().size());
+        for (LfBranch branch : lfNetwork.getBranches()) {
+            write(branch, os);
+        }
+
+        // controls, referencing buses and branches by their number
+        List<VoltageControl> voltageControls = new ArrayList<>();
+        List<DiscreteVoltageControl> discreteVoltageControls = new ArrayList<>();
+        for (LfBus bus : buses) {
+            if (bus.isVoltageControlled()) {
+                voltageControls.add(bus.getVoltageControl().orElseThrow());
+            }
+            if (bus.getDiscreteVoltageControl() != null) {
+                discreteVoltageControls.add(bus.getDiscreteVoltageControl());
+            }
+        }
+        os.writeInt(voltageControls.size());
+        for (VoltageControl voltageControl : voltageControls) {
+            os.writeInt(voltageControl.getControlledBus().getNum());
+            os.writeDouble(voltageControl.getTargetValue());
+            os.writeInt(voltageControl.getControllerBuses().size());
+            for (LfBus controllerBus : voltageControl.getControllerBuses()) {
+                os.writeInt(controllerBus.getNum());
+            }
+        }
+        for (LfBus bus : buses) {
+            os.writeBoolean(bus.isVoltageControllerEnabled());
+            os.writeInt(bus.getVoltageControlSwitchOffCount());
+        }
+
+        os.writeInt(discreteVoltageControls.size());
+        for (DiscreteVoltageControl discreteVoltageControl : discreteVoltageControls) {
+            os.writeInt(discreteVoltageControl.getControlled().getNum());
+            writeString(os, discreteVoltageControl.getMode().name());
+            os.writeDouble(discreteVoltageControl.getTargetValue());
+            os.writeInt(discreteVoltageControl.getControllers().size());
+            for (LfBranch controllerBranch : discreteVoltageControl.getControllers()) {
+                os.writeInt(controllerBranch.getNum());
+            }
+        }
+
+        List<DiscretePhaseControl> phaseControls = new ArrayList<>();
+        for (LfBranch branch : lfNetwork.getBranches()) {
+            if (branch.isPhaseController()) {
+                phaseControls.add(branch.getDiscretePhaseControl());
+            }
+        }
+        os.writeInt(phaseControls.size());
+        for (DiscretePhaseControl phaseControl : phaseControls) {
+            os.writeInt(phaseControl.getController().getNum());
+            os.writeInt(phaseControl.getControlled().getNum());
+            writeString(os, phaseControl.getControlledSide().name());
+            writeString(os, phaseControl.getMode().name());
+            writeString(os, phaseControl.getUnit().name());
+            os.writeDouble(phaseControl.getTargetValue());
+            os.writeDouble(phaseControl.getTargetDeadband());
+        }
+    }
+
+    private static void write(LfBus lfBus, DataOutputStream os) throws IOException {
+        if (!(lfBus instanceof AbstractLfBus)) {
+            throw new PowsyblException("Unsupported bus type for snapshot: " + lfBus.getClass().getName());
+        }
+        AbstractLfBus bus = (AbstractLfBus) lfBus;
+        writeString(os, bus.getId());
+        writeString(os, bus.getVoltageLevelId());
+        os.writeBoolean(bus.isFictitious());
+        os.writeDouble(bus.getNominalV());
+        os.writeDouble(bus.getLowVoltageLimit());
+        os.writeDouble(bus.getHighVoltageLimit());
+        // internal values (kV, MW and MVar) are written to be reloaded without any rounding
+        os.writeDouble(bus.v);
+        os.writeDouble(bus.angle);
+        os.writeDouble(bus.loadTargetP);
+        os.writeDouble(bus.loadTargetQ);
+        os.writeDouble(bus.fixedLoadTargetP);
+        os.writeDouble(bus.fixedLoadTargetQ);
+        os.writeInt(bus.positiveLoadCount);
+        os.writeDouble(bus.generationTargetQ);
+        os.writeBoolean(bus.isDisabled());
+
+        os.writeInt(bus.getShunts().size());
+        for (LfShunt shunt : bus.getShunts()) {
+            writeString(os, shunt.getId());
+            os.writeDouble(shunt.getB());
+        }
+
+        os.writeInt(bus.getGenerators().size());
+        for (LfGenerator generator : bus.getGenerators()) {
+            write(generator, os);
+        }
+    }
+
+    private static void write(LfGenerator lfGenerator, DataOutputStream os) throws IOException {
+        if (!(lfGenerator instanceof AbstractLfGenerator)) {
+            throw new PowsyblException("Unsupported generator type for snapshot: " + lfGenerator.getClass().getName());
+        }
+        AbstractLfGenerator generator = (AbstractLfGenerator) lfGenerator;
+        writeString(os, generator.getId());
+        os.writeDouble(generator.targetP);
+        os.writeDouble(generator.getTargetQ());
+        os.writeDouble(generator.getMinP());
+        os.writeDouble(generator.getMaxP());
+        os.writeBoolean(generator.isParticipating());
+        os.writeDouble(generator.getParticipationFactor());
+        os.writeDouble(generator.getRemoteControlReactiveKey().orElse(Double.NaN));
+        os.writeBoolean(generator.hasVoltageControl());
+        if (generator.hasVoltageControl()) {
+            os.writeDouble(generator.getTargetV());
+            writeString(os, generator.controlledBusId);
+        }
+        ReactiveLimits reactiveLimits = generator.getReactiveLimits().orElse(null);
+        if (reactiveLimits == null) {
+            os.writeByte(NO_REACTIVE_LIMITS);
+        } else {
+            switch (reactiveLimits.getKind()) {
+                case MIN_MAX:
+                    MinMaxReactiveLimits minMaxReactiveLimits = (MinMaxReactiveLimits) reactiveLimits;
+                    os.writeByte(MIN_MAX_REACTIVE_LIMITS);
+                    os.writeDouble(minMaxReactiveLimits.getMinQ());
+                    os.writeDouble(minMaxReactiveLimits.getMaxQ());
+                    break;
+
+                case CURVE:
+                    ReactiveCapabilityCurve reactiveCapabilityCurve = (ReactiveCapabilityCurve) reactiveLimits;
+                    List<ReactiveCapabilityCurve.Point> points = new ArrayList<>(reactiveCapabilityCurve.getPoints());
+                    points.sort(Comparator.comparingDouble(ReactiveCapabilityCurve.Point::getP));
+                    os.writeByte(CURVE_REACTIVE_LIMITS);
+                    os.writeInt(points.size());
+                    for (ReactiveCapabilityCurve.Point point : points) {
+                        os.writeDouble(point.getP());
+                        os.writeDouble(point.getMinQ());
+                        os.writeDouble(point.getMaxQ());
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown reactive limits kind: " + reactiveLimits.getKind());
+            }
+        }
+    }
+
+    private static void write(PiModel piModel, DataOutputStream os) throws IOException {
+        os.writeDouble(piModel.getR());
+        os.writeDouble(piModel.getX());
+        os.writeDouble(piModel.getG1());
+        os.writeDouble(piModel.getB1());
+        os.writeDouble(piModel.getG2());
+        os.writeDouble(piModel.getB2());
+        os.writeDouble(piModel.getR1());
+        os.writeDouble(piModel.getA1());
+    }
+
+    private static void write(List<AbstractLfBranch.LfLimit> limits, DataOutputStream os) throws IOException {
+        os.writeInt(limits.size());
+        for (AbstractLfBranch.LfLimit limit : limits) {
+            os.writeInt(limit.getAcceptableDuration());
+            os.writeDouble(limit.getValue());
+        }
+    }
+
+    private static void write(LfBranch branch, DataOutputStream os) throws IOException {
+        writeString(os, branch.getId());
+        os.writeInt(branch.getBus1() != null ? branch.getBus1().getNum() : -1);
+        os.writeInt(branch.getBus2() != null ? branch.getBus2().getNum() : -1);
+        os.writeBoolean(branch.hasPhaseControlCapability());
+        PiModel piModel = branch.getPiModel();
+        if (piModel instanceof PiModelArray) {
+            PiModelArray piModelArray = (PiModelArray) piModel;
+            os.writeByte(PI_MODEL_ARRAY);
+            os.writeInt(piModelArray.getLowTapPosition());
+            os.writeInt(piModelArray.getTapPosition());
+            os.writeInt(piModelArray.getModels().size());
+            for (PiModel model : piModelArray.getModels()) {
+                write(model, os);
+            }
+            // a1 and r1 may have been moved away from the current tap by an outer loop
+            os.writeDouble(piModelArray.getA1());
+            os.writeDouble(piModelArray.getR1());
+        } else {
+            os.writeByte(SIMPLE_PI_MODEL);
+            write(piModel, os);
+        }
+        write(branch.getLimits1(), os);
+        write(branch.getLimits2(), os);
+    }
+
+    private static LfNetwork read(ByteBuffer buffer) {
+        int num = buffer.getInt();
+        boolean valid = readBoolean(buffer);
+        int slackBusNum = buffer.getInt();
+
+        int busCount = buffer.getInt();
+        List<SnapshotLfBus> buses = new ArrayList<>(busCount);
+        // buses are added in number order, so the slack bus is selected back by its number
+        LfNetwork lfNetwork = new LfNetwork(num, candidates -> candidates.get(slackBusNum));
+        lfNetwork.setValid(valid);
+        for (int i = 0; i < busCount; i++) {
+            SnapshotLfBus bus = readBus(lfNetwork, buffer);
+            buses.add(bus);
+            lfNetwork.addBus(bus);
+        }
+
+        int branchCount = buffer.getInt();
+        for (int i = 0; i < branchCount; i++) {
+            lfNetwork.addBranch(readBranch(lfNetwork, buses, buffer));
+        }
+
+        int voltageControlCount = buffer.getInt();
+        for (int i = 0; i < voltageControlCount; i++) {
+            LfBus controlledBus = buses.get(buffer.getInt());
+            VoltageControl voltageControl = new VoltageControl(controlledBus, buffer.getDouble());
+            int controllerCount = buffer.getInt();
+            for (int j = 0; j < controllerCount; j++) {
+                voltageControl.addControllerBus(buses.get(buffer.getInt()));
+            }
+            controlledBus.setVoltageControl(voltageControl);
+        }
+        for (SnapshotLfBus bus : buses) {
+            bus.setVoltageControlState(readBoolean(buffer), buffer.getInt());
+        }
+
+        int discreteVoltageControlCount = buffer.getInt();
+        for (int i = 0; i < discreteVoltageControlCount; i++) {
+            LfBus controlledBus = buses.get(buffer.getInt());
+            DiscreteVoltageControl.Mode mode = DiscreteVoltageControl.Mode.valueOf(readString(buffer));
+            DiscreteVoltageControl discreteVoltageControl = new DiscreteVoltageControl(controlledBus, mode, buffer.getDouble());
+            int controllerCount = buffer.getInt();
+            for (int j = 0; j < controllerCount; j++) {
+                LfBranch controllerBranch = lfNetwork.getBranch(buffer.getInt());
+                discreteVoltageControl.addController(controllerBranch);
+                controllerBranch.setDiscreteVoltageControl(discreteVoltageControl);
+            }
+            controlledBus.setDiscreteVoltageControl(discreteVoltageControl);
+        }
+
+        int phaseControlCount = buffer.getInt();
+        for (int i = 0; i < phaseControlCount; i++) {
+            LfBranch controllerBranch = lfNetwork.getBranch(buffer.getInt());
+            LfBranch controlledBranch = lfNetwork.getBranch(buffer.getInt());
+            DiscretePhaseControl.ControlledSide controlledSide = DiscretePhaseControl.ControlledSide.valueOf(readString(buffer));
+            DiscretePhaseControl.Mode mode = DiscretePhaseControl.Mode.valueOf(readString(buffer));
+            DiscretePhaseControl.Unit unit = DiscretePhaseControl.Unit.valueOf(readString(buffer));
+            double targetValue = buffer.getDouble();
+            double targetDeadband = buffer.getDouble();
+            DiscretePhaseControl phaseControl = new DiscretePhaseControl(controllerBranch, controlledBranch, controlledSide,
+                    mode, targetValue, targetDeadband, unit);
+            controllerBranch.setDiscretePhaseControl(phaseControl);
+            controlledBranch.setDiscretePhaseControl(phaseControl);
+        }
+
+        return lfNetwork;
+    }
+
+    private static SnapshotLfBus readBus(LfNetwork lfNetwork, ByteBuffer buffer) {
+        String id = readString(buffer);
+        String voltageLevelId = readString(buffer);
+        boolean fictitious = readBoolean(buffer);
+        double nominalV = buffer.getDouble();
+        double lowVoltageLimit = buffer.getDouble();
+        double highVoltageLimit = buffer.getDouble();
+        double v = buffer.getDouble();
+        double angle = buffer.getDouble();
+        SnapshotLfBus bus = new SnapshotLfBus(lfNetwork, id, voltageLevelId, fictitious, nominalV, lowVoltageLimit,
+                highVoltageLimit, v, angle);
+        double loadTargetP = buffer.getDouble();
+        double loadTargetQ = buffer.getDouble();
+        double fixedLoadTargetP = buffer.getDouble();
+        double fixedLoadTargetQ = buffer.getDouble();
+        bus.setLoad(loadTargetP, loadTargetQ, fixedLoadTargetP, fixedLoadTargetQ, buffer.getInt());
+        double generationTargetQ = buffer.getDouble();
+        bus.setDisabled(readBoolean(buffer));
+
+        int shuntCount = buffer.getInt();
+        for (int i = 0; i < shuntCount; i++) {
+            bus.addShunt(new SnapshotLfShunt(lfNetwork, readString(buffer), buffer.getDouble()));
+        }
+
+        int generatorCount = buffer.getInt();
+        for (int i = 0; i < generatorCount; i++) {
+            bus.addGenerator(readGenerator(buffer));
+        }
+        // overwrite the sum accumulated when adding generators
+        bus.generationTargetQ = generationTargetQ;
+
+        return bus;
+    }
+
+    private static SnapshotLfGenerator readGenerator(ByteBuffer buffer) {
+        String id = readString(buffer);
+        double targetP = buffer.getDouble();
+        double targetQ = buffer.getDouble();
+        double minP = buffer.getDouble();
+        double maxP = buffer.getDouble();
+        boolean participating = readBoolean(buffer);
+        double participationFactor = buffer.getDouble();
+        double remoteControlReactiveKey = buffer.getDouble();
+        boolean voltageControl = readBoolean(buffer);
+        double targetV = Double.NaN;
+        String controlledBusId = null;
+        if (voltageControl) {
+            targetV = buffer.getDouble();
+            controlledBusId = readString(buffer);
+        }
+        ReactiveLimits reactiveLimits;
+        byte reactiveLimitsType = buffer.get();
+        switch (reactiveLimitsType) {
+            case NO_REACTIVE_LIMITS:
+                reactiveLimits = null;
+                break;
+
+            case MIN_MAX_REACTIVE_LIMITS:
+                reactiveLimits = new SnapshotLfGenerator.SnapshotMinMaxReactiveLimits(buffer.getDouble(), buffer.getDouble());
+                break;
+
+            case CURVE_REACTIVE_LIMITS:
+                int pointCount = buffer.getInt();
+                double[] ps = new double[pointCount];
+                double[] minQs = new double[pointCount];
+                double[] maxQs = new double[pointCount];
+                for (int i = 0; i < pointCount; i++) {
+                    ps[i] = buffer.getDouble();
+                    minQs[i] = buffer.getDouble();
+                    maxQs[i] = buffer.getDouble();
+                }
+                reactiveLimits = new SnapshotLfGenerator.SnapshotReactiveCapabilityCurve(ps, minQs, maxQs);
+                break;
+
+            default:
+                throw new PowsyblException("Unknown reactive limits type in network snapshot: " + reactiveLimitsType);
+        }
+        SnapshotLfGenerator generator = new SnapshotLfGenerator(id, targetP, targetQ, minP, maxP, participating,
+                participationFactor, remoteControlReactiveKey, reactiveLimits);
+        if (voltageControl) {
+            generator.setVoltageControl(targetV, controlledBusId);
+        }
+        return generator;
+    }
+
+    private static SimplePiModel readSimplePiModel(ByteBuffer buffer) {
+        return new SimplePiModel()
+                .setR(buffer.getDouble())
+                .setX(buffer.getDouble())
+                .setG1(buffer.getDouble())
+                .setB1(buffer.getDouble())
+                .setG2(buffer.getDouble())
+                .setB2(buffer.getDouble())
+                .setR1(buffer.getDouble())
+                .setA1(buffer.getDouble());
+    }
+
+    private static PiModel readPiModel(ByteBuffer buffer) {
+        byte piModelType = buffer.get();
+        switch (piModelType) {
+            case SIMPLE_PI_MODEL:
+                return readSimplePiModel(buffer);
+
+            case PI_MODEL_ARRAY:
+                int lowTapPosition = buffer.getInt();
+                int tapPosition = buffer.getInt();
+                int modelCount = buffer.getInt();
+                List<PiModel> models = new ArrayList<>(modelCount);
+                for (int i = 0; i < modelCount; i++) {
+                    models.add(readSimplePiModel(buffer));
+                }
+                PiModelArray piModelArray = new PiModelArray(models, lowTapPosition, tapPosition);
+                double a1 = buffer.getDouble();
+                double r1 = buffer.getDouble();
+                if (a1 != piModelArray.getA1()) {
+                    piModelArray.setA1(a1);
+                }
+                if (r1 != piModelArray.getR1()) {
+                    piModelArray.setR1(r1);
+                }
+                return piModelArray;
+
+            default:
+                throw new PowsyblException("Unknown pi model type in network snapshot: " + piModelType);
+        }
+    }
+
+    private static SnapshotLfBranch readBranch(LfNetwork lfNetwork, List<SnapshotLfBus> buses, ByteBuffer buffer) {
+        String id = readString(buffer);
+        int busNum1 = buffer.getInt();
+        int busNum2 = buffer.getInt();
+        boolean phaseControlCapability = readBoolean(buffer);
+        PiModel piModel = readPiModel(buffer);
+        SnapshotLfBranch branch = new SnapshotLfBranch(lfNetwork, busNum1 != -1 ? buses.get(busNum1) : null,
+                busNum2 != -1 ? buses.get(busNum2) : null, piModel, id, phaseControlCapability);
+        int limitCount1 = buffer.getInt();
+        for (int i = 0; i < limitCount1; i++) {
+            branch.addLimit1(buffer.getInt(), buffer.getDouble());
+        }
+        int limitCount2 = buffer.getInt();
+        for (int i = 0; i < limitCount2; i++) {
+            branch.addLimit2(buffer.getInt(), buffer.getDouble());
+        }
+        return branch;
+    }
+}
@@ -0,0 +1,461 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network.impl;
+
+import com.powsybl.iidm.network.*;
+import com.powsybl.openloadflow.network.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keep {@link LfNetwork}s loaded from an IIDM network variant up to date with the modifications of this variant, so
+ * that they can be reused by successive load flow runs instead of being loaded again.
+ *
+ * Modifications of generators active and reactive power targets, of loads and batteries active and reactive powers and
+ * of transformers tap positions are applied to the networks. Any other modification (creation or removal of
+ * equipments, switch opening or closing, control changes...) needs the networks to be rebuilt.
+ *
+ * The state of the networks as loaded from IIDM, updated with the received modifications, is kept so that the changes
+ * made by a previous load flow run (slack distribution, voltage control switching by reactive limits, tap changer
+ * controls) can be undone with {@link #restore()} before running again.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class LfNetworkUpdater extends DefaultNetworkListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LfNetworkUpdater.class);
+
+    /**
+     * Attributes of the state written back to IIDM after a load flow.
+     */
+    private static final Pattern STATE_ATTRIBUTE = Pattern.compile("[pq][123]?|v|angle");
+
+    private static final Pattern TAP_POSITION_ATTRIBUTE = Pattern.compile("(ratio|phase)TapChanger([123]?)\\.tapPosition");
+
+    /**
+     * Listener registered to the IIDM network in place of the updater. As it only weakly references the updater, the
+     * networks of a cache dropped without being closed are not kept alive by the IIDM network: the listener then
+     * ignores notifications.
+     */
+    private static final class WeakListener implements NetworkListener {
+
+        private final WeakReference<LfNetworkUpdater> updaterRef;
+
+        private WeakListener(LfNetworkUpdater updater) {
+            updaterRef = new WeakReference<>(updater);
+        }
+
+        @Override
+        public void onCreation(Identifiable identifiable) {
+            LfNetworkUpdater updater = updaterRef.get();
+            if (updater != null) {
+                updater.onCreation(identifiable);
+            }
+        }
+
+        @Override
+        public void onRemoval(Identifiable identifiable) {
+            LfNetworkUpdater updater = updaterRef.get();
+            if (updater != null) {
+                updater.onRemoval(identifiable);
+            }
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+            LfNetworkUpdater updater = updaterRef.get();
+            if (updater != null) {
+                updater.onUpdate(identifiable, attribute, oldValue, newValue);
+            }
+        }
+
+        @Override
+        public void onUpdate(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            LfNetworkUpdater updater = updaterRef.get();
+            if (updater != null) {
+                updater.onUpdate(identifiable, attribute, variantId, oldValue, newValue);
+            }
+        }
+
+        @Override
+        public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+            LfNetworkUpdater updater = updaterRef.get();
+            if (updater != null) {
+                updater.onVariantOverwritten(sourceVariantId, targetVariantId);
+            }
+        }
+
+        @Override
+        public void onVariantRemoved(String variantId) {
+            LfNetworkUpdater updater = updaterRef.get();
+            if (updater != null) {
+                updater.onVariantRemoved(variantId);
+            }
+        }
+    }
+
+    private static final class BusBaseline {
+
+        private double loadTargetP;
+
+        private double loadTargetQ;
+
+        private double generationTargetQ;
+
+        private final boolean voltageControllerEnabled;
+
+        private BusBaseline(AbstractLfBus bus) {
+            loadTargetP = bus.loadTargetP;
+            loadTargetQ = bus.loadTargetQ;
+            generationTargetQ = bus.generationTargetQ;
+            voltageControllerEnabled = bus.isVoltageControllerEnabled();
+        }
+    }
+
+    private final Network network;
+
+    private final String variantId;
+
+    private final List<LfNetwork> lfNetworks;
+
+    private final LfNetworkParameters parameters;
+
+    private final Map<AbstractLfBus, BusBaseline> busBaselines = new LinkedHashMap<>();
+
+    private final Map<AbstractLfGenerator, Double> generatorTargetPs = new HashMap<>();
+
+    private final Map<DiscretePhaseControl, DiscretePhaseControl.Mode> phaseControlModes = new HashMap<>();
+
+    private final Map<DiscreteVoltageControl, DiscreteVoltageControl.Mode> voltageControlModes = new HashMap<>();
+
+    private final Map<String, AbstractLfGenerator> generatorsById = new HashMap<>();
+
+    private final Map<String, AbstractLfBus> busesByLoadId = new HashMap<>();
+
+    private final Map<String, LfBranch> branchesById = new HashMap<>();
+
+    private final List<LfBranch> piModelArrayBranches = new ArrayList<>();
+
+    private final Set<LfBranch> modifiedTapBranches = new LinkedHashSet<>();
+
+    private WeakListener listener;
+
+    private String rebuildReason;
+
+    private int modificationCount = 0;
+
+    public LfNetworkUpdater(Network network, String variantId, List<LfNetwork> lfNetworks, LfNetworkParameters parameters) {
+        this.network = Objects.requireNonNull(network);
+        this.variantId = Objects.requireNonNull(variantId);
+        this.lfNetworks = Objects.requireNonNull(lfNetworks);
+        this.parameters = Objects.requireNonNull(parameters);
+        for (LfNetwork lfNetwork : lfNetworks) {
+            for (LfBus lfBus : lfNetwork.getBuses()) {
+                AbstractLfBus bus = (AbstractLfBus) lfBus;
+                busBaselines.put(bus, new BusBaseline(bus));
+                bus.loads.forEach(load -> busesByLoadId.put(load.getId(), bus));
+                bus.batteries.forEach(battery -> busesByLoadId.put(battery.getId(), bus));
+                for (LfGenerator lfGenerator : bus.getGenerators()) {
+                    AbstractLfGenerator generator = (AbstractLfGenerator) lfGenerator;
+                    generatorTargetPs.put(generator, generator.targetP);
+                    if (generator instanceof LfGeneratorImpl) {
+                        generatorsById.put(generator.getId(), generator);
+                    }
+                }
+                if (bus.getDiscreteVoltageControl() != null) {
+                    voltageControlModes.put(bus.getDiscreteVoltageControl(), bus.getDiscreteVoltageControl().getMode());
+                }
+            }
+            for (LfBranch branch : lfNetwork.getBranches()) {
+                branchesById.put(branch.getId(), branch);
+                if (branch.getPiModel() instanceof PiModelArray) {
+                    piModelArrayBranches.add(branch);
+                }
+                if (branch.isPhaseController()) {
+                    phaseControlModes.put(branch.getDiscretePhaseControl(), branch.getDiscretePhaseControl().getMode());
+                }
+            }
+        }
+    }
+
+    public List<LfNetwork> getNetworks() {
+        return lfNetworks;
+    }
+
+    public String getVariantId() {
+        return variantId;
+    }
+
+    /**
+     * Start listening to the modifications of the IIDM network. The IIDM network only weakly references the updater.
+     */
+    public LfNetworkUpdater attach() {
+        if (listener == null) {
+            listener = new WeakListener(this);
+            network.addListener(listener);
+        }
+        return this;
+    }
+
+    /**
+     * Stop listening to the modifications of the IIDM network.
+     */
+    public void detach() {
+        if (listener != null) {
+            network.removeListener(listener);
+            listener = null;
+        }
+    }
+
+    /**
+     * Get the number of modifications applied to the networks since they have been loaded.
+     */
+    public synchronized int getModificationCount() {
+        return modificationCount;
+    }
+
+    public synchronized boolean isRebuildNeeded() {
+        return rebuildReason != null;
+    }
+
+    private void invalidate(String reason) {
+        if (rebuildReason == null) {
+            LOGGER.debug("Networks of variant '{}' have to be rebuilt: {}", variantId, reason);
+            rebuildReason = reason;
+        }
+    }
+
+    @Override
+    public synchronized void onCreation(Identifiable identifiable) {
+        invalidate("creation of '" + identifiable.getId() + "'");
+    }
+
+    @Override
+    public synchronized void onRemoval(Identifiable identifiable) {
+        invalidate("removal of '" + identifiable.getId() + "'");
+    }
+
+    @Override
+    public void onUpdate(Identifiable identifiable, String attribute, Object oldValue, Object newValue) {
+        // not variant dependent attribute
+        onUpdate(identifiable, attribute, null, oldValue, newValue);
+    }
+
+    @Override
+    public synchronized void onUpdate(Identifiable identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+        if (rebuildReason != null
+                || variantId != null && !variantId.equals(this.variantId)
+                || STATE_ATTRIBUTE.matcher(attribute).matches()) {
+            return;
+        }
+        boolean applied;
+        Matcher tapPositionMatcher = TAP_POSITION_ATTRIBUTE.matcher(attribute);
+        if (identifiable instanceof Generator && (attribute.equals("targetP") || attribute.equals("targetQ"))) {
+            applied = updateGenerator((Generator) identifiable, attribute, (double) oldValue, (double) newValue);
+        } else if ((identifiable instanceof Load || identifiable instanceof Battery) && (attribute.equals("p0") || attribute.equals("q0"))) {
+            applied = updateLoad(identifiable, attribute, (double) oldValue, (double) newValue);
+        } else if ((identifiable instanceof TwoWindingsTransformer || identifiable instanceof ThreeWindingsTransformer)
+                && tapPositionMatcher.matches()) {
+            String branchId = tapPositionMatcher.group(2).isEmpty() ? identifiable.getId()
+                                                                    : identifiable.getId() + "_leg_" + tapPositionMatcher.group(2);
+            applied = updateTapPosition(branchId, tapPositionMatcher.group(1).equals("phase"));
+        } else {
+            applied = false;
+        }
+        if (applied) {
+            modificationCount++;
+        } else {
+            invalidate("update of " + attribute + " of '" + identifiable.getId() + "'");
+        }
+    }
+
+    @Override
+    public synchronized void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+        if (variantId.equals(targetVariantId)) {
+            invalidate("variant overwritten");
+        }
+    }
+
+    @Override
+    public synchronized void onVariantRemoved(String variantId) {
+        if (this.variantId.equals(variantId)) {
+            invalidate("variant removed");
+        }
+    }
+
+    private boolean updateGenerator(Generator generator, String attribute, double oldValue, double newValue) {
+        AbstractLfGenerator lfGenerator = generatorsById.get(generator.getId());
+        if (lfGenerator == null) {
+            return true; // not part of the load flow
+        }
+        if (attribute.equals("targetP")) {
+            // same checks as at loading: active power control participation and voltage control must be unchanged
+            LfNetworkLoadingReport ignoredReport = new LfNetworkLoadingReport();
+            double plausibleActivePowerLimit = parameters.getPlausibleActivePowerLimit();
+            if (LfGeneratorImpl.isParticipating(generator, oldValue, plausibleActivePowerLimit, ignoredReport)
+                    != LfGeneratorImpl.isParticipating(generator, newValue, plausibleActivePowerLimit, ignoredReport)
+                    || generator.isVoltageRegulatorOn()
+                    && lfGenerator.checkVoltageControlConsistency(oldValue, ignoredReport) != lfGenerator.checkVoltageControlConsistency(newValue, ignoredReport)) {
+                return false;
+            }
+            generatorTargetPs.put(lfGenerator, newValue);
+        } else if (!lfGenerator.hasVoltageControl()) {
+            // reactive power target is read from IIDM but is also summed at bus level
+            busBaselines.get((AbstractLfBus) lfGenerator.getBus()).generationTargetQ += newValue - oldValue;
+        }
+        return true;
+    }
+
+    private boolean updateLoad(Identifiable<?> load, String attribute, double oldValue, double newValue) {
+        AbstractLfBus bus = busesByLoadId.get(load.getId());
+        if (bus == null) {
+            return true; // not part of the load flow
+        }
+        double delta = newValue - oldValue;
+        BusBaseline busBaseline = busBaselines.get(bus);
+        if (attribute.equals("p0")) {
+            busBaseline.loadTargetP += delta;
+            bus.initialLoadTargetP += delta;
+            if (load instanceof Load && (oldValue >= 0) != (newValue >= 0)) {
+                bus.positiveLoadCount += newValue >= 0 ? 1 : -1;
+            }
+        } else {
+            busBaseline.loadTargetQ += delta;
+            bus.initialLoadTargetQ += delta;
+        }
+        return true;
+    }
+
+    private boolean updateTapPosition(String branchId, boolean phaseTapChanger) {
+        LfBranch branch = branchesById.get(branchId);
+        if (branch == null) {
+            return true; // not part of the load flow
+        }
+        if (branch.getPiModel() instanceof PiModelArray) {
+            // pi models of the array are computed for the current position of the other tap changer
+            PhaseTapChangerHolder holder = branch instanceof LfLegBranch ? getLeg(branchId) : network.getTwoWindingsTransformer(branchId);
+            if (phaseTapChanger != isPhaseTapChangerArray(holder)) {
+                return false;
+            }
+        } else if (!(branch.getPiModel() instanceof SimplePiModel)) {
+            return false;
+        }
+        modifiedTapBranches.add(branch);
+        return true;
+    }
+
+    private ThreeWindingsTransformer getThreeWindingsTransformer(String legBranchId) {
+        return network.getThreeWindingsTransformer(legBranchId.substring(0, legBranchId.lastIndexOf("_leg_")));
+    }
+
+    private ThreeWindingsTransformer.Leg getLeg(String legBranchId) {
+        ThreeWindingsTransformer twt = getThreeWindingsTransformer(legBranchId);
+        switch (legBranchId.substring(legBranchId.lastIndexOf("_leg_") + 5)) {
+            case "1":
+                return twt.getLeg1();
+            case "2":
+                return twt.getLeg2();
+            default:
+                return twt.getLeg3();
+        }
+    }
+
+    private static boolean isPhaseTapChangerArray(PhaseTapChangerHolder holder) {
+        // same choice as at loading
+        PhaseTapChanger ptc = holder.getPhaseTapChanger();
+        return ptc != null && ptc.isRegulating() && ptc.getRegulationMode() != PhaseTapChanger.RegulationMode.FIXED_TAP;
+    }
+
+    private static int getArrayTapPosition(PhaseTapChangerHolder phaseTapChangerHolder, RatioTapChangerHolder ratioTapChangerHolder) {
+        return isPhaseTapChangerArray(phaseTapChangerHolder) ? phaseTapChangerHolder.getPhaseTapChanger().getTapPosition()
+                                                             : ratioTapChangerHolder.getRatioTapChanger().getTapPosition();
+    }
+
+    private void updateSimplePiModel(LfBranch branch) {
+        SimplePiModel piModel;
+        if (branch instanceof LfLegBranch) {
+            ThreeWindingsTransformer.Leg leg = getLeg(branch.getId());
+            ThreeWindingsTransformer twt = getThreeWindingsTransformer(branch.getId());
+            double zb = twt.getRatedU0() * twt.getRatedU0() / PerUnit.SB;
+            piModel = Transformers.createPiModel(Transformers.getTapCharacteristics(twt, leg), zb,
+                    Transformers.getRatioPerUnitBase(leg, twt), parameters.isTwtSplitShuntAdmittance());
+        } else {
+            TwoWindingsTransformer twt = network.getTwoWindingsTransformer(branch.getId());
+            double nominalV2 = twt.getTerminal2().getVoltageLevel().getNominalV();
+            double zb = nominalV2 * nominalV2 / PerUnit.SB;
+            piModel = Transformers.createPiModel(Transformers.getTapCharacteristics(twt), zb,
+                    Transformers.getRatioPerUnitBase(twt), parameters.isTwtSplitShuntAdmittance());
+        }
+        ((SimplePiModel) branch.getPiModel())
+                .setR(piModel.getR())
+                .setX(piModel.getX())
+                .setG1(piModel.getG1())
+                .setG2(piModel.getG2())
+                .setB1(piModel.getB1())
+                .setB2(piModel.getB2())
+                .setR1(piModel.getR1())
+                .setA1(piModel.getA1());
+    }
+
+    private void updatePiModelArray(LfBranch branch) {
+        int tapPosition;
+        if (branch instanceof LfLegBranch) {
+            ThreeWindingsTransformer.Leg leg = getLeg(branch.getId());
+            tapPosition = getArrayTapPosition(leg, leg);
+        } else {
+            TwoWindingsTransformer twt = network.getTwoWindingsTransformer(branch.getId());
+            tapPosition = getArrayTapPosition(twt, twt);
+        }
+        ((PiModelArray) branch.getPiModel()).setTapPosition(tapPosition);
+    }
+
+    /**
+     * Restore the networks to their state as loaded from IIDM, updated with the modifications received since, undoing
+     * the changes of a previous load flow run.
+     *
+     * @return false if the networks cannot be updated and have to be rebuilt
+     */
+    public synchronized boolean restore() {
+        if (rebuildReason != null) {
+            LOGGER.info("Networks of variant '{}' have to be rebuilt: {}", variantId, rebuildReason);
+            return false;
+        }
+
+        generatorTargetPs.forEach((generator, targetP) -> generator.targetP = targetP);
+        for (Map.Entry<AbstractLfBus, BusBaseline> e : busBaselines.entrySet()) {
+            AbstractLfBus bus = e.getKey();
+            BusBaseline busBaseline = e.getValue();
+            bus.loadTargetP = busBaseline.loadTargetP;
+            bus.loadTargetQ = busBaseline.loadTargetQ;
+            bus.generationTargetQ = busBaseline.generationTargetQ;
+            bus.setVoltageControllerEnabled(busBaseline.voltageControllerEnabled);
+            bus.setVoltageControlSwitchOffCount(0);
+            bus.setCalculatedQ(Double.NaN);
+            bus.invalidateGeneration();
+        }
+        phaseControlModes.forEach(DiscretePhaseControl::setMode);
+        voltageControlModes.forEach(DiscreteVoltageControl::setMode);
+
+        // tap positions may also have been changed by the load flow itself, so all tap tables are synchronized
+        for (LfBranch branch : piModelArrayBranches) {
+            updatePiModelArray(branch);
+        }
+        for (LfBranch branch : modifiedTapBranches) {
+            if (branch.getPiModel() instanceof SimplePiModel) {
+                updateSimplePiModel(branch);
+            }
+        }
+        modifiedTapBranches.clear();
+
+        return true;
+    }
+}
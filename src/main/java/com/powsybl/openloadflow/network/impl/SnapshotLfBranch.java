@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network.impl;
+
+import com.powsybl.openloadflow.network.AbstractLfBranch;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.PiModel;
+import com.powsybl.openloadflow.util.Evaluable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.powsybl.openloadflow.util.EvaluableConstants.NAN;
+
+/**
+ * Branch read from a {@link LfNetworkSnapshot}. As it is detached from any IIDM network, state update is a no-op.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SnapshotLfBranch extends AbstractLfBranch {
+
+    private final String id;
+
+    private final boolean phaseControlCapability;
+
+    private final List<LfLimit> limits1 = new ArrayList<>();
+
+    private final List<LfLimit> limits2 = new ArrayList<>();
+
+    private Evaluable p1 = NAN;
+
+    private Evaluable p2 = NAN;
+
+    private Evaluable q1 = NAN;
+
+    private Evaluable q2 = NAN;
+
+    private Evaluable i1 = NAN;
+
+    private Evaluable i2 = NAN;
+
+    SnapshotLfBranch(LfNetwork network, LfBus bus1, LfBus bus2, PiModel piModel, String id, boolean phaseControlCapability) {
+        super(network, bus1, bus2, piModel);
+        this.id = Objects.requireNonNull(id);
+        this.phaseControlCapability = phaseControlCapability;
+    }
+
+    void addLimit1(int acceptableDuration, double valuePerUnit) {
+        limits1.add(createLimit(acceptableDuration, valuePerUnit));
+    }
+
+    void addLimit2(int acceptableDuration, double valuePerUnit) {
+        limits2.add(createLimit(acceptableDuration, valuePerUnit));
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean hasPhaseControlCapability() {
+        return phaseControlCapability;
+    }
+
+    @Override
+    public void setP1(Evaluable p1) {
+        this.p1 = Objects.requireNonNull(p1);
+    }
+
+    @Override
+    public Evaluable getP1() {
+        return p1;
+    }
+
+    @Override
+    public void setP2(Evaluable p2) {
+        this.p2 = Objects.requireNonNull(p2);
+    }
+
+    @Override
+    public Evaluable getP2() {
+        return p2;
+    }
+
+    @Override
+    public void setQ1(Evaluable q1) {
+        this.q1 = Objects.requireNonNull(q1);
+    }
+
+    @Override
+    public Evaluable getQ1() {
+        return q1;
+    }
+
+    @Override
+    public void setQ2(Evaluable q2) {
+        this.q2 = Objects.requireNonNull(q2);
+    }
+
+    @Override
+    public Evaluable getQ2() {
+        return q2;
+    }
+
+    @Override
+    public void setI1(Evaluable i1) {
+        this.i1 = Objects.requireNonNull(i1);
+    }
+
+    @Override
+    public Evaluable getI1() {
+        return i1;
+    }
+
+    @Override
+    public void setI2(Evaluable i2) {
+        this.i2 = Objects.requireNonNull(i2);
+    }
+
+    @Override
+    public Evaluable getI2() {
+        return i2;
+    }
+
+    @Override
+    public List<LfLimit> getLimits1() {
+        return limits1;
+    }
+
+    @Override
+    public List<LfLimit> getLimits2() {
+        return limits2;
+    }
+
+    @Override
+    public void updateState(boolean phaseShifterRegulationOn, boolean isTransformerVoltageControlOn) {
+        // nothing to update
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network.impl;
+
+import com.powsybl.openloadflow.network.LfGenerator;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.LfShunt;
+
+import java.util.Objects;
+
+/**
+ * Bus read from a {@link LfNetworkSnapshot}. As it is detached from any IIDM network, state update is a no-op.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SnapshotLfBus extends AbstractLfBus {
+
+    private final String id;
+
+    private final String voltageLevelId;
+
+    private final boolean fictitious;
+
+    private final double nominalV;
+
+    private final double lowVoltageLimit;
+
+    private final double highVoltageLimit;
+
+    SnapshotLfBus(LfNetwork network, String id, String voltageLevelId, boolean fictitious, double nominalV,
+                  double lowVoltageLimit, double highVoltageLimit, double v, double angle) {
+        super(network, v, angle);
+        this.id = Objects.requireNonNull(id);
+        this.voltageLevelId = voltageLevelId;
+        this.fictitious = fictitious;
+        this.nominalV = nominalV;
+        this.lowVoltageLimit = lowVoltageLimit;
+        this.highVoltageLimit = highVoltageLimit;
+    }
+
+    void setLoad(double loadTargetP, double loadTargetQ, double fixedLoadTargetP, double fixedLoadTargetQ, int positiveLoadCount) {
+        this.initialLoadTargetP = loadTargetP;
+        this.initialLoadTargetQ = loadTargetQ;
+        this.loadTargetP = loadTargetP;
+        this.loadTargetQ = loadTargetQ;
+        this.fixedLoadTargetP = fixedLoadTargetP;
+        this.fixedLoadTargetQ = fixedLoadTargetQ;
+        this.positiveLoadCount = positiveLoadCount;
+    }
+
+    void addGenerator(LfGenerator generator) {
+        add(generator);
+    }
+
+    void addShunt(LfShunt shunt) {
+        shunts.add(Objects.requireNonNull(shunt));
+    }
+
+    void setVoltageControlState(boolean voltageControllerEnabled, int voltageControlSwitchOffCount) {
+        this.voltageControllerEnabled = voltageControllerEnabled;
+        this.voltageControlSwitchOffCount = voltageControlSwitchOffCount;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getVoltageLevelId() {
+        return voltageLevelId;
+    }
+
+    @Override
+    public boolean isFictitious() {
+        return fictitious;
+    }
+
+    @Override
+    public double getNominalV() {
+        return nominalV;
+    }
+
+    @Override
+    public double getLowVoltageLimit() {
+        return lowVoltageLimit;
+    }
+
+    @Override
+    public double getHighVoltageLimit() {
+        return highVoltageLimit;
+    }
+
+    @Override
+    public void updateState(boolean reactiveLimits, boolean writeSlackBus) {
+        // nothing to update
+    }
+}
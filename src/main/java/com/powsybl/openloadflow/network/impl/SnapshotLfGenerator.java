@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network.impl;
+
+import com.powsybl.iidm.network.MinMaxReactiveLimits;
+import com.powsybl.iidm.network.ReactiveCapabilityCurve;
+import com.powsybl.iidm.network.ReactiveLimits;
+import com.powsybl.iidm.network.ReactiveLimitsKind;
+
+import java.util.*;
+
+/**
+ * Generator read from a {@link LfNetworkSnapshot}. As it is detached from any IIDM network, state update is a no-op.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SnapshotLfGenerator extends AbstractLfGenerator {
+
+    static final class SnapshotMinMaxReactiveLimits implements MinMaxReactiveLimits {
+
+        private final double minQ;
+
+        private final double maxQ;
+
+        SnapshotMinMaxReactiveLimits(double minQ, double maxQ) {
+            this.minQ = minQ;
+            this.maxQ = maxQ;
+        }
+
+        @Override
+        public double getMinQ() {
+            return minQ;
+        }
+
+        @Override
+        public double getMaxQ() {
+            return maxQ;
+        }
+
+        @Override
+        public ReactiveLimitsKind getKind() {
+            return ReactiveLimitsKind.MIN_MAX;
+        }
+
+        @Override
+        public double getMinQ(double p) {
+            return minQ;
+        }
+
+        @Override
+        public double getMaxQ(double p) {
+            return maxQ;
+        }
+    }
+
+    static final class SnapshotReactiveCapabilityCurve implements ReactiveCapabilityCurve {
+
+        private static final class SnapshotPoint implements Point {
+
+            private final double p;
+
+            private final double minQ;
+
+            private final double maxQ;
+
+            private SnapshotPoint(double p, double minQ, double maxQ) {
+                this.p = p;
+                this.minQ = minQ;
+                this.maxQ = maxQ;
+            }
+
+            @Override
+            public double getP() {
+                return p;
+            }
+
+            @Override
+            public double getMinQ() {
+                return minQ;
+            }
+
+            @Override
+            public double getMaxQ() {
+                return maxQ;
+            }
+        }
+
+        private final List<Point> points = new ArrayList<>();
+
+        /**
+         * @param ps active powers of the points, sorted in increasing order
+         */
+        SnapshotReactiveCapabilityCurve(double[] ps, double[] minQs, double[] maxQs) {
+            if (ps.length == 0) {
+                throw new IllegalArgumentException("A reactive capability curve should have at least one point");
+            }
+            for (int i = 0; i < ps.length; i++) {
+                points.add(new SnapshotPoint(ps[i], minQs[i], maxQs[i]));
+            }
+        }
+
+        @Override
+        public Collection<Point> getPoints() {
+            return Collections.unmodifiableList(points);
+        }
+
+        @Override
+        public int getPointCount() {
+            return points.size();
+        }
+
+        @Override
+        public double getMinP() {
+            return points.get(0).getP();
+        }
+
+        @Override
+        public double getMaxP() {
+            return points.get(points.size() - 1).getP();
+        }
+
+        @Override
+        public ReactiveLimitsKind getKind() {
+            return ReactiveLimitsKind.CURVE;
+        }
+
+        private double getReactiveLimit(double p, boolean max) {
+            // same as IIDM: linear interpolation between the surrounding points, nearest point outside of the curve
+            int i = 0;
+            while (i < points.size() && points.get(i).getP() < p) {
+                i++;
+            }
+            if (i == points.size()) {
+                Point last = points.get(points.size() - 1);
+                return max ? last.getMaxQ() : last.getMinQ();
+            }
+            Point ceiling = points.get(i);
+            if (i == 0 || ceiling.getP() == p) {
+                return max ? ceiling.getMaxQ() : ceiling.getMinQ();
+            }
+            Point floor = points.get(i - 1);
+            double q1 = max ? floor.getMaxQ() : floor.getMinQ();
+            double q2 = max ? ceiling.getMaxQ() : ceiling.getMinQ();
+            return q1 + (q2 - q1) / (ceiling.getP() - floor.getP()) * (p - floor.getP());
+        }
+
+        @Override
+        public double getMinQ(double p) {
+            return getReactiveLimit(p, false);
+        }
+
+        @Override
+        public double getMaxQ(double p) {
+            return getReactiveLimit(p, true);
+        }
+    }
+
+    private final String id;
+
+    private final double targetQ;
+
+    private final double minP;
+
+    private final double maxP;
+
+    private final boolean participating;
+
+    private final double participationFactor;
+
+    private final double remoteControlReactiveKey;
+
+    private final ReactiveLimits reactiveLimits;
+
+    SnapshotLfGenerator(String id, double targetP, double targetQ, double minP, double maxP, boolean participating,
+                        double participationFactor, double remoteControlReactiveKey, ReactiveLimits reactiveLimits) {
+        super(targetP);
+        this.id = Objects.requireNonNull(id);
+        this.targetQ = targetQ;
+        this.minP = minP;
+        this.maxP = maxP;
+        this.participating = participating;
+        this.participationFactor = participationFactor;
+        this.remoteControlReactiveKey = remoteControlReactiveKey;
+        this.reactiveLimits = reactiveLimits;
+    }
+
+    void setVoltageControl(double targetV, String controlledBusId) {
+        this.controlledBusId = Objects.requireNonNull(controlledBusId);
+        setTargetV(targetV);
+        this.hasVoltageControl = true;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public OptionalDouble getRemoteControlReactiveKey() {
+        return Double.isNaN(remoteControlReactiveKey) ? OptionalDouble.empty() : OptionalDouble.of(remoteControlReactiveKey);
+    }
+
+    @Override
+    public double getTargetQ() {
+        return targetQ;
+    }
+
+    @Override
+    public double getMinP() {
+        return minP;
+    }
+
+    @Override
+    public double getMaxP() {
+        return maxP;
+    }
+
+    @Override
+    protected Optional<ReactiveLimits> getReactiveLimits() {
+        return Optional.ofNullable(reactiveLimits);
+    }
+
+    @Override
+    public boolean isParticipating() {
+        return participating;
+    }
+
+    @Override
+    public double getParticipationFactor() {
+        return participationFactor;
+    }
+
+    @Override
+    public void updateState() {
+        // nothing to update
+    }
+}
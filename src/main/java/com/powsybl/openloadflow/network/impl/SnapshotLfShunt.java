@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network.impl;
+
+import com.powsybl.openloadflow.network.AbstractElement;
+import com.powsybl.openloadflow.network.ElementType;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.LfShunt;
+import com.powsybl.openloadflow.util.Evaluable;
+
+import java.util.Objects;
+
+import static com.powsybl.openloadflow.util.EvaluableConstants.NAN;
+
+/**
+ * Shunt read from a {@link LfNetworkSnapshot}. As it is detached from any IIDM network, state update is a no-op.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SnapshotLfShunt extends AbstractElement implements LfShunt {
+
+    private final String id;
+
+    private final double b;
+
+    private Evaluable q = NAN;
+
+    SnapshotLfShunt(LfNetwork network, String id, double b) {
+        super(network);
+        this.id = Objects.requireNonNull(id);
+        this.b = b;
+    }
+
+    @Override
+    public ElementType getType() {
+        return ElementType.SHUNT_COMPENSATOR;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public double getB() {
+        return b;
+    }
+
+    @Override
+    public void setQ(Evaluable q) {
+        this.q = Objects.requireNonNull(q);
+    }
+
+    @Override
+    public Evaluable getQ() {
+        return q;
+    }
+
+    @Override
+    public void updateState() {
+        // nothing to update
+    }
+}
@@ -29,6 +29,7 @@ import com.powsybl.openloadflow.network.util.ActivePowerDistribution;
 import com.powsybl.openloadflow.util.BusState;
 import com.powsybl.openloadflow.util.LfContingency;
 import com.powsybl.openloadflow.util.PropagatedContingency;
+import com.powsybl.openloadflow.util.jfr.PostContingencySimulationEvent;
 import com.powsybl.security.*;
 import com.powsybl.security.interceptors.SecurityAnalysisInterceptor;
 import org.apache.commons.lang3.tuple.Pair;
@@ -39,6 +40,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -112,6 +114,10 @@ public class OpenSecurityAnalysis implements SecurityAnalysis {
         List<PropagatedContingency> propagatedContingencies = PropagatedContingency.create(network, contingencies, allSwitchesToOpen);
 
         AcLoadFlowParameters acParameters = OpenLoadFlowProvider.createAcParameters(network, matrixFactory, lfParameters, lfParametersExt, true);
+        // branches tripped by contingencies need their own equations to be deactivated
+        acParameters.setNonMergeableBranchIds(propagatedContingencies.stream()
+                .flatMap(propagatedContingency -> propagatedContingency.getBranchIdsToOpen().stream())
+                .collect(Collectors.toSet()));
 
         // create networks including all necessary switches
         List<LfNetwork> lfNetworks = createNetworks(allSwitchesToOpen, acParameters);
@@ -286,6 +292,8 @@ public class OpenSecurityAnalysis implements SecurityAnalysis {
                                                                Map<Pair<String, Branch.Side>, LimitViolation> preContingencyLimitViolations) {
         LOGGER.info("Start post contingency '{}' simulation", lfContingency.getContingency().getId());
 
+        PostContingencySimulationEvent event = new PostContingencySimulationEvent();
+        event.begin();
         Stopwatch stopwatch = Stopwatch.createStarted();
 
         List<Equation> deactivatedEquations = new ArrayList<>();
@@ -315,6 +323,8 @@ public class OpenSecurityAnalysis implements SecurityAnalysis {
         LfContingency.reactivateEquations(deactivatedEquations, deactivatedEquationTerms);
 
         stopwatch.stop();
+        event.record(lfContingency.getContingency().getId(), network.getNum(), postContingencyLoadFlowResult.getNewtonRaphsonIterations(),
+                postContingencyLoadFlowResult.getNewtonRaphsonStatus().name(), postContingencyLimitViolations.size());
         LOGGER.info("Post contingency '{}' simulation done in {} ms", lfContingency.getContingency().getId(),
                 stopwatch.elapsed(TimeUnit.MILLISECONDS));
 
@@ -341,6 +351,11 @@ public class OpenSecurityAnalysis implements SecurityAnalysis {
     }
 
     List<LfContingency> createContingencies(List<PropagatedContingency> propagatedContingencies, LfNetwork network) {
-        return LfContingency.createContingencies(propagatedContingencies, network, network.createDecrementalConnectivity(connectivityProvider), true);
+        return createContingencies(propagatedContingencies, network, true);
+    }
+
+    List<LfContingency> createContingencies(List<PropagatedContingency> propagatedContingencies, LfNetwork network, boolean useBridgeTree) {
+        return LfContingency.createContingencies(propagatedContingencies, network, network.createDecrementalConnectivity(connectivityProvider), true,
+            useBridgeTree);
     }
 }
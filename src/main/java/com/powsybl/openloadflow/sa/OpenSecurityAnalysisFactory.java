@@ -31,7 +31,7 @@ public class OpenSecurityAnalysisFactory implements SecurityAnalysisFactory {
     private final Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider;
 
     public OpenSecurityAnalysisFactory() {
-        this(new SparseMatrixFactory(), EvenShiloachGraphDecrementalConnectivity::new);
+        this(new SparseMatrixFactory(), () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
     }
 
     public OpenSecurityAnalysisFactory(MatrixFactory matrixFactory, Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider) {
@@ -146,7 +146,10 @@ public abstract class AbstractSensitivityAnalysis {
             throw new NotImplementedException("areVariableAndFunctionDisconnected should have an override");
         }
 
-        public boolean isConnectedToComponent(Set<LfBus> connectedComponent) {
+        /**
+         * @param nonConnectedBusNums numbers of the buses which are not in the connected component
+         */
+        public boolean isConnectedToComponent(BitSet nonConnectedBusNums) {
             throw new NotImplementedException("isConnectedToComponent should have an override");
         }
     }
@@ -175,8 +178,8 @@ public abstract class AbstractSensitivityAnalysis {
         }
 
         @Override
-        public boolean isConnectedToComponent(Set<LfBus> connectedComponent) {
-            return connectedComponent.contains(injectionLfBus);
+        public boolean isConnectedToComponent(BitSet nonConnectedBusNums) {
+            return !nonConnectedBusNums.get(injectionLfBus.getNum());
         }
 
         public LfBus getInjectionLfBus() {
@@ -207,8 +210,8 @@ public abstract class AbstractSensitivityAnalysis {
         }
 
         @Override
-        public boolean isConnectedToComponent(Set<LfBus> connectedComponent) {
-            return connectedComponent.contains(phaseTapChangerLfBranch.getBus1());
+        public boolean isConnectedToComponent(BitSet nonConnectedBusNums) {
+            return !nonConnectedBusNums.get(phaseTapChangerLfBranch.getBus1().getNum());
         }
 
     }
@@ -267,13 +270,13 @@ public abstract class AbstractSensitivityAnalysis {
         }
 
         @Override
-        public boolean isConnectedToComponent(Set<LfBus> connectedComponent) {
-            if (!connectedComponent.contains(getFunctionLfBranch().getBus1())
-                || !connectedComponent.contains(getFunctionLfBranch().getBus2())) {
+        public boolean isConnectedToComponent(BitSet nonConnectedBusNums) {
+            if (nonConnectedBusNums.get(getFunctionLfBranch().getBus1().getNum())
+                || nonConnectedBusNums.get(getFunctionLfBranch().getBus2().getNum())) {
                 return false;
             }
             for (LfBus lfBus : injectionLfBuses.keySet()) {
-                if (connectedComponent.contains(lfBus)) {
+                if (!nonConnectedBusNums.get(lfBus.getNum())) {
                     return true;
                 }
             }
@@ -458,6 +461,29 @@ public abstract class AbstractSensitivityAnalysis {
         return participatingElements;
     }
 
+    /**
+     * Fill the given bit set, cleared first so that it can be reused from one contingency to another, with the numbers
+     * of the buses which are not connected to the slack bus anymore.
+     */
+    protected static BitSet fillNonConnectedBusNums(LfNetwork lfNetwork, GraphDecrementalConnectivity<LfBus> connectivity,
+                                                    BitSet nonConnectedBusNums) {
+        connectivity.fillNonConnectedVertexNums(lfNetwork.getSlackBus(), nonConnectedBusNums);
+        return nonConnectedBusNums;
+    }
+
+    /**
+     * Get the buses of the network whose numbers are set, or not set, in the given bit set.
+     */
+    protected static List<LfBus> getBuses(LfNetwork lfNetwork, BitSet busNums, boolean set) {
+        List<LfBus> buses = new ArrayList<>(set ? busNums.cardinality() : lfNetwork.getBuses().size() - busNums.cardinality());
+        for (LfBus bus : lfNetwork.getBuses()) {
+            if (busNums.get(bus.getNum()) == set) {
+                buses.add(bus);
+            }
+        }
+        return buses;
+    }
+
     protected void computeInjectionFactors(Map<LfBus, Double> participationFactorByBus, List<SensitivityFactorGroup> factorGroups) {
         // compute the corresponding injection (including participation) for each factor
         for (SensitivityFactorGroup factorGroup : factorGroups) {
@@ -486,19 +512,19 @@ public abstract class AbstractSensitivityAnalysis {
             .forEach(lfBranch -> connectivity.cut(lfBranch.getBus1(), lfBranch.getBus2()));
     }
 
-    protected void setPredefinedResults(Collection<LfSensitivityFactor> lfFactors, Set<LfBus> connectedComponent,
+    protected void setPredefinedResults(Collection<LfSensitivityFactor> lfFactors, BitSet nonConnectedBusNums,
                                         GraphDecrementalConnectivity<LfBus> connectivity) {
         for (LfSensitivityFactor factor : lfFactors) {
             // check if the factor function and variable are in different connected components
             if (factor.areVariableAndFunctionDisconnected(connectivity)) {
                 factor.setPredefinedResult(0d);
-            } else if (!factor.isConnectedToComponent(connectedComponent)) {
+            } else if (!factor.isConnectedToComponent(nonConnectedBusNums)) {
                 factor.setPredefinedResult(Double.NaN); // works for sensitivity and function reference
             }
         }
     }
 
-    protected void rescaleGlsk(List<SensitivityFactorGroup> factorGroups, Set<LfBus> nonConnectedBuses) {
+    protected void rescaleGlsk(List<SensitivityFactorGroup> factorGroups, BitSet nonConnectedBusNums) {
         // compute the corresponding injection (with participation) for each factor
         for (SensitivityFactorGroup factorGroup : factorGroups) {
             if (!(factorGroup instanceof LinearGlskGroup)) {
@@ -506,7 +532,7 @@ public abstract class AbstractSensitivityAnalysis {
             }
             LinearGlskGroup glskGroup = (LinearGlskGroup) factorGroup;
             Map<LfBus, Double> remainingGlskInjections = glskGroup.getGlskMap().entrySet().stream()
-                .filter(entry -> !nonConnectedBuses.contains(entry.getKey()))
+                .filter(entry -> !nonConnectedBusNums.get(entry.getKey().getNum()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
             glskGroup.setGlskMapInMainComponent(remainingGlskInjections);
         }
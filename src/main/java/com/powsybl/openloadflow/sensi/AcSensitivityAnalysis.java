@@ -18,6 +18,7 @@ import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
 import com.powsybl.openloadflow.ac.outerloop.AcloadFlowEngine;
 import com.powsybl.openloadflow.equations.*;
 import com.powsybl.openloadflow.graph.GraphDecrementalConnectivity;
+import com.powsybl.openloadflow.network.LfBranch;
 import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.LfNetworkParameters;
@@ -27,8 +28,10 @@ import com.powsybl.openloadflow.network.util.ParticipatingElement;
 import com.powsybl.openloadflow.util.BusState;
 import com.powsybl.openloadflow.util.LfContingency;
 import com.powsybl.openloadflow.util.PropagatedContingency;
+import com.powsybl.openloadflow.util.jfr.SensitivitySolveEvent;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -102,7 +105,10 @@ public class AcSensitivityAnalysis extends AbstractSensitivityAnalysis {
         try (JacobianMatrix j = createJacobianMatrix(engine.getEquationSystem(), new PreviousValueVoltageInitializer())) {
             // solve system
             DenseMatrix factorsStates = initFactorsRhs(lfNetwork, engine.getEquationSystem(), factorGroups); // this is the rhs for the moment
+            SensitivitySolveEvent event = new SensitivitySolveEvent();
+            event.begin();
             j.solveTransposed(factorsStates);
+            event.record("AC", contingencyId, factorsStates.getRowCount(), factorsStates.getColumnCount());
             setFunctionReferences(lfFactors);
 
             // calculate sensitivity values
@@ -112,20 +118,202 @@ public class AcSensitivityAnalysis extends AbstractSensitivityAnalysis {
         LfContingency.reactivateEquations(deactivatedEquations, deactivatedEquationTerms);
     }
 
+    private Map<LfBus, Double> getSlackParticipationByBus(LfNetwork lfNetwork, Collection<LfBus> buses, LoadFlowParameters lfParameters,
+                                                          OpenLoadFlowParameters lfParametersExt) {
+        // compute the participation for each injection factor (+1 on the injection and then -participation factor on all
+        // buses that contain elements participating to slack distribution
+        if (lfParameters.isDistributedSlack()) {
+            List<ParticipatingElement> participatingElements = getParticipatingElements(buses, lfParameters, lfParametersExt);
+            return participatingElements.stream().collect(Collectors.toMap(
+                ParticipatingElement::getLfBus,
+                element -> -element.getFactor(),
+                Double::sum
+            ));
+        } else {
+            return Collections.singletonMap(lfNetwork.getSlackBus(), -1d);
+        }
+    }
+
     /**
-     * https://people.montefiore.uliege.be/vct/elec0029/lf.pdf / Equation 32 is transposed
+     * Everything needed to simulate contingencies on a network: as factors, factor groups and engine are bound to the
+     * buses and branches of one network, each thread working on contingencies has its own context.
      */
+    private static final class ContingencyContext {
+
+        private final LfNetwork lfNetwork;
+
+        private final AcloadFlowEngine engine;
+
+        private final List<LfSensitivityFactor> lfFactors;
+
+        private final List<SensitivityFactorGroup> factorGroups;
+
+        private final Map<LfBus, Double> slackParticipationByBus;
+
+        private final GraphDecrementalConnectivity<LfBus> connectivity;
+
+        private final Map<LfBus, BusState> busStates;
+
+        private final BitSet nonConnectedBusNums; // reused from one contingency to another
+
+        private ContingencyContext(LfNetwork lfNetwork, AcloadFlowEngine engine, List<LfSensitivityFactor> lfFactors,
+                                   List<SensitivityFactorGroup> factorGroups, Map<LfBus, Double> slackParticipationByBus,
+                                   GraphDecrementalConnectivity<LfBus> connectivity) {
+            this.lfNetwork = lfNetwork;
+            this.engine = engine;
+            this.lfFactors = lfFactors;
+            this.factorGroups = factorGroups;
+            this.slackParticipationByBus = slackParticipationByBus;
+            this.connectivity = connectivity;
+            this.busStates = BusState.createBusStates(lfNetwork.getBuses());
+            this.nonConnectedBusNums = new BitSet(lfNetwork.getBuses().size());
+        }
+    }
+
+    private void calculateContingencySensitivityValues(LfContingency lfContingency, ContingencyContext context, List<LfSensitivityFactor> zeroFactors,
+                                                       Map<Contingency, Collection<String>> propagatedContingencyMap, LoadFlowParameters lfParameters,
+                                                       OpenLoadFlowParameters lfParametersExt, SensitivityValueWriter valueWriter) {
+        LfNetwork lfNetwork = context.lfNetwork;
+        List<LfSensitivityFactor> lfFactors = context.lfFactors;
+        List<SensitivityFactorGroup> factorGroups = context.factorGroups;
+        GraphDecrementalConnectivity<LfBus> connectivity = context.connectivity;
+        boolean breakingConnectivity = !lfContingency.getBuses().isEmpty();
+
+        lfFactors.forEach(lfFactor -> lfFactor.setPredefinedResult(null));
+
+        if (breakingConnectivity) {
+            cutConnectivity(lfNetwork, connectivity, propagatedContingencyMap.get(lfContingency.getContingency()));
+            BitSet nonConnectedBusNums = fillNonConnectedBusNums(lfNetwork, connectivity, context.nonConnectedBusNums);
+            setPredefinedResults(lfFactors, nonConnectedBusNums, connectivity); // check if factors are still in the main component
+
+            rescaleGlsk(factorGroups, nonConnectedBusNums);
+
+            Collection<LfBus> slackConnectedComponent = lfParameters.isDistributedSlack() ? getBuses(lfNetwork, nonConnectedBusNums, false) : Collections.emptyList();
+            computeInjectionFactors(getSlackParticipationByBus(lfNetwork, slackConnectedComponent, lfParameters, lfParametersExt), factorGroups);
+        } else {
+            lfFactors.stream()
+                .filter(lfFactor -> lfContingency.getBranches().contains(lfFactor.getFunctionLfBranch()))
+                .forEach(lfFactor -> lfFactor.setPredefinedResult(0d));
+        }
+
+        zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), lfContingency.getContingency().getId(), lfContingency.getIndex(), 0, Double.NaN));
+        calculatePostContingencySensitivityValues(lfFactors, lfContingency, lfNetwork, context.engine, factorGroups, lfParameters, lfParametersExt,
+                lfContingency.getContingency().getId(), lfContingency.getIndex(), valueWriter);
+        BusState.restoreBusStates(context.busStates);
+
+        if (breakingConnectivity) {
+            // restore the pre-contingency glsk and slack participation for the next contingency
+            context.nonConnectedBusNums.clear();
+            rescaleGlsk(factorGroups, context.nonConnectedBusNums);
+            computeInjectionFactors(context.slackParticipationByBus, factorGroups);
+            connectivity.reset();
+        }
+    }
+
+    private static LfContingency copyContingency(LfContingency lfContingency, LfNetwork lfNetwork) {
+        // networks loaded from the same IIDM network have the same bus and branch numbering
+        Set<LfBus> buses = lfContingency.getBuses().stream().map(bus -> lfNetwork.getBus(bus.getNum())).collect(Collectors.toSet());
+        Set<LfBranch> branches = lfContingency.getBranches().stream().map(branch -> lfNetwork.getBranch(branch.getNum())).collect(Collectors.toSet());
+        return new LfContingency(lfContingency.getContingency(), lfContingency.getIndex(), buses, branches);
+    }
+
+    private ContingencyContext createWorkerContext(LfNetwork workerNetwork, List<LfSensitivityFactor> workerFactors, AcLoadFlowParameters acParameters,
+                                                   LoadFlowParameters lfParameters, OpenLoadFlowParameters lfParametersExt) {
+        AcloadFlowEngine engine = new AcloadFlowEngine(workerNetwork, acParameters);
+        // buses have been initialized with the converged base case state, so the load flow is warm started
+        acParameters.setVoltageInitializer(new PreviousValueVoltageInitializer());
+        engine.run();
+
+        List<SensitivityFactorGroup> factorGroups = createFactorGroups(workerFactors);
+        Map<LfBus, Double> slackParticipationByBus = getSlackParticipationByBus(workerNetwork, workerNetwork.getBuses(), lfParameters, lfParametersExt);
+        computeInjectionFactors(slackParticipationByBus, factorGroups);
+
+        return new ContingencyContext(workerNetwork, engine, workerFactors, factorGroups, slackParticipationByBus,
+                workerNetwork.createDecrementalConnectivity(connectivityProvider));
+    }
+
+    private void calculateContingenciesSensitivityValuesInParallel(Network network, LfNetwork lfNetwork, LfNetworkParameters networkParameters,
+                                                                   List<LfContingency> lfContingencies, List<LfSensitivityFactor> zeroFactors,
+                                                                   Map<Contingency, Collection<String>> propagatedContingencyMap,
+                                                                   Set<String> branchesWithMeasuredCurrent, int threadCount,
+                                                                   LoadFlowParameters lfParameters, OpenLoadFlowParameters lfParametersExt,
+                                                                   SensitivityFactorReader factorReader, SensitivityValueWriter valueWriter) {
+        LOGGER.info("Running AC sensitivity analysis of {} contingencies on {} threads", lfContingencies.size(), threadCount);
+
+        Queue<LfContingency> remainingContingencies = new ConcurrentLinkedQueue<>(lfContingencies);
+        SensitivityValueWriter synchronizedValueWriter = (factorContext, contingencyId, contingencyIndex, value, functionReference) -> {
+            synchronized (valueWriter) {
+                valueWriter.write(factorContext, contingencyId, contingencyIndex, value, functionReference);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                // IIDM network is only read from the calling thread, workers only deal with their own copy of the LF network
+                LfNetwork workerNetwork = LfNetwork.load(network, networkParameters).get(0);
+                for (LfBus bus : lfNetwork.getBuses()) {
+                    new BusState(bus).restoreBusState(workerNetwork.getBus(bus.getNum()));
+                }
+                List<LfSensitivityFactor> workerFactors = readAndCheckFactors(network, factorReader, workerNetwork).stream()
+                        .filter(factor -> factor.getStatus().equals(LfSensitivityFactor.Status.VALID))
+                        .collect(Collectors.toList());
+                AcLoadFlowParameters acParameters = OpenLoadFlowProvider.createAcParameters(network, matrixFactory, lfParameters,
+                        lfParametersExt, true, true, branchesWithMeasuredCurrent);
+
+                futures.add(executor.submit(() -> {
+                    ContingencyContext context = createWorkerContext(workerNetwork, workerFactors, acParameters, lfParameters, lfParametersExt);
+                    try {
+                        LfContingency lfContingency;
+                        while ((lfContingency = remainingContingencies.poll()) != null) {
+                            calculateContingencySensitivityValues(copyContingency(lfContingency, workerNetwork), context, zeroFactors,
+                                    propagatedContingencyMap, lfParameters, lfParametersExt, synchronizedValueWriter);
+                        }
+                    } finally {
+                        context.engine.close();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PowsyblException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     public void analyse(Network network, List<PropagatedContingency> contingencies, LoadFlowParameters lfParameters,
                         OpenLoadFlowParameters lfParametersExt, SensitivityFactorReader factorReader, SensitivityValueWriter valueWriter) {
+        analyse(network, contingencies, lfParameters, lfParametersExt, new OpenSensitivityAnalysisParameters(), factorReader, valueWriter);
+    }
+
+    /**
+     * https://people.montefiore.uliege.be/vct/elec0029/lf.pdf / Equation 32 is transposed
+     */
+    public void analyse(Network network, List<PropagatedContingency> contingencies, LoadFlowParameters lfParameters,
+                        OpenLoadFlowParameters lfParametersExt, OpenSensitivityAnalysisParameters sensiParametersExt,
+                        SensitivityFactorReader factorReader, SensitivityValueWriter valueWriter) {
         Objects.requireNonNull(network);
         Objects.requireNonNull(contingencies);
         Objects.requireNonNull(lfParameters);
         Objects.requireNonNull(lfParametersExt);
+        Objects.requireNonNull(sensiParametersExt);
         Objects.requireNonNull(factorReader);
         Objects.requireNonNull(valueWriter);
 
         // create LF network (we only manage main connected component)
-        List<LfNetwork> lfNetworks = LfNetwork.load(network, new LfNetworkParameters(lfParametersExt.getSlackBusSelector(), false, true, lfParameters.isTwtSplitShuntAdmittance(), false, lfParametersExt.getPlausibleActivePowerLimit(), false));
+        LfNetworkParameters networkParameters = new LfNetworkParameters(lfParametersExt.getSlackBusSelector(), false, true, lfParameters.isTwtSplitShuntAdmittance(), false, lfParametersExt.getPlausibleActivePowerLimit(), false);
+        List<LfNetwork> lfNetworks = LfNetwork.load(network, networkParameters);
         LfNetwork lfNetwork = lfNetworks.get(0);
         checkContingencies(lfNetwork, contingencies);
         checkLoadFlowParameters(lfParameters);
@@ -158,20 +346,7 @@ public class AcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             // index factors by variable group to compute a minimal number of states
             List<SensitivityFactorGroup> factorGroups = createFactorGroups(lfFactors);
 
-            // compute the participation for each injection factor (+1 on the injection and then -participation factor on all
-            // buses that contain elements participating to slack distribution
-
-            Map<LfBus, Double> slackParticipationByBus;
-            if (lfParameters.isDistributedSlack()) {
-                List<ParticipatingElement> participatingElements = getParticipatingElements(lfNetwork.getBuses(), lfParameters, lfParametersExt);
-                slackParticipationByBus = participatingElements.stream().collect(Collectors.toMap(
-                    ParticipatingElement::getLfBus,
-                    element -> -element.getFactor(),
-                    Double::sum
-                ));
-            } else {
-                slackParticipationByBus = Collections.singletonMap(lfNetwork.getSlackBus(), -1d);
-            }
+            Map<LfBus, Double> slackParticipationByBus = getSlackParticipationByBus(lfNetwork, lfNetwork.getBuses(), lfParameters, lfParametersExt);
             computeInjectionFactors(slackParticipationByBus, factorGroups);
 
             // we make the assumption that we ran a loadflow before, and thus this jacobian is the right one
@@ -182,7 +357,10 @@ public class AcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                 DenseMatrix factorsStates = initFactorsRhs(lfNetwork, engine.getEquationSystem(), factorGroups); // this is the rhs for the moment
 
                 // solve system
+                SensitivitySolveEvent event = new SensitivitySolveEvent();
+                event.begin();
                 j.solveTransposed(factorsStates);
+                event.record("AC", null, factorsStates.getRowCount(), factorsStates.getColumnCount());
 
                 // calculate sensitivity values
                 setFunctionReferences(lfFactors);
@@ -193,56 +371,17 @@ public class AcSensitivityAnalysis extends AbstractSensitivityAnalysis {
 
             List<LfContingency> lfContingencies = LfContingency.createContingencies(contingencies, lfNetwork, connectivity, false);
 
-            Map<LfBus, BusState> busStates = BusState.createBusStates(lfNetwork.getBuses());
-
-            // Contingency not breaking connectivity
-            for (LfContingency lfContingency : lfContingencies.stream().filter(lfContingency -> lfContingency.getBuses().isEmpty()).collect(Collectors.toSet())) {
-                lfFactors.forEach(lfFactor -> lfFactor.setPredefinedResult(null));
-                lfFactors.stream()
-                    .filter(lfFactor -> lfContingency.getBranches().contains(lfFactor.getFunctionLfBranch()))
-                    .forEach(lfFactor -> lfFactor.setPredefinedResult(0d));
-                zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), lfContingency.getContingency().getId(), lfContingency.getIndex(), 0, Double.NaN));
-                calculatePostContingencySensitivityValues(lfFactors, lfContingency, lfNetwork, engine, factorGroups, lfParameters,
-                        lfParametersExt, lfContingency.getContingency().getId(), lfContingency.getIndex(), valueWriter);
-                BusState.restoreBusStates(busStates);
-            }
-
-            // Contingency breaking connectivity
-            for (LfContingency lfContingency : lfContingencies.stream().filter(lfContingency -> !lfContingency.getBuses().isEmpty()).collect(Collectors.toSet())) {
-                lfFactors.forEach(lfFactor -> lfFactor.setPredefinedResult(null));
-
-                cutConnectivity(lfNetwork, connectivity, propagatedContingencyMap.get(lfContingency.getContingency()));
-                Set<LfBus> nonConnectedBuses = connectivity.getNonConnectedVertices(lfNetwork.getSlackBus());
-                Set<LfBus> slackConnectedComponent = new HashSet<>(lfNetwork.getBuses());
-                slackConnectedComponent.removeAll(nonConnectedBuses);
-                setPredefinedResults(lfFactors, slackConnectedComponent, connectivity); // check if factors are still in the main component
-
-                rescaleGlsk(factorGroups, nonConnectedBuses);
-
-                // compute the participation for each injection factor (+1 on the injection and then -participation factor on all
-                // buses that contain elements participating to slack distribution
-                Map<LfBus, Double> slackParticipationByBusForThisConnectivity;
-
-                if (lfParameters.isDistributedSlack()) {
-                    List<ParticipatingElement> participatingElementsForThisConnectivity = getParticipatingElements(
-                        slackConnectedComponent, lfParameters, lfParametersExt); // will also be used to recompute the loadflow
-                    slackParticipationByBusForThisConnectivity = participatingElementsForThisConnectivity.stream().collect(Collectors.toMap(
-                        ParticipatingElement::getLfBus,
-                        element -> -element.getFactor(),
-                        Double::sum
-                    ));
-                } else {
-                    slackParticipationByBusForThisConnectivity = Collections.singletonMap(lfNetwork.getSlackBus(), -1d);
+            int threadCount = Math.min(sensiParametersExt.getThreadCount(), lfContingencies.size());
+            if (threadCount > 1) {
+                calculateContingenciesSensitivityValuesInParallel(network, lfNetwork, networkParameters, lfContingencies, zeroFactors,
+                        propagatedContingencyMap, branchesWithMeasuredCurrent, threadCount, lfParameters, lfParametersExt,
+                        factorReader, valueWriter);
+            } else {
+                ContingencyContext context = new ContingencyContext(lfNetwork, engine, lfFactors, factorGroups, slackParticipationByBus, connectivity);
+                for (LfContingency lfContingency : lfContingencies) {
+                    calculateContingencySensitivityValues(lfContingency, context, zeroFactors, propagatedContingencyMap,
+                            lfParameters, lfParametersExt, valueWriter);
                 }
-
-                computeInjectionFactors(slackParticipationByBusForThisConnectivity, factorGroups);
-
-                zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), lfContingency.getContingency().getId(), lfContingency.getIndex(), 0, Double.NaN));
-                calculatePostContingencySensitivityValues(lfFactors, lfContingency, lfNetwork, engine, factorGroups, lfParameters, lfParametersExt,
-                        lfContingency.getContingency().getId(), lfContingency.getIndex(), valueWriter);
-                BusState.restoreBusStates(busStates);
-
-                connectivity.reset();
             }
         }
     }
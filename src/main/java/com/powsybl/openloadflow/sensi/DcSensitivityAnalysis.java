@@ -23,11 +23,14 @@ import com.powsybl.openloadflow.dc.equations.DcEquationSystem;
 import com.powsybl.openloadflow.dc.equations.DcEquationSystemCreationParameters;
 import com.powsybl.openloadflow.equations.*;
 import com.powsybl.openloadflow.graph.GraphDecrementalConnectivity;
+import com.powsybl.openloadflow.graph.TwoEdgeConnectivityIndex;
 import com.powsybl.openloadflow.network.*;
 import com.powsybl.openloadflow.network.util.ParticipatingElement;
 import com.powsybl.openloadflow.util.BranchState;
 import com.powsybl.openloadflow.util.BusState;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
 import com.powsybl.openloadflow.util.PropagatedContingency;
+import com.powsybl.openloadflow.util.jfr.SensitivitySolveEvent;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
@@ -156,8 +159,82 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
         }
     }
 
+    private final DcSensitivityStatesCache statesCache;
+
     public DcSensitivityAnalysis(MatrixFactory matrixFactory, Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider) {
+        this(matrixFactory, connectivityProvider, null);
+    }
+
+    /**
+     * @param statesCache cache of the solved states, shared between analyses, or null to disable caching
+     */
+    public DcSensitivityAnalysis(MatrixFactory matrixFactory, Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider,
+                                 DcSensitivityStatesCache statesCache) {
         super(matrixFactory, connectivityProvider);
+        this.statesCache = statesCache;
+    }
+
+    /**
+     * Without phase shifter angle variables, the B matrix is symmetric and is decomposed with a sparse LDLᵀ
+     * decomposition instead of the matrix factory LU decomposition.
+     */
+    @Override
+    protected JacobianMatrix createJacobianMatrix(EquationSystem equationSystem, VoltageInitializer voltageInitializer) {
+        double[] x = equationSystem.createStateVector(voltageInitializer);
+        equationSystem.updateEquations(x);
+        return new JacobianMatrix(equationSystem, matrixFactory, new PerformanceMetrics(), true, DcEquationSystem.isSymmetric(equationSystem));
+    }
+
+    /**
+     * Solve the rhs in place, only for the columns that are not already in the states cache.
+     */
+    private void solveTransposed(JacobianMatrix j, DenseMatrix rhs, String networkFingerprint) {
+        if (statesCache == null) {
+            SensitivitySolveEvent event = new SensitivitySolveEvent();
+            event.begin();
+            j.solveTransposed(rhs);
+            event.record("DC", null, rhs.getRowCount(), rhs.getColumnCount());
+            return;
+        }
+        int rowCount = rhs.getRowCount();
+        List<Integer> missingColumns = new ArrayList<>();
+        List<DcSensitivityStatesCache.RhsKey> missingRhsKeys = new ArrayList<>();
+        for (int column = 0; column < rhs.getColumnCount(); column++) {
+            DcSensitivityStatesCache.RhsKey rhsKey = DcSensitivityStatesCache.rhsKey(rhs, column);
+            double[] state = statesCache.getState(networkFingerprint, rowCount, rhsKey);
+            if (state != null) {
+                for (int row = 0; row < rowCount; row++) {
+                    rhs.set(row, column, state[row]);
+                }
+            } else {
+                missingColumns.add(column);
+                missingRhsKeys.add(rhsKey);
+            }
+        }
+        if (missingColumns.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("{} states found in cache, {} to solve", rhs.getColumnCount() - missingColumns.size(), missingColumns.size());
+        DenseMatrix missingRhs = new DenseMatrix(rowCount, missingColumns.size());
+        for (int k = 0; k < missingColumns.size(); k++) {
+            int column = missingColumns.get(k);
+            for (int row = 0; row < rowCount; row++) {
+                missingRhs.set(row, k, rhs.get(row, column));
+            }
+        }
+        SensitivitySolveEvent event = new SensitivitySolveEvent();
+        event.begin();
+        j.solveTransposed(missingRhs);
+        event.record("DC", null, rowCount, missingColumns.size());
+        for (int k = 0; k < missingColumns.size(); k++) {
+            int column = missingColumns.get(k);
+            double[] state = new double[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                state[row] = missingRhs.get(row, k);
+                rhs.set(row, column, state[row]);
+            }
+            statesCache.putState(networkFingerprint, missingRhsKeys.get(k), state);
+        }
     }
 
     protected DenseMatrix setReferenceActivePowerFlows(DcLoadFlowEngine dcLoadFlowEngine, EquationSystem equationSystem, JacobianMatrix j,
@@ -188,76 +265,218 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
         return new DenseMatrix(dx.length, 1, dx);
     }
 
-    private void createBranchSensitivityValue(LfSensitivityFactor factor, DenseMatrix contingenciesStates,
-                                              Collection<ComputedContingencyElement> contingencyElements,
+    /**
+     * Pre-resolved evaluation of the flow of the function branches of the factors. The DC flow being linear in the
+     * states, its sensitivity to a state column is the dot product of the flow coefficients with the values of the
+     * column at the variable rows, plus a constant phase shift term. The rows and the coefficients are resolved once,
+     * and factors monitoring the same branch share the same function index so that flow sensitivities to contingency
+     * states are only computed once per monitored branch. The buffers holding these sensitivities are reused from one
+     * contingency to the other.
+     */
+    static final class FunctionFlowEvaluator {
+
+        private final List<LfBranch> functionBranches = new ArrayList<>();
+
+        private final List<int[]> rows = new ArrayList<>();
+
+        private final List<double[]> coefficients = new ArrayList<>();
+
+        private final List<Double> constants = new ArrayList<>();
+
+        private final int[][] functionIndexesByGroup;
+
+        private double[] contingencySensitivities = new double[0];
+
+        private final boolean[] removedFunctions;
+
+        private final Set<LfBranch> removedBranches = new HashSet<>();
+
+        private final Set<String> removedElementIds = new HashSet<>();
+
+        FunctionFlowEvaluator(List<SensitivityFactorGroup> factorGroups, int rowCount) {
+            Map<EquationTerm, Integer> functionIndexByTerm = new IdentityHashMap<>();
+            DenseMatrix zeroState = new DenseMatrix(rowCount, 1);
+            functionIndexesByGroup = new int[factorGroups.size()][];
+            for (SensitivityFactorGroup factorGroup : factorGroups) {
+                List<LfSensitivityFactor> factors = factorGroup.getFactors();
+                int[] functionIndexes = new int[factors.size()];
+                for (int i = 0; i < factors.size(); i++) {
+                    LfSensitivityFactor factor = factors.get(i);
+                    functionIndexes[i] = functionIndexByTerm.computeIfAbsent(factor.getEquationTerm(), term -> {
+                        List<Variable> variables = term.getVariables();
+                        int[] termRows = new int[variables.size()];
+                        double[] termCoefficients = new double[variables.size()];
+                        for (int j = 0; j < variables.size(); j++) {
+                            termRows[j] = variables.get(j).getRow();
+                            termCoefficients[j] = term.der(variables.get(j));
+                        }
+                        functionBranches.add(factor.getFunctionLfBranch());
+                        rows.add(termRows);
+                        coefficients.add(termCoefficients);
+                        constants.add(term.calculateSensi(zeroState, 0));
+                        return functionBranches.size() - 1;
+                    });
+                }
+                functionIndexesByGroup[factorGroup.getIndex()] = functionIndexes;
+            }
+            removedFunctions = new boolean[functionBranches.size()];
+        }
+
+        int getFunctionCount() {
+            return functionBranches.size();
+        }
+
+        LfBranch getFunctionBranch(int functionIndex) {
+            return functionBranches.get(functionIndex);
+        }
+
+        int getFunctionIndex(SensitivityFactorGroup factorGroup, int factorIndex) {
+            return functionIndexesByGroup[factorGroup.getIndex()][factorIndex];
+        }
+
+        double calculateSensi(int functionIndex, DenseMatrix states, int column) {
+            int[] functionRows = rows.get(functionIndex);
+            double[] functionCoefficients = coefficients.get(functionIndex);
+            double sensi = constants.get(functionIndex);
+            for (int i = 0; i < functionRows.length; i++) {
+                sensi += functionCoefficients[i] * states.get(functionRows[i], column);
+            }
+            return sensi;
+        }
+
+        /**
+         * Compute the flow sensitivities of each function to the +1 -1 states of the contingency elements, and find the
+         * functions and the elements removed by the contingency.
+         */
+        void evaluateContingency(DenseMatrix contingenciesStates, Collection<ComputedContingencyElement> contingencyElements) {
+            int functionCount = getFunctionCount();
+            int elementCount = contingencyElements.size();
+            if (contingencySensitivities.length < functionCount * elementCount) {
+                contingencySensitivities = new double[functionCount * elementCount];
+            }
+            removedBranches.clear();
+            removedElementIds.clear();
+            for (ComputedContingencyElement contingencyElement : contingencyElements) {
+                removedBranches.add(contingencyElement.getLfBranch());
+                removedElementIds.add(contingencyElement.getElement().getId());
+            }
+            for (int functionIndex = 0; functionIndex < functionCount; functionIndex++) {
+                removedFunctions[functionIndex] = removedBranches.contains(functionBranches.get(functionIndex));
+                for (ComputedContingencyElement contingencyElement : contingencyElements) {
+                    contingencySensitivities[functionIndex * elementCount + contingencyElement.getLocalIndex()]
+                            = calculateSensi(functionIndex, contingenciesStates, contingencyElement.getContingencyIndex());
+                }
+            }
+        }
+
+        /**
+         * Flow sensitivities of the last evaluated contingency, indexed by function index then by element local index.
+         */
+        double[] getContingencySensitivities() {
+            return contingencySensitivities;
+        }
+
+        boolean[] getRemovedFunctions() {
+            return removedFunctions;
+        }
+
+        Set<String> getRemovedElementIds() {
+            return removedElementIds;
+        }
+    }
+
+    private void createBranchSensitivityValue(LfSensitivityFactor factor, int functionIndex, int elementCount, double[] contingencySensitivities,
+                                              boolean[] removedFunctions, Set<String> removedElementIds, Collection<ComputedContingencyElement> contingencyElements,
                                               String contingencyId, int contingencyIndex, SensitivityValueWriter valueWriter) {
         double sensiValue;
         double flowValue;
-        EquationTerm p1 = factor.getEquationTerm();
         if (factor.getPredefinedResult() != null) {
             sensiValue = factor.getPredefinedResult();
             flowValue = factor.getPredefinedResult();
+        } else if (removedFunctions[functionIndex] || removedElementIds.contains(factor.getVariableId())) {
+            // the sensitivity on a removed branch is 0, the sensitivity if the variable was a removed branch is 0
+            sensiValue = 0d;
+            flowValue = 0d;
         } else {
             sensiValue = factor.getBaseSensitivityValue();
             flowValue = factor.getFunctionReference();
+            int offset = functionIndex * elementCount;
             for (ComputedContingencyElement contingencyElement : contingencyElements) {
-                if (contingencyElement.getElement().getId().equals(factor.getFunctionId())
-                        || contingencyElement.getElement().getId().equals(factor.getVariableId())) {
-                    // the sensitivity on a removed branch is 0, the sensitivity if the variable was a removed branch is 0
-                    sensiValue = 0d;
-                    flowValue = 0d;
-                    break;
-                }
-                double contingencySensitivity = p1.calculateSensi(contingenciesStates, contingencyElement.getContingencyIndex());
+                double contingencySensitivity = contingencySensitivities[offset + contingencyElement.getLocalIndex()];
                 flowValue += contingencyElement.getAlphaForFunctionReference() * contingencySensitivity;
-                sensiValue +=  contingencyElement.getAlphaForSensitivityValue() * contingencySensitivity;
+                sensiValue += contingencyElement.getAlphaForSensitivityValue() * contingencySensitivity;
             }
         }
         valueWriter.write(factor.getContext(), contingencyId, contingencyIndex, sensiValue * PerUnit.SB, flowValue * PerUnit.SB);
     }
 
-    protected void setBaseCaseSensitivityValues(List<SensitivityFactorGroup> factorGroups, DenseMatrix factorsState) {
+    protected void setBaseCaseSensitivityValues(FunctionFlowEvaluator functionFlowEvaluator, List<SensitivityFactorGroup> factorGroups, DenseMatrix factorsState) {
         for (SensitivityFactorGroup factorGroup : factorGroups) {
-            for (LfSensitivityFactor factor : factorGroup.getFactors()) {
-                factor.setBaseCaseSensitivityValue(factor.getEquationTerm().calculateSensi(factorsState, factorGroup.getIndex()));
+            List<LfSensitivityFactor> factors = factorGroup.getFactors();
+            for (int i = 0; i < factors.size(); i++) {
+                int functionIndex = functionFlowEvaluator.getFunctionIndex(factorGroup, i);
+                factors.get(i).setBaseCaseSensitivityValue(functionFlowEvaluator.calculateSensi(functionIndex, factorsState, factorGroup.getIndex()));
             }
         }
     }
 
-    protected void calculateSensitivityValues(List<SensitivityFactorGroup> factorGroups, DenseMatrix factorStates,
+    protected void calculateSensitivityValues(FunctionFlowEvaluator functionFlowEvaluator, List<SensitivityFactorGroup> factorGroups, DenseMatrix factorStates,
                                               DenseMatrix contingenciesStates, DenseMatrix flowStates, Collection<ComputedContingencyElement> contingencyElements,
                                               String contingencyId, int contingencyIndex, SensitivityValueWriter valueWriter) {
-        setAlphas(contingencyElements, flowStates, contingenciesStates, 0, ComputedContingencyElement::setAlphaForFunctionReference);
-        for (SensitivityFactorGroup factorGroup : factorGroups) {
-            setAlphas(contingencyElements, factorStates, contingenciesStates, factorGroup.getIndex(), ComputedContingencyElement::setAlphaForSensitivityValue);
-            for (LfSensitivityFactor factor : factorGroup.getFactors()) {
-                createBranchSensitivityValue(factor, contingenciesStates, contingencyElements, contingencyId, contingencyIndex, valueWriter);
+        // the alphas system matrix only depends on the contingency, it is built once and reused for all the factor groups
+        try (AlphasSolver alphasSolver = new AlphasSolver(contingencyElements, contingenciesStates)) {
+            functionFlowEvaluator.evaluateContingency(contingenciesStates, contingencyElements);
+            int elementCount = contingencyElements.size();
+            double[] contingencySensitivities = functionFlowEvaluator.getContingencySensitivities();
+            boolean[] removedFunctions = functionFlowEvaluator.getRemovedFunctions();
+            Set<String> removedElementIds = functionFlowEvaluator.getRemovedElementIds();
+
+            alphasSolver.setAlphas(flowStates, 0, ComputedContingencyElement::setAlphaForFunctionReference);
+            for (SensitivityFactorGroup factorGroup : factorGroups) {
+                alphasSolver.setAlphas(factorStates, factorGroup.getIndex(), ComputedContingencyElement::setAlphaForSensitivityValue);
+                List<LfSensitivityFactor> factors = factorGroup.getFactors();
+                for (int i = 0; i < factors.size(); i++) {
+                    createBranchSensitivityValue(factors.get(i), functionFlowEvaluator.getFunctionIndex(factorGroup, i), elementCount, contingencySensitivities,
+                            removedFunctions, removedElementIds, contingencyElements, contingencyId, contingencyIndex, valueWriter);
+                }
             }
         }
     }
 
-    private void setAlphas(Collection<ComputedContingencyElement> contingencyElements, DenseMatrix states,
-                           DenseMatrix contingenciesStates, int columnState, BiConsumer<ComputedContingencyElement, Double> setValue) {
-        if (contingencyElements.size() == 1) {
-            ComputedContingencyElement element = contingencyElements.iterator().next();
-            LfBranch lfBranch = element.getLfBranch();
-            ClosedBranchSide1DcFlowEquationTerm p1 = element.getLfBranchEquation();
-            // we solve a*alpha = b
-            double a = lfBranch.getPiModel().getX() / PerUnit.SB - (contingenciesStates.get(p1.getVariables().get(0).getRow(), element.getContingencyIndex())
-                    - contingenciesStates.get(p1.getVariables().get(1).getRow(), element.getContingencyIndex()));
-            double b = states.get(p1.getVariables().get(0).getRow(), columnState) - states.get(p1.getVariables().get(1).getRow(), columnState);
-            setValue.accept(element, b / a);
-        } else {
-            // FIXME: direct resolution if contingencyElements.size() == 2
+    /**
+     * Solver of the k*k system giving the alphas of the elements of a contingency. Systems up to size 3 are solved
+     * in closed form using the inverse of the matrix, larger ones (or ill-conditioned small ones) using a LU
+     * decomposition.
+     */
+    static final class AlphasSolver implements AutoCloseable {
+
+        private static final int MAX_CLOSED_FORM_SIZE = 3;
+
+        /**
+         * Relative tolerance on the determinant, compared to the product of the row norms (Hadamard bound), under
+         * which the matrix is considered as singular and left to the LU decomposition.
+         */
+        private static final double SINGULARITY_TOLERANCE = 1e-12;
+
+        private final Collection<ComputedContingencyElement> contingencyElements;
+
+        private final int size;
+
+        private final double[] inverse; // row major, only for closed form sizes
+
+        private final LUDecomposition lu;
+
+        private final double[] rhs;
+
+        private AlphasSolver(Collection<ComputedContingencyElement> contingencyElements, DenseMatrix contingenciesStates) {
+            this.contingencyElements = contingencyElements;
+            size = contingencyElements.size();
+            rhs = new double[size];
             ComputedContingencyElement.setLocalIndexes(contingencyElements);
-            DenseMatrix rhs = new DenseMatrix(contingencyElements.size(), 1);
-            DenseMatrix matrix = new DenseMatrix(contingencyElements.size(), contingencyElements.size());
+            double[] matrix = new double[size * size];
             for (ComputedContingencyElement element : contingencyElements) {
                 LfBranch lfBranch = element.getLfBranch();
                 ClosedBranchSide1DcFlowEquationTerm p1 = element.getLfBranchEquation();
-                rhs.set(element.getLocalIndex(), 0, states.get(p1.getVariables().get(0).getRow(), columnState)
-                        - states.get(p1.getVariables().get(1).getRow(), columnState)
-                );
                 for (ComputedContingencyElement element2 : contingencyElements) {
                     double value = 0d;
                     if (element.equals(element2)) {
@@ -265,18 +484,106 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                     }
                     value = value - (contingenciesStates.get(p1.getVariables().get(0).getRow(), element2.getContingencyIndex())
                             - contingenciesStates.get(p1.getVariables().get(1).getRow(), element2.getContingencyIndex()));
-                    matrix.set(element.getLocalIndex(), element2.getLocalIndex(), value);
+                    matrix[element.getLocalIndex() * size + element2.getLocalIndex()] = value;
+                }
+            }
+            inverse = size <= MAX_CLOSED_FORM_SIZE ? invert(matrix, size) : null;
+            if (inverse != null) {
+                lu = null;
+            } else {
+                DenseMatrix denseMatrix = new DenseMatrix(size, size);
+                for (int i = 0; i < size; i++) {
+                    for (int j = 0; j < size; j++) {
+                        denseMatrix.set(i, j, matrix[i * size + j]);
+                    }
                 }
+                lu = denseMatrix.decomposeLU();
+            }
+        }
+
+        /**
+         * Closed form inverse of a row major matrix of size up to 3, or null if the matrix is singular or nearly
+         * singular.
+         */
+        static double[] invert(double[] m, int size) {
+            switch (size) {
+                case 0:
+                    return m;
+                case 1:
+                    return isSingular(m[0], m, size) ? null : new double[] {1 / m[0]};
+                case 2: {
+                    double det = m[0] * m[3] - m[1] * m[2];
+                    if (isSingular(det, m, size)) {
+                        return null;
+                    }
+                    return new double[] {
+                        m[3] / det, -m[1] / det,
+                        -m[2] / det, m[0] / det
+                    };
+                }
+                case 3: {
+                    // cofactors of the first row
+                    double c00 = m[4] * m[8] - m[5] * m[7];
+                    double c01 = m[5] * m[6] - m[3] * m[8];
+                    double c02 = m[3] * m[7] - m[4] * m[6];
+                    double det = m[0] * c00 + m[1] * c01 + m[2] * c02;
+                    if (isSingular(det, m, size)) {
+                        return null;
+                    }
+                    return new double[] {
+                        c00 / det, (m[2] * m[7] - m[1] * m[8]) / det, (m[1] * m[5] - m[2] * m[4]) / det,
+                        c01 / det, (m[0] * m[8] - m[2] * m[6]) / det, (m[2] * m[3] - m[0] * m[5]) / det,
+                        c02 / det, (m[1] * m[6] - m[0] * m[7]) / det, (m[0] * m[4] - m[1] * m[3]) / det
+                    };
+                }
+                default:
+                    throw new IllegalArgumentException("No closed form inverse for size " + size);
+            }
+        }
+
+        private static boolean isSingular(double det, double[] m, int size) {
+            double bound = 1;
+            for (int i = 0; i < size; i++) {
+                double rowNorm2 = 0;
+                for (int j = 0; j < size; j++) {
+                    rowNorm2 += m[i * size + j] * m[i * size + j];
+                }
+                bound *= Math.sqrt(rowNorm2);
+            }
+            return !Double.isFinite(det) || Math.abs(det) <= SINGULARITY_TOLERANCE * bound;
+        }
+
+        private void setAlphas(DenseMatrix states, int columnState, BiConsumer<ComputedContingencyElement, Double> setValue) {
+            for (ComputedContingencyElement element : contingencyElements) {
+                ClosedBranchSide1DcFlowEquationTerm p1 = element.getLfBranchEquation();
+                rhs[element.getLocalIndex()] = states.get(p1.getVariables().get(0).getRow(), columnState)
+                        - states.get(p1.getVariables().get(1).getRow(), columnState);
+            }
+            if (lu != null) {
+                lu.solve(rhs); // rhs now contains the alphas
+                contingencyElements.forEach(element -> setValue.accept(element, rhs[element.getLocalIndex()]));
+            } else {
+                for (ComputedContingencyElement element : contingencyElements) {
+                    int row = element.getLocalIndex() * size;
+                    double alpha = 0;
+                    for (int j = 0; j < size; j++) {
+                        alpha += inverse[row + j] * rhs[j];
+                    }
+                    setValue.accept(element, alpha);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (lu != null) {
+                lu.close();
             }
-            LUDecomposition lu = matrix.decomposeLU();
-            lu.solve(rhs); // rhs now contains state matrix
-            contingencyElements.forEach(element -> setValue.accept(element, rhs.get(element.getLocalIndex(), 0)));
         }
     }
 
-    private Set<ComputedContingencyElement> getGroupOfElementsBreakingConnectivity(LfNetwork lfNetwork, DenseMatrix contingenciesStates,
-                                                                                   Collection<ComputedContingencyElement> contingencyElements,
-                                                                                   EquationSystem equationSystem) {
+    private Set<ComputedContingencyElement> getGroupOfElementsBreakingConnectivity(DenseMatrix contingenciesStates,
+                                                                                   Collection<ComputedContingencyElement> contingencyElements) {
         // use a sensitivity-criterion to detect the loss of connectivity after a contingency
         // we consider a +1 -1 on a line, and we observe the sensitivity of these injections on the other contingency elements
         // if the sum of the sensitivities (in absolute value) is 1, it means that all the flow is going through the lines with a non-zero sensitivity
@@ -286,8 +593,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             Set<ComputedContingencyElement> responsibleElements = new HashSet<>();
             double sum = 0d;
             for (ComputedContingencyElement element2 : contingencyElements) {
-                LfBranch branch = lfNetwork.getBranchById(element2.getElement().getId());
-                ClosedBranchSide1DcFlowEquationTerm p = equationSystem.getEquationTerm(ElementType.BRANCH, branch.getNum(), ClosedBranchSide1DcFlowEquationTerm.class);
+                ClosedBranchSide1DcFlowEquationTerm p = element2.getLfBranchEquation();
                 double value = Math.abs(p.calculateSensi(contingenciesStates, element.getContingencyIndex()));
                 if (value > CONNECTIVITY_LOSS_THRESHOLD) {
                     responsibleElements.add(element2);
@@ -334,11 +640,19 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
 
     private void detectPotentialConnectivityLoss(LfNetwork lfNetwork, DenseMatrix states, List<PropagatedContingency> contingencies,
                                                  Map<String, ComputedContingencyElement> contingencyElementByBranch,
-                                                 EquationSystem equationSystem, Collection<PropagatedContingency> nonLosingConnectivityContingencies,
+                                                 Collection<PropagatedContingency> nonLosingConnectivityContingencies,
                                                  Map<Set<ComputedContingencyElement>, List<PropagatedContingency>> contingenciesByGroupOfElementsBreakingConnectivity) {
+        // a contingency without any bridge and with at most one element per 2-edge-connected component cannot break
+        // connectivity, the sensitivity criterion is only used for the other ones
+        TwoEdgeConnectivityIndex<LfBus, LfBranch> twoEdgeConnectivityIndex = lfNetwork.getTwoEdgeConnectivityIndex();
         for (PropagatedContingency contingency : contingencies) {
-            Set<ComputedContingencyElement> groupOfElementsBreakingConnectivity = getGroupOfElementsBreakingConnectivity(lfNetwork, states,
-                    contingency.getBranchIdsToOpen().stream().map(contingencyElementByBranch::get).collect(Collectors.toList()), equationSystem);
+            List<ComputedContingencyElement> contingencyElements = contingency.getBranchIdsToOpen().stream().map(contingencyElementByBranch::get).collect(Collectors.toList());
+            if (contingencyElements.stream().allMatch(Objects::nonNull)
+                    && !twoEdgeConnectivityIndex.mayBreakConnectivity(contingencyElements.stream().map(ComputedContingencyElement::getLfBranch).collect(Collectors.toList()))) {
+                nonLosingConnectivityContingencies.add(contingency);
+                continue;
+            }
+            Set<ComputedContingencyElement> groupOfElementsBreakingConnectivity = getGroupOfElementsBreakingConnectivity(states, contingencyElements);
             if (groupOfElementsBreakingConnectivity.isEmpty()) { // connectivity not broken
                 nonLosingConnectivityContingencies.add(contingency);
             } else {
@@ -355,22 +669,21 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
 
         private Set<String> elementsToReconnect;
 
-        private Set<LfBus> disabledBuses;
+        private BitSet disabledBusNums;
 
-        private Set<LfBus> slackConnectedComponent;
+        private List<LfBus> disabledBuses;
 
         ConnectivityAnalysisResult(Collection<LfSensitivityFactor> factors, Set<ComputedContingencyElement> elementsBreakingConnectivity,
                                    GraphDecrementalConnectivity<LfBus> connectivity, LfNetwork lfNetwork) {
             elementsToReconnect = computeElementsToReconnect(connectivity, elementsBreakingConnectivity);
-            disabledBuses = connectivity.getNonConnectedVertices(lfNetwork.getSlackBus());
-            slackConnectedComponent = new HashSet<>(lfNetwork.getBuses());
-            slackConnectedComponent.removeAll(disabledBuses);
+            disabledBusNums = fillNonConnectedBusNums(lfNetwork, connectivity, new BitSet(lfNetwork.getBuses().size()));
+            disabledBuses = getBuses(lfNetwork, disabledBusNums, true);
             predefinedResults = new HashMap<>();
             for (LfSensitivityFactor factor : factors) {
                 // check if the factor function and variable are in different connected components
                 if (factor.areVariableAndFunctionDisconnected(connectivity)) {
                     predefinedResults.put(factor, 0d);
-                } else if (!factor.isConnectedToComponent(slackConnectedComponent)) {
+                } else if (!factor.isConnectedToComponent(disabledBusNums)) {
                     predefinedResults.put(factor, Double.NaN); // works for sensitivity and function reference
                 }
             }
@@ -388,12 +701,12 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             return elementsToReconnect;
         }
 
-        public Set<LfBus> getDisabledBuses() {
-            return disabledBuses;
+        public BitSet getDisabledBusNums() {
+            return disabledBusNums;
         }
 
-        public Set<LfBus> getSlackConnectedComponent() {
-            return slackConnectedComponent;
+        public List<LfBus> getDisabledBuses() {
+            return disabledBuses;
         }
 
         private static Set<String> computeElementsToReconnect(GraphDecrementalConnectivity<LfBus> connectivity, Set<ComputedContingencyElement> breakingConnectivityCandidates) {
@@ -500,6 +813,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
         DcEquationSystemCreationParameters dcEquationSystemCreationParameters = new DcEquationSystemCreationParameters(dcLoadFlowParameters.isUpdateFlows(), true,
             dcLoadFlowParameters.isForcePhaseControlOffAndAddAngle1Var(), lfParametersExt.isDcUseTransformerRatio());
         EquationSystem equationSystem = DcEquationSystem.create(lfNetwork, new VariableSet(), dcEquationSystemCreationParameters);
+        String networkFingerprint = statesCache != null ? DcSensitivityStatesCache.fingerprint(lfNetwork, dcEquationSystemCreationParameters) : null;
 
         // we wrap the factor into a class that allows us to have access to their branch and EquationTerm instantly
         List<LfSensitivityFactor> zeroFactors = lfFactors.stream().filter(factor -> factor.getStatus() == LfSensitivityFactor.Status.ZERO).collect(Collectors.toList());
@@ -551,12 +865,15 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             // compute the pre-contingency sensitivity values + the states with +1 -1 to model the contingencies
             DenseMatrix factorsStates = initFactorsRhs(lfNetwork, equationSystem, factorGroups); // this is the rhs for the moment
             DenseMatrix contingenciesStates = initContingencyRhs(lfNetwork, equationSystem, contingencyElementByBranch.values()); // rhs with +1 -1 on contingency elements
-            j.solveTransposed(factorsStates); // states for the sensitivity factors
-            j.solveTransposed(contingenciesStates); // states for the +1 -1 of contingencies
+            solveTransposed(j, factorsStates, networkFingerprint); // states for the sensitivity factors
+            solveTransposed(j, contingenciesStates, networkFingerprint); // states for the +1 -1 of contingencies
+
+            // resolve once the state rows needed to evaluate the factors functions
+            FunctionFlowEvaluator functionFlowEvaluator = new FunctionFlowEvaluator(factorGroups, factorsStates.getRowCount());
 
             // sensitivity values for pre-contingency network
-            setBaseCaseSensitivityValues(factorGroups, factorsStates);
-            calculateSensitivityValues(factorGroups, factorsStates, contingenciesStates, flowStates, Collections.emptyList(), null, -1, valueWriter);
+            setBaseCaseSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates);
+            calculateSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates, contingenciesStates, flowStates, Collections.emptyList(), null, -1, valueWriter);
 
             // connectivity analysis by contingency
             // we have to compute sensitivities and reference functions in a different way depending on either or not the contingency breaks connectivity
@@ -567,7 +884,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             Collection<PropagatedContingency> nonLosingConnectivityContingencies = new LinkedList<>();
             Map<Set<ComputedContingencyElement>, List<PropagatedContingency>> contingenciesByGroupOfElementsBreakingConnectivity = new HashMap<>();
 
-            detectPotentialConnectivityLoss(lfNetwork, contingenciesStates, contingencies, contingencyElementByBranch, equationSystem,
+            detectPotentialConnectivityLoss(lfNetwork, contingenciesStates, contingencies, contingencyElementByBranch,
                     nonLosingConnectivityContingencies, contingenciesByGroupOfElementsBreakingConnectivity);
 
             // process connectivity data for all contingencies that potentially lose connectivity
@@ -580,7 +897,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             for (PropagatedContingency contingency : phaseTapChangerContingenciesIndexing.getContingenciesWithoutPhaseTapChangerLoss()) {
                 zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), contingency.getContingency().getId(), contingency.getIndex(), 0, Double.NaN));
                 List<ComputedContingencyElement> contingencyElements = contingency.getBranchIdsToOpen().stream().map(contingencyElementByBranch::get).collect(Collectors.toList());
-                calculateSensitivityValues(factorGroups, factorsStates, contingenciesStates, flowStates, contingencyElements,
+                calculateSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates, contingenciesStates, flowStates, contingencyElements,
                         contingency.getContingency().getId(), contingency.getIndex(), valueWriter);
             }
 
@@ -592,7 +909,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                 for (PropagatedContingency contingency : propagatedContingencies) {
                     zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), contingency.getContingency().getId(), contingency.getIndex(), 0, Double.NaN));
                     List<ComputedContingencyElement> contingencyElements = contingency.getBranchIdsToOpen().stream().map(contingencyElementByBranch::get).collect(Collectors.toList());
-                    calculateSensitivityValues(factorGroups, factorsStates, contingenciesStates, flowStates,
+                    calculateSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates, contingenciesStates, flowStates,
                             contingencyElements, contingency.getContingency().getId(), contingency.getIndex(), valueWriter);
                 }
             }
@@ -604,20 +921,21 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
             // compute the contingencies with loss of connectivity
             for (ConnectivityAnalysisResult connectivityAnalysisResult : connectivityAnalysisResults.values()) {
                 lfFactors.forEach(factor -> factor.setPredefinedResult(connectivityAnalysisResult.getPredefinedResult(factor)));
-                Set<LfBus> disabledBuses = connectivityAnalysisResult.getDisabledBuses();
+                BitSet disabledBusNums = connectivityAnalysisResult.getDisabledBusNums();
+                List<LfBus> disabledBuses = connectivityAnalysisResult.getDisabledBuses();
                 // null and unused if slack is not distributed
                 List<ParticipatingElement> participatingElementsForThisConnectivity = participatingElements;
                 boolean rhsChanged = false; // true if there if the disabled buses changes the slack distribution, or the GLSK
                 if (lfParameters.isDistributedSlack()) {
-                    rhsChanged = participatingElements.stream().anyMatch(element -> disabledBuses.contains(element.getLfBus()));
+                    rhsChanged = participatingElements.stream().anyMatch(element -> disabledBusNums.get(element.getLfBus().getNum()));
                 }
                 if (hasGlsk) {
                     // some elements of the GLSK may not be in the connected component anymore, we recompute the injections
-                    rescaleGlsk(factorGroups, disabledBuses);
+                    rescaleGlsk(factorGroups, disabledBusNums);
                     rhsChanged = rhsChanged || factorGroups.stream().filter(LinearGlskGroup.class::isInstance)
                         .map(LinearGlskGroup.class::cast)
                         .flatMap(group -> group.getGlskMap().keySet().stream())
-                        .anyMatch(disabledBuses::contains);
+                        .anyMatch(bus -> disabledBusNums.get(bus.getNum()));
                 }
 
                 // we need to recompute the factor states because the connectivity changed
@@ -625,7 +943,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                     Map<LfBus, Double> slackParticipationByBusForThisConnectivity;
 
                     if (lfParameters.isDistributedSlack()) {
-                        participatingElementsForThisConnectivity = getParticipatingElements(connectivityAnalysisResult.getSlackConnectedComponent(), lfParameters, lfParametersExt); // will also be used to recompute the loadflow
+                        participatingElementsForThisConnectivity = getParticipatingElements(getBuses(lfNetwork, disabledBusNums, false), lfParameters, lfParametersExt); // will also be used to recompute the loadflow
                         slackParticipationByBusForThisConnectivity = participatingElementsForThisConnectivity.stream().collect(Collectors.toMap(
                             element -> lfNetwork.getBusById(element.getLfBus().getId()),
                             element -> -element.getFactor(),
@@ -638,8 +956,8 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                     computeInjectionFactors(slackParticipationByBusForThisConnectivity, factorGroups); // write the right injections in the factor groups
                     factorsStates.reset(); // avoid creating a new matrix to avoid buffer allocation time
                     fillRhsSensitivityVariable(lfNetwork, equationSystem, factorGroups, factorsStates);
-                    j.solveTransposed(factorsStates); // get the states for the new connectivity
-                    setBaseCaseSensitivityValues(factorGroups, factorsStates); // use this state to compute the base sensitivity (without +1-1)
+                    solveTransposed(j, factorsStates, networkFingerprint); // get the states for the new connectivity
+                    setBaseCaseSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates); // use this state to compute the base sensitivity (without +1-1)
                 }
 
                 Set<String> elementsToReconnect = connectivityAnalysisResult.getElementsToReconnect();
@@ -652,7 +970,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                 for (PropagatedContingency contingency : phaseTapChangerContingenciesIndexing.getContingenciesWithoutPhaseTapChangerLoss()) {
                     Collection<ComputedContingencyElement> contingencyElements = contingency.getBranchIdsToOpen().stream().filter(element -> !elementsToReconnect.contains(element)).map(contingencyElementByBranch::get).collect(Collectors.toList());
                     zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), contingency.getContingency().getId(), contingency.getIndex(), 0, Double.NaN));
-                    calculateSensitivityValues(factorGroups, factorsStates, contingenciesStates, flowStates, contingencyElements,
+                    calculateSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates, contingenciesStates, flowStates, contingencyElements,
                             contingency.getContingency().getId(), contingency.getIndex(), valueWriter);
                 }
 
@@ -664,7 +982,7 @@ public class DcSensitivityAnalysis extends AbstractSensitivityAnalysis {
                     for (PropagatedContingency contingency : propagatedContingencies) {
                         Collection<ComputedContingencyElement> contingencyElements = contingency.getBranchIdsToOpen().stream().filter(element -> !elementsToReconnect.contains(element)).map(contingencyElementByBranch::get).collect(Collectors.toList());
                         zeroFactors.forEach(lfFactor -> valueWriter.write(lfFactor.getContext(), contingency.getContingency().getId(), contingency.getIndex(), 0, Double.NaN));
-                        calculateSensitivityValues(factorGroups, factorsStates, contingenciesStates, flowStates, contingencyElements,
+                        calculateSensitivityValues(functionFlowEvaluator, factorGroups, factorsStates, contingenciesStates, flowStates, contingencyElements,
                                 contingency.getContingency().getId(), contingency.getIndex(), valueWriter);
                     }
                 }
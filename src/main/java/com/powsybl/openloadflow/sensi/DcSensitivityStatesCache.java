@@ -0,0 +1,365 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.sensi;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.math.matrix.Matrix;
+import com.powsybl.openloadflow.dc.equations.DcEquationSystemCreationParameters;
+import com.powsybl.openloadflow.network.LfBranch;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.PiModel;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * LRU cache of the states solved by DC sensitivity analysis: the states of the factor groups (PTDF like) and the states
+ * of the +1 -1 injections modelling the contingency elements (LODF like).
+ *
+ * As the DC jacobian only depends on the topology and on the branch impedances, cached states are indexed by a
+ * fingerprint of the network and of the equation system creation parameters, and then by the right hand side column
+ * that has been solved (see {@link RhsKey}). Repeated analyses on the same topology with different injections or with a subset
+ * of the factors reuse the cached states instead of solving them again.
+ *
+ * Both the number of network fingerprints and the total number of cached states are bounded. When there are too many
+ * states, the least recently used states of the least recently used fingerprint are evicted first.
+ *
+ * The cache can be saved to and loaded from a binary file to be shared between processes.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class DcSensitivityStatesCache {
+
+    private static final int MAGIC_NUMBER = 0x4F4C4653;
+
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Default maximum total number of cached states.
+     */
+    public static final int DEFAULT_MAX_STATE_COUNT = 1000;
+
+    /**
+     * Key of a right hand side column: its non zero values with a cheap hash code, the values being compared on hash
+     * collision.
+     */
+    public static final class RhsKey {
+
+        private final int[] rows;
+
+        private final double[] values;
+
+        private final int hashCode;
+
+        private RhsKey(int[] rows, double[] values) {
+            this.rows = rows;
+            this.values = values;
+            long hash = 1;
+            for (int k = 0; k < rows.length; k++) {
+                hash = 31 * hash + rows[k];
+                hash = 31 * hash + Double.doubleToLongBits(values[k]);
+            }
+            hashCode = Long.hashCode(hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RhsKey)) {
+                return false;
+            }
+            RhsKey other = (RhsKey) obj;
+            return hashCode == other.hashCode && Arrays.equals(rows, other.rows) && Arrays.equals(values, other.values);
+        }
+    }
+
+    private static final class StatesEntry {
+
+        private final int rowCount;
+
+        /**
+         * States in access order, the least recently used first.
+         */
+        private final LinkedHashMap<RhsKey, double[]> statesByRhsKey = new LinkedHashMap<>(16, 0.75f, true);
+
+        private StatesEntry(int rowCount) {
+            this.rowCount = rowCount;
+        }
+    }
+
+    private final int capacity;
+
+    private final int maxStateCount;
+
+    /**
+     * Entries in access order, the least recently used first.
+     */
+    private final LinkedHashMap<String, StatesEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int stateCount = 0;
+
+    private long hitCount = 0;
+
+    private long missCount = 0;
+
+    /**
+     * @param capacity maximum number of network fingerprints kept in the cache, the least recently used one being
+     *                 evicted first
+     */
+    public DcSensitivityStatesCache(int capacity) {
+        this(capacity, DEFAULT_MAX_STATE_COUNT);
+    }
+
+    /**
+     * @param capacity maximum number of network fingerprints kept in the cache, the least recently used one being
+     *                 evicted first
+     * @param maxStateCount maximum total number of states kept in the cache, all fingerprints included
+     */
+    public DcSensitivityStatesCache(int capacity, int maxStateCount) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid cache capacity: " + capacity);
+        }
+        if (maxStateCount < 1) {
+            throw new IllegalArgumentException("Invalid cache max state count: " + maxStateCount);
+        }
+        this.capacity = capacity;
+        this.maxStateCount = maxStateCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMaxStateCount() {
+        return maxStateCount;
+    }
+
+    /**
+     * @return number of network fingerprints in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total number of states in the cache
+     */
+    public synchronized int getStateCount() {
+        return stateCount;
+    }
+
+    /**
+     * @return number of states found in the cache since its creation
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of states not found in the cache since its creation
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        stateCount = 0;
+    }
+
+    /**
+     * Compute the fingerprint of everything the DC jacobian depends on: equation system options, bus numbering, slack
+     * bus, branch connections and impedances.
+     */
+    public static String fingerprint(LfNetwork network, DcEquationSystemCreationParameters creationParameters) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(creationParameters);
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putBoolean(creationParameters.isForcePhaseControlOffAndAddAngle1Var())
+                .putBoolean(creationParameters.isUseTransformerRatio())
+                .putInt(network.getBuses().size());
+        for (LfBus bus : network.getBuses()) {
+            hasher.putString(bus.getId(), StandardCharsets.UTF_8)
+                    .putBoolean(bus.isSlack());
+        }
+        for (LfBranch branch : network.getBranches()) {
+            PiModel piModel = branch.getPiModel();
+            hasher.putString(branch.getId(), StandardCharsets.UTF_8)
+                    .putInt(branch.getBus1() != null ? branch.getBus1().getNum() : -1)
+                    .putInt(branch.getBus2() != null ? branch.getBus2().getNum() : -1)
+                    .putDouble(piModel.getX())
+                    .putDouble(piModel.getR1())
+                    .putBoolean(branch.hasPhaseControlCapability());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Compute the key of a column of a right hand side matrix from its non zero values.
+     */
+    public static RhsKey rhsKey(Matrix rhs, int column) {
+        Objects.requireNonNull(rhs);
+        int[] count = new int[1];
+        rhs.iterateNonZeroValueOfColumn(column, (i, j, value) -> {
+            if (value != 0) {
+                count[0]++;
+            }
+        });
+        int[] rows = new int[count[0]];
+        double[] values = new double[count[0]];
+        count[0] = 0;
+        rhs.iterateNonZeroValueOfColumn(column, (i, j, value) -> {
+            if (value != 0) {
+                rows[count[0]] = i;
+                values[count[0]] = value;
+                count[0]++;
+            }
+        });
+        return new RhsKey(rows, values);
+    }
+
+    /**
+     * Get a cached state.
+     * @return a copy of the cached state or null if not found
+     */
+    public synchronized double[] getState(String fingerprint, int rowCount, RhsKey rhsKey) {
+        Objects.requireNonNull(fingerprint);
+        Objects.requireNonNull(rhsKey);
+        StatesEntry entry = entries.get(fingerprint);
+        double[] state = entry != null && entry.rowCount == rowCount ? entry.statesByRhsKey.get(rhsKey) : null;
+        if (state == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return state.clone();
+    }
+
+    public synchronized void putState(String fingerprint, RhsKey rhsKey, double[] state) {
+        Objects.requireNonNull(fingerprint);
+        Objects.requireNonNull(rhsKey);
+        Objects.requireNonNull(state);
+        StatesEntry entry = entries.get(fingerprint);
+        if (entry == null || entry.rowCount != state.length) {
+            if (entry != null) {
+                stateCount -= entry.statesByRhsKey.size();
+            }
+            entry = new StatesEntry(state.length);
+            entries.put(fingerprint, entry);
+        }
+        if (entry.statesByRhsKey.put(rhsKey, state.clone()) == null) {
+            stateCount++;
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<StatesEntry> it = entries.values().iterator();
+        while (entries.size() > capacity) {
+            stateCount -= it.next().statesByRhsKey.size();
+            it.remove();
+        }
+        it = entries.values().iterator();
+        while (stateCount > maxStateCount) {
+            StatesEntry eldest = it.next();
+            Iterator<double[]> stateIt = eldest.statesByRhsKey.values().iterator();
+            while (stateCount > maxStateCount && stateIt.hasNext()) {
+                stateIt.next();
+                stateIt.remove();
+                stateCount--;
+            }
+            if (eldest.statesByRhsKey.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void save(Path file) {
+        Objects.requireNonNull(file);
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            os.writeInt(MAGIC_NUMBER);
+            os.writeInt(FORMAT_VERSION);
+            os.writeInt(entries.size());
+            // eldest first, so that the access order is kept when loading
+            for (Map.Entry<String, StatesEntry> e : entries.entrySet()) {
+                os.writeUTF(e.getKey());
+                StatesEntry entry = e.getValue();
+                os.writeInt(entry.rowCount);
+                os.writeInt(entry.statesByRhsKey.size());
+                for (Map.Entry<RhsKey, double[]> e2 : entry.statesByRhsKey.entrySet()) {
+                    RhsKey rhsKey = e2.getKey();
+                    os.writeInt(rhsKey.rows.length);
+                    for (int k = 0; k < rhsKey.rows.length; k++) {
+                        os.writeInt(rhsKey.rows[k]);
+                        os.writeDouble(rhsKey.values[k]);
+                    }
+                    for (double value : e2.getValue()) {
+                        os.writeDouble(value);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static DcSensitivityStatesCache load(Path file, int capacity) {
+        return load(file, capacity, DEFAULT_MAX_STATE_COUNT);
+    }
+
+    public static DcSensitivityStatesCache load(Path file, int capacity, int maxStateCount) {
+        Objects.requireNonNull(file);
+        DcSensitivityStatesCache cache = new DcSensitivityStatesCache(capacity, maxStateCount);
+        try (DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (is.readInt() != MAGIC_NUMBER) {
+                throw new PowsyblException("Not a DC sensitivity states cache file: " + file);
+            }
+            int version = is.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new PowsyblException("Unsupported DC sensitivity states cache format version: " + version);
+            }
+            int entryCount = is.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String fingerprint = is.readUTF();
+                int rowCount = is.readInt();
+                int stateCount = is.readInt();
+                for (int j = 0; j < stateCount; j++) {
+                    int valueCount = is.readInt();
+                    int[] rows = new int[valueCount];
+                    double[] values = new double[valueCount];
+                    for (int k = 0; k < valueCount; k++) {
+                        rows[k] = is.readInt();
+                        values[k] = is.readDouble();
+                    }
+                    RhsKey rhsKey = new RhsKey(rows, values);
+                    double[] state = new double[rowCount];
+                    for (int k = 0; k < state.length; k++) {
+                        state[k] = is.readDouble();
+                    }
+                    // eldest first, the bounds of the loading cache apply
+                    cache.putState(fingerprint, rhsKey, state);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return cache;
+    }
+}
@@ -14,8 +14,28 @@ import com.powsybl.sensitivity.SensitivityAnalysisParameters;
  */
 public class OpenSensitivityAnalysisParameters extends AbstractExtension<SensitivityAnalysisParameters> {
 
+    public static final int THREAD_COUNT_DEFAULT_VALUE = 1;
+
+    private int threadCount = THREAD_COUNT_DEFAULT_VALUE;
+
     @Override
     public String getName() {
         return "OpenSensitivityAnalysisParameters";
     }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Number of threads used to simulate contingencies in AC sensitivity analysis, each thread working on its own
+     * copy of the network.
+     */
+    public OpenSensitivityAnalysisParameters setThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+        }
+        this.threadCount = threadCount;
+        return this;
+    }
 }
@@ -48,11 +48,16 @@ public class OpenSensitivityAnalysisProvider implements SensitivityAnalysisProvi
     }
 
     public OpenSensitivityAnalysisProvider(MatrixFactory matrixFactory) {
-        this(matrixFactory, EvenShiloachGraphDecrementalConnectivity::new);
+        this(matrixFactory, () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
     }
 
     public OpenSensitivityAnalysisProvider(MatrixFactory matrixFactory, Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider) {
-        dcSensitivityAnalysis = new DcSensitivityAnalysis(matrixFactory, connectivityProvider);
+        this(matrixFactory, connectivityProvider, null);
+    }
+
+    public OpenSensitivityAnalysisProvider(MatrixFactory matrixFactory, Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider,
+                                           DcSensitivityStatesCache dcStatesCache) {
+        dcSensitivityAnalysis = new DcSensitivityAnalysis(matrixFactory, connectivityProvider, dcStatesCache);
         acSensitivityAnalysis = new AcSensitivityAnalysis(matrixFactory, connectivityProvider);
     }
 
@@ -107,11 +112,12 @@ public class OpenSensitivityAnalysisProvider implements SensitivityAnalysisProvi
 
         LoadFlowParameters lfParameters = sensitivityAnalysisParameters.getLoadFlowParameters();
         OpenLoadFlowParameters lfParametersExt = getLoadFlowParametersExtension(lfParameters);
+        OpenSensitivityAnalysisParameters sensiParametersExt = getSensitivityAnalysisParametersExtension(sensitivityAnalysisParameters);
 
         if (lfParameters.isDc()) {
             dcSensitivityAnalysis.analyse(network, propagatedContingencies, lfParameters, lfParametersExt, factorReader, valueWriter);
         } else {
-            acSensitivityAnalysis.analyse(network, propagatedContingencies, lfParameters, lfParametersExt, factorReader, valueWriter);
+            acSensitivityAnalysis.analyse(network, propagatedContingencies, lfParameters, lfParametersExt, sensiParametersExt, factorReader, valueWriter);
         }
     }
 }
@@ -26,6 +26,7 @@ public class BusState {
     private final boolean disabled;
     private final boolean isVoltageControllerEnabled;
     private final double generationTargetQ;
+    private final int modificationCount;
 
     public BusState(LfBus b) {
         this.v = b.getV();
@@ -36,24 +37,31 @@ public class BusState {
         this.disabled = b.isDisabled();
         this.isVoltageControllerEnabled = b.isVoltageControllerEnabled();
         this.generationTargetQ = b.getGenerationTargetQ();
+        this.modificationCount = b.getModificationCount();
     }
 
     public void restoreBusState(LfBus bus) {
+        // targets and voltage control status have not to be restored if not modified since the state has been saved
+        boolean modified = bus.getModificationCount() != modificationCount;
         restoreBusActiveState(bus);
         bus.setV(v);
-        bus.setLoadTargetQ(loadTargetQ);
-        bus.setGenerationTargetQ(generationTargetQ);
+        if (modified) {
+            bus.setLoadTargetQ(loadTargetQ);
+            bus.setGenerationTargetQ(generationTargetQ);
+            bus.setVoltageControllerEnabled(isVoltageControllerEnabled);
+        }
         bus.setDisabled(disabled);
-        bus.setVoltageControllerEnabled(isVoltageControllerEnabled);
         bus.setVoltageControlSwitchOffCount(0);
     }
 
     public void restoreBusActiveState(LfBus bus) {
         bus.setAngle(angle);
-        bus.setLoadTargetP(loadTargetP);
-        bus.getGenerators().forEach(g -> {
-            g.setTargetP(generatorsTargetP.get(g.getId()));
-        });
+        if (bus.getModificationCount() != modificationCount) {
+            bus.setLoadTargetP(loadTargetP);
+            bus.getGenerators().forEach(g -> {
+                g.setTargetP(generatorsTargetP.get(g.getId()));
+            });
+        }
     }
 
     /**
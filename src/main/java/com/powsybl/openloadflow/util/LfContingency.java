@@ -14,6 +14,7 @@ import com.powsybl.openloadflow.equations.EquationSystem;
 import com.powsybl.openloadflow.equations.EquationTerm;
 import com.powsybl.openloadflow.network.ElementType;
 import com.powsybl.openloadflow.graph.GraphDecrementalConnectivity;
+import com.powsybl.openloadflow.graph.TwoEdgeConnectivityIndex;
 import com.powsybl.openloadflow.network.LfBranch;
 import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfNetwork;
@@ -24,7 +25,6 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -77,7 +77,18 @@ public class LfContingency {
 
     public static List<LfContingency> createContingencies(List<PropagatedContingency> propagatedContingencies, LfNetwork network,
                                                           GraphDecrementalConnectivity<LfBus> connectivity, boolean useSmallComponents) {
+        return createContingencies(propagatedContingencies, network, connectivity, useSmallComponents, true);
+    }
+
+    /**
+     * @param useBridgeTree if true, single branch contingencies are answered by the bridge tree of the network instead
+     *                      of cutting the decremental connectivity
+     */
+    public static List<LfContingency> createContingencies(List<PropagatedContingency> propagatedContingencies, LfNetwork network,
+                                                          GraphDecrementalConnectivity<LfBus> connectivity, boolean useSmallComponents,
+                                                          boolean useBridgeTree) {
         List<LfContingency> contingencies = new ArrayList<>();
+        BitSet disconnectedBusNums = new BitSet(network.getBuses().size()); // reused for all contingencies
         Iterator<PropagatedContingency> contingencyContextIt = propagatedContingencies.iterator();
         while (contingencyContextIt.hasNext()) {
             PropagatedContingency propagatedContingency = contingencyContextIt.next();
@@ -105,6 +116,17 @@ public class LfContingency {
                 continue;
             }
 
+            // single branch contingencies, the most common ones, are directly answered by the bridge tree
+            List<LfBus> islandedBuses = useBridgeTree ? getIslandedBuses(network, branches, useSmallComponents) : null;
+            if (islandedBuses != null) {
+                Set<LfBus> buses = new HashSet<>(islandedBuses);
+                for (LfBus bus : islandedBuses) {
+                    branches.addAll(bus.getBranches());
+                }
+                contingencies.add(new LfContingency(propagatedContingency.getContingency(), propagatedContingency.getIndex(), buses, branches));
+                continue;
+            }
+
             // update connectivity with triggered branches
             for (LfBranch branch : branches) {
                 connectivity.cut(branch.getBus1(), branch.getBus2());
@@ -112,14 +134,17 @@ public class LfContingency {
 
             // add to contingency description buses and branches that won't be part of the main connected
             // component in post contingency state
-            Set<LfBus> buses;
             if (useSmallComponents) {
-                buses = connectivity.getSmallComponents().stream().flatMap(Set::stream).collect(Collectors.toSet());
+                connectivity.fillSmallComponentsVertexNums(disconnectedBusNums);
             } else {
-                int slackBusComponent = connectivity.getComponentNumber(network.getSlackBus());
-                buses = network.getBuses().stream().filter(b -> connectivity.getComponentNumber(b) != slackBusComponent).collect(Collectors.toSet());
+                connectivity.fillNonConnectedVertexNums(network.getSlackBus(), disconnectedBusNums);
+            }
+            Set<LfBus> buses = new HashSet<>(disconnectedBusNums.cardinality());
+            for (int num = disconnectedBusNums.nextSetBit(0); num >= 0; num = disconnectedBusNums.nextSetBit(num + 1)) {
+                LfBus bus = network.getBus(num);
+                buses.add(bus);
+                branches.addAll(bus.getBranches());
             }
-            buses.forEach(b -> branches.addAll(b.getBranches()));
 
             // reset connectivity to discard triggered branches
             connectivity.reset();
@@ -130,6 +155,30 @@ public class LfContingency {
         return contingencies;
     }
 
+    /**
+     * Get the buses islanded by a single branch contingency using the bridge tree of the network.
+     * @return null if the contingency cannot be answered by the bridge tree and requires the decremental connectivity
+     */
+    private static List<LfBus> getIslandedBuses(LfNetwork network, Set<LfBranch> branches, boolean useSmallComponents) {
+        if (branches.size() != 1) {
+            return null;
+        }
+        LfBranch branch = branches.iterator().next();
+        if (branch.getBus1() == null || branch.getBus2() == null) {
+            return null;
+        }
+        TwoEdgeConnectivityIndex<LfBus, LfBranch> index = network.getTwoEdgeConnectivityIndex();
+        if (!index.isConnected()) {
+            return null;
+        }
+        List<LfBus> islandedBuses = index.getDisconnectedVertices(branch);
+        // small components are the ones not being the largest: the slack side has to be strictly larger
+        if (useSmallComponents && 2 * islandedBuses.size() >= network.getBuses().size()) {
+            return null;
+        }
+        return islandedBuses;
+    }
+
     public static void deactivateEquations(LfContingency lfContingency, EquationSystem equationSystem, List<Equation> deactivatedEquations, List<EquationTerm> deactivatedEquationTerms) {
         for (LfBranch branch : lfContingency.getBranches()) {
             LOGGER.trace("Remove equations and equations terms related to branch '{}'", branch.getId());
@@ -41,6 +41,18 @@ public final class ParameterConstants {
     public static final String ADD_RATIO_TO_LINES_WITH_DIFFERENT_NOMINAL_VOLTAGE_AT_BOTH_ENDS_NAME = "addRatioToLinesWithDifferentNominalVoltageAtBothEnds";
     public static final boolean ADD_RATIO_TO_LINES_WITH_DIFFERENT_NOMINAL_VOLTAGE_AT_BOTH_ENDS_DEFAULT_VALUE = false;
 
+    public static final String NETWORK_CACHE_ENABLED_PARAM_NAME = "networkCacheEnabled";
+    public static final boolean NETWORK_CACHE_ENABLED_DEFAULT_VALUE = false;
+
+    public static final String MERGE_ZERO_IMPEDANCE_BUSES_PARAM_NAME = "mergeZeroImpedanceBuses";
+    public static final boolean MERGE_ZERO_IMPEDANCE_BUSES_DEFAULT_VALUE = false;
+
+    public static final String THREAD_COUNT_PARAM_NAME = "threadCount";
+    public static final int THREAD_COUNT_DEFAULT_VALUE = 1;
+
+    public static final String PARALLEL_NETWORK_CREATION_PARAM_NAME = "parallelNetworkCreation";
+    public static final boolean PARALLEL_NETWORK_CREATION_DEFAULT_VALUE = false;
+
     private ParameterConstants() {
     }
 }
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Counters and timings of the different phases of a load flow run: network loading, equation system creation,
+ * Jacobian matrix build and value updates, LU decompositions and solves, Newton-Raphson iterations and time spent in
+ * each outer loop (slack distribution, reactive limits, etc).
+ *
+ * Metrics are collected without synchronization, so one instance must not be shared between concurrent runs. Times
+ * are measured in nanoseconds and exported in milliseconds.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class PerformanceMetrics {
+
+    public static final String INITIAL_NEWTON_RAPHSON = "Initial";
+
+    private long networkLoadingTime;
+
+    private long equationSystemCreationTime;
+
+    private int jacobianBuildCount;
+
+    private long jacobianBuildTime;
+
+    private int jacobianUpdateCount;
+
+    private long jacobianUpdateTime;
+
+    private int luDecompositionCount;
+
+    private long luDecompositionTime;
+
+    private int luUpdateCount;
+
+    private long luUpdateTime;
+
+    private int luSolveCount;
+
+    private long luSolveTime;
+
+    private final Map<String, Integer> newtonRaphsonIterationsByOuterLoop = new TreeMap<>();
+
+    private final Map<String, Integer> outerLoopIterationsByType = new TreeMap<>();
+
+    private final Map<String, Long> outerLoopTimeByType = new TreeMap<>();
+
+    public void addNetworkLoading(long time) {
+        networkLoadingTime += time;
+    }
+
+    public void addEquationSystemCreation(long time) {
+        equationSystemCreationTime += time;
+    }
+
+    public void addJacobianBuild(long time) {
+        jacobianBuildCount++;
+        jacobianBuildTime += time;
+    }
+
+    public void addJacobianUpdate(long time) {
+        jacobianUpdateCount++;
+        jacobianUpdateTime += time;
+    }
+
+    public void addLuDecomposition(long time) {
+        luDecompositionCount++;
+        luDecompositionTime += time;
+    }
+
+    public void addLuUpdate(long time) {
+        luUpdateCount++;
+        luUpdateTime += time;
+    }
+
+    public void addLuSolve(long time) {
+        luSolveCount++;
+        luSolveTime += time;
+    }
+
+    /**
+     * Add Newton-Raphson iterations run after a given outer loop, or {@link #INITIAL_NEWTON_RAPHSON} for the first
+     * Newton-Raphson run.
+     */
+    public void addNewtonRaphsonIterations(String outerLoopType, int iterations) {
+        newtonRaphsonIterationsByOuterLoop.merge(Objects.requireNonNull(outerLoopType), iterations, Integer::sum);
+    }
+
+    public void addOuterLoopIterations(String outerLoopType, int iterations) {
+        outerLoopIterationsByType.merge(Objects.requireNonNull(outerLoopType), iterations, Integer::sum);
+    }
+
+    public void addOuterLoopTime(String outerLoopType, long time) {
+        outerLoopTimeByType.merge(Objects.requireNonNull(outerLoopType), time, Long::sum);
+    }
+
+    public long getNetworkLoadingTime() {
+        return networkLoadingTime;
+    }
+
+    public long getEquationSystemCreationTime() {
+        return equationSystemCreationTime;
+    }
+
+    public int getJacobianBuildCount() {
+        return jacobianBuildCount;
+    }
+
+    public long getJacobianBuildTime() {
+        return jacobianBuildTime;
+    }
+
+    public int getJacobianUpdateCount() {
+        return jacobianUpdateCount;
+    }
+
+    public long getJacobianUpdateTime() {
+        return jacobianUpdateTime;
+    }
+
+    public int getLuDecompositionCount() {
+        return luDecompositionCount;
+    }
+
+    public long getLuDecompositionTime() {
+        return luDecompositionTime;
+    }
+
+    public int getLuUpdateCount() {
+        return luUpdateCount;
+    }
+
+    public long getLuUpdateTime() {
+        return luUpdateTime;
+    }
+
+    public int getLuSolveCount() {
+        return luSolveCount;
+    }
+
+    public long getLuSolveTime() {
+        return luSolveTime;
+    }
+
+    public Map<String, Integer> getNewtonRaphsonIterationsByOuterLoop() {
+        return newtonRaphsonIterationsByOuterLoop;
+    }
+
+    public Map<String, Integer> getOuterLoopIterationsByType() {
+        return outerLoopIterationsByType;
+    }
+
+    public Map<String, Long> getOuterLoopTimeByType() {
+        return outerLoopTimeByType;
+    }
+
+    public void reset() {
+        networkLoadingTime = 0;
+        equationSystemCreationTime = 0;
+        jacobianBuildCount = 0;
+        jacobianBuildTime = 0;
+        jacobianUpdateCount = 0;
+        jacobianUpdateTime = 0;
+        luDecompositionCount = 0;
+        luDecompositionTime = 0;
+        luUpdateCount = 0;
+        luUpdateTime = 0;
+        luSolveCount = 0;
+        luSolveTime = 0;
+        newtonRaphsonIterationsByOuterLoop.clear();
+        outerLoopIterationsByType.clear();
+        outerLoopTimeByType.clear();
+    }
+
+    public PerformanceMetrics add(PerformanceMetrics other) {
+        Objects.requireNonNull(other);
+        networkLoadingTime += other.networkLoadingTime;
+        equationSystemCreationTime += other.equationSystemCreationTime;
+        jacobianBuildCount += other.jacobianBuildCount;
+        jacobianBuildTime += other.jacobianBuildTime;
+        jacobianUpdateCount += other.jacobianUpdateCount;
+        jacobianUpdateTime += other.jacobianUpdateTime;
+        luDecompositionCount += other.luDecompositionCount;
+        luDecompositionTime += other.luDecompositionTime;
+        luUpdateCount += other.luUpdateCount;
+        luUpdateTime += other.luUpdateTime;
+        luSolveCount += other.luSolveCount;
+        luSolveTime += other.luSolveTime;
+        other.newtonRaphsonIterationsByOuterLoop.forEach(this::addNewtonRaphsonIterations);
+        other.outerLoopIterationsByType.forEach(this::addOuterLoopIterations);
+        other.outerLoopTimeByType.forEach(this::addOuterLoopTime);
+        return this;
+    }
+
+    public PerformanceMetrics copy() {
+        return new PerformanceMetrics().add(this);
+    }
+
+    private static String toMillis(long time) {
+        return String.format(Locale.US, "%.3f", time / 1e6);
+    }
+
+    /**
+     * Export metrics to a load flow result metrics map.
+     */
+    public void export(Map<String, String> metrics) {
+        Objects.requireNonNull(metrics);
+        metrics.put("network_loading_time_ms", toMillis(networkLoadingTime));
+        metrics.put("equation_system_creation_time_ms", toMillis(equationSystemCreationTime));
+        metrics.put("jacobian_build_count", Integer.toString(jacobianBuildCount));
+        metrics.put("jacobian_build_time_ms", toMillis(jacobianBuildTime));
+        metrics.put("jacobian_update_count", Integer.toString(jacobianUpdateCount));
+        metrics.put("jacobian_update_time_ms", toMillis(jacobianUpdateTime));
+        metrics.put("lu_decomposition_count", Integer.toString(luDecompositionCount));
+        metrics.put("lu_decomposition_time_ms", toMillis(luDecompositionTime));
+        metrics.put("lu_update_count", Integer.toString(luUpdateCount));
+        metrics.put("lu_update_time_ms", toMillis(luUpdateTime));
+        metrics.put("lu_solve_count", Integer.toString(luSolveCount));
+        metrics.put("lu_solve_time_ms", toMillis(luSolveTime));
+        newtonRaphsonIterationsByOuterLoop.forEach((type, iterations) -> metrics.put("newton_raphson_iterations[" + type + "]", Integer.toString(iterations)));
+        outerLoopIterationsByType.forEach((type, iterations) -> metrics.put("outer_loop_iterations[" + type + "]", Integer.toString(iterations)));
+        outerLoopTimeByType.forEach((type, time) -> metrics.put("outer_loop_time_ms[" + type + "]", toMillis(time)));
+    }
+}
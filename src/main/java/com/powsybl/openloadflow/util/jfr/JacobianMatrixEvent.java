@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of a Jacobian matrix operation: full build of the matrix, update of its values, LU
+ * decomposition or LU refactorization with the same structure.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@Name("com.powsybl.openloadflow.JacobianMatrix")
+@Label("Jacobian Matrix")
+@Category({"PowSyBl", "Open Load Flow"})
+@StackTrace(false)
+public final class JacobianMatrixEvent extends Event {
+
+    public static final String BUILD = "Build";
+    public static final String UPDATE = "Update";
+    public static final String LU_DECOMPOSITION = "LU decomposition";
+    public static final String LU_UPDATE = "LU update";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Non Zero Values")
+    private int nonZeroValueCount;
+
+    /**
+     * Set the event fields and commit it, only if it has to be recorded.
+     */
+    public void record(String operation, int nonZeroValueCount) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.nonZeroValueCount = nonZeroValueCount;
+            commit();
+        }
+    }
+}
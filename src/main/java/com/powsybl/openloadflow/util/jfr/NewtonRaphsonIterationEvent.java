@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of one Newton-Raphson iteration, from the linear system solve to the stopping criteria test.
+ *
+ * Fields are only set if the event is recorded, so that the cost is limited to the creation of the event when Flight
+ * Recorder is not running or when the event is disabled.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@Name("com.powsybl.openloadflow.NewtonRaphsonIteration")
+@Label("Newton-Raphson Iteration")
+@Category({"PowSyBl", "Open Load Flow"})
+@StackTrace(false)
+public final class NewtonRaphsonIterationEvent extends Event {
+
+    @Label("Network")
+    private int networkNum;
+
+    @Label("Iteration")
+    private int iteration;
+
+    @Label("Mismatch Norm")
+    private double norm;
+
+    @Label("Status")
+    private String status;
+
+    /**
+     * Set the event fields and commit it, only if it has to be recorded.
+     */
+    public void record(int networkNum, int iteration, double norm, String status) {
+        if (shouldCommit()) {
+            this.networkNum = networkNum;
+            this.iteration = iteration;
+            this.norm = norm;
+            this.status = status;
+            commit();
+        }
+    }
+}
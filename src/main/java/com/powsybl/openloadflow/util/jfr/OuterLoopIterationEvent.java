@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of one outer loop iteration: check of the outer loop and, if unstable, Newton-Raphson restart.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@Name("com.powsybl.openloadflow.OuterLoopIteration")
+@Label("Outer Loop Iteration")
+@Category({"PowSyBl", "Open Load Flow"})
+@StackTrace(false)
+public final class OuterLoopIterationEvent extends Event {
+
+    @Label("Network")
+    private int networkNum;
+
+    @Label("Type")
+    private String type;
+
+    @Label("Iteration")
+    private int iteration;
+
+    @Label("Status")
+    private String status;
+
+    /**
+     * Set the event fields and commit it, only if it has to be recorded.
+     */
+    public void record(int networkNum, String type, int iteration, String status) {
+        if (shouldCommit()) {
+            this.networkNum = networkNum;
+            this.type = type;
+            this.iteration = iteration;
+            this.status = status;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of the simulation of a contingency by the security analysis.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@Name("com.powsybl.openloadflow.PostContingencySimulation")
+@Label("Post Contingency Simulation")
+@Category({"PowSyBl", "Open Load Flow"})
+@StackTrace(false)
+public final class PostContingencySimulationEvent extends Event {
+
+    @Label("Contingency")
+    private String contingencyId;
+
+    @Label("Network")
+    private int networkNum;
+
+    @Label("Newton-Raphson Iterations")
+    private int newtonRaphsonIterations;
+
+    @Label("Status")
+    private String status;
+
+    @Label("Limit Violations")
+    private int limitViolationCount;
+
+    /**
+     * Set the event fields and commit it, only if it has to be recorded.
+     */
+    public void record(String contingencyId, int networkNum, int newtonRaphsonIterations, String status, int limitViolationCount) {
+        if (shouldCommit()) {
+            this.contingencyId = contingencyId;
+            this.networkNum = networkNum;
+            this.newtonRaphsonIterations = newtonRaphsonIterations;
+            this.status = status;
+            this.limitViolationCount = limitViolationCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event of the solve of a block of right hand sides by a sensitivity analysis.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@Name("com.powsybl.openloadflow.SensitivitySolve")
+@Label("Sensitivity Solve")
+@Category({"PowSyBl", "Open Load Flow"})
+@StackTrace(false)
+public final class SensitivitySolveEvent extends Event {
+
+    @Label("Analysis")
+    private String analysis;
+
+    @Label("Contingency")
+    private String contingencyId;
+
+    @Label("Rows")
+    private int rowCount;
+
+    @Label("Columns")
+    private int columnCount;
+
+    /**
+     * Set the event fields and commit it, only if it has to be recorded.
+     */
+    public void record(String analysis, String contingencyId, int rowCount, int columnCount) {
+        if (shouldCommit()) {
+            this.analysis = analysis;
+            this.contingencyId = contingencyId;
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            commit();
+        }
+    }
+}
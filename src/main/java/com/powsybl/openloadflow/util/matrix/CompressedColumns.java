@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.math.matrix.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * Column oriented copy of the values of a {@link Matrix} or of a list of triplets, with sorted row indices and without
+ * duplicates, to be read by the pure Java decompositions of this package.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class CompressedColumns {
+
+    private final int rowCount;
+
+    private final int columnCount;
+
+    private final int[] columnStart;
+
+    private final int[] rowIndices;
+
+    private final double[] values;
+
+    private CompressedColumns(int rowCount, int columnCount, int[] columnStart, int[] rowIndices, double[] values) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.columnStart = columnStart;
+        this.rowIndices = rowIndices;
+        this.values = values;
+    }
+
+    private static final class Triplets {
+
+        private int[] rows = new int[16];
+
+        private int[] columns = new int[16];
+
+        private double[] values = new double[16];
+
+        private int size = 0;
+
+        private void add(int row, int column, double value) {
+            if (value == 0) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, 2 * size);
+                columns = Arrays.copyOf(columns, 2 * size);
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            rows[size] = row;
+            columns[size] = column;
+            values[size] = value;
+            size++;
+        }
+    }
+
+    static CompressedColumns read(Matrix matrix) {
+        Triplets triplets = new Triplets();
+        matrix.iterateNonZeroValue(triplets::add);
+        return create(matrix.getRowCount(), matrix.getColumnCount(), triplets.rows, triplets.columns, triplets.values,
+                triplets.size);
+    }
+
+    static CompressedColumns create(int rowCount, int columnCount, int[] rows, int[] columns, double[] values, int valueCount) {
+        return create(rowCount, columnCount, rows, columns, values, valueCount, false, null);
+    }
+
+    /**
+     * @param keepZeros if true, values summing to zero are kept so that the structure does not depend on the values
+     * @param positions if not null, filled with the index in the compressed values of each triplet, or -1 if removed
+     */
+    static CompressedColumns create(int rowCount, int columnCount, int[] rows, int[] columns, double[] values, int valueCount,
+                                    boolean keepZeros, int[] positions) {
+        // bucket values by row, then by column iterating rows in order, so that row indices are sorted in each column
+        int[] rowStart = new int[rowCount + 1];
+        for (int p = 0; p < valueCount; p++) {
+            rowStart[rows[p] + 1]++;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] byRow = new int[valueCount];
+        int[] rowPosition = Arrays.copyOf(rowStart, rowCount);
+        for (int p = 0; p < valueCount; p++) {
+            byRow[rowPosition[rows[p]]++] = p;
+        }
+
+        int[] columnStart = new int[columnCount + 1];
+        for (int p = 0; p < valueCount; p++) {
+            columnStart[columns[p] + 1]++;
+        }
+        for (int j = 0; j < columnCount; j++) {
+            columnStart[j + 1] += columnStart[j];
+        }
+        int[] columnPosition = Arrays.copyOf(columnStart, columnCount);
+        int[] sortedRows = new int[valueCount];
+        double[] sortedValues = new double[valueCount];
+        int[] sortedTriplets = positions != null ? new int[valueCount] : null;
+        for (int q = 0; q < valueCount; q++) {
+            int p = byRow[q];
+            int position = columnPosition[columns[p]]++;
+            sortedRows[position] = rows[p];
+            sortedValues[position] = values[p];
+            if (sortedTriplets != null) {
+                sortedTriplets[position] = p;
+            }
+        }
+
+        // sum duplicates, which are now contiguous, and remove zeros
+        int[] compressedColumnStart = new int[columnCount + 1];
+        int compressedCount = 0;
+        for (int j = 0; j < columnCount; j++) {
+            int p = columnStart[j];
+            while (p < columnStart[j + 1]) {
+                int row = sortedRows[p];
+                int first = p;
+                double value = 0;
+                while (p < columnStart[j + 1] && sortedRows[p] == row) {
+                    value += sortedValues[p++];
+                }
+                boolean kept = keepZeros || value != 0;
+                if (sortedTriplets != null) {
+                    for (int q = first; q < p; q++) {
+                        positions[sortedTriplets[q]] = kept ? compressedCount : -1;
+                    }
+                }
+                if (kept) {
+                    sortedRows[compressedCount] = row;
+                    sortedValues[compressedCount] = value;
+                    compressedCount++;
+                }
+            }
+            compressedColumnStart[j + 1] = compressedCount;
+        }
+        return new CompressedColumns(rowCount, columnCount, compressedColumnStart, Arrays.copyOf(sortedRows, compressedCount),
+                Arrays.copyOf(sortedValues, compressedCount));
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    int getColumnCount() {
+        return columnCount;
+    }
+
+    int[] getColumnStart() {
+        return columnStart;
+    }
+
+    int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    double[] getValues() {
+        return values;
+    }
+
+    int getValueCount() {
+        return columnStart[columnCount];
+    }
+
+    /**
+     * @return value at given row and column, zero if not stored
+     */
+    double get(int row, int column) {
+        int p = Arrays.binarySearch(rowIndices, columnStart[column], columnStart[column + 1], row);
+        return p >= 0 ? values[p] : 0;
+    }
+
+    /**
+     * @return true if this matrix is square and symmetric, values being compared with a relative tolerance
+     */
+    boolean isSymmetric(double tolerance) {
+        if (rowCount != columnCount) {
+            return false;
+        }
+        for (int j = 0; j < columnCount; j++) {
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                int i = rowIndices[p];
+                if (i != j) {
+                    double value = values[p];
+                    double transposedValue = get(j, i);
+                    if (Math.abs(value - transposedValue) > tolerance * Math.max(Math.abs(value), Math.abs(transposedValue))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.LUDecomposition;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Pure Java sparse LU decomposition of a {@link JavaSparseMatrix}, so PAQ = LU.
+ *
+ * Columns are first reordered (Q) with a fill reducing ordering, then the matrix is factorized with the left-looking
+ * algorithm of Gilbert and Peierls, as in T. Davis CSparse package: each column of L and U is obtained by a sparse
+ * triangular solve whose non zero pattern is computed by a depth first search in the graph of L. Rows are permuted
+ * (P) by partial pivoting, the diagonal being preferred as long as it is not too small compared to the largest
+ * candidate, which keeps the fill reducing ordering effective.
+ *
+ * The ordering and the pattern of the factors are kept by {@link #update()}, which only recomputes the values when the
+ * structure of the matrix has not changed and the previous pivots are still acceptable. A full factorization is done
+ * otherwise.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class JavaSparseLUDecomposition implements LUDecomposition {
+
+    /**
+     * A diagonal pivot is chosen if its magnitude is at least this ratio of the largest candidate one.
+     */
+    private static final double PIVOT_TOLERANCE = 0.001;
+
+    private final JavaSparseMatrix matrix;
+
+    private final int size;
+
+    private int valueCount;
+
+    /**
+     * Index in the compressed values of each value of the matrix.
+     */
+    private int[] positions;
+
+    private CompressedColumns a;
+
+    /**
+     * Matrix column of each factor column.
+     */
+    private int[] q;
+
+    /**
+     * Factor row of each matrix row.
+     */
+    private int[] pinv;
+
+    /**
+     * L is unit lower triangular, the diagonal being the first value of each column. Row indices are factor rows.
+     */
+    private int[] lColumnStart;
+
+    private int[] lRowIndices;
+
+    private double[] lValues;
+
+    /**
+     * U is upper triangular, the diagonal being the last value of each column.
+     */
+    private int[] uColumnStart;
+
+    private int[] uRowIndices;
+
+    private double[] uValues;
+
+    /**
+     * Factor rows reached by the triangular solve of each column, in topological order, used to refactorize with the
+     * same pattern.
+     */
+    private int[] reachStart;
+
+    private int[] reachIndices;
+
+    private final double[] x;
+
+    public JavaSparseLUDecomposition(JavaSparseMatrix matrix) {
+        this.matrix = Objects.requireNonNull(matrix);
+        if (matrix.getRowCount() != matrix.getColumnCount()) {
+            throw new IllegalArgumentException("Matrix is not square: " + matrix.getRowCount() + " rows and "
+                    + matrix.getColumnCount() + " columns");
+        }
+        size = matrix.getRowCount();
+        x = new double[size];
+        analyze();
+        factorize();
+    }
+
+    private void analyze() {
+        valueCount = matrix.getValueCount();
+        positions = new int[valueCount];
+        a = CompressedColumns.create(size, size, matrix.getRowIndices(), matrix.getColumnIndices(), matrix.getValues(),
+                valueCount, true, positions);
+        switch (matrix.getOrdering()) {
+            case NATURAL:
+                q = new int[size];
+                Arrays.setAll(q, k -> k);
+                break;
+            case MINIMUM_DEGREE:
+                q = MinimumDegreeOrdering.orderSymmetrized(a);
+                break;
+            case COLUMN_MINIMUM_DEGREE:
+                q = MinimumDegreeOrdering.orderColumns(a);
+                break;
+            default:
+                throw new IllegalStateException("Unknown ordering: " + matrix.getOrdering());
+        }
+    }
+
+    /**
+     * Non zero pattern of the solution of L x = A(:, column), in topological order, the result being stored at the
+     * end of {@code reach} from returned index. Rows not yet pivoted have no column in L and are leaves of the graph.
+     */
+    private int reach(int column, int[] reach, int[] stack, int[] stackPositions, int[] mark, int stamp) {
+        int top = size;
+        int[] columnStart = a.getColumnStart();
+        int[] rowIndices = a.getRowIndices();
+        for (int p = columnStart[column]; p < columnStart[column + 1]; p++) {
+            int root = rowIndices[p];
+            if (mark[root] == stamp) {
+                continue;
+            }
+            // non recursive depth first search
+            int head = 0;
+            stack[0] = root;
+            while (head >= 0) {
+                int j = stack[head];
+                int jFactor = pinv[j];
+                if (mark[j] != stamp) {
+                    mark[j] = stamp;
+                    stackPositions[head] = jFactor < 0 ? 0 : lColumnStart[jFactor];
+                }
+                boolean done = true;
+                int end = jFactor < 0 ? 0 : lColumnStart[jFactor + 1];
+                for (int l = stackPositions[head]; l < end; l++) {
+                    int i = lRowIndices[l];
+                    if (mark[i] != stamp) {
+                        stackPositions[head] = l;
+                        stack[++head] = i;
+                        done = false;
+                        break;
+                    }
+                }
+                if (done) {
+                    head--;
+                    reach[--top] = j;
+                }
+            }
+        }
+        return top;
+    }
+
+    private void factorize() {
+        int[] columnStart = a.getColumnStart();
+        int[] rowIndices = a.getRowIndices();
+        double[] values = a.getValues();
+
+        int capacity = 4 * a.getValueCount() + size;
+        lColumnStart = new int[size + 1];
+        lRowIndices = new int[capacity];
+        lValues = new double[capacity];
+        uColumnStart = new int[size + 1];
+        uRowIndices = new int[capacity];
+        uValues = new double[capacity];
+        reachStart = new int[size + 1];
+        reachIndices = new int[capacity];
+        pinv = new int[size];
+        Arrays.fill(pinv, -1);
+
+        int[] reach = new int[size];
+        int[] stack = new int[size];
+        int[] stackPositions = new int[size];
+        int[] mark = new int[size];
+        Arrays.fill(mark, -1);
+        int lCount = 0;
+        int uCount = 0;
+        int reachCount = 0;
+        for (int k = 0; k < size; k++) {
+            lColumnStart[k] = lCount;
+            uColumnStart[k] = uCount;
+            reachStart[k] = reachCount;
+            if (lCount + size > lValues.length) {
+                lRowIndices = Arrays.copyOf(lRowIndices, 2 * lValues.length + size);
+                lValues = Arrays.copyOf(lValues, 2 * lValues.length + size);
+            }
+            if (uCount + size > uValues.length) {
+                uRowIndices = Arrays.copyOf(uRowIndices, 2 * uValues.length + size);
+                uValues = Arrays.copyOf(uValues, 2 * uValues.length + size);
+            }
+            if (reachCount + size > reachIndices.length) {
+                reachIndices = Arrays.copyOf(reachIndices, 2 * reachIndices.length + size);
+            }
+
+            // x = L \ A(:, q[k]), rows of L being still matrix rows
+            int column = q[k];
+            int top = reach(column, reach, stack, stackPositions, mark, k);
+            for (int p = columnStart[column]; p < columnStart[column + 1]; p++) {
+                x[rowIndices[p]] = values[p];
+            }
+            for (int r = top; r < size; r++) {
+                int j = reach[r];
+                int jFactor = pinv[j];
+                if (jFactor >= 0) {
+                    double xj = x[j];
+                    for (int l = lColumnStart[jFactor] + 1; l < lColumnStart[jFactor + 1]; l++) {
+                        x[lRowIndices[l]] -= lValues[l] * xj;
+                    }
+                }
+            }
+
+            // partial pivoting among not yet pivoted rows
+            int pivotRow = -1;
+            double maxValue = -1;
+            for (int r = top; r < size; r++) {
+                int i = reach[r];
+                if (pinv[i] < 0) {
+                    double value = Math.abs(x[i]);
+                    if (value > maxValue) {
+                        maxValue = value;
+                        pivotRow = i;
+                    }
+                } else {
+                    uRowIndices[uCount] = pinv[i];
+                    uValues[uCount++] = x[i];
+                }
+            }
+            if (pivotRow == -1 || maxValue <= 0) {
+                throw new PowsyblException("Singular matrix, no pivot for column " + column);
+            }
+            if (pinv[column] < 0 && Math.abs(x[column]) >= PIVOT_TOLERANCE * maxValue) {
+                pivotRow = column;
+            }
+            double pivot = x[pivotRow];
+            uRowIndices[uCount] = k;
+            uValues[uCount++] = pivot;
+            pinv[pivotRow] = k;
+            lRowIndices[lCount] = pivotRow;
+            lValues[lCount++] = 1;
+            for (int r = top; r < size; r++) {
+                int i = reach[r];
+                if (pinv[i] < 0) {
+                    lRowIndices[lCount] = i;
+                    lValues[lCount++] = x[i] / pivot;
+                }
+                x[i] = 0;
+                reachIndices[reachCount++] = i;
+            }
+        }
+        lColumnStart[size] = lCount;
+        uColumnStart[size] = uCount;
+        reachStart[size] = reachCount;
+
+        // from matrix rows to factor rows
+        for (int l = 0; l < lCount; l++) {
+            lRowIndices[l] = pinv[lRowIndices[l]];
+        }
+        for (int r = 0; r < reachCount; r++) {
+            reachIndices[r] = pinv[reachIndices[r]];
+        }
+    }
+
+    /**
+     * Recompute the values of the factors keeping the pivots and the pattern of the previous factorization.
+     *
+     * @return false if a pivot has become too small
+     */
+    private boolean refactorize() {
+        int[] columnStart = a.getColumnStart();
+        int[] rowIndices = a.getRowIndices();
+        double[] values = a.getValues();
+        for (int k = 0; k < size; k++) {
+            // x = L \ A(:, q[k]), working with factor rows
+            int column = q[k];
+            for (int p = columnStart[column]; p < columnStart[column + 1]; p++) {
+                x[pinv[rowIndices[p]]] = values[p];
+            }
+            for (int r = reachStart[k]; r < reachStart[k + 1]; r++) {
+                int j = reachIndices[r];
+                if (j < k) {
+                    double xj = x[j];
+                    for (int l = lColumnStart[j] + 1; l < lColumnStart[j + 1]; l++) {
+                        x[lRowIndices[l]] -= lValues[l] * xj;
+                    }
+                }
+            }
+
+            double pivot = x[k];
+            double maxValue = 0;
+            int uCount = uColumnStart[k];
+            int lCount = lColumnStart[k] + 1;
+            for (int r = reachStart[k]; r < reachStart[k + 1]; r++) {
+                int i = reachIndices[r];
+                if (i < k) {
+                    uValues[uCount++] = x[i];
+                } else {
+                    maxValue = Math.max(maxValue, Math.abs(x[i]));
+                }
+            }
+            if (pivot == 0 || Math.abs(pivot) < PIVOT_TOLERANCE * maxValue) {
+                Arrays.fill(x, 0);
+                return false;
+            }
+            uValues[uCount] = pivot;
+            for (int r = reachStart[k]; r < reachStart[k + 1]; r++) {
+                int i = reachIndices[r];
+                if (i > k) {
+                    lValues[lCount++] = x[i] / pivot;
+                }
+                x[i] = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void update() {
+        if (matrix.getValueCount() != valueCount) {
+            // new values have been added, structure may have changed
+            analyze();
+            factorize();
+        } else {
+            // same structure, only compressed values have to be refreshed
+            double[] matrixValues = matrix.getValues();
+            double[] values = a.getValues();
+            Arrays.fill(values, 0);
+            for (int p = 0; p < valueCount; p++) {
+                values[positions[p]] += matrixValues[p];
+            }
+            if (!refactorize()) {
+                factorize();
+            }
+        }
+    }
+
+    private void checkSize(int length) {
+        if (length != size) {
+            throw new IllegalArgumentException("Vector size (" + length + ") is different from matrix size (" + size + ")");
+        }
+    }
+
+    @Override
+    public void solve(double[] b) {
+        checkSize(b.length);
+        for (int i = 0; i < size; i++) {
+            x[pinv[i]] = b[i];
+        }
+        for (int j = 0; j < size; j++) {
+            double xj = x[j];
+            for (int l = lColumnStart[j] + 1; l < lColumnStart[j + 1]; l++) {
+                x[lRowIndices[l]] -= lValues[l] * xj;
+            }
+        }
+        for (int j = size - 1; j >= 0; j--) {
+            int diagonal = uColumnStart[j + 1] - 1;
+            double xj = x[j] / uValues[diagonal];
+            x[j] = xj;
+            for (int u = uColumnStart[j]; u < diagonal; u++) {
+                x[uRowIndices[u]] -= uValues[u] * xj;
+            }
+        }
+        for (int k = 0; k < size; k++) {
+            b[q[k]] = x[k];
+        }
+    }
+
+    @Override
+    public void solveTransposed(double[] b) {
+        checkSize(b.length);
+        for (int k = 0; k < size; k++) {
+            x[k] = b[q[k]];
+        }
+        for (int j = 0; j < size; j++) {
+            int diagonal = uColumnStart[j + 1] - 1;
+            double xj = x[j];
+            for (int u = uColumnStart[j]; u < diagonal; u++) {
+                xj -= uValues[u] * x[uRowIndices[u]];
+            }
+            x[j] = xj / uValues[diagonal];
+        }
+        for (int j = size - 1; j >= 0; j--) {
+            double xj = x[j];
+            for (int l = lColumnStart[j] + 1; l < lColumnStart[j + 1]; l++) {
+                xj -= lValues[l] * x[lRowIndices[l]];
+            }
+            x[j] = xj;
+        }
+        for (int i = 0; i < size; i++) {
+            b[i] = x[pinv[i]];
+        }
+    }
+
+    private void solve(DenseMatrix b, boolean transposed) {
+        checkSize(b.getRowCount());
+        double[] column = new double[size];
+        for (int k = 0; k < b.getColumnCount(); k++) {
+            for (int i = 0; i < size; i++) {
+                column[i] = b.get(i, k);
+            }
+            if (transposed) {
+                solveTransposed(column);
+            } else {
+                solve(column);
+            }
+            for (int i = 0; i < size; i++) {
+                b.set(i, k, column[i]);
+            }
+        }
+    }
+
+    @Override
+    public void solve(DenseMatrix b) {
+        solve(b, false);
+    }
+
+    @Override
+    public void solveTransposed(DenseMatrix b) {
+        solve(b, true);
+    }
+
+    /**
+     * Number of non zero values of the L and U factors, not including the unit diagonal of L.
+     */
+    public int getFactorValueCount() {
+        return lColumnStart[size] - size + uColumnStart[size];
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.math.matrix.*;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pure Java sparse matrix, decomposed with a {@link JavaSparseLUDecomposition}.
+ *
+ * Values are stored as a list of (row, column, value) triplets in insertion order, values at the same position being
+ * summed, so that elements can be added in any order. {@link #set(int, int, double)} overwrites an already stored
+ * position in place but has to scan the values, so it should only be used for initialization, {@link #addAndGetElement(int, int, double)} being the
+ * efficient way to update values. The column compressed copy of the values used to iterate over them is cached
+ * until the next modification.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class JavaSparseMatrix extends AbstractExternalMatrix {
+
+    private final int rowCount;
+
+    private final int columnCount;
+
+    private final int estimatedNonZeroValueCount;
+
+    private final JavaSparseMatrixFactory.Ordering ordering;
+
+    private int[] rowIndices;
+
+    private int[] columnIndices;
+
+    private double[] values;
+
+    private int valueCount = 0;
+
+    private CompressedColumns compressedColumns;
+
+    private final class JavaSparseElement implements Element {
+
+        private final int index;
+
+        private JavaSparseElement(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void set(double value) {
+            values[index] = value;
+            compressedColumns = null;
+        }
+
+        @Override
+        public void add(double value) {
+            values[index] += value;
+            compressedColumns = null;
+        }
+    }
+
+    public JavaSparseMatrix(int rowCount, int columnCount, int estimatedNonZeroValueCount) {
+        this(rowCount, columnCount, estimatedNonZeroValueCount, JavaSparseMatrixFactory.Ordering.MINIMUM_DEGREE);
+    }
+
+    public JavaSparseMatrix(int rowCount, int columnCount, int estimatedNonZeroValueCount, JavaSparseMatrixFactory.Ordering ordering) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("row count has to be positive");
+        }
+        if (columnCount < 0) {
+            throw new IllegalArgumentException("column count has to be positive");
+        }
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.estimatedNonZeroValueCount = estimatedNonZeroValueCount;
+        this.ordering = Objects.requireNonNull(ordering);
+        int capacity = Math.max(estimatedNonZeroValueCount, 16);
+        rowIndices = new int[capacity];
+        columnIndices = new int[capacity];
+        values = new double[capacity];
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    JavaSparseMatrixFactory.Ordering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * Number of stored values, it only changes when values are added at new positions.
+     */
+    int getValueCount() {
+        return valueCount;
+    }
+
+    int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    double[] getValues() {
+        return values;
+    }
+
+    private int append(int i, int j, double value) {
+        checkBounds(i, j);
+        compressedColumns = null;
+        if (valueCount == values.length) {
+            int capacity = 2 * valueCount;
+            rowIndices = Arrays.copyOf(rowIndices, capacity);
+            columnIndices = Arrays.copyOf(columnIndices, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        rowIndices[valueCount] = i;
+        columnIndices[valueCount] = j;
+        values[valueCount] = value;
+        return valueCount++;
+    }
+
+    /**
+     * Overwrite the value at this position in place, other values at the same position being zeroed, or append it if
+     * the position is not stored yet.
+     */
+    @Override
+    public void set(int i, int j, double value) {
+        checkBounds(i, j);
+        compressedColumns = null;
+        boolean found = false;
+        for (int p = 0; p < valueCount; p++) {
+            if (rowIndices[p] == i && columnIndices[p] == j) {
+                values[p] = found ? 0 : value;
+                found = true;
+            }
+        }
+        if (!found) {
+            append(i, j, value);
+        }
+    }
+
+    @Override
+    public void add(int i, int j, double value) {
+        append(i, j, value);
+    }
+
+    @Override
+    public Element addAndGetElement(int i, int j, double value) {
+        return new JavaSparseElement(append(i, j, value));
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(values, 0, valueCount, 0);
+        compressedColumns = null;
+    }
+
+    @Override
+    public LUDecomposition decomposeLU() {
+        return new JavaSparseLUDecomposition(this);
+    }
+
+    CompressedColumns getCompressedColumns() {
+        if (compressedColumns == null) {
+            compressedColumns = CompressedColumns.create(rowCount, columnCount, rowIndices, columnIndices, values, valueCount);
+        }
+        return compressedColumns;
+    }
+
+    @Override
+    public Matrix times(Matrix other) {
+        Objects.requireNonNull(other);
+        if (other.getRowCount() != columnCount) {
+            throw new IllegalArgumentException("Incompatible matrix dimensions: " + columnCount + " columns and "
+                    + other.getRowCount() + " rows");
+        }
+        CompressedColumns a = getCompressedColumns();
+        int[] columnStart = a.getColumnStart();
+        int[] aRowIndices = a.getRowIndices();
+        double[] aValues = a.getValues();
+        JavaSparseMatrix result = new JavaSparseMatrix(rowCount, other.getColumnCount(), a.getValueCount(), ordering);
+        other.iterateNonZeroValue((k, j, value) -> {
+            for (int p = columnStart[k]; p < columnStart[k + 1]; p++) {
+                result.add(aRowIndices[p], j, aValues[p] * value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Values are iterated in column order, values at the same position being summed.
+     */
+    @Override
+    public void iterateNonZeroValue(ElementHandler handler) {
+        Objects.requireNonNull(handler);
+        CompressedColumns a = getCompressedColumns();
+        for (int j = 0; j < columnCount; j++) {
+            for (int p = a.getColumnStart()[j]; p < a.getColumnStart()[j + 1]; p++) {
+                handler.onElement(a.getRowIndices()[p], j, a.getValues()[p]);
+            }
+        }
+    }
+
+    @Override
+    public void iterateNonZeroValueOfColumn(int j, ElementHandler handler) {
+        Objects.requireNonNull(handler);
+        CompressedColumns a = getCompressedColumns();
+        for (int p = a.getColumnStart()[j]; p < a.getColumnStart()[j + 1]; p++) {
+            handler.onElement(a.getRowIndices()[p], j, a.getValues()[p]);
+        }
+    }
+
+    @Override
+    public DenseMatrix toDense() {
+        return (DenseMatrix) to(new DenseMatrixFactory());
+    }
+
+    @Override
+    public Matrix to(MatrixFactory factory) {
+        Objects.requireNonNull(factory);
+        if (factory instanceof JavaSparseMatrixFactory) {
+            return this;
+        }
+        return copy(factory);
+    }
+
+    @Override
+    protected int getEstimatedNonZeroValueCount() {
+        return estimatedNonZeroValueCount;
+    }
+
+    @Override
+    public void print(PrintStream out) {
+        toDense().print(out);
+    }
+
+    @Override
+    public void print(PrintStream out, List<String> rowNames, List<String> columnNames) {
+        toDense().print(out, rowNames, columnNames);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.math.matrix.MatrixFactory;
+
+import java.util.Objects;
+
+/**
+ * Factory of pure Java sparse matrices, an alternative to the native KLU based
+ * {@link com.powsybl.math.matrix.SparseMatrixFactory} that does not need any native library, in native images for
+ * instance.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class JavaSparseMatrixFactory implements MatrixFactory {
+
+    /**
+     * Fill reducing column ordering of the LU decomposition.
+     */
+    public enum Ordering {
+        /**
+         * Columns are not reordered.
+         */
+        NATURAL,
+        /**
+         * Minimum degree ordering of the pattern of A + Aᵀ, in the way of AMD: best for matrices with a nearly
+         * symmetric pattern like power flow Jacobians.
+         */
+        MINIMUM_DEGREE,
+        /**
+         * Minimum degree ordering of the pattern of AᵀA, in the way of COLAMD: for matrices with an unsymmetric
+         * pattern.
+         */
+        COLUMN_MINIMUM_DEGREE
+    }
+
+    private final Ordering ordering;
+
+    public JavaSparseMatrixFactory() {
+        this(Ordering.MINIMUM_DEGREE);
+    }
+
+    public JavaSparseMatrixFactory(Ordering ordering) {
+        this.ordering = Objects.requireNonNull(ordering);
+    }
+
+    public Ordering getOrdering() {
+        return ordering;
+    }
+
+    @Override
+    public JavaSparseMatrix create(int rowCount, int columnCount, int estimatedNonZeroValueCount) {
+        return new JavaSparseMatrix(rowCount, columnCount, estimatedNonZeroValueCount, ordering);
+    }
+}
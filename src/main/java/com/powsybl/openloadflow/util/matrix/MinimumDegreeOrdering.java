@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Minimum degree fill reducing ordering of a symmetric sparse matrix: the node of the elimination graph with the
+ * smallest number of neighbors is eliminated first, then its neighbors are connected together to account for the
+ * fill-in. Ties are broken by the last updated node.
+ *
+ * Power network matrices have a low degree and a low fill-in, so the elimination graph is explicitly maintained.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class MinimumDegreeOrdering {
+
+    private MinimumDegreeOrdering() {
+    }
+
+    /**
+     * @param size size of the matrix
+     * @param columnStart start of each column in {@code rowIndices}, column oriented sparse format
+     * @param rowIndices row indices of each column, the pattern has to be symmetric and diagonal terms are ignored
+     * @return matrix indices in elimination order
+     */
+    static int[] order(int size, int[] columnStart, int[] rowIndices) {
+        // adjacency of the elimination graph, only with not yet eliminated nodes
+        int[][] adjacency = new int[size][];
+        int[] degree = new int[size];
+        for (int j = 0; j < size; j++) {
+            int[] neighbors = new int[columnStart[j + 1] - columnStart[j]];
+            int neighborCount = 0;
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                if (rowIndices[p] != j) {
+                    neighbors[neighborCount++] = rowIndices[p];
+                }
+            }
+            adjacency[j] = neighbors;
+            degree[j] = neighborCount;
+        }
+
+        // nodes are chained by degree
+        int[] head = new int[size];
+        int[] next = new int[size];
+        int[] previous = new int[size];
+        Arrays.fill(head, -1);
+        for (int j = 0; j < size; j++) {
+            link(j, degree[j], head, next, previous);
+        }
+
+        int[] mark = new int[size];
+        Arrays.fill(mark, -1);
+        int[] buffer = new int[size];
+        int[] order = new int[size];
+        int minDegree = 0;
+        for (int k = 0; k < size; k++) {
+            while (head[minDegree] == -1) {
+                minDegree++;
+            }
+            int v = head[minDegree];
+            unlink(v, degree[v], head, next, previous);
+            order[k] = v;
+
+            int[] vNeighbors = adjacency[v];
+            int vDegree = degree[v];
+            for (int i = 0; i < vDegree; i++) {
+                mark[vNeighbors[i]] = k;
+            }
+
+            // neighbors of v are connected together
+            for (int i = 0; i < vDegree; i++) {
+                int u = vNeighbors[i];
+                unlink(u, degree[u], head, next, previous);
+                int[] uNeighbors = adjacency[u];
+                int uDegree = 0;
+                for (int l = 0; l < degree[u]; l++) {
+                    int w = uNeighbors[l];
+                    if (w != v && mark[w] != k) {
+                        buffer[uDegree++] = w;
+                    }
+                }
+                for (int l = 0; l < vDegree; l++) {
+                    int w = vNeighbors[l];
+                    if (w != u) {
+                        buffer[uDegree++] = w;
+                    }
+                }
+                if (uNeighbors.length < uDegree) {
+                    uNeighbors = new int[Math.max(uDegree, 2 * uNeighbors.length)];
+                    adjacency[u] = uNeighbors;
+                }
+                System.arraycopy(buffer, 0, uNeighbors, 0, uDegree);
+                degree[u] = uDegree;
+                link(u, uDegree, head, next, previous);
+                minDegree = Math.min(minDegree, uDegree);
+            }
+            adjacency[v] = null;
+        }
+        return order;
+    }
+
+    /**
+     * Order the columns of a square matrix with a symmetric pattern or not, using the pattern of A + Aᵀ. This is the
+     * approach of AMD, best for matrices with a nearly symmetric pattern like power flow Jacobians.
+     */
+    static int[] orderSymmetrized(CompressedColumns a) {
+        int size = a.getColumnCount();
+        int[] columnStart = a.getColumnStart();
+        int[] rowIndices = a.getRowIndices();
+        int valueCount = 2 * a.getValueCount();
+        int[] rows = new int[valueCount];
+        int[] columns = new int[valueCount];
+        int patternCount = 0;
+        for (int j = 0; j < size; j++) {
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                int i = rowIndices[p];
+                if (i != j) {
+                    rows[patternCount] = i;
+                    columns[patternCount++] = j;
+                    rows[patternCount] = j;
+                    columns[patternCount++] = i;
+                }
+            }
+        }
+        return order(size, rows, columns, patternCount);
+    }
+
+    /**
+     * Order the columns of a matrix using the pattern of AᵀA, in which columns sharing a row are neighbors. This is
+     * the approach of COLAMD, which does not assume any symmetry of the pattern.
+     */
+    static int[] orderColumns(CompressedColumns a) {
+        int size = a.getColumnCount();
+        int[] columnStart = a.getColumnStart();
+        int[] rowIndices = a.getRowIndices();
+
+        // columns of each row
+        int[] rowStart = new int[a.getRowCount() + 1];
+        for (int p = 0; p < a.getValueCount(); p++) {
+            rowStart[rowIndices[p] + 1]++;
+        }
+        for (int i = 0; i < a.getRowCount(); i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] rowPosition = Arrays.copyOf(rowStart, a.getRowCount());
+        int[] columnIndices = new int[a.getValueCount()];
+        for (int j = 0; j < size; j++) {
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                columnIndices[rowPosition[rowIndices[p]]++] = j;
+            }
+        }
+
+        int patternCount = 0;
+        for (int i = 0; i < a.getRowCount(); i++) {
+            int rowValueCount = rowStart[i + 1] - rowStart[i];
+            patternCount += rowValueCount * (rowValueCount - 1);
+        }
+        int[] rows = new int[patternCount];
+        int[] columns = new int[patternCount];
+        patternCount = 0;
+        for (int i = 0; i < a.getRowCount(); i++) {
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                for (int q = rowStart[i]; q < rowStart[i + 1]; q++) {
+                    if (p != q) {
+                        rows[patternCount] = columnIndices[p];
+                        columns[patternCount++] = columnIndices[q];
+                    }
+                }
+            }
+        }
+        return order(size, rows, columns, patternCount);
+    }
+
+    private static int[] order(int size, int[] rows, int[] columns, int patternCount) {
+        double[] values = new double[patternCount];
+        Arrays.fill(values, 1);
+        CompressedColumns pattern = CompressedColumns.create(size, size, rows, columns, values, patternCount);
+        return order(size, pattern.getColumnStart(), pattern.getRowIndices());
+    }
+
+    private static void link(int node, int degree, int[] head, int[] next, int[] previous) {
+        next[node] = head[degree];
+        previous[node] = -1;
+        if (head[degree] != -1) {
+            previous[head[degree]] = node;
+        }
+        head[degree] = node;
+    }
+
+    private static void unlink(int node, int degree, int[] head, int[] next, int[] previous) {
+        if (previous[node] != -1) {
+            next[previous[node]] = next[node];
+        } else {
+            head[degree] = next[node];
+        }
+        if (next[node] != -1) {
+            previous[next[node]] = previous[node];
+        }
+    }
+}
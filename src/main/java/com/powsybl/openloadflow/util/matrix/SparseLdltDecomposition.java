@@ -0,0 +1,372 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.LUDecomposition;
+import com.powsybl.math.matrix.Matrix;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Sparse LDLᵀ decomposition of a symmetric matrix, to be used instead of a general LU decomposition of the same matrix
+ * when it is known to be symmetric, like the DC load flow B matrix. Only the strictly lower triangular factor L and the
+ * diagonal D are stored.
+ *
+ * Indices whose column only has a diagonal term, like the slack bus angle equation, are solved apart so that only the
+ * rest of the matrix has to be symmetric. This rest is reordered with a minimum degree ordering to limit fill-in, then
+ * factorized with the up-looking algorithm of T. Davis LDL package. There is no pivoting: the matrix does not have to
+ * be positive definite but the decomposition fails on a zero pivot.
+ *
+ * The ordering is computed on the first factorization and reused by {@link #update()}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class SparseLdltDecomposition implements LUDecomposition {
+
+    private static final double SYMMETRY_TOLERANCE = 1e-10;
+
+    private final Matrix matrix;
+
+    private final int size;
+
+    /**
+     * Diagonal term of indices solved apart, zero for indices of the symmetric part.
+     */
+    private final double[] apartDiagonal;
+
+    /**
+     * Off diagonal terms of the rows solved apart, their columns all being in the symmetric part.
+     */
+    private int[] couplingRows;
+
+    private int[] couplingColumns;
+
+    private double[] couplingValues;
+
+    /**
+     * Matrix index of each factor index, so elimination order of the symmetric part.
+     */
+    private int[] factorIndices;
+
+    private int[] lColumnStart;
+
+    private int[] lRowIndices;
+
+    private double[] lValues;
+
+    private double[] d;
+
+    private double[] work;
+
+    private SparseLdltDecomposition(Matrix matrix) {
+        this.matrix = matrix;
+        size = matrix.getRowCount();
+        apartDiagonal = new double[size];
+    }
+
+    /**
+     * Decompose the matrix if it is symmetric, once removed the indices whose column only has a diagonal term.
+     *
+     * @return the decomposition or an empty optional if the matrix is not symmetric
+     */
+    public static Optional<SparseLdltDecomposition> create(Matrix matrix) {
+        Objects.requireNonNull(matrix);
+        if (matrix.getRowCount() != matrix.getColumnCount()) {
+            return Optional.empty();
+        }
+        SparseLdltDecomposition decomposition = new SparseLdltDecomposition(matrix);
+        return decomposition.factorize() ? Optional.of(decomposition) : Optional.empty();
+    }
+
+    private boolean factorize() {
+        CompressedColumns columns = CompressedColumns.read(matrix);
+        int[] columnStart = columns.getColumnStart();
+        int[] rowIndices = columns.getRowIndices();
+        double[] values = columns.getValues();
+
+        // find indices solved apart and index the symmetric part
+        Arrays.fill(apartDiagonal, 0);
+        int[] reducedIndices = new int[size];
+        int reducedSize = 0;
+        for (int j = 0; j < size; j++) {
+            if (columnStart[j + 1] - columnStart[j] == 1 && rowIndices[columnStart[j]] == j) {
+                apartDiagonal[j] = values[columnStart[j]];
+                reducedIndices[j] = -1;
+            } else {
+                reducedIndices[j] = reducedSize++;
+            }
+        }
+
+        // split coupling terms and the symmetric part
+        int valueCount = columns.getValueCount();
+        int[] rows = new int[valueCount];
+        int[] reducedColumns = new int[valueCount];
+        double[] reducedValues = new double[valueCount];
+        int reducedValueCount = 0;
+        int couplingCount = 0;
+        for (int j = 0; j < size; j++) {
+            if (reducedIndices[j] != -1) {
+                for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                    if (reducedIndices[rowIndices[p]] == -1) {
+                        couplingCount++;
+                    }
+                }
+            }
+        }
+        couplingRows = new int[couplingCount];
+        couplingColumns = new int[couplingCount];
+        couplingValues = new double[couplingCount];
+        couplingCount = 0;
+        for (int j = 0; j < size; j++) {
+            if (reducedIndices[j] == -1) {
+                continue;
+            }
+            for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+                int i = rowIndices[p];
+                if (reducedIndices[i] == -1) {
+                    couplingRows[couplingCount] = i;
+                    couplingColumns[couplingCount] = j;
+                    couplingValues[couplingCount] = values[p];
+                    couplingCount++;
+                } else {
+                    rows[reducedValueCount] = reducedIndices[i];
+                    reducedColumns[reducedValueCount] = reducedIndices[j];
+                    reducedValues[reducedValueCount] = values[p];
+                    reducedValueCount++;
+                }
+            }
+        }
+        CompressedColumns reduced = CompressedColumns.create(reducedSize, reducedSize, rows, reducedColumns, reducedValues,
+                reducedValueCount);
+        if (!reduced.isSymmetric(SYMMETRY_TOLERANCE)) {
+            return false;
+        }
+
+        // ordering is kept as long as the symmetric part has the same indices
+        int[] reducedToMatrixIndices = new int[reducedSize];
+        for (int j = 0; j < size; j++) {
+            if (reducedIndices[j] != -1) {
+                reducedToMatrixIndices[reducedIndices[j]] = j;
+            }
+        }
+        int[] permutation = null;
+        if (factorIndices != null && factorIndices.length == reducedSize) {
+            permutation = new int[reducedSize];
+            for (int k = 0; k < reducedSize; k++) {
+                permutation[k] = reducedIndices[factorIndices[k]];
+                if (permutation[k] == -1) {
+                    permutation = null;
+                    break;
+                }
+            }
+        }
+        if (permutation == null) {
+            permutation = MinimumDegreeOrdering.order(reducedSize, reduced.getColumnStart(), reduced.getRowIndices());
+            factorIndices = new int[reducedSize];
+            for (int k = 0; k < reducedSize; k++) {
+                factorIndices[k] = reducedToMatrixIndices[permutation[k]];
+            }
+        }
+
+        factorize(reduced, permutation);
+        work = new double[reducedSize];
+        return true;
+    }
+
+    private void factorize(CompressedColumns reduced, int[] permutation) {
+        int n = reduced.getColumnCount();
+        int[] ap = reduced.getColumnStart();
+        int[] ai = reduced.getRowIndices();
+        double[] ax = reduced.getValues();
+        int[] inversePermutation = new int[n];
+        for (int k = 0; k < n; k++) {
+            inversePermutation[permutation[k]] = k;
+        }
+
+        // symbolic factorization: elimination tree and column counts of L
+        int[] parent = new int[n];
+        int[] lnz = new int[n];
+        int[] flag = new int[n];
+        for (int k = 0; k < n; k++) {
+            parent[k] = -1;
+            flag[k] = k;
+            int kk = permutation[k];
+            for (int p = ap[kk]; p < ap[kk + 1]; p++) {
+                for (int i = inversePermutation[ai[p]]; i < k && flag[i] != k; i = parent[i]) {
+                    if (parent[i] == -1) {
+                        parent[i] = k;
+                    }
+                    lnz[i]++;
+                    flag[i] = k;
+                }
+            }
+        }
+        lColumnStart = new int[n + 1];
+        for (int k = 0; k < n; k++) {
+            lColumnStart[k + 1] = lColumnStart[k] + lnz[k];
+        }
+        lRowIndices = new int[lColumnStart[n]];
+        lValues = new double[lColumnStart[n]];
+        d = new double[n];
+
+        // numeric factorization, row k of L being computed from the k-th column of the permuted upper part
+        double[] y = new double[n];
+        int[] pattern = new int[n];
+        for (int k = 0; k < n; k++) {
+            int top = n;
+            flag[k] = k;
+            lnz[k] = 0;
+            int kk = permutation[k];
+            for (int p = ap[kk]; p < ap[kk + 1]; p++) {
+                int i = inversePermutation[ai[p]];
+                if (i <= k) {
+                    y[i] += ax[p];
+                    int len = 0;
+                    for (; flag[i] != k; i = parent[i]) {
+                        pattern[len++] = i;
+                        flag[i] = k;
+                    }
+                    while (len > 0) {
+                        pattern[--top] = pattern[--len];
+                    }
+                }
+            }
+            d[k] = y[k];
+            y[k] = 0;
+            for (; top < n; top++) {
+                int i = pattern[top];
+                double yi = y[i];
+                y[i] = 0;
+                int p2 = lColumnStart[i] + lnz[i];
+                for (int p = lColumnStart[i]; p < p2; p++) {
+                    y[lRowIndices[p]] -= lValues[p] * yi;
+                }
+                double lki = yi / d[i];
+                d[k] -= lki * yi;
+                lRowIndices[p2] = k;
+                lValues[p2] = lki;
+                lnz[i]++;
+            }
+            if (d[k] == 0) {
+                throw new PowsyblException("Singular matrix, zero pivot at index " + factorIndices[k]);
+            }
+        }
+    }
+
+    @Override
+    public void update() {
+        if (!factorize()) {
+            throw new IllegalStateException("Matrix is not symmetric anymore");
+        }
+    }
+
+    private void solveSymmetricPart(double[] b) {
+        int n = d.length;
+        for (int k = 0; k < n; k++) {
+            work[k] = b[factorIndices[k]];
+        }
+        for (int j = 0; j < n; j++) {
+            double xj = work[j];
+            for (int p = lColumnStart[j]; p < lColumnStart[j + 1]; p++) {
+                work[lRowIndices[p]] -= lValues[p] * xj;
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            work[j] /= d[j];
+        }
+        for (int j = n - 1; j >= 0; j--) {
+            double xj = work[j];
+            for (int p = lColumnStart[j]; p < lColumnStart[j + 1]; p++) {
+                xj -= lValues[p] * work[lRowIndices[p]];
+            }
+            work[j] = xj;
+        }
+        for (int k = 0; k < n; k++) {
+            b[factorIndices[k]] = work[k];
+        }
+    }
+
+    private void checkSize(int length) {
+        if (length != size) {
+            throw new IllegalArgumentException("Vector size (" + length + ") is different from matrix size (" + size + ")");
+        }
+    }
+
+    @Override
+    public void solve(double[] b) {
+        checkSize(b.length);
+        // rows of the symmetric part do not depend on the indices solved apart
+        solveSymmetricPart(b);
+        for (int p = 0; p < couplingRows.length; p++) {
+            b[couplingRows[p]] -= couplingValues[p] * b[couplingColumns[p]];
+        }
+        for (int i = 0; i < size; i++) {
+            if (apartDiagonal[i] != 0) {
+                b[i] /= apartDiagonal[i];
+            }
+        }
+    }
+
+    @Override
+    public void solveTransposed(double[] b) {
+        checkSize(b.length);
+        // indices solved apart only depend on themselves
+        for (int i = 0; i < size; i++) {
+            if (apartDiagonal[i] != 0) {
+                b[i] /= apartDiagonal[i];
+            }
+        }
+        for (int p = 0; p < couplingRows.length; p++) {
+            b[couplingColumns[p]] -= couplingValues[p] * b[couplingRows[p]];
+        }
+        solveSymmetricPart(b);
+    }
+
+    private void solve(DenseMatrix b, boolean transposed) {
+        checkSize(b.getRowCount());
+        double[] column = new double[size];
+        for (int k = 0; k < b.getColumnCount(); k++) {
+            for (int i = 0; i < size; i++) {
+                column[i] = b.get(i, k);
+            }
+            if (transposed) {
+                solveTransposed(column);
+            } else {
+                solve(column);
+            }
+            for (int i = 0; i < size; i++) {
+                b.set(i, k, column[i]);
+            }
+        }
+    }
+
+    @Override
+    public void solve(DenseMatrix b) {
+        solve(b, false);
+    }
+
+    @Override
+    public void solveTransposed(DenseMatrix b) {
+        solve(b, true);
+    }
+
+    /**
+     * Number of non zero values of the L factor, not including the unit diagonal.
+     */
+    public int getFactorValueCount() {
+        return lValues.length;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
@@ -9,6 +9,7 @@ package com.powsybl.openloadflow;
 import com.powsybl.iidm.network.Bus;
 import com.powsybl.iidm.network.Line;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.ShuntCompensator;
 import com.powsybl.iidm.network.TwoWindingsTransformer;
 import com.powsybl.loadflow.LoadFlow;
 import com.powsybl.loadflow.LoadFlowParameters;
@@ -227,4 +228,92 @@ class NonImpedantBranchTest extends AbstractLoadFlowNetworkFactory {
         result = loadFlowRunner.run(network, parameters);
         assertTrue(result.isOk());
     }
+
+    @Test
+    void mergeZeroImpedanceBusesTest() {
+        Network network = Network.create("FourBusesWithNonImpedantLine", "code");
+        Bus b1 = createBus(network, "b1");
+        Bus b2 = createBus(network, "b2");
+        Bus b3 = createBus(network, "b3");
+        Bus b4 = createBus(network, "b4");
+        createGenerator(b1, "g1", 2, 1);
+        createLoad(b4, "l1", 1.99, 1);
+        createLine(network, b1, b2, "l12", 0.05);
+        Line l23 = createLine(network, b2, b3, "l23", 0); // non impedant branch
+        createLine(network, b3, b4, "l34", 0.05);
+
+        parametersExt.setMergeZeroImpedanceBuses(true);
+        LoadFlowResult result = loadFlowRunner.run(network, parameters);
+        assertTrue(result.isOk());
+        assertVoltageEquals(1, b1);
+        assertVoltageEquals(0.921, b2);
+        assertVoltageEquals(0.921, b3);
+        assertVoltageEquals(0.855, b4);
+        assertAngleEquals(6.2301, b1);
+        assertAngleEquals(0, b2);
+        assertAngleEquals(0, b3);
+        assertAngleEquals(-7.248787, b4);
+
+        // flow of the merged branch is reconstructed from the power flowing to b4
+        assertActivePowerEquals(-1.99, l23.getTerminal2());
+        assertActivePowerEquals(1.99, l23.getTerminal1());
+    }
+
+    @Test
+    void mergeZeroImpedanceBusesWithLoadsAndShuntsTest() {
+        Network network = Network.create("FourBusesWithLoadsAndShuntOnMergedBuses", "code");
+        Bus b1 = createBus(network, "b1");
+        Bus b2 = createBus(network, "b2");
+        Bus b3 = createBus(network, "b3");
+        Bus b4 = createBus(network, "b4");
+        createGenerator(b1, "g1", 2, 1);
+        createLoad(b2, "l2", 0.5, 0.2);
+        createLoad(b4, "l4", 1.49, 0.6);
+        ShuntCompensator sc3 = b3.getVoltageLevel().newShuntCompensator()
+                .setId("sc3")
+                .setBus("b3")
+                .setConnectableBus("b3")
+                .setSectionCount(1)
+                .newLinearModel()
+                    .setBPerSection(0.3)
+                    .setMaximumSectionCount(1)
+                    .add()
+                .add();
+        createLine(network, b1, b2, "l12", 0.05);
+        createLine(network, b1, b4, "l14", 0.1);
+        Line l23 = createLine(network, b2, b3, "l23", 0); // non impedant branch
+        Line l34 = createLine(network, b3, b4, "l34", 0); // non impedant branch
+
+        // reference state without merging
+        LoadFlowResult result = loadFlowRunner.run(network, parameters);
+        assertTrue(result.isOk());
+        double v = b2.getV();
+        double angle = b2.getAngle();
+        double p23 = l23.getTerminal1().getP();
+        double q23 = l23.getTerminal1().getQ();
+        double p34 = l34.getTerminal1().getP();
+        double q34 = l34.getTerminal1().getQ();
+        double qsc3 = sc3.getTerminal().getQ();
+
+        parametersExt.setMergeZeroImpedanceBuses(true);
+        result = loadFlowRunner.run(network, parameters);
+        assertTrue(result.isOk());
+        assertVoltageEquals(v, b2);
+        assertVoltageEquals(v, b3);
+        assertVoltageEquals(v, b4);
+        assertAngleEquals(angle, b2);
+        assertAngleEquals(angle, b3);
+        assertAngleEquals(angle, b4);
+        assertReactivePowerEquals(qsc3, sc3.getTerminal());
+
+        // loads and shunt of the merged buses are taken into account in the reconstructed flows
+        assertActivePowerEquals(p23, l23.getTerminal1());
+        assertActivePowerEquals(-p23, l23.getTerminal2());
+        assertReactivePowerEquals(q23, l23.getTerminal1());
+        assertReactivePowerEquals(-q23, l23.getTerminal2());
+        assertActivePowerEquals(p34, l34.getTerminal1());
+        assertActivePowerEquals(-p34, l34.getTerminal2());
+        assertReactivePowerEquals(q34, l34.getTerminal1());
+        assertReactivePowerEquals(-q34, l34.getTerminal2());
+    }
 }
@@ -19,7 +19,10 @@ import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.loadflow.LoadFlow;
 import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrixFactory;
 import com.powsybl.math.matrix.SparseMatrixFactory;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
+import com.powsybl.openloadflow.ac.outerloop.AcloadFlowEngine;
 import com.powsybl.openloadflow.network.FirstSlackBusSelector;
 import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
@@ -101,6 +104,36 @@ class OpenLoadFlowParametersTest {
         assertEquals(THROWS_EXCEPTION_IN_CASE_OF_SLACK_DISTRIBUTION_FAILURE_DEFAULT_VALUE, olfParameters.isThrowsExceptionInCaseOfSlackDistributionFailure());
 
         assertEquals(DC_USE_TRANSFORMER_RATIO_DEFAULT_VALUE, olfParameters.isDcUseTransformerRatio());
+        assertEquals(THREAD_COUNT_DEFAULT_VALUE, olfParameters.getThreadCount());
+        assertEquals(PARALLEL_NETWORK_CREATION_DEFAULT_VALUE, olfParameters.isParallelNetworkCreation());
+    }
+
+    @Test
+    void testThreadCount() {
+        MapModuleConfig olfModuleConfig = platformConfig.createModuleConfig("open-loadflow-default-parameters");
+        olfModuleConfig.setStringProperty(THREAD_COUNT_PARAM_NAME, "4");
+
+        LoadFlowParameters parameters = LoadFlowParameters.load(platformConfig);
+        OpenLoadFlowParameters olfParameters = parameters.getExtension(OpenLoadFlowParameters.class);
+        assertEquals(4, olfParameters.getThreadCount());
+
+        assertThrows(IllegalArgumentException.class, () -> olfParameters.setThreadCount(0));
+    }
+
+    @Test
+    void testParallelNetworkCreation() {
+        MapModuleConfig olfModuleConfig = platformConfig.createModuleConfig("open-loadflow-default-parameters");
+        olfModuleConfig.setStringProperty(PARALLEL_NETWORK_CREATION_PARAM_NAME, "true");
+
+        LoadFlowParameters parameters = LoadFlowParameters.load(platformConfig);
+        OpenLoadFlowParameters olfParameters = parameters.getExtension(OpenLoadFlowParameters.class);
+        assertTrue(olfParameters.isParallelNetworkCreation());
+
+        AcLoadFlowParameters acParameters = OpenLoadFlowProvider.createAcParameters(EurostagTutorialExample1Factory.create(),
+                new DenseMatrixFactory(), parameters, olfParameters, false);
+        assertTrue(acParameters.isParallelNetworkCreation());
+        assertTrue(AcloadFlowEngine.createNetworkParameters(acParameters).isParallelCreation());
+        assertFalse(AcloadFlowEngine.createNetworkParameters(acParameters.setParallelNetworkCreation(false)).isParallelCreation());
     }
 
     @Test
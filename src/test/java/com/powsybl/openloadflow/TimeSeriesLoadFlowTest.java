@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.openloadflow.ac.nr.NewtonRaphsonStatus;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowResult;
+import com.powsybl.openloadflow.ac.outerloop.AcloadFlowEngine;
+import com.powsybl.openloadflow.network.LfNetwork;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class TimeSeriesLoadFlowTest {
+
+    private static final double DELTA_V = 1E-5;
+
+    private static final double[] LOAD_P0 = {600, 550, 500, 520, 580, 640, 700, 660};
+
+    private static final double[] GEN_TARGET_P = {607, 557, 507, 527, 587, 647, 707, 667};
+
+    private Network network;
+
+    private AcLoadFlowParameters parameters;
+
+    private TimeSeriesLoadFlow.Injections injections;
+
+    @BeforeEach
+    void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+        LoadFlowParameters loadFlowParameters = new LoadFlowParameters();
+        OpenLoadFlowParameters parametersExt = new OpenLoadFlowParameters();
+        loadFlowParameters.addExtension(OpenLoadFlowParameters.class, parametersExt);
+        parameters = OpenLoadFlowProvider.createAcParameters(network, new DenseMatrixFactory(), loadFlowParameters, parametersExt, false);
+        injections = new TimeSeriesLoadFlow.Injections(LOAD_P0.length)
+                .setLoadP0("LOAD", LOAD_P0)
+                .setGeneratorTargetP("GEN", GEN_TARGET_P);
+    }
+
+    /**
+     * Voltage of the load bus of each step, each step being computed from scratch.
+     */
+    private double[] runReference() {
+        double[] loadBusV = new double[LOAD_P0.length];
+        for (int step = 0; step < LOAD_P0.length; step++) {
+            Network stepNetwork = EurostagTutorialExample1Factory.create();
+            stepNetwork.getLoad("LOAD").setP0(LOAD_P0[step]);
+            stepNetwork.getGenerator("GEN").setTargetP(GEN_TARGET_P[step]);
+            List<AcLoadFlowResult> results = AcloadFlowEngine.run(stepNetwork, parameters);
+            loadBusV[step] = results.get(0).getNetwork().getBusById("VLLOAD_0").getV();
+        }
+        return loadBusV;
+    }
+
+    private double[] runTimeSeries(int threadCount) {
+        double[] loadBusV = new double[LOAD_P0.length];
+        List<List<AcLoadFlowResult>> results = TimeSeriesLoadFlow.run(network, injections, parameters, threadCount, (step, stepResults) -> {
+            LfNetwork lfNetwork = stepResults.get(0).getNetwork();
+            loadBusV[step] = lfNetwork.getBusById("VLLOAD_0").getV();
+        });
+        assertEquals(LOAD_P0.length, results.size());
+        assertTrue(results.stream().allMatch(stepResults -> stepResults.get(0).getNewtonRaphsonStatus() == NewtonRaphsonStatus.CONVERGED));
+        return loadBusV;
+    }
+
+    @Test
+    void singleThreadTest() {
+        assertArrayEquals(runReference(), runTimeSeries(1), DELTA_V);
+
+        // working variant is left unchanged
+        assertEquals(600, network.getLoad("LOAD").getP0(), 0);
+        assertEquals(1, network.getVariantManager().getVariantIds().size());
+    }
+
+    @Test
+    void multiThreadTest() {
+        assertArrayEquals(runReference(), runTimeSeries(3), DELTA_V);
+        assertFalse(network.getVariantManager().isVariantMultiThreadAccessAllowed());
+        assertEquals(1, network.getVariantManager().getVariantIds().size());
+    }
+
+    /**
+     * Newton-Raphson iterations of each step, each step being computed from scratch.
+     */
+    private int[] runColdStartIterations() {
+        int[] iterations = new int[LOAD_P0.length];
+        for (int step = 0; step < LOAD_P0.length; step++) {
+            Network stepNetwork = EurostagTutorialExample1Factory.create();
+            stepNetwork.getLoad("LOAD").setP0(LOAD_P0[step]);
+            stepNetwork.getGenerator("GEN").setTargetP(GEN_TARGET_P[step]);
+            iterations[step] = AcloadFlowEngine.run(stepNetwork, parameters).get(0).getNewtonRaphsonIterations();
+        }
+        return iterations;
+    }
+
+    @Test
+    void warmStartTest() {
+        // steps after the first one of a chunk start from the previous solution so need less iterations than from scratch
+        List<List<AcLoadFlowResult>> results = TimeSeriesLoadFlow.run(network, injections, parameters, 1);
+        int[] coldStartIterations = runColdStartIterations();
+        assertEquals(coldStartIterations[0], results.get(0).get(0).getNewtonRaphsonIterations());
+        for (int step = 1; step < LOAD_P0.length; step++) {
+            int warmStartIterations = results.get(step).get(0).getNewtonRaphsonIterations();
+            assertTrue(warmStartIterations < coldStartIterations[step],
+                "Step " + step + ": " + warmStartIterations + " iterations with warm start, " + coldStartIterations[step] + " from scratch");
+        }
+    }
+
+    @Test
+    void rebuildTest() {
+        // switching the generator off cannot be applied incrementally, networks are rebuilt on this step and the next one
+        LoadFlowParameters loadFlowParameters = new LoadFlowParameters().setDistributedSlack(false);
+        OpenLoadFlowParameters parametersExt = new OpenLoadFlowParameters();
+        loadFlowParameters.addExtension(OpenLoadFlowParameters.class, parametersExt);
+        AcLoadFlowParameters noSlackDistributionParameters = OpenLoadFlowProvider.createAcParameters(network, new DenseMatrixFactory(),
+                loadFlowParameters, parametersExt, false);
+        double[] targetP = GEN_TARGET_P.clone();
+        targetP[3] = 0;
+        injections.setGeneratorTargetP("GEN", targetP);
+        Map<Integer, NewtonRaphsonStatus> statuses = new ConcurrentHashMap<>();
+        TimeSeriesLoadFlow.run(network, injections, noSlackDistributionParameters, 2,
+            (step, stepResults) -> statuses.put(step, stepResults.get(0).getNewtonRaphsonStatus()));
+        assertEquals(LOAD_P0.length, statuses.size());
+        assertTrue(statuses.values().stream().allMatch(status -> status == NewtonRaphsonStatus.CONVERGED));
+    }
+
+    @Test
+    void invalidInjectionsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeSeriesLoadFlow.Injections(0));
+        assertThrows(IllegalArgumentException.class, () -> injections.setLoadP0("LOAD", new double[] {1}));
+        TimeSeriesLoadFlow.Injections unknownLoad = new TimeSeriesLoadFlow.Injections(1).setLoadP0("UNKNOWN", new double[] {1});
+        assertThrows(PowsyblException.class, () -> TimeSeriesLoadFlow.run(network, unknownLoad, parameters, 1));
+        assertThrows(IllegalArgumentException.class, () -> TimeSeriesLoadFlow.run(network, injections, parameters, 0));
+    }
+}
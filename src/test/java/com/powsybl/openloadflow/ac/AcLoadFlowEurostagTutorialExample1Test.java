@@ -15,12 +15,17 @@ import com.powsybl.loadflow.LoadFlow;
 import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.openloadflow.NetworkCache;
 import com.powsybl.openloadflow.OpenLoadFlowParameters;
 import com.powsybl.openloadflow.OpenLoadFlowProvider;
 import com.powsybl.openloadflow.network.FirstSlackBusSelector;
+import com.powsybl.openloadflow.network.LfNetwork;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static com.powsybl.openloadflow.util.LoadFlowAssert.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -276,4 +281,88 @@ class AcLoadFlowEurostagTutorialExample1Test {
         assertEquals(1, result.getComponentResults().size());
         assertEquals(LoadFlowResult.ComponentResult.Status.FAILED, result.getComponentResults().get(0).getStatus());
     }
+
+    @Test
+    void performanceMetricsTest() {
+        LoadFlowResult result = loadFlowRunner.run(network, parameters);
+        assertTrue(result.isOk());
+        Map<String, String> metrics = result.getMetrics();
+        assertTrue(metrics.containsKey("network_loading_time_ms"));
+        assertTrue(metrics.containsKey("equation_system_creation_time_ms"));
+        assertTrue(metrics.containsKey("lu_solve_time_ms"));
+        assertEquals("1", metrics.get("jacobian_build_count"));
+        assertEquals("1", metrics.get("lu_decomposition_count"));
+        assertEquals(metrics.get("jacobian_update_count"), metrics.get("lu_update_count"));
+        int newtonRaphsonIterations = metrics.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("newton_raphson_iterations["))
+                .mapToInt(e -> Integer.parseInt(e.getValue()))
+                .sum();
+        assertEquals(result.getComponentResults().get(0).getIterationCount(), newtonRaphsonIterations);
+        assertEquals(Integer.toString(newtonRaphsonIterations), metrics.get("lu_solve_count"));
+    }
+
+    private void assertSameResults(LoadFlowResult expectedResult, Network expectedNetwork, LoadFlowResult result) {
+        assertTrue(expectedResult.isOk());
+        assertTrue(result.isOk());
+        assertEquals(expectedResult.getComponentResults().get(0).getIterationCount(), result.getComponentResults().get(0).getIterationCount());
+        assertVoltageEquals(expectedNetwork.getBusBreakerView().getBus("NLOAD").getV(), loadBus);
+        assertAngleEquals(expectedNetwork.getBusBreakerView().getBus("NLOAD").getAngle(), loadBus);
+        assertActivePowerEquals(expectedNetwork.getLine("NHV1_NHV2_2").getTerminal1().getP(), line2.getTerminal1());
+        assertReactivePowerEquals(expectedNetwork.getGenerator("GEN").getTerminal().getQ(), gen.getTerminal());
+    }
+
+    @Test
+    void networkCacheTest() {
+        parametersExt.setNetworkCacheEnabled(true);
+        LoadFlowParameters parameters2 = parameters.copy();
+        parameters2.addExtension(OpenLoadFlowParameters.class, new OpenLoadFlowParameters()
+                .setSlackBusSelector(new FirstSlackBusSelector()));
+        try (NetworkCache networkCache = new NetworkCache()) {
+            LoadFlow.Runner cachedRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(new DenseMatrixFactory(), networkCache));
+            LoadFlowResult result = cachedRunner.run(network, parameters);
+            assertTrue(result.isOk());
+            assertVoltageEquals(147.578, loadBus);
+            List<LfNetwork> lfNetworks = networkCache.getNetworks(network).orElseThrow();
+
+            // incremental update of the cached network
+            Network network2 = EurostagTutorialExample1Factory.create();
+            network.getLoad("LOAD").setP0(700).setQ0(200);
+            network2.getLoad("LOAD").setP0(700).setQ0(200);
+            result = cachedRunner.run(network, parameters);
+            assertSame(lfNetworks, networkCache.getNetworks(network).orElseThrow());
+            assertSameResults(loadFlowRunner.run(network2, parameters2), network2, result);
+
+            // tap position change is applied to the cached network
+            network.getTwoWindingsTransformer("NHV2_NLOAD").getRatioTapChanger().setTapPosition(2);
+            network2.getTwoWindingsTransformer("NHV2_NLOAD").getRatioTapChanger().setTapPosition(2);
+            result = cachedRunner.run(network, parameters);
+            assertSame(lfNetworks, networkCache.getNetworks(network).orElseThrow());
+            assertSameResults(loadFlowRunner.run(network2, parameters2), network2, result);
+
+            // generator target change is applied to the cached network
+            gen.setTargetP(650);
+            network2.getGenerator("GEN").setTargetP(650);
+            result = cachedRunner.run(network, parameters);
+            assertSame(lfNetworks, networkCache.getNetworks(network).orElseThrow());
+            assertSameResults(loadFlowRunner.run(network2, parameters2), network2, result);
+
+            // a generator without target is discarded at loading, cached network has to be rebuilt
+            gen.setTargetP(0);
+            network2.getGenerator("GEN").setTargetP(0);
+            result = cachedRunner.run(network, parameters);
+            assertNotSame(lfNetworks, networkCache.getNetworks(network).orElseThrow());
+            assertSameResults(loadFlowRunner.run(network2, parameters2), network2, result);
+            lfNetworks = networkCache.getNetworks(network).orElseThrow();
+
+            // structural change, cached network has to be rebuilt
+            line1.getTerminal1().disconnect();
+            network2.getLine("NHV1_NHV2_1").getTerminal1().disconnect();
+            result = cachedRunner.run(network, parameters);
+            assertNotSame(lfNetworks, networkCache.getNetworks(network).orElseThrow());
+            assertSameResults(loadFlowRunner.run(network2, parameters2), network2, result);
+
+            networkCache.evict(network);
+            assertTrue(networkCache.getNetworks(network).isEmpty());
+        }
+    }
 }
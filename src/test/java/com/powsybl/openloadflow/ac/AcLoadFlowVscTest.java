@@ -13,11 +13,26 @@ import com.powsybl.loadflow.LoadFlowResult;
 import com.powsybl.math.matrix.DenseMatrixFactory;
 import com.powsybl.openloadflow.OpenLoadFlowParameters;
 import com.powsybl.openloadflow.OpenLoadFlowProvider;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
+import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowResult;
+import com.powsybl.openloadflow.ac.outerloop.AcloadFlowEngine;
+import com.powsybl.openloadflow.ac.outerloop.OuterLoop;
+import com.powsybl.openloadflow.ac.outerloop.OuterLoopContext;
+import com.powsybl.openloadflow.ac.outerloop.OuterLoopStatus;
 import com.powsybl.openloadflow.network.HvdcNetworkFactory;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static com.powsybl.openloadflow.util.LoadFlowAssert.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AcLoadFlowVscTest {
@@ -64,4 +79,94 @@ class AcLoadFlowVscTest {
         assertActivePowerEquals(-100.55, l12.getTerminal2());
         assertReactivePowerEquals(-608.046, l12.getTerminal2());
     }
+
+    @Test
+    void testComponentsInParallel() {
+        Network network = HvdcNetworkFactory.createVsc();
+        LoadFlowParameters parameters = new LoadFlowParameters().setNoGeneratorReactiveLimits(true)
+                                             .setDistributedSlack(false);
+        OpenLoadFlowParameters parametersExt = new OpenLoadFlowParameters()
+                .setSlackBusSelector(new MostMeshedSlackBusSelector());
+        AcLoadFlowParameters acParameters = OpenLoadFlowProvider.createAcParameters(network, new DenseMatrixFactory(), parameters, parametersExt, false);
+
+        List<AcLoadFlowResult> sequentialResults = AcloadFlowEngine.run(AcloadFlowEngine.createNetworks(network, acParameters), acParameters, 1);
+        List<AcLoadFlowResult> parallelResults = AcloadFlowEngine.run(AcloadFlowEngine.createNetworks(network, acParameters), acParameters, 2);
+        assertEquals(2, parallelResults.size());
+        for (int i = 0; i < parallelResults.size(); i++) {
+            AcLoadFlowResult sequentialResult = sequentialResults.get(i);
+            AcLoadFlowResult parallelResult = parallelResults.get(i);
+            assertEquals(i, parallelResult.getNetwork().getNum());
+            assertEquals(sequentialResult.getNewtonRaphsonStatus(), parallelResult.getNewtonRaphsonStatus());
+            assertEquals(sequentialResult.getNewtonRaphsonIterations(), parallelResult.getNewtonRaphsonIterations());
+            for (LfBus bus : parallelResult.getNetwork().getBuses()) {
+                LfBus sequentialBus = sequentialResult.getNetwork().getBusById(bus.getId());
+                assertEquals(sequentialBus.getV(), bus.getV(), 0);
+                assertEquals(sequentialBus.getAngle(), bus.getAngle(), 0);
+            }
+        }
+    }
+
+    @Test
+    void testComponentFailureInParallel() {
+        Network network = HvdcNetworkFactory.createVsc();
+        LoadFlowParameters parameters = new LoadFlowParameters().setNoGeneratorReactiveLimits(true)
+                                             .setDistributedSlack(false);
+        OpenLoadFlowParameters parametersExt = new OpenLoadFlowParameters()
+                .setSlackBusSelector(new MostMeshedSlackBusSelector());
+        AcLoadFlowParameters acParameters = OpenLoadFlowProvider.createAcParameters(network, new DenseMatrixFactory(), parameters, parametersExt, false);
+
+        // first component fails while the second one is still running
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        AtomicBoolean secondFinished = new AtomicBoolean(false);
+        acParameters.getOuterLoops().add(new OuterLoop() {
+            @Override
+            public String getType() {
+                return "Test";
+            }
+
+            @Override
+            public OuterLoopStatus check(OuterLoopContext context) {
+                try {
+                    if (context.getNetwork().getNum() == 0) {
+                        secondStarted.await(10, TimeUnit.SECONDS);
+                        throw new IllegalStateException("Component failure");
+                    }
+                    secondStarted.countDown();
+                    Thread.sleep(200);
+                    secondFinished.set(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return OuterLoopStatus.STABLE;
+            }
+        });
+
+        List<LfNetwork> lfNetworks = AcloadFlowEngine.createNetworks(network, acParameters);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> AcloadFlowEngine.run(lfNetworks, acParameters, 2));
+        assertEquals("Component failure", e.getMessage());
+        // the failure is only rethrown once the other component is done
+        assertTrue(secondFinished.get());
+    }
+
+    @Test
+    void testThreadCount() {
+        Network network = HvdcNetworkFactory.createVsc();
+        LoadFlow.Runner loadFlowRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(new DenseMatrixFactory()));
+        LoadFlowParameters parameters = new LoadFlowParameters().setNoGeneratorReactiveLimits(true)
+                                             .setDistributedSlack(false);
+        OpenLoadFlowParameters parametersExt = new OpenLoadFlowParameters()
+                .setSlackBusSelector(new MostMeshedSlackBusSelector())
+                .setThreadCount(2);
+        parameters.addExtension(OpenLoadFlowParameters.class, parametersExt);
+
+        // several runs so that pool threads are reused
+        for (int i = 0; i < 3; i++) {
+            LoadFlowResult result = loadFlowRunner.run(network, parameters);
+            assertTrue(result.isOk());
+            assertEquals(2, result.getComponentResults().size());
+            assertVoltageEquals(385, network.getBusView().getBus("vl2_0"));
+            assertAngleEquals(0.116917, network.getBusView().getBus("vl2_0"));
+            assertActivePowerEquals(-49.90, network.getVscConverterStation("cs3").getTerminal());
+        }
+    }
 }
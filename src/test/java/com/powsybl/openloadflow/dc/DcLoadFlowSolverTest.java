@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.dc;
+
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.iidm.network.test.PhaseShifterTestCaseFactory;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.openloadflow.dc.equations.DcEquationSystem;
+import com.powsybl.openloadflow.network.FirstSlackBusSelector;
+import com.powsybl.openloadflow.network.LfBranch;
+import com.powsybl.openloadflow.network.LfBus;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class DcLoadFlowSolverTest {
+
+    private static final double DELTA = 1E-8;
+
+    private static DcLoadFlowParameters createParameters() {
+        return new DcLoadFlowParameters(new FirstSlackBusSelector(), new DenseMatrixFactory(), true, true, false,
+                LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX, false, 10000, false);
+    }
+
+    private static double[] getFlows(LfNetwork network) {
+        return network.getBranches().stream().mapToDouble(b -> b.getP1().eval()).toArray();
+    }
+
+    @Test
+    void rerunTest() {
+        LfNetwork network = LfNetwork.load(EurostagTutorialExample1Factory.create(), new FirstSlackBusSelector()).get(0);
+        LfNetwork network2 = LfNetwork.load(EurostagTutorialExample1Factory.create(), new FirstSlackBusSelector()).get(0);
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, createParameters())) {
+            assertEquals(LoadFlowResult.ComponentResult.Status.CONVERGED, solver.run());
+            double[] flows = getFlows(network);
+
+            // change a load and run again with the same factorization, flows must be the same as with a new solver
+            LfBus loadBus = network.getBusById("VLLOAD_0");
+            loadBus.setLoadTargetP(loadBus.getLoadTargetP() + 1);
+            assertEquals(LoadFlowResult.ComponentResult.Status.CONVERGED, solver.run());
+            double[] flows2 = getFlows(network);
+            assertNotEquals(flows[0], flows2[0], DELTA);
+
+            LfBus loadBus2 = network2.getBusById("VLLOAD_0");
+            loadBus2.setLoadTargetP(loadBus2.getLoadTargetP() + 1);
+            try (DcLoadFlowSolver solver2 = new DcLoadFlowSolver(network2, createParameters())) {
+                solver2.run();
+            }
+            assertArrayEquals(getFlows(network2), flows2, DELTA);
+        }
+    }
+
+    @Test
+    void phaseShifterAngleTest() {
+        LfNetwork network = LfNetwork.load(PhaseShifterTestCaseFactory.create(), new FirstSlackBusSelector()).get(0);
+        LfBranch ps1 = network.getBranchById("PS1");
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, createParameters())) {
+            solver.run();
+            double p = ps1.getP1().eval();
+            ps1.getPiModel().setA1(ps1.getPiModel().getA1() + Math.toRadians(5));
+            solver.run();
+            assertNotEquals(p, ps1.getP1().eval(), DELTA);
+        }
+    }
+
+    @Test
+    void batchTest() {
+        LfNetwork network = LfNetwork.load(EurostagTutorialExample1Factory.create(), new FirstSlackBusSelector()).get(0);
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, createParameters())) {
+            solver.run();
+            double[] flows = getFlows(network);
+
+            // scenario 0 has the network injections, scenario 1 has 1 more per unit of load
+            LfBus loadBus = network.getBusById("VLLOAD_0");
+            DenseMatrix injections = new DenseMatrix(network.getBuses().size(), 2);
+            for (LfBus bus : network.getBuses()) {
+                injections.set(bus.getNum(), 0, bus.getTargetP());
+                injections.set(bus.getNum(), 1, bus.getTargetP());
+            }
+            injections.add(loadBus.getNum(), 1, -1);
+            DenseMatrix batchFlows = solver.run(injections);
+            assertEquals(network.getBranches().size(), batchFlows.getRowCount());
+            for (LfBranch branch : network.getBranches()) {
+                assertEquals(flows[branch.getNum()], batchFlows.get(branch.getNum(), 0), DELTA);
+            }
+
+            // network state is not changed by a batch run
+            assertArrayEquals(flows, getFlows(network), DELTA);
+
+            loadBus.setLoadTargetP(loadBus.getLoadTargetP() + 1);
+            solver.run();
+            double[] flows2 = getFlows(network);
+            for (LfBranch branch : network.getBranches()) {
+                assertEquals(flows2[branch.getNum()], batchFlows.get(branch.getNum(), 1), DELTA);
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> solver.run(new DenseMatrix(1, 1)));
+        }
+    }
+
+    @Test
+    void singleFactorizationTest() {
+        LfNetwork network = LfNetwork.load(EurostagTutorialExample1Factory.create(), new FirstSlackBusSelector()).get(0);
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, createParameters())) {
+            for (int i = 0; i < 3; i++) {
+                solver.run();
+            }
+            PerformanceMetrics metrics = solver.getMetrics();
+            assertEquals(1, metrics.getLuDecompositionCount());
+            assertEquals(0, metrics.getLuUpdateCount());
+            assertEquals(3, metrics.getLuSolveCount());
+        }
+    }
+
+    @Test
+    void symmetricTest() {
+        LfNetwork network = LfNetwork.load(PhaseShifterTestCaseFactory.create(), new FirstSlackBusSelector()).get(0);
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, createParameters())) {
+            assertTrue(DcEquationSystem.isSymmetric(solver.getEquationSystem()));
+        }
+        // phase shifter angle variable breaks the symmetry
+        DcLoadFlowParameters parameters = new DcLoadFlowParameters(new FirstSlackBusSelector(), new DenseMatrixFactory(), true, true, false,
+                LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX, true, 10000, false);
+        try (DcLoadFlowSolver solver = new DcLoadFlowSolver(network, parameters)) {
+            assertFalse(DcEquationSystem.isSymmetric(solver.getEquationSystem()));
+            assertEquals(LoadFlowResult.ComponentResult.Status.CONVERGED, solver.run());
+        }
+    }
+}
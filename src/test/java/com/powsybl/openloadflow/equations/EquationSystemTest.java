@@ -173,6 +173,25 @@ class EquationSystemTest {
         assertEquals(1.9259062775721603, largestMismatches.get(2).getValue(), 0);
     }
 
+    @Test
+    void reusedVectorsTest() {
+        Network network = EurostagTutorialExample1Factory.create();
+        LfNetwork lfNetwork = LfNetwork.load(network, new FirstSlackBusSelector()).get(0);
+        EquationSystem equationSystem = AcEquationSystem.create(lfNetwork);
+        double[] x = equationSystem.createStateVector(new UniformValueVoltageInitializer());
+        double[] targets = equationSystem.createTargetVector();
+
+        double[] x2 = new double[x.length];
+        equationSystem.updateStateVector(new UniformValueVoltageInitializer(), x2);
+        assertArrayEquals(x, x2, 0);
+        double[] targets2 = new double[targets.length];
+        equationSystem.updateTargetVector(targets2);
+        assertArrayEquals(targets, targets2, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> equationSystem.updateStateVector(new UniformValueVoltageInitializer(), new double[x.length + 1]));
+        assertThrows(IllegalArgumentException.class, () -> equationSystem.updateTargetVector(new double[targets.length + 1]));
+    }
+
     @Test
     void currentMagnitudeTest() {
         Network network = EurostagTutorialExample1Factory.create();
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.equations;
+
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.math.matrix.LUDecomposition;
+import com.powsybl.openloadflow.network.ElementType;
+import com.powsybl.openloadflow.network.FirstSlackBusSelector;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.util.PerformanceMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class JacobianMatrixTest {
+
+    /**
+     * Term of the given bus with a derivative to phi of bus 1 equal to phi of bus 0 if state dependent.
+     */
+    private static final class TestEquationTerm extends AbstractNamedEquationTerm {
+
+        private final int busNum;
+
+        private final List<Variable> variables;
+
+        private final double derPhi0;
+
+        private final boolean stateDependent;
+
+        private double derPhi1;
+
+        private TestEquationTerm(int busNum, VariableSet variableSet, double derPhi0, double derPhi1, boolean stateDependent) {
+            this.busNum = busNum;
+            variables = List.of(variableSet.getVariable(0, VariableType.BUS_PHI), variableSet.getVariable(1, VariableType.BUS_PHI));
+            this.derPhi0 = derPhi0;
+            this.derPhi1 = derPhi1;
+            this.stateDependent = stateDependent;
+        }
+
+        @Override
+        public ElementType getElementType() {
+            return ElementType.BUS;
+        }
+
+        @Override
+        public int getElementNum() {
+            return busNum;
+        }
+
+        @Override
+        public List<Variable> getVariables() {
+            return variables;
+        }
+
+        @Override
+        public void update(double[] x) {
+            if (stateDependent) {
+                derPhi1 = x[variables.get(0).getRow()];
+            }
+        }
+
+        @Override
+        public double eval() {
+            return 0;
+        }
+
+        @Override
+        public double der(Variable variable) {
+            return variable.equals(variables.get(0)) ? derPhi0 : derPhi1;
+        }
+
+        @Override
+        public boolean hasRhs() {
+            return false;
+        }
+
+        @Override
+        public double rhs() {
+            return 0;
+        }
+
+        @Override
+        protected String getName() {
+            return "test";
+        }
+    }
+
+    private static double[] solveDense(JacobianMatrix j, double[] b) {
+        double[] x = b.clone();
+        try (LUDecomposition lu = j.getMatrix().toDense().decomposeLU()) {
+            lu.solve(x);
+        }
+        return x;
+    }
+
+    @Test
+    void notSymmetricAnymoreTest() {
+        LfNetwork network = LfNetwork.load(EurostagTutorialExample1Factory.create(), new FirstSlackBusSelector()).get(0);
+        VariableSet variableSet = new VariableSet();
+        EquationSystem equationSystem = new EquationSystem(network);
+        equationSystem.createEquation(0, EquationType.BUS_P).addTerm(new TestEquationTerm(0, variableSet, 2, 0, true));
+        equationSystem.createEquation(1, EquationType.BUS_P).addTerm(new TestEquationTerm(1, variableSet, 1, 2, false));
+        double[] x = new double[equationSystem.getSortedVariablesToFind().size()];
+        x[variableSet.getVariable(0, VariableType.BUS_PHI).getRow()] = 1;
+        equationSystem.updateEquations(x);
+
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        try (JacobianMatrix j = new JacobianMatrix(equationSystem, new DenseMatrixFactory(), metrics, false, true)) {
+            // symmetric, decomposed with a LDLT decomposition
+            double[] b = {1, 0.5};
+            double[] expected = solveDense(j, b);
+            j.solve(b);
+            assertArrayEquals(expected, b, 1e-12);
+
+            // not symmetric anymore, LDLT decomposition update fails and LU decomposition is used instead
+            x[variableSet.getVariable(0, VariableType.BUS_PHI).getRow()] = 3;
+            equationSystem.updateEquations(x);
+            b = new double[] {1, 0.5};
+            j.solve(b);
+            assertArrayEquals(solveDense(j, new double[] {1, 0.5}), b, 1e-12);
+            assertEquals(1, metrics.getLuDecompositionCount());
+            assertEquals(1, metrics.getLuUpdateCount());
+        }
+    }
+}
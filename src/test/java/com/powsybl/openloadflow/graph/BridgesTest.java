@@ -13,6 +13,7 @@ import com.powsybl.openloadflow.network.FirstSlackBusSelector;
 import com.powsybl.openloadflow.network.LfBranch;
 import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.network.NameSlackBusSelector;
 import org.jgrapht.alg.connectivity.BiconnectivityInspector;
 import org.jgrapht.graph.Pseudograph;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +29,7 @@ import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * @author Florian Dupuy <florian.dupuy at rte-france.com>
@@ -75,6 +76,12 @@ class BridgesTest {
         assertEquals(bridgesSetReference, bridges);
     }
 
+    @Test
+    void testArray() {
+        Set<String> bridges = testBridgesOnConnectivity(lfNetwork, new ArrayGraphDecrementalConnectivity<>(LfBus::getNum), "array based algorithm");
+        assertEquals(bridgesSetReference, bridges);
+    }
+
     @Test
     void testFindBridges() {
         BridgesFinder<LfBus> graph = new BridgesFinder<>(lfNetwork.getBuses().size(), LfBus::getNum);
@@ -102,6 +109,33 @@ class BridgesTest {
         assertEquals(bridgesSetReference, set);
     }
 
+    @Test
+    void testFindBridgesOnLongChain() {
+        // a recursive depth-first search would overflow the call stack on such a chain
+        int nbVertices = 200000;
+        BridgesFinder<Integer> chain = new BridgesFinder<>(nbVertices, Integer::intValue);
+        for (int i = 0; i < nbVertices; i++) {
+            chain.addVertex(i);
+        }
+        for (int i = 1; i < nbVertices; i++) {
+            chain.addEdge(i - 1, i);
+        }
+        List<int[]> bridges = chain.getBridges();
+        assertEquals(nbVertices - 1, bridges.size());
+        assertTrue(bridges.stream().allMatch(b -> Math.abs(b[0] - b[1]) == 1));
+
+        // same chain closed as a ring: no bridge anymore
+        BridgesFinder<Integer> ring = new BridgesFinder<>(nbVertices, Integer::intValue);
+        for (int i = 0; i < nbVertices; i++) {
+            ring.addVertex(i);
+        }
+        for (int i = 1; i < nbVertices; i++) {
+            ring.addEdge(i - 1, i);
+        }
+        ring.addEdge(nbVertices - 1, 0);
+        assertTrue(ring.getBridges().isEmpty());
+    }
+
     @Test
     void testBiconnectivityInspector() {
         org.jgrapht.Graph<String, String> graph = getJgraphTGraph(lfNetwork);
@@ -169,4 +203,40 @@ class BridgesTest {
         }
     }
 
+    @Test
+    void testTwoEdgeConnectivityIndex() {
+        TwoEdgeConnectivityIndex<LfBus, LfBranch> index = new TwoEdgeConnectivityIndex<>(lfNetwork.getBuses().size(), LfBus::getNum);
+        for (LfBus bus : lfNetwork.getBuses()) {
+            index.addVertex(bus);
+        }
+        for (LfBranch branch : lfNetwork.getBranches()) {
+            index.addEdge(branch.getBus1(), branch.getBus2(), branch);
+        }
+        LfBranch ngenNhv1 = lfNetwork.getBranchById("NGEN_NHV1");
+        LfBranch nhv1Nhv2 = lfNetwork.getBranchById("NHV1_NHV2_1");
+        LfBranch nhv1Nhv2Bis = lfNetwork.getBranchById("NHV1_NHV2_2");
+
+        for (LfBranch branch : lfNetwork.getBranches()) {
+            assertEquals(bridgesSetReference.contains(branch.getId()), index.isBridge(branch));
+        }
+        assertEquals(index.getComponentNum(nhv1Nhv2.getBus1()), index.getComponentNum(nhv1Nhv2.getBus2()));
+        assertNotEquals(index.getComponentNum(ngenNhv1.getBus1()), index.getComponentNum(ngenNhv1.getBus2()));
+
+        assertFalse(index.mayBreakConnectivity(List.of(nhv1Nhv2)));
+        assertTrue(index.mayBreakConnectivity(List.of(nhv1Nhv2, nhv1Nhv2Bis)));
+        assertTrue(index.mayBreakConnectivity(List.of(ngenNhv1)));
+    }
+
+    @Test
+    void testNetworkTwoEdgeConnectivityIndex() {
+        LfNetwork network = LfNetwork.load(EurostagTutorialExample1Factory.create(), new NameSlackBusSelector("VLHV1_0")).get(0);
+        TwoEdgeConnectivityIndex<LfBus, LfBranch> index = network.getTwoEdgeConnectivityIndex();
+        assertSame(index, network.getTwoEdgeConnectivityIndex());
+        assertTrue(index.isConnected());
+
+        assertEquals(List.of(network.getBusById("VLGEN_0")), index.getDisconnectedVertices(network.getBranchById("NGEN_NHV1")));
+        assertEquals(List.of(network.getBusById("VLLOAD_0")), index.getDisconnectedVertices(network.getBranchById("NHV2_NLOAD")));
+        assertTrue(index.getDisconnectedVertices(network.getBranchById("NHV1_NHV2_1")).isEmpty());
+        assertEquals(0, index.getDisconnectedVertexCount(network.getBranchById("NHV1_NHV2_2")));
+    }
 }
@@ -12,13 +12,16 @@ import com.powsybl.openloadflow.network.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Gaël Macherel <gael.macherel at artelys.com>
@@ -39,6 +42,7 @@ class ConnectivityTest {
     void testConnectivity() {
         testConnectivity(new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
         testConnectivity(new EvenShiloachGraphDecrementalConnectivity<>());
+        testConnectivity(new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
     }
 
     @Test
@@ -47,6 +51,7 @@ class ConnectivityTest {
         // created connected component.
         testReducedMainComponent(new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
         testReducedMainComponent(new EvenShiloachGraphDecrementalConnectivity<>());
+        testReducedMainComponent(new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
     }
 
     @Test
@@ -54,6 +59,7 @@ class ConnectivityTest {
         // Testing cutting an edge then adding it back
         testReaddEdge(new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
         testReaddEdge(new EvenShiloachGraphDecrementalConnectivity<>());
+        testReaddEdge(new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
     }
 
     @Test
@@ -76,6 +82,7 @@ class ConnectivityTest {
     void testNonConnectedComponents() {
         testNonConnectedComponents(new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
         testNonConnectedComponents(new EvenShiloachGraphDecrementalConnectivity<>());
+        testNonConnectedComponents(new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
         testNonConnectedComponents(new MinimumSpanningTreeGraphDecrementalConnectivity<>());
     }
 
@@ -83,9 +90,72 @@ class ConnectivityTest {
     void testConnectedComponents() {
         testConnectedComponents(new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
         testConnectedComponents(new EvenShiloachGraphDecrementalConnectivity<>());
+        testConnectedComponents(new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
         testConnectedComponents(new MinimumSpanningTreeGraphDecrementalConnectivity<>());
     }
 
+    @Test
+    void testVertexNums() {
+        testVertexNums(new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
+        testVertexNums(new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
+        testVertexNums(new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
+        testVertexNums(new MinimumSpanningTreeGraphDecrementalConnectivity<>(LfBus::getNum));
+    }
+
+    @Test
+    void testVertexNumsAddedInReverseOrder() {
+        // vertex numbers do not depend on the order the vertices are added in
+        List<LfBus> buses = new ArrayList<>(lfNetwork.getBuses());
+        Collections.reverse(buses);
+        for (GraphDecrementalConnectivity<LfBus> connectivity : List.of(new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum),
+                new MinimumSpanningTreeGraphDecrementalConnectivity<>(LfBus::getNum))) {
+            buses.forEach(connectivity::addVertex);
+            for (LfBranch lfBranch : lfNetwork.getBranches()) {
+                connectivity.addEdge(lfBranch.getBus1(), lfBranch.getBus2());
+            }
+            cutBranches(connectivity, "l34", "l48");
+            BitSet vertexNums = new BitSet();
+            connectivity.fillSmallComponentsVertexNums(vertexNums);
+            assertEquals(createVertexNums(connectivity.getSmallComponents().stream().flatMap(Set::stream).collect(Collectors.toSet())), vertexNums);
+        }
+    }
+
+    @Test
+    void testVertexNumsNotSupported() {
+        // connectivities without number getter, as external implementations not overriding getVertexNum
+        for (GraphDecrementalConnectivity<LfBus> connectivity : List.of(new EvenShiloachGraphDecrementalConnectivity<LfBus>(),
+                new MinimumSpanningTreeGraphDecrementalConnectivity<LfBus>())) {
+            updateConnectivity(connectivity);
+            cutBranches(connectivity, "l34", "l48");
+            assertEquals(2, connectivity.getSmallComponents().size());
+            BitSet vertexNums = new BitSet();
+            assertThrows(UnsupportedOperationException.class, () -> connectivity.fillSmallComponentsVertexNums(vertexNums));
+        }
+    }
+
+    private void testVertexNums(GraphDecrementalConnectivity<LfBus> connectivity) {
+        updateConnectivity(connectivity);
+        cutBranches(connectivity, "l34", "l48");
+
+        BitSet vertexNums = new BitSet();
+        connectivity.fillSmallComponentsVertexNums(vertexNums);
+        assertEquals(createVertexNums(connectivity.getSmallComponents().stream().flatMap(Set::stream).collect(Collectors.toSet())), vertexNums);
+
+        LfBus bus = lfNetwork.getBusById("b3_vl_0");
+        connectivity.fillNonConnectedVertexNums(bus, vertexNums);
+        assertEquals(createVertexNums(connectivity.getNonConnectedVertices(bus)), vertexNums);
+
+        connectivity.reset();
+        connectivity.fillNonConnectedVertexNums(bus, vertexNums);
+        assertTrue(vertexNums.isEmpty());
+    }
+
+    private static BitSet createVertexNums(Set<LfBus> buses) {
+        BitSet vertexNums = new BitSet();
+        buses.forEach(bus -> vertexNums.set(bus.getNum()));
+        return vertexNums;
+    }
+
     private void testConnectivity(GraphDecrementalConnectivity<LfBus> connectivity) {
         updateConnectivity(connectivity);
         cutBranches(connectivity, "l34", "l48");
@@ -131,6 +201,59 @@ class ConnectivityTest {
         assertEquals(1, connectivity.getComponentNumber(lfNetwork.getBusById("b8_vl_0")));
     }
 
+    @Test
+    void testArrayGraphViews() throws Exception {
+        ArrayGraphDecrementalConnectivity<LfBus> connectivity = new ArrayGraphDecrementalConnectivity<>(LfBus::getNum);
+        updateConnectivity(connectivity);
+        ImmutableArrayGraph<LfBus> graph = connectivity.getGraph();
+        assertEquals(lfNetwork.getBuses().size(), graph.getVertexCount());
+
+        // views of the same graph record their own cuts only, the shared graph and its other views are unchanged
+        ArrayGraphDecrementalConnectivity<LfBus> view1 = graph.createConnectivity();
+        ArrayGraphDecrementalConnectivity<LfBus> view2 = graph.createConnectivity();
+        cutBranches(view1, "l34", "l48");
+        cutBranches(view2, "l34", "l56", "l57");
+        assertEquals(2, view1.getSmallComponents().size());
+        assertEquals(createVerticesSet("b6_vl_0", "b7_vl_0"), view2.getConnectedComponent(lfNetwork.getBusById("b6_vl_0")));
+        assertEquals(0, connectivity.getSmallComponents().size());
+
+        view1.reset();
+        assertEquals(0, view1.getSmallComponents().size());
+        assertEquals(2, view2.getSmallComponents().size());
+
+        // one view per thread, all the views sharing the same immutable graph, cut and reset concurrently
+        List<String> branchIds = List.of("l34", "l48", "l56", "l57", "l67");
+        List<Integer> expectedComponentCounts = List.of(1, 1, 0, 0, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(branchIds.size());
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(branchIds.size());
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (String branchId : branchIds) {
+                futures.add(executor.submit(() -> {
+                    ArrayGraphDecrementalConnectivity<LfBus> view = graph.createConnectivity();
+                    List<Integer> componentCounts = new ArrayList<>();
+                    barrier.await();
+                    for (int i = 0; i < 100; i++) {
+                        cutBranches(view, branchId);
+                        componentCounts.add(view.getSmallComponents().size());
+                        view.reset();
+                    }
+                    return componentCounts;
+                }));
+            }
+            for (int i = 0; i < branchIds.size(); i++) {
+                assertEquals(Collections.nCopies(100, expectedComponentCounts.get(i)), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, connectivity.getSmallComponents().size());
+
+        LfBus bus = lfNetwork.getBusById("b3_vl_0");
+        assertThrows(UnsupportedOperationException.class, () -> view1.addVertex(bus));
+        assertThrows(UnsupportedOperationException.class, () -> view1.addEdge(bus, bus));
+    }
+
     private void testNonConnectedComponents(GraphDecrementalConnectivity<LfBus> connectivity) {
         updateConnectivity(connectivity);
         cutBranches(connectivity, "l34", "l48");
@@ -13,12 +13,14 @@ import com.powsybl.iidm.network.TwoWindingsTransformer;
 import com.powsybl.iidm.network.test.DanglingLineNetworkFactory;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.iidm.network.test.PhaseShifterTestCaseFactory;
+import com.powsybl.openloadflow.network.impl.LfNetworkSnapshot;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -104,4 +106,45 @@ class LfNetworkTest extends AbstractConverterTest {
         LfNetwork lfNetwork = lfNetworks.get(0);
         assertFalse(lfNetwork.getBusById("DL_BUS").isDisabled());
     }
+
+    private static String toJson(LfNetwork lfNetwork) {
+        lfNetwork.getBuses(); // to number buses
+        StringWriter writer = new StringWriter();
+        lfNetwork.writeJson(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void testSnapshot() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        TwoWindingsTransformer ps1 = network.getTwoWindingsTransformer("PS1");
+        ps1.getPhaseTapChanger()
+                .setRegulationMode(PhaseTapChanger.RegulationMode.ACTIVE_POWER_CONTROL)
+                .setTargetDeadband(1)
+                .setRegulating(true)
+                .setTapPosition(1)
+                .setRegulationTerminal(ps1.getTerminal1())
+                .setRegulationValue(83);
+        List<LfNetwork> lfNetworks = LfNetwork.load(network, new MostMeshedSlackBusSelector());
+        LfNetwork lfNetwork = lfNetworks.get(0);
+
+        Path file = fileSystem.getPath("/work/n.bin");
+        LfNetworkSnapshot.write(lfNetworks, "fingerprint", file);
+        assertTrue(LfNetworkSnapshot.read(file, "other fingerprint").isEmpty());
+        List<LfNetwork> readLfNetworks = LfNetworkSnapshot.read(file, "fingerprint").orElseThrow();
+        assertEquals(1, readLfNetworks.size());
+        LfNetwork readLfNetwork = readLfNetworks.get(0);
+
+        assertEquals(toJson(lfNetwork), toJson(readLfNetwork));
+        assertEquals(lfNetwork.getSlackBus().getId(), readLfNetwork.getSlackBus().getId());
+        LfBranch readPs1 = readLfNetwork.getBranchById("PS1");
+        assertTrue(readPs1.isPhaseController());
+        assertTrue(readPs1.getPiModel() instanceof PiModelArray);
+        assertEquals(lfNetwork.getBranchById("PS1").getPiModel().getA1(), readPs1.getPiModel().getA1(), 0);
+        LfGenerator generator = lfNetwork.getBusById("VL1_0").getGenerators().get(0);
+        LfGenerator readGenerator = readLfNetwork.getBusById("VL1_0").getGenerators().get(0);
+        assertEquals(generator.getMinQ(), readGenerator.getMinQ(), 0);
+        assertEquals(generator.getMaxQ(), readGenerator.getMaxQ(), 0);
+        assertEquals(generator.isParticipating(), readGenerator.isParticipating());
+    }
 }
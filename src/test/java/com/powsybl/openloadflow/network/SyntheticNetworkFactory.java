@@ -0,0 +1,458 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network;
+
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.*;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.factors.BranchFlowPerInjectionIncrease;
+import com.powsybl.sensitivity.factors.BranchFlowPerPSTAngle;
+import com.powsybl.sensitivity.factors.functions.BranchFlow;
+import com.powsybl.sensitivity.factors.variables.InjectionIncrease;
+import com.powsybl.sensitivity.factors.variables.PhaseTapChangerAngle;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generator of large synthetic networks for benchmarks and scaling tests.
+ *
+ * The transmission layer is a 400 kV grid of substations, each one linked to its right and lower neighbours plus a
+ * few random diagonal lines. Each transmission substation feeds through a 400/63 kV transformer with a ratio tap
+ * changer a radial 63 kV feeder of loads. Some transmission substations have a generator, some transmission lines
+ * are in series with a phase shifting transformer and a few HVDC links connect distant substations.
+ *
+ * Networks are fully determined by the parameters, random values being drawn from a seeded generator.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class SyntheticNetworkFactory {
+
+    public static final double TRANSMISSION_NOMINAL_V = 400;
+
+    public static final double DISTRIBUTION_NOMINAL_V = 63;
+
+    public static class Parameters {
+
+        private int busCount = 1000;
+
+        private int feederLength = 4;
+
+        private double diagonalLineRatio = 0.2;
+
+        private double generatorRatio = 0.25;
+
+        private int phaseShifterCount = 2;
+
+        private int hvdcLineCount = 2;
+
+        private long seed = 0;
+
+        public int getBusCount() {
+            return busCount;
+        }
+
+        /**
+         * Approximate number of buses of the network.
+         */
+        public Parameters setBusCount(int busCount) {
+            this.busCount = busCount;
+            return this;
+        }
+
+        public int getFeederLength() {
+            return feederLength;
+        }
+
+        /**
+         * Number of load buses of the radial feeder of each transmission substation.
+         */
+        public Parameters setFeederLength(int feederLength) {
+            this.feederLength = feederLength;
+            return this;
+        }
+
+        public double getDiagonalLineRatio() {
+            return diagonalLineRatio;
+        }
+
+        /**
+         * Share of the transmission substations with an additional diagonal line, which gives the meshing of the
+         * transmission layer.
+         */
+        public Parameters setDiagonalLineRatio(double diagonalLineRatio) {
+            this.diagonalLineRatio = diagonalLineRatio;
+            return this;
+        }
+
+        public double getGeneratorRatio() {
+            return generatorRatio;
+        }
+
+        /**
+         * Share of the transmission substations with a generator.
+         */
+        public Parameters setGeneratorRatio(double generatorRatio) {
+            this.generatorRatio = generatorRatio;
+            return this;
+        }
+
+        public int getPhaseShifterCount() {
+            return phaseShifterCount;
+        }
+
+        public Parameters setPhaseShifterCount(int phaseShifterCount) {
+            this.phaseShifterCount = phaseShifterCount;
+            return this;
+        }
+
+        public int getHvdcLineCount() {
+            return hvdcLineCount;
+        }
+
+        public Parameters setHvdcLineCount(int hvdcLineCount) {
+            this.hvdcLineCount = hvdcLineCount;
+            return this;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public Parameters setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        private void check() {
+            if (busCount < 1) {
+                throw new IllegalArgumentException("Invalid bus count: " + busCount);
+            }
+            if (feederLength < 0) {
+                throw new IllegalArgumentException("Invalid feeder length: " + feederLength);
+            }
+            if (diagonalLineRatio < 0 || diagonalLineRatio > 1) {
+                throw new IllegalArgumentException("Invalid diagonal line ratio: " + diagonalLineRatio);
+            }
+            if (generatorRatio <= 0 || generatorRatio > 1) {
+                throw new IllegalArgumentException("Invalid generator ratio: " + generatorRatio);
+            }
+            if (phaseShifterCount < 0) {
+                throw new IllegalArgumentException("Invalid phase shifter count: " + phaseShifterCount);
+            }
+            if (hvdcLineCount < 0) {
+                throw new IllegalArgumentException("Invalid HVDC line count: " + hvdcLineCount);
+            }
+        }
+    }
+
+    private SyntheticNetworkFactory() {
+    }
+
+    public static Network create() {
+        return create(new Parameters());
+    }
+
+    public static Network create(Parameters parameters) {
+        Objects.requireNonNull(parameters);
+        parameters.check();
+        return new Builder(parameters).build();
+    }
+
+    private static boolean isTransmissionBranch(Branch<?> branch) {
+        return branch.getTerminal1().getVoltageLevel().getNominalV() >= TRANSMISSION_NOMINAL_V
+                && branch.getTerminal2().getVoltageLevel().getNominalV() >= TRANSMISSION_NOMINAL_V;
+    }
+
+    /**
+     * Transmission lines, which are the branches to monitor and to trip in security and sensitivity analyses.
+     */
+    public static List<Line> getTransmissionLines(Network network) {
+        return network.getLineStream()
+                .filter(SyntheticNetworkFactory::isTransmissionBranch)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * N-1 contingencies of all the transmission lines.
+     */
+    public static List<Contingency> createContingencies(Network network) {
+        return getTransmissionLines(network).stream()
+                .map(line -> new Contingency(line.getId(), new BranchContingency(line.getId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sensitivity of the flow of the given number of transmission lines to each generator injection and to each phase
+     * shifter angle.
+     */
+    public static List<SensitivityFactor> createSensitivityFactors(Network network, int monitoredLineCount) {
+        List<BranchFlow> functions = getTransmissionLines(network).stream()
+                .limit(monitoredLineCount)
+                .map(line -> new BranchFlow(line.getId(), line.getId(), line.getId()))
+                .collect(Collectors.toList());
+        List<SensitivityFactor> factors = new ArrayList<>();
+        for (BranchFlow function : functions) {
+            network.getGeneratorStream()
+                    .forEach(generator -> factors.add(new BranchFlowPerInjectionIncrease(function,
+                            new InjectionIncrease(generator.getId(), generator.getId(), generator.getId()))));
+            network.getTwoWindingsTransformerStream()
+                    .filter(twt -> twt.getPhaseTapChanger() != null)
+                    .forEach(twt -> factors.add(new BranchFlowPerPSTAngle(function,
+                            new PhaseTapChangerAngle(twt.getId(), twt.getId(), twt.getId()))));
+        }
+        return factors;
+    }
+
+    private static final class Builder {
+
+        private final Parameters parameters;
+
+        private final Random random;
+
+        private final Network network;
+
+        private final int transmissionBusCount;
+
+        private final int gridWidth;
+
+        private final Bus[] transmissionBuses;
+
+        private final double[] substationLoads;
+
+        private final Set<Integer> phaseShifterSubstations = new HashSet<>();
+
+        private Builder(Parameters parameters) {
+            this.parameters = parameters;
+            random = new Random(parameters.getSeed());
+            network = Network.create("synthetic-" + parameters.getBusCount(), "code");
+            transmissionBusCount = Math.max(4, parameters.getBusCount() / (2 + parameters.getFeederLength()));
+            gridWidth = (int) Math.ceil(Math.sqrt(transmissionBusCount));
+            transmissionBuses = new Bus[transmissionBusCount];
+            substationLoads = new double[transmissionBusCount];
+        }
+
+        private Network build() {
+            for (int i = 0; i < transmissionBusCount; i++) {
+                Substation substation = network.newSubstation()
+                        .setId("S" + i)
+                        .setCountry(Country.FR)
+                        .add();
+                transmissionBuses[i] = createBus(substation, "S" + i + "_400", TRANSMISSION_NOMINAL_V);
+                createFeeder(substation, i);
+            }
+            createTransmissionLines();
+            createGenerators();
+            createHvdcLines();
+            return network;
+        }
+
+        private static Bus createBus(Substation substation, String id, double nominalV) {
+            VoltageLevel vl = substation.newVoltageLevel()
+                    .setId(id)
+                    .setNominalV(nominalV)
+                    .setTopologyKind(TopologyKind.BUS_BREAKER)
+                    .add();
+            return vl.getBusBreakerView().newBus()
+                    .setId(id + "_B")
+                    .add();
+        }
+
+        private Line createLine(String id, Bus bus1, Bus bus2, double r, double x, double b) {
+            return network.newLine()
+                    .setId(id)
+                    .setVoltageLevel1(bus1.getVoltageLevel().getId())
+                    .setBus1(bus1.getId())
+                    .setConnectableBus1(bus1.getId())
+                    .setVoltageLevel2(bus2.getVoltageLevel().getId())
+                    .setBus2(bus2.getId())
+                    .setConnectableBus2(bus2.getId())
+                    .setR(r)
+                    .setX(x)
+                    .setG1(0)
+                    .setG2(0)
+                    .setB1(b / 2)
+                    .setB2(b / 2)
+                    .add();
+        }
+
+        private static TwoWindingsTransformer createTransformer(Substation substation, String id, Bus bus1, Bus bus2, double r, double x) {
+            return substation.newTwoWindingsTransformer()
+                    .setId(id)
+                    .setVoltageLevel1(bus1.getVoltageLevel().getId())
+                    .setBus1(bus1.getId())
+                    .setConnectableBus1(bus1.getId())
+                    .setVoltageLevel2(bus2.getVoltageLevel().getId())
+                    .setBus2(bus2.getId())
+                    .setConnectableBus2(bus2.getId())
+                    .setRatedU1(bus1.getVoltageLevel().getNominalV())
+                    .setRatedU2(bus2.getVoltageLevel().getNominalV())
+                    .setR(r)
+                    .setX(x)
+                    .setG(0)
+                    .setB(0)
+                    .add();
+        }
+
+        private void createFeeder(Substation substation, int i) {
+            Bus distributionBus = createBus(substation, "S" + i + "_63", DISTRIBUTION_NOMINAL_V);
+            TwoWindingsTransformer twt = createTransformer(substation, "S" + i + "_TR", transmissionBuses[i], distributionBus, 0.1, 4);
+            RatioTapChangerAdder rtcAdder = twt.newRatioTapChanger()
+                    .setLoadTapChangingCapabilities(false)
+                    .setTapPosition(3); // rho 1.025 to compensate the voltage drop along the feeder
+            for (int step = 0; step < 5; step++) {
+                rtcAdder.beginStep()
+                        .setRho(0.95 + step * 0.025)
+                        .setR(0)
+                        .setX(0)
+                        .setG(0)
+                        .setB(0)
+                        .endStep();
+            }
+            rtcAdder.add();
+
+            Bus previousBus = distributionBus;
+            for (int k = 0; k < parameters.getFeederLength(); k++) {
+                String id = "S" + i + "_F" + k;
+                Substation feederSubstation = network.newSubstation()
+                        .setId(id)
+                        .setCountry(Country.FR)
+                        .add();
+                Bus bus = createBus(feederSubstation, id + "_63", DISTRIBUTION_NOMINAL_V);
+                double lengthFactor = 1 + random.nextDouble();
+                createLine(id + "_L", previousBus, bus, lengthFactor, 2 * lengthFactor, 0);
+                double p = 5 + 5 * random.nextDouble();
+                bus.getVoltageLevel().newLoad()
+                        .setId(id + "_LOAD")
+                        .setBus(bus.getId())
+                        .setConnectableBus(bus.getId())
+                        .setP0(p)
+                        .setQ0(0.3 * p)
+                        .add();
+                substationLoads[i] += p;
+                previousBus = bus;
+            }
+        }
+
+        private void createTransmissionLine(int i, int j) {
+            String id = "L" + i + "_" + j;
+            double lengthFactor = 1 + random.nextDouble();
+            double r = 1.5 * lengthFactor;
+            double x = 15 * lengthFactor;
+            // line charging is kept low compared to feeder loads, so that the reactive power it produces can be
+            // absorbed by the generators within their reactive limits whatever the size of the grid
+            double b = 1.5e-5 * lengthFactor;
+            if (phaseShifterSubstations.size() < parameters.getPhaseShifterCount() && !phaseShifterSubstations.contains(i)
+                    && random.nextDouble() < 0.5) {
+                // phase shifter in series with the line, in the substation of its first side
+                phaseShifterSubstations.add(i);
+                Substation substation = network.getSubstation("S" + i);
+                Bus phaseShifterBus = createBus(substation, "S" + i + "_400_PST", TRANSMISSION_NOMINAL_V);
+                TwoWindingsTransformer pst = createTransformer(substation, "S" + i + "_PST", transmissionBuses[i], phaseShifterBus, 0.5, 10);
+                PhaseTapChangerAdder ptcAdder = pst.newPhaseTapChanger()
+                        .setTapPosition(10)
+                        .setRegulationMode(PhaseTapChanger.RegulationMode.FIXED_TAP)
+                        .setRegulating(false);
+                for (int step = 0; step <= 20; step++) {
+                    ptcAdder.beginStep()
+                            .setAlpha(step - 10.0)
+                            .setRho(1)
+                            .setR(0)
+                            .setX(0)
+                            .setG(0)
+                            .setB(0)
+                            .endStep();
+                }
+                ptcAdder.add();
+                createLine(id, phaseShifterBus, transmissionBuses[j], r, x, b);
+            } else {
+                createLine(id, transmissionBuses[i], transmissionBuses[j], r, x, b);
+            }
+        }
+
+        private void createTransmissionLines() {
+            // all rows but the last one are complete, so each bus of the last row is linked to the bus above it and
+            // the grid is connected
+            for (int i = 0; i < transmissionBusCount; i++) {
+                int column = i % gridWidth;
+                if (column + 1 < gridWidth && i + 1 < transmissionBusCount) {
+                    createTransmissionLine(i, i + 1);
+                }
+                if (i + gridWidth < transmissionBusCount) {
+                    createTransmissionLine(i, i + gridWidth);
+                }
+                if (column + 1 < gridWidth && i + gridWidth + 1 < transmissionBusCount && random.nextDouble() < parameters.getDiagonalLineRatio()) {
+                    createTransmissionLine(i, i + gridWidth + 1);
+                }
+            }
+        }
+
+        private void createGenerators() {
+            double totalLoad = Arrays.stream(substationLoads).sum();
+            int step = Math.max(1, (int) Math.round(1 / parameters.getGeneratorRatio()));
+            List<Integer> generatorSubstations = new ArrayList<>();
+            for (int i = 0; i < transmissionBusCount; i += step) {
+                generatorSubstations.add(i);
+            }
+            // 2% more than the loads to cover the losses, so that little active power is left to the slack distribution
+            double targetP = 1.02 * totalLoad / generatorSubstations.size();
+            for (int i : generatorSubstations) {
+                Bus bus = transmissionBuses[i];
+                Generator generator = bus.getVoltageLevel().newGenerator()
+                        .setId("S" + i + "_GEN")
+                        .setBus(bus.getId())
+                        .setConnectableBus(bus.getId())
+                        .setEnergySource(EnergySource.OTHER)
+                        .setMinP(0)
+                        .setMaxP(2 * targetP)
+                        .setTargetP(targetP)
+                        .setTargetV(1.02 * TRANSMISSION_NOMINAL_V)
+                        .setVoltageRegulatorOn(true)
+                        .add();
+                generator.newMinMaxReactiveLimits()
+                        .setMinQ(-targetP)
+                        .setMaxQ(targetP)
+                        .add();
+            }
+        }
+
+        private void createHvdcLines() {
+            int hvdcLineCount = Math.min(parameters.getHvdcLineCount(), transmissionBusCount / 2);
+            for (int k = 0; k < hvdcLineCount; k++) {
+                // link opposite corners of the grid
+                VoltageLevel vl1 = transmissionBuses[k].getVoltageLevel();
+                VoltageLevel vl2 = transmissionBuses[transmissionBusCount - 1 - k].getVoltageLevel();
+                String id = "HVDC" + k;
+                createConverterStation(vl1, id + "_CS1");
+                createConverterStation(vl2, id + "_CS2");
+                network.newHvdcLine()
+                        .setId(id)
+                        .setConverterStationId1(id + "_CS1")
+                        .setConverterStationId2(id + "_CS2")
+                        .setNominalV(320)
+                        .setR(1)
+                        .setActivePowerSetpoint(100)
+                        .setConvertersMode(HvdcLine.ConvertersMode.SIDE_1_RECTIFIER_SIDE_2_INVERTER)
+                        .setMaxP(500)
+                        .add();
+            }
+        }
+
+        private static void createConverterStation(VoltageLevel vl, String id) {
+            String busId = vl.getBusBreakerView().getBuses().iterator().next().getId();
+            vl.newVscConverterStation()
+                    .setId(id)
+                    .setBus(busId)
+                    .setConnectableBus(busId)
+                    .setVoltageRegulatorOn(false)
+                    .setReactivePowerSetpoint(0)
+                    .setLossFactor(1f)
+                    .add();
+        }
+    }
+}
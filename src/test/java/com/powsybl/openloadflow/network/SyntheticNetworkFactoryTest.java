@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.openloadflow.OpenLoadFlowProvider;
+import com.powsybl.openloadflow.util.matrix.JavaSparseMatrixFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class SyntheticNetworkFactoryTest {
+
+    private final SyntheticNetworkFactory.Parameters parameters = new SyntheticNetworkFactory.Parameters()
+            .setBusCount(200);
+
+    @Test
+    void structureTest() {
+        Network network = SyntheticNetworkFactory.create(parameters);
+        // 33 transmission substations with a distribution bus and 4 feeder buses each, plus 2 phase shifter buses
+        assertEquals(200, network.getBusBreakerView().getBusStream().count());
+        assertEquals(33 * 4, network.getLoadCount());
+        assertEquals(9, network.getGeneratorCount());
+        assertEquals(2, network.getHvdcLineCount());
+        assertEquals(33 + 2, network.getTwoWindingsTransformerCount());
+        assertEquals(2, network.getTwoWindingsTransformerStream().filter(twt -> twt.getPhaseTapChanger() != null).count());
+        assertEquals(SyntheticNetworkFactory.getTransmissionLines(network).size(), SyntheticNetworkFactory.createContingencies(network).size());
+        assertEquals(10 * (9 + 2), SyntheticNetworkFactory.createSensitivityFactors(network, 10).size());
+
+        // same parameters give the same network
+        Network network2 = SyntheticNetworkFactory.create(parameters);
+        assertEquals(network.getLineStream().map(l -> l.getId() + " " + l.getX()).collect(Collectors.toList()),
+                     network2.getLineStream().map(l -> l.getId() + " " + l.getX()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void invalidParametersTest() {
+        SyntheticNetworkFactory.Parameters invalidParameters = new SyntheticNetworkFactory.Parameters().setGeneratorRatio(0);
+        assertThrows(IllegalArgumentException.class, () -> SyntheticNetworkFactory.create(invalidParameters));
+    }
+
+    @Test
+    void loadFlowTest() {
+        Network network = SyntheticNetworkFactory.create(parameters);
+        LoadFlow.Runner loadFlowRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(new DenseMatrixFactory()));
+        LoadFlowResult result = loadFlowRunner.run(network, new LoadFlowParameters());
+        assertTrue(result.isOk());
+        assertTrue(network.getBusView().getBusStream().allMatch(b -> b.getV() > 0.85 * b.getVoltageLevel().getNominalV()));
+
+        LoadFlowResult dcResult = loadFlowRunner.run(network, new LoadFlowParameters().setDc(true));
+        assertTrue(dcResult.isOk());
+    }
+
+    private static void assertAcConverged(int busCount) {
+        Network network = SyntheticNetworkFactory.create(new SyntheticNetworkFactory.Parameters().setBusCount(busCount));
+        LoadFlow.Runner loadFlowRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(new JavaSparseMatrixFactory()));
+        LoadFlowResult result = loadFlowRunner.run(network, new LoadFlowParameters());
+        assertTrue(result.isOk());
+        assertEquals(LoadFlowResult.ComponentResult.Status.CONVERGED, result.getComponentResults().get(0).getStatus());
+        assertTrue(network.getBusView().getBusStream().allMatch(b -> b.getV() > 0.95 * b.getVoltageLevel().getNominalV()
+                && b.getV() < 1.05 * b.getVoltageLevel().getNominalV()));
+    }
+
+    @Test
+    void loadFlow1000BusesTest() {
+        assertAcConverged(1000);
+    }
+
+    @Test
+    void loadFlow10000BusesTest() {
+        assertAcConverged(10000);
+    }
+}
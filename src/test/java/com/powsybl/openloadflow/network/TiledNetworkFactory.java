@@ -0,0 +1,422 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network;
+
+import com.powsybl.iidm.network.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Build large networks out of a small one, typically an IEEE case, by copying it several times into a single network.
+ * Identifiers of the k-th copy are prefixed by "T{k}_".
+ *
+ * Copies are either distinct synchronous components ({@link #replicate(Network, int)}), or chained together by lines
+ * between the corresponding buses of consecutive copies ({@link #tile(Network, int, int)}). As only the main connected
+ * component is computed by the load flow, replicated copies are linked by HVDC lines with no active power transfer.
+ *
+ * Only bus/breaker topology networks made of buses, generators, loads, linear shunt compensators, lines and two
+ * windings transformers are supported, which is what the IEEE CDF converter creates.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class TiledNetworkFactory {
+
+    /**
+     * Per unit reactance and resistance, on a 100 MVA base, of the lines linking two copies.
+     */
+    private static final double LINK_X = 0.05;
+
+    private static final double LINK_R = 0.005;
+
+    private TiledNetworkFactory() {
+    }
+
+    /**
+     * Copy a network {@code count} times, each copy being linked to the next one by an HVDC line with no active power
+     * transfer, between the buses of highest nominal voltage.
+     */
+    public static Network replicate(Network network, int count) {
+        Network replicatedNetwork = create(network, count, "-replicated-");
+        Bus bus = getLinkedBuses(network, 1).get(0);
+        for (int k = 0; k < count - 1; k++) {
+            createHvdcLink(replicatedNetwork, bus, getPrefix(k), getPrefix(k + 1));
+        }
+        return replicatedNetwork;
+    }
+
+    /**
+     * Copy a network {@code count} times, each copy being linked to the next one by {@code linkCount} lines between
+     * the buses of highest nominal voltage.
+     */
+    public static Network tile(Network network, int count, int linkCount) {
+        if (linkCount <= 0) {
+            throw new IllegalArgumentException("Invalid link count: " + linkCount);
+        }
+        Network tiledNetwork = create(network, count, "-tiled-");
+        List<Bus> linkedBuses = getLinkedBuses(network, linkCount);
+        for (int k = 0; k < count - 1; k++) {
+            for (Bus bus : linkedBuses) {
+                createLink(tiledNetwork, bus, getPrefix(k), getPrefix(k + 1));
+            }
+        }
+        return tiledNetwork;
+    }
+
+    private static Network create(Network network, int count, String suffix) {
+        Objects.requireNonNull(network);
+        if (count <= 0) {
+            throw new IllegalArgumentException("Invalid copy count: " + count);
+        }
+        checkSupported(network);
+
+        Network tiledNetwork = Network.create(network.getId() + suffix + count, "code");
+        for (int k = 0; k < count; k++) {
+            new Copier(network, tiledNetwork, getPrefix(k)).copy();
+        }
+        return tiledNetwork;
+    }
+
+    private static List<Bus> getLinkedBuses(Network network, int linkCount) {
+        return network.getBusBreakerView().getBusStream()
+                .sorted(Comparator.comparingDouble((Bus bus) -> -bus.getVoltageLevel().getNominalV())
+                        .thenComparing(Bus::getId))
+                .limit(linkCount)
+                .collect(Collectors.toList());
+    }
+
+    private static String getPrefix(int k) {
+        return "T" + k + "_";
+    }
+
+    private static void checkSupported(Network network) {
+        if (network.getThreeWindingsTransformerCount() > 0
+                || network.getDanglingLineCount() > 0
+                || network.getHvdcLineCount() > 0
+                || network.getStaticVarCompensatorCount() > 0
+                || network.getBatteryCount() > 0
+                || network.getSwitchCount() > 0
+                || network.getVoltageLevelStream().anyMatch(vl -> vl.getTopologyKind() != TopologyKind.BUS_BREAKER)) {
+            throw new IllegalArgumentException("Network " + network.getId() + " has elements that cannot be copied");
+        }
+    }
+
+    private static void createLink(Network tiledNetwork, Bus bus, String prefix1, String prefix2) {
+        VoltageLevel vl = bus.getVoltageLevel();
+        double zb = vl.getNominalV() * vl.getNominalV() / 100;
+        tiledNetwork.newLine()
+                .setId(prefix1 + prefix2 + bus.getId())
+                .setVoltageLevel1(prefix1 + vl.getId())
+                .setBus1(prefix1 + bus.getId())
+                .setConnectableBus1(prefix1 + bus.getId())
+                .setVoltageLevel2(prefix2 + vl.getId())
+                .setBus2(prefix2 + bus.getId())
+                .setConnectableBus2(prefix2 + bus.getId())
+                .setR(LINK_R * zb)
+                .setX(LINK_X * zb)
+                .setG1(0)
+                .setB1(0)
+                .setG2(0)
+                .setB2(0)
+                .add();
+    }
+
+    private static void createConverterStation(Network tiledNetwork, Bus bus, String prefix, String id) {
+        tiledNetwork.getVoltageLevel(prefix + bus.getVoltageLevel().getId()).newVscConverterStation()
+                .setId(id)
+                .setBus(prefix + bus.getId())
+                .setConnectableBus(prefix + bus.getId())
+                .setVoltageRegulatorOn(false)
+                .setReactivePowerSetpoint(0)
+                .setLossFactor(0f)
+                .add();
+    }
+
+    private static void createHvdcLink(Network tiledNetwork, Bus bus, String prefix1, String prefix2) {
+        String id = prefix1 + prefix2 + "HVDC";
+        createConverterStation(tiledNetwork, bus, prefix1, id + "_CS1");
+        createConverterStation(tiledNetwork, bus, prefix2, id + "_CS2");
+        tiledNetwork.newHvdcLine()
+                .setId(id)
+                .setConverterStationId1(id + "_CS1")
+                .setConverterStationId2(id + "_CS2")
+                .setNominalV(320)
+                .setR(1)
+                .setActivePowerSetpoint(0)
+                .setConvertersMode(HvdcLine.ConvertersMode.SIDE_1_RECTIFIER_SIDE_2_INVERTER)
+                .setMaxP(100)
+                .add();
+    }
+
+    /**
+     * Copy of all the elements of a network into another one with a prefix. Elements are first created without any
+     * remote regulation, then regulating terminals are set once all the copied elements exist.
+     */
+    private static final class Copier {
+
+        private final Network network;
+
+        private final Network tiledNetwork;
+
+        private final String prefix;
+
+        private Copier(Network network, Network tiledNetwork, String prefix) {
+            this.network = network;
+            this.tiledNetwork = tiledNetwork;
+            this.prefix = prefix;
+        }
+
+        private void copy() {
+            copySubstations();
+            network.getLoadStream().forEach(this::copyLoad);
+            network.getShuntCompensatorStream().forEach(this::copyShunt);
+            network.getGeneratorStream().forEach(this::copyGenerator);
+            network.getLineStream().forEach(this::copyLine);
+            network.getTwoWindingsTransformerStream().forEach(this::copyTransformer);
+            copyRegulations();
+        }
+
+        private String id(Identifiable<?> identifiable) {
+            return prefix + identifiable.getId();
+        }
+
+        private VoltageLevel getVoltageLevel(Terminal terminal) {
+            return tiledNetwork.getVoltageLevel(id(terminal.getVoltageLevel()));
+        }
+
+        private String getBus(Terminal terminal) {
+            Bus bus = terminal.getBusBreakerView().getBus();
+            return bus != null ? id(bus) : null;
+        }
+
+        private String getConnectableBus(Terminal terminal) {
+            return id(terminal.getBusBreakerView().getConnectableBus());
+        }
+
+        /**
+         * Terminal of the copy corresponding to a terminal of the original network.
+         */
+        private Terminal getTerminal(Terminal terminal) {
+            Identifiable<?> connectable = tiledNetwork.getIdentifiable(id(terminal.getConnectable()));
+            if (connectable instanceof Injection) {
+                return ((Injection<?>) connectable).getTerminal();
+            }
+            Branch<?> branch = (Branch<?>) connectable;
+            Branch<?> originalBranch = (Branch<?>) terminal.getConnectable();
+            return originalBranch.getTerminal1() == terminal ? branch.getTerminal1() : branch.getTerminal2();
+        }
+
+        private void copySubstations() {
+            for (Substation substation : network.getSubstations()) {
+                SubstationAdder substationAdder = tiledNetwork.newSubstation()
+                        .setId(id(substation))
+                        .setName(substation.getOptionalName().orElse(null));
+                substation.getCountry().ifPresent(substationAdder::setCountry);
+                Substation substationCopy = substationAdder.add();
+                for (VoltageLevel vl : substation.getVoltageLevels()) {
+                    VoltageLevel vlCopy = substationCopy.newVoltageLevel()
+                            .setId(id(vl))
+                            .setNominalV(vl.getNominalV())
+                            .setLowVoltageLimit(vl.getLowVoltageLimit())
+                            .setHighVoltageLimit(vl.getHighVoltageLimit())
+                            .setTopologyKind(TopologyKind.BUS_BREAKER)
+                            .add();
+                    for (Bus bus : vl.getBusBreakerView().getBuses()) {
+                        vlCopy.getBusBreakerView().newBus()
+                                .setId(id(bus))
+                                .add()
+                                .setV(bus.getV())
+                                .setAngle(bus.getAngle());
+                    }
+                }
+            }
+        }
+
+        private void copyLoad(Load load) {
+            Terminal t = load.getTerminal();
+            getVoltageLevel(t).newLoad()
+                    .setId(id(load))
+                    .setBus(getBus(t))
+                    .setConnectableBus(getConnectableBus(t))
+                    .setLoadType(load.getLoadType())
+                    .setP0(load.getP0())
+                    .setQ0(load.getQ0())
+                    .add();
+        }
+
+        private void copyShunt(ShuntCompensator shunt) {
+            if (shunt.getModelType() != ShuntCompensatorModelType.LINEAR) {
+                throw new IllegalArgumentException("Non linear shunt compensator " + shunt.getId() + " cannot be copied");
+            }
+            ShuntCompensatorLinearModel model = shunt.getModel(ShuntCompensatorLinearModel.class);
+            Terminal t = shunt.getTerminal();
+            getVoltageLevel(t).newShuntCompensator()
+                    .setId(id(shunt))
+                    .setBus(getBus(t))
+                    .setConnectableBus(getConnectableBus(t))
+                    .setSectionCount(shunt.getSectionCount())
+                    .newLinearModel()
+                        .setBPerSection(model.getBPerSection())
+                        .setGPerSection(model.getGPerSection())
+                        .setMaximumSectionCount(shunt.getMaximumSectionCount())
+                        .add()
+                    .add();
+        }
+
+        private void copyGenerator(Generator generator) {
+            Terminal t = generator.getTerminal();
+            Generator generatorCopy = getVoltageLevel(t).newGenerator()
+                    .setId(id(generator))
+                    .setBus(getBus(t))
+                    .setConnectableBus(getConnectableBus(t))
+                    .setEnergySource(generator.getEnergySource())
+                    .setMinP(generator.getMinP())
+                    .setMaxP(generator.getMaxP())
+                    .setRatedS(generator.getRatedS())
+                    .setTargetP(generator.getTargetP())
+                    .setTargetQ(generator.getTargetQ())
+                    .setTargetV(generator.getTargetV())
+                    .setVoltageRegulatorOn(generator.isVoltageRegulatorOn())
+                    .add();
+            ReactiveLimits reactiveLimits = generator.getReactiveLimits();
+            if (reactiveLimits instanceof MinMaxReactiveLimits) {
+                generatorCopy.newMinMaxReactiveLimits()
+                        .setMinQ(((MinMaxReactiveLimits) reactiveLimits).getMinQ())
+                        .setMaxQ(((MinMaxReactiveLimits) reactiveLimits).getMaxQ())
+                        .add();
+            } else if (reactiveLimits instanceof ReactiveCapabilityCurve) {
+                ReactiveCapabilityCurveAdder curveAdder = generatorCopy.newReactiveCapabilityCurve();
+                for (ReactiveCapabilityCurve.Point point : ((ReactiveCapabilityCurve) reactiveLimits).getPoints()) {
+                    curveAdder.beginPoint()
+                            .setP(point.getP())
+                            .setMinQ(point.getMinQ())
+                            .setMaxQ(point.getMaxQ())
+                            .endPoint();
+                }
+                curveAdder.add();
+            }
+        }
+
+        private void copyLine(Line line) {
+            Terminal t1 = line.getTerminal1();
+            Terminal t2 = line.getTerminal2();
+            tiledNetwork.newLine()
+                    .setId(id(line))
+                    .setVoltageLevel1(id(t1.getVoltageLevel()))
+                    .setBus1(getBus(t1))
+                    .setConnectableBus1(getConnectableBus(t1))
+                    .setVoltageLevel2(id(t2.getVoltageLevel()))
+                    .setBus2(getBus(t2))
+                    .setConnectableBus2(getConnectableBus(t2))
+                    .setR(line.getR())
+                    .setX(line.getX())
+                    .setG1(line.getG1())
+                    .setB1(line.getB1())
+                    .setG2(line.getG2())
+                    .setB2(line.getB2())
+                    .add();
+        }
+
+        private void copyTransformer(TwoWindingsTransformer twt) {
+            Terminal t1 = twt.getTerminal1();
+            Terminal t2 = twt.getTerminal2();
+            TwoWindingsTransformer twtCopy = tiledNetwork.getSubstation(id(twt.getSubstation())).newTwoWindingsTransformer()
+                    .setId(id(twt))
+                    .setVoltageLevel1(id(t1.getVoltageLevel()))
+                    .setBus1(getBus(t1))
+                    .setConnectableBus1(getConnectableBus(t1))
+                    .setVoltageLevel2(id(t2.getVoltageLevel()))
+                    .setBus2(getBus(t2))
+                    .setConnectableBus2(getConnectableBus(t2))
+                    .setRatedU1(twt.getRatedU1())
+                    .setRatedU2(twt.getRatedU2())
+                    .setR(twt.getR())
+                    .setX(twt.getX())
+                    .setG(twt.getG())
+                    .setB(twt.getB())
+                    .add();
+            RatioTapChanger rtc = twt.getRatioTapChanger();
+            if (rtc != null) {
+                RatioTapChangerAdder rtcAdder = twtCopy.newRatioTapChanger()
+                        .setLowTapPosition(rtc.getLowTapPosition())
+                        .setTapPosition(rtc.getTapPosition())
+                        .setLoadTapChangingCapabilities(rtc.hasLoadTapChangingCapabilities())
+                        .setTargetV(rtc.getTargetV())
+                        .setRegulating(false);
+                for (int position = rtc.getLowTapPosition(); position <= rtc.getHighTapPosition(); position++) {
+                    RatioTapChangerStep step = rtc.getStep(position);
+                    rtcAdder.beginStep()
+                            .setRho(step.getRho())
+                            .setR(step.getR())
+                            .setX(step.getX())
+                            .setG(step.getG())
+                            .setB(step.getB())
+                            .endStep();
+                }
+                rtcAdder.add();
+            }
+            PhaseTapChanger ptc = twt.getPhaseTapChanger();
+            if (ptc != null) {
+                PhaseTapChangerAdder ptcAdder = twtCopy.newPhaseTapChanger()
+                        .setLowTapPosition(ptc.getLowTapPosition())
+                        .setTapPosition(ptc.getTapPosition())
+                        .setRegulationMode(ptc.getRegulationMode())
+                        .setRegulationValue(ptc.getRegulationValue())
+                        .setRegulating(false);
+                for (int position = ptc.getLowTapPosition(); position <= ptc.getHighTapPosition(); position++) {
+                    PhaseTapChangerStep step = ptc.getStep(position);
+                    ptcAdder.beginStep()
+                            .setAlpha(step.getAlpha())
+                            .setRho(step.getRho())
+                            .setR(step.getR())
+                            .setX(step.getX())
+                            .setG(step.getG())
+                            .setB(step.getB())
+                            .endStep();
+                }
+                ptcAdder.add();
+            }
+        }
+
+        private void copyRegulations() {
+            for (Generator generator : network.getGenerators()) {
+                Terminal regulatingTerminal = generator.getRegulatingTerminal();
+                if (regulatingTerminal != null && regulatingTerminal != generator.getTerminal()) {
+                    tiledNetwork.getGenerator(id(generator)).setRegulatingTerminal(getTerminal(regulatingTerminal));
+                }
+            }
+            for (ShuntCompensator shunt : network.getShuntCompensators()) {
+                if (shunt.isVoltageRegulatorOn()) {
+                    tiledNetwork.getShuntCompensator(id(shunt))
+                            .setTargetV(shunt.getTargetV())
+                            .setTargetDeadband(shunt.getTargetDeadband())
+                            .setRegulatingTerminal(getTerminal(shunt.getRegulatingTerminal()))
+                            .setVoltageRegulatorOn(true);
+                }
+            }
+            for (TwoWindingsTransformer twt : network.getTwoWindingsTransformers()) {
+                TwoWindingsTransformer twtCopy = tiledNetwork.getTwoWindingsTransformer(id(twt));
+                RatioTapChanger rtc = twt.getRatioTapChanger();
+                if (rtc != null && rtc.isRegulating()) {
+                    twtCopy.getRatioTapChanger()
+                            .setTargetDeadband(rtc.getTargetDeadband())
+                            .setRegulationTerminal(getTerminal(rtc.getRegulationTerminal()))
+                            .setRegulating(true);
+                }
+                PhaseTapChanger ptc = twt.getPhaseTapChanger();
+                if (ptc != null && ptc.isRegulating()) {
+                    twtCopy.getPhaseTapChanger()
+                            .setTargetDeadband(ptc.getTargetDeadband())
+                            .setRegulationTerminal(getTerminal(ptc.getRegulationTerminal()))
+                            .setRegulating(true);
+                }
+            }
+        }
+    }
+}
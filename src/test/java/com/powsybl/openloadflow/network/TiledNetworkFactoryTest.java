@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.network;
+
+import com.powsybl.ieeecdf.converter.IeeeCdfNetworkFactory;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.openloadflow.OpenLoadFlowProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class TiledNetworkFactoryTest {
+
+    private static final double DELTA_V = 1E-3;
+
+    private final LoadFlow.Runner loadFlowRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(new DenseMatrixFactory()));
+
+    @Test
+    void replicateTest() {
+        Network ieee14 = IeeeCdfNetworkFactory.create14();
+        Network network = TiledNetworkFactory.replicate(ieee14, 3);
+        assertEquals(ieee14.getId() + "-replicated-3", network.getId());
+        assertEquals(3 * 14, network.getBusBreakerView().getBusStream().count());
+        assertEquals(3 * ieee14.getBranchCount(), network.getBranchCount());
+        assertEquals(3 * ieee14.getGeneratorCount(), network.getGeneratorCount());
+        assertEquals(3 * ieee14.getShuntCompensatorCount(), network.getShuntCompensatorCount());
+        assertEquals(2, network.getHvdcLineCount());
+        assertEquals(3, network.getBusView().getBusStream().mapToInt(b -> b.getSynchronousComponent().getNum()).distinct().count());
+
+        // each copy has the same solution as the original network
+        LoadFlowParameters parameters = new LoadFlowParameters();
+        assertTrue(loadFlowRunner.run(ieee14, parameters).isOk());
+        LoadFlowResult result = loadFlowRunner.run(network, parameters);
+        assertTrue(result.isOk());
+        for (Bus bus : ieee14.getBusBreakerView().getBuses()) {
+            assertEquals(bus.getV(), network.getBusBreakerView().getBus("T2_" + bus.getId()).getV(), DELTA_V);
+        }
+    }
+
+    @Test
+    void tileTest() {
+        Network ieee118 = IeeeCdfNetworkFactory.create118();
+        Network network = TiledNetworkFactory.tile(ieee118, 4, 5);
+        assertEquals(4 * 118, network.getBusBreakerView().getBusStream().count());
+        assertEquals(4 * ieee118.getBranchCount() + 3 * 5, network.getBranchCount());
+        assertEquals(1, network.getBusView().getBusStream().mapToInt(b -> b.getConnectedComponent().getNum()).distinct().count());
+        assertTrue(loadFlowRunner.run(network, new LoadFlowParameters()).isOk());
+        assertTrue(loadFlowRunner.run(network, new LoadFlowParameters().setDc(true)).isOk());
+    }
+
+    @Test
+    void invalidCountTest() {
+        Network ieee14 = IeeeCdfNetworkFactory.create14();
+        assertThrows(IllegalArgumentException.class, () -> TiledNetworkFactory.replicate(ieee14, 0));
+        assertThrows(IllegalArgumentException.class, () -> TiledNetworkFactory.tile(ieee14, 2, 0));
+    }
+}
@@ -9,6 +9,7 @@ package com.powsybl.openloadflow.network.impl;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.extensions.VoltagePerReactivePowerControlAdder;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.network.LfGenerator;
 import com.powsybl.openloadflow.network.LfNetwork;
 import com.powsybl.openloadflow.network.MostMeshedSlackBusSelector;
@@ -136,4 +137,30 @@ class LfBusImplTest {
         }
         Assertions.assertEquals(generationQ, sumQ, DELTA_POWER, "sum of generators calculatedQ should be equals to qToDispatch");
     }
+
+    @Test
+    void generationAggregatesTest() {
+        LfNetwork eurostagNetwork = LfNetwork.load(EurostagTutorialExample1Factory.create(), new MostMeshedSlackBusSelector()).get(0);
+        LfBus genBus = eurostagNetwork.getBusById("VLGEN_0");
+        LfGenerator generator = genBus.getGenerators().get(0);
+        Assertions.assertEquals(6.07, genBus.getGenerationTargetP(), DELTA_POWER);
+
+        int modificationCount = genBus.getModificationCount();
+        generator.setTargetP(5);
+        Assertions.assertEquals(5, genBus.getGenerationTargetP(), DELTA_POWER);
+        Assertions.assertTrue(genBus.getModificationCount() > modificationCount);
+
+        modificationCount = genBus.getModificationCount();
+        genBus.setLoadTargetP(1);
+        Assertions.assertEquals(4, genBus.getTargetP(), DELTA_POWER);
+        Assertions.assertTrue(genBus.getModificationCount() > modificationCount);
+
+        // static var compensator reactive limits depend on bus voltage
+        LfBus svcBus = lfNetwork.getBusById("vl1_0");
+        svcBus.setV(1);
+        double maxQ = svcBus.getMaxQ();
+        Assertions.assertEquals(maxQ, svcBus.getMaxQ(), 0);
+        svcBus.setV(1.1);
+        Assertions.assertEquals(maxQ * 1.1 * 1.1, svcBus.getMaxQ(), DELTA_POWER);
+    }
 }
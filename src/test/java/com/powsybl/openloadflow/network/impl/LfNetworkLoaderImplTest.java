@@ -11,10 +11,13 @@ import com.powsybl.iidm.network.extensions.ActivePowerControlAdder;
 import com.powsybl.iidm.network.test.DanglingLineNetworkFactory;
 import com.powsybl.iidm.network.test.ThreeWindingsTransformerNetworkFactory;
 import com.powsybl.openloadflow.network.*;
+import com.powsybl.openloadflow.util.ParameterConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -118,4 +121,39 @@ class LfNetworkLoaderImplTest extends AbstractLoadFlowNetworkFactory {
         assertTrue(lfStarBus instanceof LfStarBus);
         assertEquals(voltageLevelLeg1.getId(), lfStarBus.getVoltageLevelId());
     }
+
+    private static LfNetwork loadSyntheticNetwork(Network network, boolean breakers, boolean parallelCreation) {
+        LfNetworkParameters parameters = new LfNetworkParameters(new MostMeshedSlackBusSelector(), true, false, false, breakers,
+                ParameterConstants.PLAUSIBLE_ACTIVE_POWER_LIMIT_DEFAULT_VALUE, false, parallelCreation);
+        List<LfNetwork> lfNetworks = LfNetwork.load(network, parameters);
+        assertEquals(1, lfNetworks.size());
+        return lfNetworks.get(0);
+    }
+
+    private static String toJson(LfNetwork lfNetwork) {
+        StringWriter writer = new StringWriter();
+        lfNetwork.writeJson(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void parallelCreationTest() {
+        // large enough for the buses and branches of the component to be created by chunks in parallel
+        network = SyntheticNetworkFactory.create(new SyntheticNetworkFactory.Parameters().setBusCount(1500));
+        for (boolean breakers : new boolean[] {false, true}) {
+            LfNetwork sequentialLfNetwork = loadSyntheticNetwork(network, breakers, false);
+            LfNetwork parallelLfNetwork = loadSyntheticNetwork(network, breakers, true);
+            assertTrue(sequentialLfNetwork.getBuses().size() >= 1000);
+
+            // same buses and branches in the same order, so with the same numbers
+            assertEquals(sequentialLfNetwork.getBuses().stream().map(LfBus::getId).collect(Collectors.toList()),
+                    parallelLfNetwork.getBuses().stream().map(LfBus::getId).collect(Collectors.toList()));
+            assertEquals(sequentialLfNetwork.getBranches().stream().map(LfBranch::getId).collect(Collectors.toList()),
+                    parallelLfNetwork.getBranches().stream().map(LfBranch::getId).collect(Collectors.toList()));
+            assertEquals(sequentialLfNetwork.getSlackBus().getId(), parallelLfNetwork.getSlackBus().getId());
+
+            // same values, including generators, shunts and controls
+            assertEquals(toJson(sequentialLfNetwork), toJson(parallelLfNetwork));
+        }
+    }
 }
@@ -16,6 +16,7 @@ import com.powsybl.math.matrix.DenseMatrixFactory;
 import com.powsybl.openloadflow.OpenLoadFlowParameters;
 import com.powsybl.openloadflow.OpenLoadFlowProvider;
 import com.powsybl.openloadflow.ac.outerloop.AcLoadFlowParameters;
+import com.powsybl.openloadflow.graph.ArrayGraphDecrementalConnectivity;
 import com.powsybl.openloadflow.graph.EvenShiloachGraphDecrementalConnectivity;
 import com.powsybl.openloadflow.graph.GraphDecrementalConnectivity;
 import com.powsybl.openloadflow.graph.MinimumSpanningTreeGraphDecrementalConnectivity;
@@ -68,7 +69,7 @@ class OpenSecurityAnalysisGraphTest {
     @Test
     void testEvenShiloach() {
         LOGGER.info("Test Even-Shiloach on test network containing {} branches", network.getBranchCount());
-        List<List<LfContingency>> lfContingencies = getLoadFlowContingencies(EvenShiloachGraphDecrementalConnectivity::new);
+        List<List<LfContingency>> lfContingencies = getLoadFlowContingencies(() -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
         printResult(lfContingencies);
         checkResult(lfContingencies, computeReference());
     }
@@ -76,7 +77,15 @@ class OpenSecurityAnalysisGraphTest {
     @Test
     void testMst() {
         LOGGER.info("Test Minimum Spanning Tree on test network containing {} branches", network.getBranchCount());
-        List<List<LfContingency>> lfContingencies = getLoadFlowContingencies(MinimumSpanningTreeGraphDecrementalConnectivity::new);
+        List<List<LfContingency>> lfContingencies = getLoadFlowContingencies(() -> new MinimumSpanningTreeGraphDecrementalConnectivity<>(LfBus::getNum));
+        printResult(lfContingencies);
+        checkResult(lfContingencies, computeReference());
+    }
+
+    @Test
+    void testArray() {
+        LOGGER.info("Test array based connectivity on test network containing {} branches", network.getBranchCount());
+        List<List<LfContingency>> lfContingencies = getLoadFlowContingencies(() -> new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
         printResult(lfContingencies);
         checkResult(lfContingencies, computeReference());
     }
@@ -93,16 +102,44 @@ class OpenSecurityAnalysisGraphTest {
         contingenciesProvider = n -> Collections.singletonList(
             new Contingency("L1", new BranchContingency("L1")));
         List<List<LfContingency>> reference = computeReference();
-        checkResult(getLoadFlowContingencies(MinimumSpanningTreeGraphDecrementalConnectivity::new), reference);
-        checkResult(getLoadFlowContingencies(EvenShiloachGraphDecrementalConnectivity::new), reference);
+        checkResult(getLoadFlowContingencies(() -> new MinimumSpanningTreeGraphDecrementalConnectivity<>(LfBus::getNum)), reference);
+        checkResult(getLoadFlowContingencies(() -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum)), reference);
+        checkResult(getLoadFlowContingencies(() -> new ArrayGraphDecrementalConnectivity<>(LfBus::getNum)), reference);
 
         contingenciesProvider = n -> Collections.singletonList(
             new Contingency("L2", new BranchContingency("L2")));
         network.getSwitch("B3").setOpen(false);
         network.getSwitch("B1").setOpen(true);
         reference = computeReference();
-        checkResult(getLoadFlowContingencies(MinimumSpanningTreeGraphDecrementalConnectivity::new), reference);
-        checkResult(getLoadFlowContingencies(EvenShiloachGraphDecrementalConnectivity::new), reference);
+        checkResult(getLoadFlowContingencies(() -> new MinimumSpanningTreeGraphDecrementalConnectivity<>(LfBus::getNum)), reference);
+        checkResult(getLoadFlowContingencies(() -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum)), reference);
+        checkResult(getLoadFlowContingencies(() -> new ArrayGraphDecrementalConnectivity<>(LfBus::getNum)), reference);
+    }
+
+    @Test
+    void testBridgeTree() {
+        // bridge tree fast path compared to connectivity cuts, on networks whose bridge tree has several levels
+        contingenciesProvider = n -> n.getBranchStream()
+            .map(b -> new Contingency(b.getId(), new BranchContingency(b.getId())))
+            .collect(Collectors.toList());
+        for (Network bridgeTreeNetwork : List.of(NodeBreakerNetworkFactory.create(),
+                ConnectedComponentNetworkFactory.createTwoConnectedComponentsLinkedByASerieOfTwoBranches(),
+                ConnectedComponentNetworkFactory.createThreeCc())) {
+            network = bridgeTreeNetwork;
+            checkBridgeTree(() -> new NaiveGraphDecrementalConnectivity<>(LfBus::getNum));
+        }
+
+        // slack bus in a leaf of the bridge tree
+        network = ConnectedComponentNetworkFactory.createThreeCc();
+        OpenLoadFlowProvider.getParametersExt(securityAnalysisParameters.getLoadFlowParameters())
+            .setSlackBusSelector(new NameSlackBusSelector("b9"));
+        checkBridgeTree(() -> new ArrayGraphDecrementalConnectivity<>(LfBus::getNum));
+    }
+
+    private void checkBridgeTree(Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider) {
+        List<List<LfContingency>> reference = getLoadFlowContingencies(connectivityProvider, false);
+        assertTrue(reference.stream().flatMap(List::stream).anyMatch(c -> !c.getBuses().isEmpty()));
+        checkResult(getLoadFlowContingencies(connectivityProvider, true), reference);
     }
 
     private static void checkResult(List<List<LfContingency>> result, List<List<LfContingency>> reference) {
@@ -139,6 +176,11 @@ class OpenSecurityAnalysisGraphTest {
     }
 
     List<List<LfContingency>> getLoadFlowContingencies(Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider) {
+        // bridge tree fast path disabled so that contingencies are computed by the given connectivity
+        return getLoadFlowContingencies(connectivityProvider, false);
+    }
+
+    List<List<LfContingency>> getLoadFlowContingencies(Supplier<GraphDecrementalConnectivity<LfBus>> connectivityProvider, boolean useBridgeTree) {
 
         OpenSecurityAnalysis securityAnalysis = new OpenSecurityAnalysis(network, new DefaultLimitViolationDetector(),
             new LimitViolationFilter(), new DenseMatrixFactory(), connectivityProvider);
@@ -165,7 +207,7 @@ class OpenSecurityAnalysisGraphTest {
         start = System.currentTimeMillis();
         List<List<LfContingency>> listLfContingencies = new ArrayList<>();
         for (LfNetwork lfNetwork : lfNetworks) {
-            listLfContingencies.add(securityAnalysis.createContingencies(propagatedContingencies, lfNetwork));
+            listLfContingencies.add(securityAnalysis.createContingencies(propagatedContingencies, lfNetwork, useBridgeTree));
         }
         LOGGER.info("LoadFlow contingencies calculated from contingency contexts in {} ms", System.currentTimeMillis() - start);
 
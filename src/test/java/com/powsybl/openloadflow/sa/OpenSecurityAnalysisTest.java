@@ -13,6 +13,7 @@ import com.powsybl.contingency.ContingenciesProvider;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.Branch;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VoltageLevel;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.iidm.network.test.FourSubstationsNodeBreakerFactory;
 import com.powsybl.loadflow.LoadFlowParameters;
@@ -31,6 +32,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.StringWriter;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.List;
@@ -225,7 +227,7 @@ class OpenSecurityAnalysisTest {
             .map(b -> new Contingency(b.getId(), new BranchContingency(b.getId())))
             .collect(Collectors.toList());
 
-        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), EvenShiloachGraphDecrementalConnectivity::new);
+        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
         OpenSecurityAnalysis securityAnalysis = osaFactory.create(network, new DefaultLimitViolationDetector(),
             new LimitViolationFilter(), null, 0);
 
@@ -247,7 +249,7 @@ class OpenSecurityAnalysisTest {
 
         ContingenciesProvider contingenciesProvider = n -> Collections.emptyList();
 
-        CompletableFuture<SecurityAnalysisResult> result = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), EvenShiloachGraphDecrementalConnectivity::new)
+        CompletableFuture<SecurityAnalysisResult> result = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum))
                 .create(network, new DefaultLimitViolationDetector(), new LimitViolationFilter(), null, 0)
                 .run(network.getVariantManager().getWorkingVariantId(), saParameters, contingenciesProvider);
 
@@ -271,7 +273,7 @@ class OpenSecurityAnalysisTest {
                 .map(id -> new Contingency(id, new BranchContingency(id)))
                 .collect(Collectors.toList());
 
-        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), EvenShiloachGraphDecrementalConnectivity::new);
+        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
         OpenSecurityAnalysis securityAnalysis = osaFactory.create(network, new DefaultLimitViolationDetector(),
                 new LimitViolationFilter(), null, 0);
         SecurityAnalysisResult result = securityAnalysis.run(network.getVariantManager().getWorkingVariantId(), saParameters, contingenciesProvider).join();
@@ -295,10 +297,79 @@ class OpenSecurityAnalysisTest {
                 .map(id -> new Contingency(id, new BranchContingency(id)))
                 .collect(Collectors.toList());
 
-        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), EvenShiloachGraphDecrementalConnectivity::new);
+        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(), () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
         OpenSecurityAnalysis securityAnalysis = osaFactory.create(network, new DefaultLimitViolationDetector(),
                 new LimitViolationFilter(), null, 0);
         SecurityAnalysisResult result = securityAnalysis.run(network.getVariantManager().getWorkingVariantId(), saParameters, contingenciesProvider).join();
         assertTrue(result.getPostContingencyResults().get(0).getLimitViolationsResult().isComputationOk());
     }
+
+    private static List<LimitViolation> getViolations(LimitViolationsResult result) {
+        assertTrue(result.isComputationOk());
+        return result.getLimitViolations().stream()
+                .sorted(Comparator.comparing(LimitViolation::getSubjectId).thenComparing(LimitViolation::getLimitType).thenComparing(LimitViolation::getSide))
+                .collect(Collectors.toList());
+    }
+
+    private static void assertSameViolations(LimitViolationsResult expected, LimitViolationsResult actual) {
+        List<LimitViolation> expectedViolations = getViolations(expected);
+        List<LimitViolation> actualViolations = getViolations(actual);
+        assertEquals(expectedViolations.size(), actualViolations.size());
+        for (int i = 0; i < expectedViolations.size(); i++) {
+            LimitViolation expectedViolation = expectedViolations.get(i);
+            LimitViolation actualViolation = actualViolations.get(i);
+            assertEquals(expectedViolation.getSubjectId(), actualViolation.getSubjectId());
+            assertEquals(expectedViolation.getLimitType(), actualViolation.getLimitType());
+            assertEquals(expectedViolation.getSide(), actualViolation.getSide());
+            assertEquals(expectedViolation.getLimit(), actualViolation.getLimit(), 1e-6);
+            assertEquals(expectedViolation.getValue(), actualViolation.getValue(), 1e-3);
+        }
+    }
+
+    @Test
+    void testMergeZeroImpedanceBuses() {
+        // security analysis keeps switches of bus breaker voltage levels, a closed coupler splits the load buses
+        Network network = EurostagTutorialExample1Factory.create();
+        VoltageLevel vlload = network.getVoltageLevel("VLLOAD");
+        vlload.setLowVoltageLimit(140);
+        vlload.getBusBreakerView().newBus()
+                .setId("NLOAD2")
+                .add();
+        vlload.getBusBreakerView().newSwitch()
+                .setId("COUPLER")
+                .setBus1("NLOAD")
+                .setBus2("NLOAD2")
+                .setOpen(false)
+                .add();
+        vlload.newLoad()
+                .setId("LOAD2")
+                .setBus("NLOAD2")
+                .setConnectableBus("NLOAD2")
+                .setP0(100)
+                .setQ0(50)
+                .add();
+        network.getLine("NHV1_NHV2_2").newCurrentLimits1().setPermanentLimit(500).add();
+
+        SecurityAnalysisParameters saParameters = new SecurityAnalysisParameters();
+        LoadFlowParameters lfParameters = new LoadFlowParameters();
+        OpenLoadFlowParameters olfParameters = new OpenLoadFlowParameters()
+                .setSlackBusSelector(new MostMeshedSlackBusSelector());
+        lfParameters.addExtension(OpenLoadFlowParameters.class, olfParameters);
+        saParameters.setLoadFlowParameters(lfParameters);
+        ContingenciesProvider contingenciesProvider = n -> List.of(new Contingency("NHV1_NHV2_1", new BranchContingency("NHV1_NHV2_1")));
+        OpenSecurityAnalysisFactory osaFactory = new OpenSecurityAnalysisFactory(new DenseMatrixFactory(),
+            () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum));
+
+        SecurityAnalysisResult result = osaFactory.create(network, null, 0).runSync(saParameters, contingenciesProvider);
+
+        olfParameters.setMergeZeroImpedanceBuses(true);
+        SecurityAnalysisResult mergedResult = osaFactory.create(network, null, 0).runSync(saParameters, contingenciesProvider);
+
+        assertFalse(result.getPreContingencyResult().getLimitViolations().isEmpty());
+        assertSameViolations(result.getPreContingencyResult(), mergedResult.getPreContingencyResult());
+        assertEquals(1, mergedResult.getPostContingencyResults().size());
+        LimitViolationsResult postContingencyResult = result.getPostContingencyResults().get(0).getLimitViolationsResult();
+        assertFalse(postContingencyResult.getLimitViolations().isEmpty());
+        assertSameViolations(postContingencyResult, mergedResult.getPostContingencyResults().get(0).getLimitViolationsResult());
+    }
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.sensi;
+
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.LUDecomposition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class AlphasSolverTest {
+
+    private static double[] solveClosedForm(double[] m, int size, double[] b) {
+        double[] inverse = DcSensitivityAnalysis.AlphasSolver.invert(m, size);
+        assertNotNull(inverse);
+        double[] x = new double[size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                x[i] += inverse[i * size + j] * b[j];
+            }
+        }
+        return x;
+    }
+
+    private static double[] solveLu(double[] m, int size, double[] b) {
+        DenseMatrix matrix = new DenseMatrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix.set(i, j, m[i * size + j]);
+            }
+        }
+        double[] x = b.clone();
+        try (LUDecomposition lu = matrix.decomposeLU()) {
+            lu.solve(x);
+        }
+        return x;
+    }
+
+    @Test
+    void size2Test() {
+        double[] m = {
+            0.25, -0.03,
+            -0.01, 0.12
+        };
+        double[] b = {1.5, -0.7};
+        assertArrayEquals(solveLu(m, 2, b), solveClosedForm(m, 2, b), 1e-12);
+    }
+
+    @Test
+    void size3Test() {
+        double[] m = {
+            0.31, -0.04, 0.02,
+            -0.05, 0.18, -0.07,
+            0.01, -0.06, 0.22
+        };
+        double[] b = {0.4, -1.2, 2.3};
+        assertArrayEquals(solveLu(m, 3, b), solveClosedForm(m, 3, b), 1e-12);
+    }
+
+    @Test
+    void singularTest() {
+        // third row is the sum of the first two ones
+        double[] m3 = {
+            0.3, -0.1, 0.2,
+            -0.1, 0.4, 0.1,
+            0.2, 0.3, 0.3
+        };
+        assertNull(DcSensitivityAnalysis.AlphasSolver.invert(m3, 3));
+
+        // rows nearly colinear
+        double[] m2 = {
+            1, 2,
+            0.5, 1 + 1e-14
+        };
+        assertNull(DcSensitivityAnalysis.AlphasSolver.invert(m2, 2));
+
+        assertNull(DcSensitivityAnalysis.AlphasSolver.invert(new double[] {0}, 1));
+    }
+}
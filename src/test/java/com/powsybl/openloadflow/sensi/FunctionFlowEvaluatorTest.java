@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.sensi;
+
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.PhaseShifterTestCaseFactory;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.openloadflow.dc.equations.DcEquationSystem;
+import com.powsybl.openloadflow.dc.equations.DcEquationSystemCreationParameters;
+import com.powsybl.openloadflow.equations.EquationSystem;
+import com.powsybl.openloadflow.equations.VariableSet;
+import com.powsybl.openloadflow.network.FirstSlackBusSelector;
+import com.powsybl.openloadflow.network.LfNetwork;
+import com.powsybl.openloadflow.sensi.AbstractSensitivityAnalysis.LfBranchFlowPerInjectionIncrease;
+import com.powsybl.openloadflow.sensi.AbstractSensitivityAnalysis.LfSensitivityFactor;
+import com.powsybl.openloadflow.sensi.AbstractSensitivityAnalysis.SensitivityFactorGroup;
+import com.powsybl.openloadflow.sensi.DcSensitivityAnalysis.ComputedContingencyElement;
+import com.powsybl.openloadflow.sensi.DcSensitivityAnalysis.FunctionFlowEvaluator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class FunctionFlowEvaluatorTest {
+
+    private LfNetwork lfNetwork;
+
+    private EquationSystem equationSystem;
+
+    private List<SensitivityFactorGroup> factorGroups;
+
+    private FunctionFlowEvaluator evaluator;
+
+    private LfSensitivityFactor createFactor(String branchId) {
+        return new LfBranchFlowPerInjectionIncrease(null, branchId, "LD2", lfNetwork.getBranchById(branchId), lfNetwork.getBusById("VL2_0"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        Network network = PhaseShifterTestCaseFactory.create();
+        network.getTwoWindingsTransformer("PS1").getPhaseTapChanger().setTapPosition(2); // non zero phase shift
+        lfNetwork = LfNetwork.load(network, new FirstSlackBusSelector()).get(0);
+        equationSystem = DcEquationSystem.create(lfNetwork, new VariableSet(), new DcEquationSystemCreationParameters(true, true, false, true));
+
+        // 2 groups, with factors monitoring the same branch in both of them
+        SensitivityFactorGroup group1 = new SensitivityFactorGroup("g1");
+        group1.setIndex(0);
+        group1.addFactor(createFactor("L1"));
+        group1.addFactor(createFactor("PS1"));
+        SensitivityFactorGroup group2 = new SensitivityFactorGroup("g2");
+        group2.setIndex(1);
+        group2.addFactor(createFactor("L2"));
+        group2.addFactor(createFactor("L1"));
+        factorGroups = List.of(group1, group2);
+
+        evaluator = new FunctionFlowEvaluator(factorGroups, equationSystem.getSortedVariablesToFind().size());
+    }
+
+    private DenseMatrix createStates(int columnCount) {
+        Random random = new Random(42);
+        int rowCount = equationSystem.getSortedVariablesToFind().size();
+        DenseMatrix states = new DenseMatrix(rowCount, columnCount);
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                states.set(row, column, random.nextDouble() - 0.5);
+            }
+        }
+        return states;
+    }
+
+    private void assertContingency(DenseMatrix states, List<ComputedContingencyElement> contingencyElements) {
+        ComputedContingencyElement.setLocalIndexes(contingencyElements);
+        evaluator.evaluateContingency(states, contingencyElements);
+        int elementCount = contingencyElements.size();
+        for (SensitivityFactorGroup factorGroup : factorGroups) {
+            List<LfSensitivityFactor> factors = factorGroup.getFactors();
+            for (int i = 0; i < factors.size(); i++) {
+                LfSensitivityFactor factor = factors.get(i);
+                int functionIndex = evaluator.getFunctionIndex(factorGroup, i);
+                boolean removed = contingencyElements.stream().anyMatch(element -> element.getLfBranch() == factor.getFunctionLfBranch());
+                assertEquals(removed, evaluator.getRemovedFunctions()[functionIndex]);
+                for (ComputedContingencyElement element : contingencyElements) {
+                    // evaluation through the equation term of the factor, as done before the evaluator
+                    double expected = factor.getEquationTerm().calculateSensi(states, element.getContingencyIndex());
+                    assertEquals(expected, evaluator.getContingencySensitivities()[functionIndex * elementCount + element.getLocalIndex()], 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    void test() {
+        assertEquals(3, evaluator.getFunctionCount());
+        assertEquals(evaluator.getFunctionIndex(factorGroups.get(0), 0), evaluator.getFunctionIndex(factorGroups.get(1), 1));
+
+        // base case
+        DenseMatrix states = createStates(2);
+        for (SensitivityFactorGroup factorGroup : factorGroups) {
+            List<LfSensitivityFactor> factors = factorGroup.getFactors();
+            for (int i = 0; i < factors.size(); i++) {
+                double expected = factors.get(i).getEquationTerm().calculateSensi(states, factorGroup.getIndex());
+                assertEquals(expected, evaluator.calculateSensi(evaluator.getFunctionIndex(factorGroup, i), states, factorGroup.getIndex()), 1e-12);
+            }
+        }
+
+        ComputedContingencyElement l1 = new ComputedContingencyElement(new BranchContingency("L1"), lfNetwork, equationSystem);
+        ComputedContingencyElement ps1 = new ComputedContingencyElement(new BranchContingency("PS1"), lfNetwork, equationSystem);
+        ComputedContingencyElement.setContingencyIndexes(List.of(l1, ps1));
+
+        // buffers are reused from a contingency to the other, whatever their number of elements
+        assertContingency(states, List.of(l1, ps1));
+        assertEquals(Set.of("L1", "PS1"), evaluator.getRemovedElementIds());
+        double[] buffer = evaluator.getContingencySensitivities();
+        assertContingency(states, List.of(ps1));
+        assertEquals(Set.of("PS1"), evaluator.getRemovedElementIds());
+        assertSame(buffer, evaluator.getContingencySensitivities());
+        assertContingency(states, List.of(l1));
+        assertSame(buffer, evaluator.getContingencySensitivities());
+    }
+}
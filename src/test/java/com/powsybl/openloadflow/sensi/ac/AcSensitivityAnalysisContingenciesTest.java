@@ -15,6 +15,7 @@ import com.powsybl.loadflow.LoadFlowParameters;
 import com.powsybl.openloadflow.network.ConnectedComponentNetworkFactory;
 import com.powsybl.openloadflow.network.FourBusNetworkFactory;
 import com.powsybl.openloadflow.sensi.AbstractSensitivityAnalysisTest;
+import com.powsybl.openloadflow.sensi.OpenSensitivityAnalysisParameters;
 import com.powsybl.openloadflow.util.LoadFlowAssert;
 import com.powsybl.sensitivity.SensitivityAnalysisParameters;
 import com.powsybl.sensitivity.SensitivityAnalysisResult;
@@ -233,6 +234,107 @@ class AcSensitivityAnalysisContingenciesTest extends AbstractSensitivityAnalysis
         assertEquals(-0.1944d, getValue(l34values, "g2", "l13"), LoadFlowAssert.DELTA_POWER);
     }
 
+    @Test
+    void testMultipleContingenciesInParallel() {
+        Network network = FourBusNetworkFactory.createWithTransfoCompensed();
+        SensitivityAnalysisParameters sensiParameters = createParameters(false, "b1_vl_0", true);
+        sensiParameters.getLoadFlowParameters().setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX);
+        sensiParameters.addExtension(OpenSensitivityAnalysisParameters.class, new OpenSensitivityAnalysisParameters().setThreadCount(2));
+        runLf(network, sensiParameters.getLoadFlowParameters());
+
+        SensitivityFactorsProvider factorsProvider = n -> createFactorMatrix(Collections.singletonList(network.getGenerator("g2")),
+            network.getBranchStream().collect(Collectors.toList()));
+        List<Contingency> contingencyList = List.of(new Contingency("l23", new BranchContingency("l23")), new Contingency("l34", new BranchContingency("l34")));
+
+        SensitivityAnalysisResult result = sensiProvider.run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencyList,
+            sensiParameters, LocalComputationManager.getDefault())
+            .join();
+
+        assertEquals(2, result.getSensitivityValuesContingencies().size());
+        List<SensitivityValue> l34values = result.getSensitivityValuesContingencies().get("l34");
+        List<SensitivityValue> l23values = result.getSensitivityValuesContingencies().get("l23");
+        assertEquals(5, l23values.size());
+        assertEquals(5, l34values.size());
+        assertEquals(0.1352d, getValue(l23values, "g2", "l14"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(-0.600d, getValue(l23values, "g2", "l12"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(0d, getValue(l23values, "g2", "l23"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(0.0648d, getValue(l23values, "g2", "l34"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(0.0648d, getValue(l23values, "g2", "l13"), LoadFlowAssert.DELTA_POWER);
+
+        assertEquals(0.2d, getValue(l34values, "g2", "l14"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(-0.4056d, getValue(l34values, "g2", "l12"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(0.1944d, getValue(l34values, "g2", "l23"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(0d, getValue(l34values, "g2", "l34"), LoadFlowAssert.DELTA_POWER);
+        assertEquals(-0.1944d, getValue(l34values, "g2", "l13"), LoadFlowAssert.DELTA_POWER);
+    }
+
+    /**
+     * Run the analysis sequentially and with several threads and check that results are the same.
+     */
+    private void assertParallelEqualsSequential(Network network, SensitivityAnalysisParameters sensiParameters,
+                                                SensitivityFactorsProvider factorsProvider, List<Contingency> contingencies) {
+        SensitivityAnalysisResult sequentialResult = sensiProvider.run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencies,
+            sensiParameters, LocalComputationManager.getDefault())
+            .join();
+        sensiParameters.addExtension(OpenSensitivityAnalysisParameters.class, new OpenSensitivityAnalysisParameters().setThreadCount(3));
+        SensitivityAnalysisResult parallelResult = sensiProvider.run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencies,
+            sensiParameters, LocalComputationManager.getDefault())
+            .join();
+
+        assertEquals(contingencies.size(), parallelResult.getSensitivityValuesContingencies().size());
+        for (Contingency contingency : contingencies) {
+            List<SensitivityValue> sequentialValues = sequentialResult.getSensitivityValuesContingencies().get(contingency.getId());
+            List<SensitivityValue> parallelValues = parallelResult.getSensitivityValuesContingencies().get(contingency.getId());
+            assertEquals(sequentialValues.size(), parallelValues.size());
+            for (SensitivityValue value : sequentialValues) {
+                String variableId = value.getFactor().getVariable().getId();
+                String functionId = value.getFactor().getFunction().getId();
+                assertEquals(value.getValue(), getContingencyValue(parallelValues, variableId, functionId), LoadFlowAssert.DELTA_POWER);
+                assertEquals(value.getFunctionReference(), parallelValues.stream()
+                    .filter(parallelValue -> parallelValue.getFactor().getVariable().getId().equals(variableId)
+                        && parallelValue.getFactor().getFunction().getId().equals(functionId))
+                    .findFirst()
+                    .orElseThrow()
+                    .getFunctionReference(), LoadFlowAssert.DELTA_POWER);
+            }
+        }
+    }
+
+    @Test
+    void testParallelContingenciesWithConnectivityLoss() {
+        // l24+l35 breaks the network in two, the following contingencies must start again from the full network
+        Network network = ConnectedComponentNetworkFactory.createTwoCcLinkedByTwoLinesWithAdditionnalGens();
+        SensitivityAnalysisParameters sensiParameters = createParameters(false, "b1_vl_0", true);
+        sensiParameters.getLoadFlowParameters().setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX);
+        List<Contingency> contingencies = List.of(new Contingency("l12", new BranchContingency("l12")),
+            new Contingency("l24+l35", new BranchContingency("l24"), new BranchContingency("l35")),
+            new Contingency("l24", new BranchContingency("l24")),
+            new Contingency("l45", new BranchContingency("l45")));
+        SensitivityFactorsProvider factorsProvider = n -> createFactorMatrix(network.getGeneratorStream().collect(Collectors.toList()),
+            network.getBranchStream().collect(Collectors.toList()));
+        assertParallelEqualsSequential(network, sensiParameters, factorsProvider, contingencies);
+    }
+
+    @Test
+    void testParallelContingenciesWithGlsk() {
+        // l34 breaks the network in two and the GLSK has to be rescaled on the main component for this contingency only
+        Network network = ConnectedComponentNetworkFactory.createTwoComponentWithGeneratorAndLoad();
+        SensitivityAnalysisParameters sensiParameters = createParameters(false, "b1_vl_0", true);
+        sensiParameters.getLoadFlowParameters().setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_LOAD);
+        List<Contingency> contingencies = List.of(new Contingency("l34", new BranchContingency("l34")),
+            new Contingency("l12", new BranchContingency("l12")),
+            new Contingency("l45", new BranchContingency("l45")));
+        Map<String, Float> glskMap = new HashMap<>();
+        glskMap.put("g2", 0.4f);
+        glskMap.put("g6", 0.6f);
+        LinearGlsk glsk = new LinearGlsk("glsk", "glsk", glskMap);
+        SensitivityFactorsProvider factorsProvider = n -> network.getBranchStream()
+            .map(AbstractSensitivityAnalysisTest::createBranchFlow)
+            .map(branchFlow -> new BranchFlowPerLinearGlsk(branchFlow, glsk))
+            .collect(Collectors.toList());
+        assertParallelEqualsSequential(network, sensiParameters, factorsProvider, contingencies);
+    }
+
     @Test
     void testContingencyWithMultipleBranches() {
         Network network = FourBusNetworkFactory.createWithTransfoCompensed();
@@ -6,14 +6,21 @@
  */
 package com.powsybl.openloadflow.sensi.dc;
 
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
 import com.powsybl.computation.local.LocalComputationManager;
 import com.powsybl.contingency.BranchContingency;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.*;
 import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.openloadflow.graph.EvenShiloachGraphDecrementalConnectivity;
 import com.powsybl.openloadflow.network.ConnectedComponentNetworkFactory;
 import com.powsybl.openloadflow.network.FourBusNetworkFactory;
+import com.powsybl.openloadflow.network.LfBus;
 import com.powsybl.openloadflow.sensi.AbstractSensitivityAnalysisTest;
+import com.powsybl.openloadflow.sensi.DcSensitivityStatesCache;
+import com.powsybl.openloadflow.sensi.OpenSensitivityAnalysisProvider;
 import com.powsybl.openloadflow.util.LoadFlowAssert;
 import com.powsybl.sensitivity.*;
 import com.powsybl.sensitivity.factors.BranchFlowPerInjectionIncrease;
@@ -25,6 +32,9 @@ import com.powsybl.sensitivity.factors.variables.LinearGlsk;
 import com.powsybl.sensitivity.factors.variables.PhaseTapChangerAngle;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -961,4 +971,109 @@ class DcSensitivityAnalysisContingenciesTest extends AbstractSensitivityAnalysis
         assertEquals(getContingencyFunctionReference(resultLosingConnectivityAlone, "l56", "l48"), getContingencyFunctionReference(resultBoth, "l56", "l48"), LoadFlowAssert.DELTA_POWER);
         assertEquals(getContingencyFunctionReference(resultLosingTransformerAlone, "l56", "l67"), getContingencyFunctionReference(resultBoth, "l56", "l67"), LoadFlowAssert.DELTA_POWER);
     }
+
+    @Test
+    void testStatesCache() throws IOException {
+        Network network = FourBusNetworkFactory.create();
+        runDcLf(network);
+        SensitivityAnalysisParameters sensiParameters = createParameters(true, "b1_vl_0", true);
+        sensiParameters.getLoadFlowParameters().setBalanceType(LoadFlowParameters.BalanceType.PROPORTIONAL_TO_GENERATION_P_MAX);
+        List<Contingency> contingencies = List.of(new Contingency("l23", new BranchContingency("l23")));
+        SensitivityFactorsProvider factorsProvider = n -> createFactorMatrix(network.getGeneratorStream().filter(gen -> gen.getId().equals("g2")).collect(Collectors.toList()),
+                network.getBranchStream().collect(Collectors.toList()));
+
+        DcSensitivityStatesCache cache = new DcSensitivityStatesCache(2);
+        OpenSensitivityAnalysisProvider cachedSensiProvider = new OpenSensitivityAnalysisProvider(matrixFactory, () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum), cache);
+        SensitivityAnalysisResult result = cachedSensiProvider.run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencies,
+                sensiParameters, LocalComputationManager.getDefault())
+                .join();
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getHitCount());
+        long stateCount = cache.getMissCount();
+        assertTrue(stateCount > 0);
+        assertEquals(stateCount, cache.getStateCount());
+        // second run uses the cached states, nothing is solved
+        SensitivityAnalysisResult result2 = cachedSensiProvider.run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencies,
+                sensiParameters, LocalComputationManager.getDefault())
+                .join();
+        assertEquals(1, cache.size());
+        assertEquals(stateCount, cache.getHitCount());
+        assertEquals(stateCount, cache.getMissCount());
+
+        // third run with a cache saved and reloaded from a file
+        SensitivityAnalysisResult result3;
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path file = fileSystem.getPath("/cache.bin");
+            cache.save(file);
+            DcSensitivityStatesCache loadedCache = DcSensitivityStatesCache.load(file, 2);
+            assertEquals(1, loadedCache.size());
+            result3 = new OpenSensitivityAnalysisProvider(matrixFactory, () -> new EvenShiloachGraphDecrementalConnectivity<>(LfBus::getNum), loadedCache)
+                    .run(network, VariantManagerConstants.INITIAL_VARIANT_ID, factorsProvider, contingencies, sensiParameters, LocalComputationManager.getDefault())
+                    .join();
+            assertEquals(stateCount, loadedCache.getHitCount());
+            assertEquals(0, loadedCache.getMissCount());
+        }
+
+        for (SensitivityAnalysisResult r : List.of(result, result2, result3)) {
+            assertEquals(0.05d, getValue(r, "g2", "l14"), LoadFlowAssert.DELTA_POWER);
+            assertEquals(-0.35d, getValue(r, "g2", "l12"), LoadFlowAssert.DELTA_POWER);
+            assertEquals(0.25d, getValue(r, "g2", "l23"), LoadFlowAssert.DELTA_POWER);
+            assertEquals(2d / 15d, getContingencyValue(r, "l23", "g2", "l14"), LoadFlowAssert.DELTA_POWER);
+            assertEquals(-0.6d, getContingencyValue(r, "l23", "g2", "l12"), LoadFlowAssert.DELTA_POWER);
+            assertEquals(0d, getContingencyValue(r, "l23", "g2", "l23"), LoadFlowAssert.DELTA_POWER);
+            assertEquals(1d / 15d, getContingencyValue(r, "l23", "g2", "l34"), LoadFlowAssert.DELTA_POWER);
+        }
+    }
+
+    private static DcSensitivityStatesCache.RhsKey rhsKey(double value) {
+        DenseMatrix rhs = new DenseMatrix(2, 1);
+        rhs.set(1, 0, value);
+        return DcSensitivityStatesCache.rhsKey(rhs, 0);
+    }
+
+    @Test
+    void testStatesCacheBounds() {
+        DcSensitivityStatesCache cache = new DcSensitivityStatesCache(2, 3);
+        cache.putState("n1", rhsKey(1), new double[] {1});
+        cache.putState("n1", rhsKey(2), new double[] {2});
+        cache.putState("n1", rhsKey(3), new double[] {3});
+        assertNotNull(cache.getState("n1", 1, rhsKey(1)));
+        // least recently used state of the network is evicted
+        cache.putState("n1", rhsKey(4), new double[] {4});
+        assertEquals(3, cache.getStateCount());
+        assertNull(cache.getState("n1", 1, rhsKey(2)));
+        assertArrayEquals(new double[] {1}, cache.getState("n1", 1, rhsKey(1)));
+
+        // states of the least recently used network are evicted first
+        cache.putState("n2", rhsKey(1), new double[] {5});
+        assertEquals(3, cache.getStateCount());
+        assertEquals(2, cache.size());
+        assertNull(cache.getState("n1", 1, rhsKey(3)));
+        assertNotNull(cache.getState("n2", 1, rhsKey(1)));
+
+        // least recently used network is evicted
+        cache.putState("n3", rhsKey(1), new double[] {6});
+        assertEquals(2, cache.size());
+        assertNull(cache.getState("n1", 1, rhsKey(1)));
+        assertEquals(2, cache.getStateCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    void testRhsKey() {
+        DenseMatrix rhs = new DenseMatrix(3, 3);
+        rhs.set(0, 0, 1);
+        rhs.set(2, 0, -1);
+        rhs.set(0, 1, 1);
+        rhs.set(2, 1, -1);
+        rhs.set(1, 2, 1);
+        rhs.set(2, 2, -1);
+        assertEquals(DcSensitivityStatesCache.rhsKey(rhs, 0), DcSensitivityStatesCache.rhsKey(rhs, 1));
+        assertEquals(DcSensitivityStatesCache.rhsKey(rhs, 0).hashCode(), DcSensitivityStatesCache.rhsKey(rhs, 1).hashCode());
+        assertNotEquals(DcSensitivityStatesCache.rhsKey(rhs, 0), DcSensitivityStatesCache.rhsKey(rhs, 2));
+        // zero values are ignored
+        rhs.set(1, 1, 0);
+        assertEquals(DcSensitivityStatesCache.rhsKey(rhs, 0), DcSensitivityStatesCache.rhsKey(rhs, 1));
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.jfr;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.openloadflow.OpenLoadFlowProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path tmpDir;
+
+    private static List<RecordedEvent> getEvents(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    @Test
+    void loadFlowEventsTest() throws IOException {
+        Network network = EurostagTutorialExample1Factory.create();
+        LoadFlow.Runner loadFlowRunner = new LoadFlow.Runner(new OpenLoadFlowProvider(new DenseMatrixFactory()));
+        LoadFlowParameters parameters = new LoadFlowParameters();
+
+        Path file = tmpDir.resolve("olf.jfr");
+        LoadFlowResult result;
+        try (Recording recording = new Recording()) {
+            recording.enable(NewtonRaphsonIterationEvent.class);
+            recording.enable(JacobianMatrixEvent.class);
+            recording.enable(OuterLoopIterationEvent.class);
+            recording.start();
+            result = loadFlowRunner.run(network, parameters);
+            recording.stop();
+            recording.dump(file);
+        }
+        assertTrue(result.isOk());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> iterationEvents = getEvents(events, "com.powsybl.openloadflow.NewtonRaphsonIteration");
+        assertEquals(result.getComponentResults().get(0).getIterationCount(), iterationEvents.size());
+        assertTrue(iterationEvents.stream().anyMatch(e -> "CONVERGED".equals(e.getString("status"))));
+        assertTrue(iterationEvents.stream().allMatch(e -> e.getDouble("norm") >= 0));
+
+        List<RecordedEvent> jacobianEvents = getEvents(events, "com.powsybl.openloadflow.JacobianMatrix");
+        assertEquals(1, jacobianEvents.stream().filter(e -> JacobianMatrixEvent.BUILD.equals(e.getString("operation"))).count());
+        assertEquals(1, jacobianEvents.stream().filter(e -> JacobianMatrixEvent.LU_DECOMPOSITION.equals(e.getString("operation"))).count());
+
+        List<RecordedEvent> outerLoopEvents = getEvents(events, "com.powsybl.openloadflow.OuterLoopIteration");
+        assertFalse(outerLoopEvents.isEmpty());
+        assertTrue(outerLoopEvents.stream().anyMatch(e -> "STABLE".equals(e.getString("status"))));
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.ieeecdf.converter.IeeeCdfNetworkFactory;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.DenseMatrixFactory;
+import com.powsybl.math.matrix.LUDecomposition;
+import com.powsybl.math.matrix.Matrix;
+import com.powsybl.math.matrix.MatrixFactory;
+import com.powsybl.openloadflow.OpenLoadFlowProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class JavaSparseLUDecompositionTest {
+
+    private static final double[][] VALUES = {
+        {0, 2, 0, 0, 1},
+        {3, 4, 0, -1, 0},
+        {0, -2, 5, 0, 0},
+        {1, 0, 0, 0, 6},
+        {0, 0, -3, 2, 7}
+    };
+
+    private static final double[] B = {0.5, -1.2, 0.1, 0.3, 0.7};
+
+    private static void fill(Matrix matrix, double[][] values) {
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[i].length; j++) {
+                if (values[i][j] != 0) {
+                    matrix.add(i, j, values[i][j]);
+                }
+            }
+        }
+    }
+
+    private static Matrix createMatrix(MatrixFactory factory) {
+        Matrix matrix = factory.create(5, 5, 14);
+        fill(matrix, VALUES);
+        return matrix;
+    }
+
+    private static double[] solveDense(Matrix matrix, double[] b, boolean transposed) {
+        double[] x = b.clone();
+        try (LUDecomposition lu = matrix.toDense().decomposeLU()) {
+            if (transposed) {
+                lu.solveTransposed(x);
+            } else {
+                lu.solve(x);
+            }
+        }
+        return x;
+    }
+
+    private static void assertSameSolution(boolean transposed) {
+        // the zero diagonal of the first row and the last column with several values need row pivoting
+        for (JavaSparseMatrixFactory.Ordering ordering : JavaSparseMatrixFactory.Ordering.values()) {
+            Matrix matrix = createMatrix(new JavaSparseMatrixFactory(ordering));
+            double[] x = B.clone();
+            try (LUDecomposition lu = matrix.decomposeLU()) {
+                if (transposed) {
+                    lu.solveTransposed(x);
+                } else {
+                    lu.solve(x);
+                }
+            }
+            assertArrayEquals(solveDense(matrix, B, transposed), x, 1e-12, ordering.name());
+        }
+    }
+
+    @Test
+    void solveTest() {
+        assertSameSolution(false);
+    }
+
+    @Test
+    void solveTransposedTest() {
+        assertSameSolution(true);
+    }
+
+    @Test
+    void denseMatrixSolveTest() {
+        Matrix matrix = createMatrix(new JavaSparseMatrixFactory());
+        DenseMatrix b = new DenseMatrix(5, 2);
+        b.set(0, 0, 1);
+        b.set(4, 1, -1);
+        DenseMatrix expected = new DenseMatrix(5, 2);
+        expected.set(0, 0, 1);
+        expected.set(4, 1, -1);
+        try (LUDecomposition lu = matrix.decomposeLU();
+             LUDecomposition denseLu = matrix.toDense().decomposeLU()) {
+            lu.solve(b);
+            denseLu.solve(expected);
+        }
+        for (int i = 0; i < 5; i++) {
+            for (int k = 0; k < 2; k++) {
+                assertEquals(expected.get(i, k), b.get(i, k), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void updateTest() {
+        Matrix matrix = new JavaSparseMatrixFactory().create(5, 5, 14);
+        Matrix.Element[][] elements = new Matrix.Element[5][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                if (VALUES[i][j] != 0) {
+                    elements[i][j] = matrix.addAndGetElement(i, j, VALUES[i][j]);
+                }
+            }
+        }
+        try (JavaSparseLUDecomposition lu = (JavaSparseLUDecomposition) matrix.decomposeLU()) {
+            int factorValueCount = lu.getFactorValueCount();
+
+            // same structure, factors are recomputed with the same pattern
+            elements[1][1].add(2);
+            elements[4][4].set(-1);
+            lu.update();
+            double[] x = B.clone();
+            lu.solve(x);
+            assertArrayEquals(solveDense(matrix, B, false), x, 1e-12);
+            assertEquals(factorValueCount, lu.getFactorValueCount());
+
+            // a previous pivot becomes zero, a new pivoting is needed
+            elements[1][1].set(0);
+            elements[3][0].set(0);
+            lu.update();
+            x = B.clone();
+            lu.solveTransposed(x);
+            assertArrayEquals(solveDense(matrix, B, true), x, 1e-12);
+
+            // new value, structure has changed
+            matrix.add(2, 0, 4);
+            lu.update();
+            x = B.clone();
+            lu.solve(x);
+            assertArrayEquals(solveDense(matrix, B, false), x, 1e-12);
+        }
+    }
+
+    @Test
+    void singularTest() {
+        Matrix matrix = new JavaSparseMatrixFactory().create(2, 2, 2);
+        matrix.add(0, 0, 1);
+        matrix.add(0, 1, 1);
+        assertThrows(PowsyblException.class, matrix::decomposeLU);
+        Matrix notSquareMatrix = new JavaSparseMatrixFactory().create(2, 3, 2);
+        assertThrows(IllegalArgumentException.class, notSquareMatrix::decomposeLU);
+    }
+
+    @Test
+    void matrixTest() {
+        JavaSparseMatrix matrix = (JavaSparseMatrix) createMatrix(new JavaSparseMatrixFactory());
+        int valueCount = matrix.getValueCount();
+        matrix.set(0, 1, 3);
+        assertEquals(valueCount, matrix.getValueCount()); // overwritten in place
+        matrix.add(0, 1, 1);
+        assertEquals(4, matrix.toDense().get(0, 1), 0);
+        matrix.set(0, 1, 4);
+        assertEquals(valueCount + 1, matrix.getValueCount());
+        assertEquals(4, matrix.toDense().get(0, 1), 0);
+        matrix.set(3, 1, 2);
+        assertEquals(valueCount + 2, matrix.getValueCount());
+        assertEquals(2, matrix.toDense().get(3, 1), 0);
+        matrix.set(3, 1, 0);
+        double[] column = new double[5];
+        matrix.iterateNonZeroValueOfColumn(1, (i, j, value) -> column[i] = value);
+        assertArrayEquals(new double[] {4, 4, -2, 0, 0}, column, 0);
+
+        // compressed columns are reused until the next modification
+        CompressedColumns compressedColumns = matrix.getCompressedColumns();
+        matrix.iterateNonZeroValueOfColumn(0, (i, j, value) -> { });
+        assertSame(compressedColumns, matrix.getCompressedColumns());
+        Matrix.Element element = matrix.addAndGetElement(2, 0, 1);
+        assertNotSame(compressedColumns, matrix.getCompressedColumns());
+        compressedColumns = matrix.getCompressedColumns();
+        element.add(2);
+        assertNotSame(compressedColumns, matrix.getCompressedColumns());
+        matrix.iterateNonZeroValueOfColumn(0, (i, j, value) -> column[i] = value);
+        assertEquals(3, column[2], 0);
+
+        // conversion to a KLU based matrix would load the native library, a lambda is needed as a method reference
+        // would have to access the package private SparseMatrix
+        assertThrows(UnsupportedOperationException.class, () -> matrix.toSparse());
+
+        Matrix identity = new JavaSparseMatrixFactory().create(5, 5, 5);
+        for (int i = 0; i < 5; i++) {
+            identity.add(i, i, 1);
+        }
+        DenseMatrix product = matrix.times(identity).toDense();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertEquals(matrix.toDense().get(i, j), product.get(i, j), 0);
+            }
+        }
+    }
+
+    @Test
+    void loadFlowTest() {
+        Network denseNetwork = IeeeCdfNetworkFactory.create118();
+        Network network = IeeeCdfNetworkFactory.create118();
+        LoadFlowParameters parameters = new LoadFlowParameters();
+        assertTrue(new LoadFlow.Runner(new OpenLoadFlowProvider(new DenseMatrixFactory())).run(denseNetwork, parameters).isOk());
+        assertTrue(new LoadFlow.Runner(new OpenLoadFlowProvider(new JavaSparseMatrixFactory())).run(network, parameters).isOk());
+        for (Bus bus : network.getBusView().getBuses()) {
+            Bus denseBus = denseNetwork.getBusView().getBus(bus.getId());
+            assertEquals(denseBus.getV(), bus.getV(), 1e-6);
+            assertEquals(denseBus.getAngle(), bus.getAngle(), 1e-6);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.openloadflow.util.matrix;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.math.matrix.DenseMatrix;
+import com.powsybl.math.matrix.LUDecomposition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+class SparseLdltDecompositionTest {
+
+    private DenseMatrix matrix;
+
+    private static void addBranch(DenseMatrix matrix, int i, int j, double b) {
+        matrix.add(i, i, b);
+        matrix.add(j, j, b);
+        matrix.add(i, j, -b);
+        matrix.add(j, i, -b);
+    }
+
+    /**
+     * B matrix of a 5 buses meshed network, with the slack bus 2 angle equation in column 2.
+     */
+    @BeforeEach
+    void setUp() {
+        matrix = new DenseMatrix(5, 5);
+        addBranch(matrix, 0, 1, 10);
+        addBranch(matrix, 1, 2, 5);
+        addBranch(matrix, 2, 3, 8);
+        addBranch(matrix, 3, 4, 2);
+        addBranch(matrix, 4, 0, 4);
+        addBranch(matrix, 1, 3, 3);
+        for (int i = 0; i < 5; i++) {
+            matrix.set(i, 2, 0);
+        }
+        matrix.set(2, 2, 1);
+    }
+
+    private void assertSameSolution(boolean transposed) {
+        double[] b = {0.5, -1.2, 0.1, 0.3, 0.7};
+        double[] expected = b.clone();
+        double[] x = b.clone();
+        try (LUDecomposition lu = matrix.decomposeLU();
+             SparseLdltDecomposition ldlt = SparseLdltDecomposition.create(matrix).orElseThrow()) {
+            if (transposed) {
+                lu.solveTransposed(expected);
+                ldlt.solveTransposed(x);
+            } else {
+                lu.solve(expected);
+                ldlt.solve(x);
+            }
+        }
+        assertArrayEquals(expected, x, 1e-12);
+    }
+
+    @Test
+    void solveTest() {
+        assertSameSolution(false);
+    }
+
+    @Test
+    void solveTransposedTest() {
+        assertSameSolution(true);
+    }
+
+    @Test
+    void denseMatrixSolveTest() {
+        DenseMatrix b = new DenseMatrix(5, 2);
+        b.set(0, 0, 1);
+        b.set(4, 1, -1);
+        DenseMatrix expected = new DenseMatrix(5, 2);
+        expected.set(0, 0, 1);
+        expected.set(4, 1, -1);
+        try (LUDecomposition lu = matrix.decomposeLU();
+             SparseLdltDecomposition ldlt = SparseLdltDecomposition.create(matrix).orElseThrow()) {
+            lu.solveTransposed(expected);
+            ldlt.solveTransposed(b);
+        }
+        for (int i = 0; i < 5; i++) {
+            for (int k = 0; k < 2; k++) {
+                assertEquals(expected.get(i, k), b.get(i, k), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void updateTest() {
+        try (SparseLdltDecomposition ldlt = SparseLdltDecomposition.create(matrix).orElseThrow()) {
+            addBranch(matrix, 0, 3, 6);
+            ldlt.update();
+            double[] expected = {1, 0, 0, 0, 0};
+            double[] x = expected.clone();
+            try (LUDecomposition lu = matrix.decomposeLU()) {
+                lu.solve(expected);
+            }
+            ldlt.solve(x);
+            assertArrayEquals(expected, x, 1e-12);
+
+            matrix.add(0, 3, 1);
+            assertThrows(IllegalStateException.class, ldlt::update);
+        }
+    }
+
+    @Test
+    void notSymmetricTest() {
+        matrix.add(0, 1, 1);
+        assertTrue(SparseLdltDecomposition.create(matrix).isEmpty());
+    }
+
+    @Test
+    void singularTest() {
+        DenseMatrix singularMatrix = new DenseMatrix(2, 2);
+        addBranch(singularMatrix, 0, 1, 1);
+        assertThrows(PowsyblException.class, () -> SparseLdltDecomposition.create(singularMatrix));
+    }
+}